@@ -0,0 +1,93 @@
+package ca.bcit.comp2522.termproject.bench;
+
+import ca.bcit.comp2522.termproject.CourseGenerator;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating one hole with {@link CourseGenerator}, through the
+ * per-hole seed path the game uses: each hole gets its own seed from
+ * {@link CourseGenerator#deriveHoleSeeds} and is generated from a
+ * {@code SplittableRandom} of that seed alone.
+ * <p>
+ * The same fixed set of hole seeds is cycled through in every iteration, so
+ * runs can be compared and no single lucky hole is measured over and over.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseGenerationBenchmark
+{
+    private static final long   COURSE_SEED           = 2522L;
+    private static final double TILE_WIDTH_PIXELS     = 40.0;
+    private static final double BASE_GROUND_Y_PIXELS  = 300.0;
+    private static final double MAXIMUM_HEIGHT_PIXELS = 120.0;
+
+    // Power of two so the seed cursor wraps with a mask.
+    private static final int HOLE_SEED_COUNT = 64;
+    private static final int HOLE_SEED_MASK  = HOLE_SEED_COUNT - 1;
+    private static final int FIRST_SEED      = 0;
+
+    @Param({"30", "120", "480"})
+    private int tileCount;
+
+    private long[] holeSeeds;
+    private int    holeSeedCursor;
+
+    /**
+     * Derives the hole seeds once for the trial.
+     */
+    @Setup
+    public void deriveSeeds()
+    {
+        holeSeeds = CourseGenerator.deriveHoleSeeds(COURSE_SEED, HOLE_SEED_COUNT);
+    }
+
+    /**
+     * Restarts the seed cycle so each iteration sees the same holes.
+     */
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        holeSeedCursor = FIRST_SEED;
+    }
+
+    /**
+     * Generates one hole of {@code tileCount} tiles.
+     *
+     * @return the generated hole
+     */
+    @Benchmark
+    public GolfCourse generateSingleHole()
+    {
+        final long holeSeed;
+
+        holeSeed       = holeSeeds[holeSeedCursor];
+        holeSeedCursor = (holeSeedCursor + 1) & HOLE_SEED_MASK;
+
+        return CourseGenerator.generateSingleHole(holeSeed,
+                                                  tileCount,
+                                                  TILE_WIDTH_PIXELS,
+                                                  BASE_GROUND_Y_PIXELS,
+                                                  MAXIMUM_HEIGHT_PIXELS);
+    }
+}
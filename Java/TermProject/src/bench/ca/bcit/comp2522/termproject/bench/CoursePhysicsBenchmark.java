@@ -0,0 +1,266 @@
+package ca.bcit.comp2522.termproject.bench;
+
+import ca.bcit.comp2522.termproject.AirObstacle;
+import ca.bcit.comp2522.termproject.ClubType;
+import ca.bcit.comp2522.termproject.CourseGenerator;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfBall;
+import ca.bcit.comp2522.termproject.GolfClub;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import ca.bcit.comp2522.termproject.ShotEstimateCache;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import ca.bcit.comp2522.termproject.TerrainType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-step engine costs on a course of a given size: terrain and obstacle
+ * collision, tile lookup and par calculation.
+ * <p>
+ * Courses come from {@link CourseGenerator} with a fixed seed, and their air
+ * obstacles are then replaced by {@code obstacleCount} evenly spaced boxes,
+ * so the obstacle count is controlled separately from the terrain. Each
+ * benchmark cycles through a fixed set of precomputed ball positions so it
+ * does not measure one lucky branch over and over.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoursePhysicsBenchmark
+{
+    private static final long   COURSE_SEED          = 2522L;
+    private static final long   SAMPLE_SEED          = 42L;
+    private static final double TILE_WIDTH_PIXELS    = 40.0;
+    private static final double BASE_GROUND_Y_PIXELS = 300.0;
+    private static final double MAXIMUM_HEIGHT_PIXELS = 120.0;
+    private static final double BALL_RADIUS_PIXELS   = 6.0;
+    private static final int    INITIAL_PAR          = 4;
+
+    private static final double OBSTACLE_HALF_WIDTH_PIXELS = 12.0;
+    private static final double OBSTACLE_HEIGHT_PIXELS     = 40.0;
+    private static final double OBSTACLE_CLEARANCE_PIXELS  = 90.0;
+
+    // Obstacles sit at slots 1..n of n + 1 equal gaps, leaving the tee and last tile clear.
+    private static final int FIRST_OBSTACLE_SLOT = 1;
+    private static final int EXTRA_OBSTACLE_GAPS = 1;
+
+    private static final double FLIGHT_BAND_TOP_PIXELS    = 60.0;
+    private static final double FLIGHT_VELOCITY_X_PIXELS  = 300.0;
+    private static final double FLIGHT_VELOCITY_Y_PIXELS  = 150.0;
+    private static final double MAXIMUM_POWER_PERCENTAGE  = 100.0;
+    private static final double FAIRWAY_MULTIPLIER        = 1.0;
+
+    // Power of two so the sample cursor wraps with a mask.
+    private static final int SAMPLE_COUNT = 1024;
+    private static final int SAMPLE_MASK  = SAMPLE_COUNT - 1;
+
+    private static final double STEP_SECONDS = ProjectilePhysics.SIMULATION_STEP_SECONDS;
+
+    @Param({"30", "120", "480"})
+    private int tileCount;
+
+    @Param({"0", "3", "24"})
+    private int obstacleCount;
+
+    private GolfCourse              golfCourse;
+    private Map<ClubType, GolfClub> golfClubsByType;
+    private ShotEstimateCache       shotEstimateCache;
+    private GolfBall                golfBall;
+
+    private double[] sampleXPixels;
+    private double[] sampleYPixels;
+    private int      sampleCursor;
+
+    /**
+     * Builds the course, clubs and sample positions for one trial.
+     */
+    @Setup
+    public void setUp()
+    {
+        final GolfCourse generatedCourse;
+        final Random sampleRandom;
+        final double courseEndXPixels;
+
+        generatedCourse = CourseGenerator.generateSingleHole(COURSE_SEED,
+                                                             tileCount,
+                                                             TILE_WIDTH_PIXELS,
+                                                             BASE_GROUND_Y_PIXELS,
+                                                             MAXIMUM_HEIGHT_PIXELS);
+
+        golfCourse        = new GolfCourse(generatedCourse.getTerrainTiles(),
+                                           createObstacles(generatedCourse.getTerrainTiles(), obstacleCount),
+                                           INITIAL_PAR);
+        golfClubsByType   = DefaultGolfClubs.create();
+        shotEstimateCache = new ShotEstimateCache(golfClubsByType);
+        golfBall          = new GolfBall(TILE_WIDTH_PIXELS, BASE_GROUND_Y_PIXELS, BALL_RADIUS_PIXELS);
+
+        sampleRandom     = new Random(SAMPLE_SEED);
+        courseEndXPixels = golfCourse.getLastTile().getEndXPixels();
+        sampleXPixels    = new double[SAMPLE_COUNT];
+        sampleYPixels    = new double[SAMPLE_COUNT];
+
+        for (int sampleIndex = 0; sampleIndex < SAMPLE_COUNT; sampleIndex++)
+        {
+            sampleXPixels[sampleIndex] = sampleRandom.nextDouble() * courseEndXPixels;
+            sampleYPixels[sampleIndex] = FLIGHT_BAND_TOP_PIXELS
+                                         + sampleRandom.nextDouble() * (BASE_GROUND_Y_PIXELS - FLIGHT_BAND_TOP_PIXELS);
+        }
+
+        sampleCursor = 0;
+    }
+
+    /**
+     * One discrete physics step over the tile under the ball.
+     *
+     * @return whether the ball is still moving
+     */
+    @Benchmark
+    public boolean updateBallWithTerrain()
+    {
+        final TerrainTile terrainTile;
+
+        placeBallAtNextSample();
+        terrainTile = golfCourse.getTileAtX(golfBall.getPositionXPixels());
+
+        return ProjectilePhysics.updateBallWithTerrain(golfBall,
+                                                       terrainTile,
+                                                       terrainTile.getGroundCenterYPixels(),
+                                                       STEP_SECONDS);
+    }
+
+    /**
+     * One swept physics step, including obstacle and wall contacts.
+     *
+     * @return contact flags of the step
+     */
+    @Benchmark
+    public int updateBallWithSweptCollisions()
+    {
+        placeBallAtNextSample();
+
+        return ProjectilePhysics.updateBallWithSweptCollisions(golfBall, golfCourse, STEP_SECONDS);
+    }
+
+    /**
+     * Obstacle collision test against the course's obstacle list.
+     *
+     * @return whether the ball hit an obstacle
+     */
+    @Benchmark
+    public boolean handleAirObstacleCollisionsList()
+    {
+        placeBallAtNextSample();
+
+        return ProjectilePhysics.handleAirObstacleCollisions(golfBall, golfCourse.getAirObstacles());
+    }
+
+    /**
+     * Obstacle collision test through the course's spatial index.
+     *
+     * @return whether the ball hit an obstacle
+     */
+    @Benchmark
+    public boolean handleAirObstacleCollisionsIndexed()
+    {
+        placeBallAtNextSample();
+
+        return ProjectilePhysics.handleAirObstacleCollisions(golfBall, golfCourse.getAirObstacleIndex());
+    }
+
+    /**
+     * Tile lookup at a random x-position.
+     *
+     * @return the tile found
+     */
+    @Benchmark
+    public TerrainTile getTileAtX()
+    {
+        final int sampleIndex;
+
+        sampleIndex  = sampleCursor;
+        sampleCursor = (sampleCursor + 1) & SAMPLE_MASK;
+
+        return golfCourse.getTileAtX(sampleXPixels[sampleIndex]);
+    }
+
+    /**
+     * Par from the driver's full-power range, computed through the club.
+     *
+     * @return par
+     */
+    @Benchmark
+    public int computePar()
+    {
+        return golfCourse.computePar(golfClubsByType, MAXIMUM_POWER_PERCENTAGE, FAIRWAY_MULTIPLIER);
+    }
+
+    /**
+     * Par from the driver's full-power range, read from the shot estimate cache.
+     *
+     * @return par
+     */
+    @Benchmark
+    public int computeParCached()
+    {
+        return golfCourse.computePar(shotEstimateCache, MAXIMUM_POWER_PERCENTAGE, TerrainType.FAIRWAY);
+    }
+
+    // Resets position and velocity so every call simulates the same kind of step.
+    private void placeBallAtNextSample()
+    {
+        golfBall.moveTo(sampleXPixels[sampleCursor], sampleYPixels[sampleCursor]);
+        golfBall.launch(FLIGHT_VELOCITY_X_PIXELS, FLIGHT_VELOCITY_Y_PIXELS);
+
+        sampleCursor = (sampleCursor + 1) & SAMPLE_MASK;
+    }
+
+    private static List<AirObstacle> createObstacles(final List<TerrainTile> terrainTiles,
+                                                     final int obstacleCount)
+    {
+        final List<AirObstacle> airObstacles;
+        final double courseEndXPixels;
+        final double spacingPixels;
+
+        airObstacles     = new ArrayList<>(obstacleCount);
+        courseEndXPixels = terrainTiles.getLast().getEndXPixels();
+        spacingPixels    = courseEndXPixels / (obstacleCount + EXTRA_OBSTACLE_GAPS);
+
+        for (int obstacleSlot = FIRST_OBSTACLE_SLOT; obstacleSlot <= obstacleCount; obstacleSlot++)
+        {
+            final double centerXPixels;
+            final double bottomYPixels;
+
+            centerXPixels = spacingPixels * obstacleSlot;
+            bottomYPixels = BASE_GROUND_Y_PIXELS - OBSTACLE_CLEARANCE_PIXELS;
+
+            airObstacles.add(new AirObstacle(centerXPixels - OBSTACLE_HALF_WIDTH_PIXELS,
+                                             centerXPixels + OBSTACLE_HALF_WIDTH_PIXELS,
+                                             bottomYPixels - OBSTACLE_HEIGHT_PIXELS,
+                                             bottomYPixels));
+        }
+
+        return airObstacles;
+    }
+}
@@ -0,0 +1,62 @@
+package ca.bcit.comp2522.termproject.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the golf engine benchmarks with allocation profiling.
+ * <p>
+ * Every benchmark in this package is included and reported with the GC
+ * profiler, so each result also shows bytes allocated per operation.
+ * Standard JMH command-line options are honoured, for example
+ * {@code -p tileCount=480} to run one course size or a regular expression
+ * to pick benchmarks.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class GolfBenchmarks
+{
+    private static final String BENCHMARK_PACKAGE_PATTERN = GolfBenchmarks.class.getPackageName() + ".*";
+
+    private GolfBenchmarks()
+    {
+    }
+
+    /**
+     * Drives the program.
+     *
+     * @param args JMH command-line options
+     * @throws RunnerException            if a benchmark fails to run
+     * @throws CommandLineOptionException if the options cannot be parsed
+     */
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException
+    {
+        final CommandLineOptions commandLineOptions;
+        final Options options;
+
+        commandLineOptions = new CommandLineOptions(args);
+
+        // Command-line includes narrow the run; without any, the whole package runs.
+        if (commandLineOptions.getIncludes().isEmpty())
+        {
+            options = new OptionsBuilder().parent(commandLineOptions)
+                                          .include(BENCHMARK_PACKAGE_PATTERN)
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        }
+        else
+        {
+            options = new OptionsBuilder().parent(commandLineOptions)
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        }
+
+        new Runner(options).run();
+    }
+}
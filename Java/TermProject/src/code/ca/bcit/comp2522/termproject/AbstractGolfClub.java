@@ -42,7 +42,7 @@ public abstract class AbstractGolfClub implements GolfClub
     }
 
     /**
-     * Computes expected horizontal distance for this club given the shot context.
+     * Computes expected horizontal distance for this club given power and terrain.
      * The steps are:
      * <ol>
      *     <li>Convert power percentage to a decimal multiplier.</li>
@@ -50,43 +50,35 @@ public abstract class AbstractGolfClub implements GolfClub
      *     <li>Apply subclass-specific adjustment.</li>
      * </ol>
      *
-     * @param shotContext description of power and terrain characteristics
-     * @return a {@link ShotResult} containing the adjusted expected distance in pixels
+     * @param powerPercentage           power percentage selected by the player
+     * @param terrainDistanceMultiplier multiplier that adjusts distance based on terrain
+     * @return the adjusted expected distance in pixels
      */
     @Override
-    public final ShotResult computeShot(final ShotContext shotContext)
+    public final double computeRangePixels(final double powerPercentage,
+                                           final double terrainDistanceMultiplier)
     {
         final double powerMultiplier;
-        final double terrainDistanceMultiplier;
         final double rawDistancePixels;
-        final double adjustedDistancePixels;
-        final ShotResult shotResult;
-
 
         powerMultiplier =
-            shotContext.getPowerPercentage() / PERCENT_TO_DECIMAL_DIVISOR;
-
-        terrainDistanceMultiplier =
-            shotContext.getTerrainDistanceMultiplier();
+            powerPercentage / PERCENT_TO_DECIMAL_DIVISOR;
 
         rawDistancePixels =
             baseDistancePixels * powerMultiplier * terrainDistanceMultiplier;
 
-        adjustedDistancePixels =
-            adjustDistanceForClub(rawDistancePixels, shotContext);
-
-        shotResult = new ShotResult(adjustedDistancePixels);
-
-        return shotResult;
+        return adjustDistanceForClub(rawDistancePixels, powerPercentage, terrainDistanceMultiplier);
     }
 
     /**
      * Allows subclasses to fine-tune the computed distance.
      *
-     * @param rawDistancePixels base computed distance in pixels
-     * @param shotContext       description of the current shot
+     * @param rawDistancePixels         base computed distance in pixels
+     * @param powerPercentage           power percentage selected by the player
+     * @param terrainDistanceMultiplier multiplier that adjusts distance based on terrain
      * @return adjusted distance in pixels
      */
     protected abstract double adjustDistanceForClub(final double rawDistancePixels,
-                                                    final ShotContext shotContext);
+                                                    final double powerPercentage,
+                                                    final double terrainDistanceMultiplier);
 }
@@ -0,0 +1,354 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Uniform grid over world x that buckets a course's air obstacles so collision
+ * queries only test obstacles near the ball.
+ * <p>
+ * Every obstacle is registered in each bucket its horizontal span overlaps.
+ * Buckets are stored compactly: one array of bucket start offsets and one
+ * array of obstacle indices, with the indices in each bucket kept in the
+ * obstacles' original list order. A query over an x-range returns the
+ * lowest-indexed touching obstacle, which is exactly the obstacle a linear
+ * scan of the original list would have found first.
+ * <p>
+ * Immutable once built; safe to share across threads.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class AirObstacleIndex
+{
+    private static final int    NO_OBSTACLE_INDEX       = -1;
+    private static final int    FIRST_BUCKET_INDEX      = 0;
+    private static final int    EXTRA_BUCKET_START_SLOT = 1;
+    private static final double MINIMUM_BUCKET_WIDTH    = 1.0;
+    private static final double EMPTY_ORIGIN_X_PIXELS   = 0.0;
+
+    private final AirObstacle[] airObstacles;
+
+    private final double originXPixels;
+    private final double endXPixels;
+    private final double bucketWidthPixels;
+    private final int    bucketCount;
+
+    private final int[] bucketStarts;
+    private final int[] bucketEntries;
+
+    /**
+     * Builds an index over the given obstacles.
+     *
+     * @param airObstacles      obstacles to index; may be {@code null} or empty
+     * @param bucketWidthPixels width of each grid bucket in pixels, typically one tile
+     */
+    public AirObstacleIndex(final List<AirObstacle> airObstacles,
+                            final double bucketWidthPixels)
+    {
+        if (airObstacles == null || airObstacles.isEmpty())
+        {
+            this.airObstacles      = new AirObstacle[0];
+            this.originXPixels     = EMPTY_ORIGIN_X_PIXELS;
+            this.endXPixels        = EMPTY_ORIGIN_X_PIXELS;
+            this.bucketWidthPixels = MINIMUM_BUCKET_WIDTH;
+            this.bucketCount       = FIRST_BUCKET_INDEX;
+            this.bucketStarts      = new int[EXTRA_BUCKET_START_SLOT];
+            this.bucketEntries     = new int[0];
+            return;
+        }
+
+        double minimumLeftXPixels;
+        double maximumRightXPixels;
+
+        this.airObstacles      = airObstacles.toArray(new AirObstacle[0]);
+        this.bucketWidthPixels = Math.max(MINIMUM_BUCKET_WIDTH, bucketWidthPixels);
+
+        minimumLeftXPixels  = Double.POSITIVE_INFINITY;
+        maximumRightXPixels = Double.NEGATIVE_INFINITY;
+
+        for (final AirObstacle airObstacle : this.airObstacles)
+        {
+            minimumLeftXPixels  = Math.min(minimumLeftXPixels, airObstacle.getLeftXPixels());
+            maximumRightXPixels = Math.max(maximumRightXPixels, airObstacle.getRightXPixels());
+        }
+
+        this.originXPixels = minimumLeftXPixels;
+        this.endXPixels    = maximumRightXPixels;
+        this.bucketCount   = (int) Math.floor((maximumRightXPixels - minimumLeftXPixels) / this.bucketWidthPixels)
+                             + EXTRA_BUCKET_START_SLOT;
+
+        // First pass counts entries per bucket, second pass fills them in list order.
+        this.bucketStarts = new int[bucketCount + EXTRA_BUCKET_START_SLOT];
+
+        for (final AirObstacle airObstacle : this.airObstacles)
+        {
+            final int firstBucket;
+            final int lastBucket;
+
+            firstBucket = bucketIndexFor(airObstacle.getLeftXPixels());
+            lastBucket  = bucketIndexFor(airObstacle.getRightXPixels());
+
+            for (int bucketIndex = firstBucket; bucketIndex <= lastBucket; bucketIndex++)
+            {
+                bucketStarts[bucketIndex + EXTRA_BUCKET_START_SLOT]++;
+            }
+        }
+
+        for (int bucketIndex = 0; bucketIndex < bucketCount; bucketIndex++)
+        {
+            bucketStarts[bucketIndex + EXTRA_BUCKET_START_SLOT] += bucketStarts[bucketIndex];
+        }
+
+        final int[] fillPositions;
+
+        this.bucketEntries = new int[bucketStarts[bucketCount]];
+        fillPositions      = bucketStarts.clone();
+
+        for (int obstacleIndex = 0; obstacleIndex < this.airObstacles.length; obstacleIndex++)
+        {
+            final int firstBucket;
+            final int lastBucket;
+
+            firstBucket = bucketIndexFor(this.airObstacles[obstacleIndex].getLeftXPixels());
+            lastBucket  = bucketIndexFor(this.airObstacles[obstacleIndex].getRightXPixels());
+
+            for (int bucketIndex = firstBucket; bucketIndex <= lastBucket; bucketIndex++)
+            {
+                bucketEntries[fillPositions[bucketIndex]] = obstacleIndex;
+                fillPositions[bucketIndex]++;
+            }
+        }
+    }
+
+    /**
+     * Returns the first obstacle, in original list order, that a ball at the
+     * given position touches.
+     *
+     * @param ballCenterXPixels ball center x-position in pixels
+     * @param ballCenterYPixels ball center y-position in pixels
+     * @param ballRadiusPixels  ball radius in pixels
+     * @return touching obstacle, or {@code null} if none
+     */
+    public AirObstacle findFirstTouching(final double ballCenterXPixels,
+                                         final double ballCenterYPixels,
+                                         final double ballRadiusPixels)
+    {
+        return findFirstTouching(ballCenterXPixels - ballRadiusPixels,
+                                 ballCenterXPixels + ballRadiusPixels,
+                                 ballCenterXPixels,
+                                 ballCenterYPixels,
+                                 ballRadiusPixels);
+    }
+
+    /**
+     * Returns the first obstacle, in original list order, that a ball at the
+     * given position touches, searching only buckets overlapping an x-range.
+     * Callers sweeping a ball across a step pass the swept bounds here.
+     *
+     * @param queryMinimumXPixels left edge of the search range in pixels
+     * @param queryMaximumXPixels right edge of the search range in pixels
+     * @param ballCenterXPixels   ball center x-position in pixels
+     * @param ballCenterYPixels   ball center y-position in pixels
+     * @param ballRadiusPixels    ball radius in pixels
+     * @return touching obstacle, or {@code null} if none
+     */
+    public AirObstacle findFirstTouching(final double queryMinimumXPixels,
+                                         final double queryMaximumXPixels,
+                                         final double ballCenterXPixels,
+                                         final double ballCenterYPixels,
+                                         final double ballRadiusPixels)
+    {
+        if (bucketCount == FIRST_BUCKET_INDEX
+            || queryMaximumXPixels < originXPixels
+            || queryMinimumXPixels > endXPixels)
+        {
+            return null;
+        }
+
+        final int firstBucket;
+        final int lastBucket;
+
+        int firstTouchingIndex;
+
+        firstBucket = bucketIndexFor(queryMinimumXPixels);
+        lastBucket  = bucketIndexFor(queryMaximumXPixels);
+
+        firstTouchingIndex = NO_OBSTACLE_INDEX;
+
+        for (int bucketIndex = firstBucket; bucketIndex <= lastBucket; bucketIndex++)
+        {
+            final int bucketEnd;
+
+            bucketEnd = bucketStarts[bucketIndex + EXTRA_BUCKET_START_SLOT];
+
+            for (int entry = bucketStarts[bucketIndex]; entry < bucketEnd; entry++)
+            {
+                final int obstacleIndex;
+
+                obstacleIndex = bucketEntries[entry];
+
+                if (firstTouchingIndex != NO_OBSTACLE_INDEX && obstacleIndex >= firstTouchingIndex)
+                {
+                    break;
+                }
+
+                if (ProjectilePhysics.isTouchingAirObstacle(ballCenterXPixels,
+                                                            ballCenterYPixels,
+                                                            ballRadiusPixels,
+                                                            airObstacles[obstacleIndex]))
+                {
+                    firstTouchingIndex = obstacleIndex;
+                    break;
+                }
+            }
+        }
+
+        if (firstTouchingIndex == NO_OBSTACLE_INDEX)
+        {
+            return null;
+        }
+
+        return airObstacles[firstTouchingIndex];
+    }
+
+    /**
+     * Returns the obstacle a ball moving along a straight step touches first.
+     * Only buckets under the step's swept x-range are searched; ties on the
+     * contact fraction go to the obstacle earlier in the original list.
+     *
+     * @param startXPixels ball center x-position at the start of the step
+     * @param startYPixels ball center y-position at the start of the step
+     * @param deltaXPixels horizontal distance covered by the step
+     * @param deltaYPixels vertical distance covered by the step
+     * @param radiusPixels ball radius in pixels
+     * @return first obstacle hit during the step, or {@code null} if none
+     */
+    public AirObstacle findFirstSweptContact(final double startXPixels,
+                                             final double startYPixels,
+                                             final double deltaXPixels,
+                                             final double deltaYPixels,
+                                             final double radiusPixels)
+    {
+        final double queryMinimumXPixels;
+        final double queryMaximumXPixels;
+
+        queryMinimumXPixels = Math.min(startXPixels, startXPixels + deltaXPixels) - radiusPixels;
+        queryMaximumXPixels = Math.max(startXPixels, startXPixels + deltaXPixels) + radiusPixels;
+
+        if (bucketCount == FIRST_BUCKET_INDEX
+            || queryMaximumXPixels < originXPixels
+            || queryMinimumXPixels > endXPixels)
+        {
+            return null;
+        }
+
+        final int firstBucket;
+        final int lastBucket;
+
+        int    firstContactIndex;
+        double firstContactFraction;
+
+        firstBucket = bucketIndexFor(queryMinimumXPixels);
+        lastBucket  = bucketIndexFor(queryMaximumXPixels);
+
+        firstContactIndex    = NO_OBSTACLE_INDEX;
+        firstContactFraction = Double.POSITIVE_INFINITY;
+
+        for (int bucketIndex = firstBucket; bucketIndex <= lastBucket; bucketIndex++)
+        {
+            final int bucketEnd;
+
+            bucketEnd = bucketStarts[bucketIndex + EXTRA_BUCKET_START_SLOT];
+
+            for (int entry = bucketStarts[bucketIndex]; entry < bucketEnd; entry++)
+            {
+                final int    obstacleIndex;
+                final double contactFraction;
+
+                obstacleIndex   = bucketEntries[entry];
+                contactFraction = ProjectilePhysics.computeSweptAirObstacleContactFraction(startXPixels,
+                                                                                           startYPixels,
+                                                                                           deltaXPixels,
+                                                                                           deltaYPixels,
+                                                                                           radiusPixels,
+                                                                                           airObstacles[obstacleIndex]);
+
+                if (contactFraction < firstContactFraction
+                    || (contactFraction == firstContactFraction && obstacleIndex < firstContactIndex))
+                {
+                    firstContactIndex    = obstacleIndex;
+                    firstContactFraction = contactFraction;
+                }
+            }
+        }
+
+        if (firstContactIndex == NO_OBSTACLE_INDEX)
+        {
+            return null;
+        }
+
+        return airObstacles[firstContactIndex];
+    }
+
+    /**
+     * Passes every obstacle whose horizontal span overlaps an x-range to an
+     * action, once each, visiting only the buckets the range covers.
+     *
+     * @param minimumXPixels left edge of the range
+     * @param maximumXPixels right edge of the range
+     * @param action         called with each overlapping obstacle
+     */
+    public void forEachOverlapping(final double minimumXPixels,
+                                   final double maximumXPixels,
+                                   final Consumer<AirObstacle> action)
+    {
+        final int firstBucket;
+        final int lastBucket;
+
+        if (bucketCount == FIRST_BUCKET_INDEX || maximumXPixels < originXPixels || minimumXPixels > endXPixels)
+        {
+            return;
+        }
+
+        firstBucket = bucketIndexFor(minimumXPixels);
+        lastBucket  = bucketIndexFor(maximumXPixels);
+
+        for (int bucketIndex = firstBucket; bucketIndex <= lastBucket; bucketIndex++)
+        {
+            for (int entry = bucketStarts[bucketIndex]; entry < bucketStarts[bucketIndex + EXTRA_BUCKET_START_SLOT]; entry++)
+            {
+                final AirObstacle airObstacle;
+
+                airObstacle = airObstacles[bucketEntries[entry]];
+
+                // An obstacle spanning several buckets is reported only from the first one visited.
+                if (bucketIndex == Math.max(firstBucket, bucketIndexFor(airObstacle.getLeftXPixels()))
+                    && airObstacle.getRightXPixels() >= minimumXPixels
+                    && airObstacle.getLeftXPixels() <= maximumXPixels)
+                {
+                    action.accept(airObstacle);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of indexed obstacles.
+     *
+     * @return obstacle count
+     */
+    public int size()
+    {
+        return airObstacles.length;
+    }
+
+    private int bucketIndexFor(final double worldXPixels)
+    {
+        final int rawBucketIndex;
+
+        rawBucketIndex = (int) Math.floor((worldXPixels - originXPixels) / bucketWidthPixels);
+
+        return Math.max(FIRST_BUCKET_INDEX, Math.min(bucketCount - EXTRA_BUCKET_START_SLOT, rawBucketIndex));
+    }
+}
@@ -0,0 +1,592 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Computer player that picks each stroke by simulating candidate shots with a
+ * {@link ShotSimulator} and keeping the one that leaves the ball best placed.
+ * <p>
+ * Every club is tried over a grid of aim angles (forward and backward) and
+ * power percentages. Each club/angle pair is a search line; lines are split
+ * recursively across a fork/join pool, so idle workers steal the remaining
+ * halves of busy ones. Each line walks its powers from low to high and stops
+ * early once the ball starts leaving the course in the aimed direction, since
+ * more power only sends it further. A shot whose closed-form flight leaves the
+ * course before touching anything ends its line without being stepped at all. The whole search stops as soon as any
+ * candidate holes out or the per-move time budget runs out, and the best shot
+ * found so far is played.
+ * <p>
+ * Candidates are scored by how far from the cup the ball comes to rest, with
+ * penalties for landing in sand or rough, stopping next to water, and for
+ * shots that end in water or out of bounds, which waste a stroke and leave the
+ * ball where it was.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class AutoPlayer
+{
+    private static final double[] SEARCH_POWER_PERCENTAGES = {
+        5.0, 10.0, 15.0, 20.0, 25.0, 30.0, 35.0, 40.0, 45.0, 50.0,
+        55.0, 60.0, 65.0, 70.0, 75.0, 80.0, 85.0, 90.0, 95.0, 100.0
+    };
+
+    private static final double[] LOFTED_LAUNCH_ANGLES_DEGREES = {
+        10.0, 20.0, 30.0, 40.0, 50.0, 60.0, 70.0, 80.0,
+        100.0, 110.0, 120.0, 130.0, 140.0, 150.0, 160.0, 170.0
+    };
+
+    private static final double[] PUTTER_LAUNCH_ANGLES_DEGREES = {5.0, 175.0};
+
+    private static final ClubType[] SEARCH_CLUB_TYPES = {ClubType.DRIVER, ClubType.WEDGE, ClubType.PUTTER};
+
+    private static final double RIGHT_ANGLE_DEGREES = 90.0;
+
+    private static final double SWING_POWER_ERROR_PERCENTAGE = 4.0;
+    private static final double SWING_ANGLE_ERROR_DEGREES    = 3.0;
+    private static final double MINIMUM_POWER_PERCENTAGE     = 0.0;
+    private static final double MAXIMUM_POWER_PERCENTAGE     = 100.0;
+    private static final double MINIMUM_LAUNCH_ANGLE_DEGREES = 5.0;
+    private static final double MAXIMUM_LAUNCH_ANGLE_DEGREES = 175.0;
+
+    private static final double TILE_CENTER_RATIO = 0.5;
+
+    private static final double HOLED_SCORE                    = 0.0;
+    private static final double NO_PENALTY_PIXELS              = 0.0;
+    private static final double WASTED_STROKE_PENALTY_PIXELS   = 400.0;
+    private static final double SAND_LIE_PENALTY_PIXELS        = 120.0;
+    private static final double ROUGH_LIE_PENALTY_PIXELS       = 40.0;
+    private static final double WATER_PROXIMITY_PENALTY_PIXELS = 60.0;
+    private static final int    WATER_PROXIMITY_TILE_RADIUS    = 1;
+
+    private static final ClubType FALLBACK_CLUB_TYPE              = ClubType.WEDGE;
+    private static final double   FALLBACK_POWER_PERCENTAGE       = 50.0;
+    private static final double   FALLBACK_FORWARD_ANGLE_DEGREES  = 45.0;
+    private static final double   FALLBACK_BACKWARD_ANGLE_DEGREES = 135.0;
+
+    private static final int  FIRST_LINE_INDEX      = 0;
+    private static final int  LINES_PER_LEAF_TASK   = 2;
+    private static final int  MINIMUM_STROKES       = 1;
+    private static final long MINIMUM_BUDGET_MILLIS = 1L;
+    private static final int  NO_TILE_INDEX         = -1;
+
+    private final ShotSimulator shotSimulator;
+    private final ForkJoinPool  searchPool;
+    private final long          moveTimeBudgetNanoseconds;
+    private final SearchLine[]  searchLines;
+
+    private final LongAdder simulatedShotCount;
+
+    /**
+     * Constructs an AutoPlayer that searches on the common fork/join pool.
+     *
+     * @param shotSimulator        simulator used to evaluate candidate shots
+     * @param moveTimeBudgetMillis wall-clock budget for choosing one stroke, in milliseconds
+     */
+    public AutoPlayer(final ShotSimulator shotSimulator,
+                      final long moveTimeBudgetMillis)
+    {
+        this(shotSimulator, ForkJoinPool.commonPool(), moveTimeBudgetMillis);
+    }
+
+    /**
+     * Constructs an AutoPlayer.
+     *
+     * @param shotSimulator        simulator used to evaluate candidate shots
+     * @param searchPool           work-stealing pool the candidate search runs on
+     * @param moveTimeBudgetMillis wall-clock budget for choosing one stroke, in milliseconds
+     */
+    public AutoPlayer(final ShotSimulator shotSimulator,
+                      final ForkJoinPool searchPool,
+                      final long moveTimeBudgetMillis)
+    {
+        Objects.requireNonNull(shotSimulator, "shotSimulator must not be null");
+        Objects.requireNonNull(searchPool, "searchPool must not be null");
+
+        if (moveTimeBudgetMillis < MINIMUM_BUDGET_MILLIS)
+        {
+            throw new IllegalArgumentException("moveTimeBudgetMillis must be positive: " + moveTimeBudgetMillis);
+        }
+
+        this.shotSimulator             = shotSimulator;
+        this.searchPool                = searchPool;
+        this.moveTimeBudgetNanoseconds = TimeUnit.MILLISECONDS.toNanos(moveTimeBudgetMillis);
+        this.searchLines               = createSearchLines();
+
+        simulatedShotCount = new LongAdder();
+    }
+
+    /**
+     * Chooses the best shot from a resting ball position.
+     *
+     * @param golfCourse  course being played
+     * @param ballXPixels ball center x-position in pixels
+     * @param ballYPixels ball center y-position in pixels
+     * @return simulated outcome of the chosen shot
+     */
+    public ShotOutcome chooseShot(final GolfCourse golfCourse,
+                                  final double ballXPixels,
+                                  final double ballYPixels)
+    {
+        final long          deadlineNanoseconds;
+        final AtomicBoolean holedOut;
+        final ScoredShot    bestShot;
+        final double        fallbackAngleDegrees;
+
+        deadlineNanoseconds = System.nanoTime() + moveTimeBudgetNanoseconds;
+        holedOut            = new AtomicBoolean(false);
+
+        bestShot = searchPool.invoke(new SearchTask(new SearchContext(this,
+                                                                      golfCourse,
+                                                                      ballXPixels,
+                                                                      ballYPixels,
+                                                                      deadlineNanoseconds,
+                                                                      holedOut),
+                                                    FIRST_LINE_INDEX,
+                                                    searchLines.length));
+
+        if (bestShot != null)
+        {
+            return bestShot.shotOutcome;
+        }
+
+        // The budget ran out before anything was simulated; aim a mid-power wedge at the cup.
+        if (computeCupXPixels(golfCourse) >= ballXPixels)
+        {
+            fallbackAngleDegrees = FALLBACK_FORWARD_ANGLE_DEGREES;
+        }
+        else
+        {
+            fallbackAngleDegrees = FALLBACK_BACKWARD_ANGLE_DEGREES;
+        }
+
+        simulatedShotCount.increment();
+
+        return shotSimulator.simulateShot(golfCourse,
+                                          FALLBACK_CLUB_TYPE,
+                                          ballXPixels,
+                                          ballYPixels,
+                                          FALLBACK_POWER_PERCENTAGE,
+                                          fallbackAngleDegrees);
+    }
+
+    /**
+     * Plays a hole from the tee until the ball is holed or the stroke limit is
+     * reached, executing every chosen shot perfectly. Shots that end in water or
+     * out of bounds cost a stroke and are replayed from the same spot, as in the
+     * interactive game.
+     *
+     * @param golfCourse     course to play
+     * @param maximumStrokes stroke limit for the hole
+     * @return strokes taken to hole out, or {@code maximumStrokes} if the hole was not finished
+     */
+    public int playHole(final GolfCourse golfCourse,
+                        final int maximumStrokes)
+    {
+        return playHole(golfCourse, maximumStrokes, null);
+    }
+
+    /**
+     * Plays a hole like {@link #playHole(GolfCourse, int)}, but swings like a
+     * human: each chosen shot is struck with its power and angle nudged by
+     * normally distributed error drawn from the given generator.
+     *
+     * @param golfCourse      course to play
+     * @param maximumStrokes  stroke limit for the hole
+     * @param executionRandom source of swing error, or {@code null} for perfect execution
+     * @return strokes taken to hole out, or {@code maximumStrokes} if the hole was not finished
+     */
+    public int playHole(final GolfCourse golfCourse,
+                        final int maximumStrokes,
+                        final RandomGenerator executionRandom)
+    {
+        if (maximumStrokes < MINIMUM_STROKES)
+        {
+            throw new IllegalArgumentException("maximumStrokes must be positive: " + maximumStrokes);
+        }
+
+        double ballXPixels;
+        double ballYPixels;
+
+        ballXPixels = ShotSimulator.computeTeeBallXPixels(golfCourse);
+        ballYPixels = shotSimulator.computeTeeBallYPixels(golfCourse);
+
+        for (int stroke = MINIMUM_STROKES; stroke <= maximumStrokes; stroke++)
+        {
+            final ShotOutcome chosenShot;
+            final ShotOutcome shotOutcome;
+
+            chosenShot = chooseShot(golfCourse, ballXPixels, ballYPixels);
+
+            if (executionRandom == null)
+            {
+                shotOutcome = chosenShot;
+            }
+            else
+            {
+                shotOutcome = executeWithSwingError(golfCourse, ballXPixels, ballYPixels, chosenShot, executionRandom);
+            }
+
+            if (shotOutcome.getOutcomeType() == ShotOutcomeType.HOLED)
+            {
+                return stroke;
+            }
+
+            if (shotOutcome.getOutcomeType() == ShotOutcomeType.STOPPED)
+            {
+                ballXPixels = shotOutcome.getFinalXPixels();
+                ballYPixels = shotOutcome.getFinalYPixels();
+            }
+        }
+
+        return maximumStrokes;
+    }
+
+    /**
+     * Returns how many shots this player has simulated, for use as a load metric.
+     *
+     * @return total simulated shots
+     */
+    public long getSimulatedShotCount()
+    {
+        return simulatedShotCount.sum();
+    }
+
+    private ShotOutcome executeWithSwingError(final GolfCourse golfCourse,
+                                              final double ballXPixels,
+                                              final double ballYPixels,
+                                              final ShotOutcome chosenShot,
+                                              final RandomGenerator executionRandom)
+    {
+        final double powerPercentage;
+        final double launchAngleDegrees;
+
+        powerPercentage = Math.clamp(chosenShot.getPowerPercentage()
+                                     + executionRandom.nextGaussian() * SWING_POWER_ERROR_PERCENTAGE,
+                                     MINIMUM_POWER_PERCENTAGE,
+                                     MAXIMUM_POWER_PERCENTAGE);
+
+        launchAngleDegrees = Math.clamp(chosenShot.getLaunchAngleDegrees()
+                                        + executionRandom.nextGaussian() * SWING_ANGLE_ERROR_DEGREES,
+                                        MINIMUM_LAUNCH_ANGLE_DEGREES,
+                                        MAXIMUM_LAUNCH_ANGLE_DEGREES);
+
+        simulatedShotCount.increment();
+
+        return shotSimulator.simulateShot(golfCourse,
+                                          chosenShot.getClubType(),
+                                          ballXPixels,
+                                          ballYPixels,
+                                          powerPercentage,
+                                          launchAngleDegrees);
+    }
+
+    private static SearchLine[] createSearchLines()
+    {
+        final SearchLine[] lines;
+        int lineIndex;
+
+        lines     = new SearchLine[(SEARCH_CLUB_TYPES.length - 1) * LOFTED_LAUNCH_ANGLES_DEGREES.length
+                                   + PUTTER_LAUNCH_ANGLES_DEGREES.length];
+        lineIndex = 0;
+
+        for (final ClubType clubType : SEARCH_CLUB_TYPES)
+        {
+            final double[] launchAnglesDegrees;
+
+            if (clubType == ClubType.PUTTER)
+            {
+                launchAnglesDegrees = PUTTER_LAUNCH_ANGLES_DEGREES;
+            }
+            else
+            {
+                launchAnglesDegrees = LOFTED_LAUNCH_ANGLES_DEGREES;
+            }
+
+            for (final double launchAngleDegrees : launchAnglesDegrees)
+            {
+                lines[lineIndex] = new SearchLine(clubType, launchAngleDegrees);
+                lineIndex++;
+            }
+        }
+
+        return lines;
+    }
+
+    private ScoredShot searchLine(final SearchLine searchLine,
+                                  final GolfCourse golfCourse,
+                                  final double ballXPixels,
+                                  final double ballYPixels,
+                                  final long deadlineNanoseconds,
+                                  final AtomicBoolean holedOut)
+    {
+        final boolean aimingForward;
+        ScoredShot bestShot;
+
+        aimingForward = searchLine.launchAngleDegrees < RIGHT_ANGLE_DEGREES;
+        bestShot      = null;
+
+        for (final double powerPercentage : SEARCH_POWER_PERCENTAGES)
+        {
+            if (holedOut.get() || System.nanoTime() > deadlineNanoseconds)
+            {
+                break;
+            }
+
+            if (shotSimulator.leavesCourseInFlight(golfCourse,
+                                                   searchLine.clubType,
+                                                   ballXPixels,
+                                                   ballYPixels,
+                                                   powerPercentage,
+                                                   searchLine.launchAngleDegrees))
+            {
+                // The flight clears the course end untouched; no need to step it, or anything stronger.
+                break;
+            }
+
+            final ShotOutcome shotOutcome;
+            final double score;
+
+            shotOutcome = shotSimulator.simulateShot(golfCourse,
+                                                     searchLine.clubType,
+                                                     ballXPixels,
+                                                     ballYPixels,
+                                                     powerPercentage,
+                                                     searchLine.launchAngleDegrees);
+            simulatedShotCount.increment();
+
+            score    = scoreOutcome(golfCourse, ballXPixels, shotOutcome);
+            bestShot = better(bestShot, new ScoredShot(shotOutcome, score));
+
+            if (shotOutcome.getOutcomeType() == ShotOutcomeType.HOLED)
+            {
+                holedOut.set(true);
+                break;
+            }
+
+            if (leftCourseInAimedDirection(golfCourse, shotOutcome, aimingForward))
+            {
+                // More power along this line only carries the ball further off the course.
+                break;
+            }
+        }
+
+        return bestShot;
+    }
+
+    private static boolean leftCourseInAimedDirection(final GolfCourse golfCourse,
+                                                      final ShotOutcome shotOutcome,
+                                                      final boolean aimingForward)
+    {
+        if (shotOutcome.getOutcomeType() != ShotOutcomeType.OUT_OF_BOUNDS)
+        {
+            return false;
+        }
+
+        if (aimingForward)
+        {
+            return shotOutcome.getFinalXPixels() > golfCourse.getEndXPixels();
+        }
+
+        return shotOutcome.getFinalXPixels() < golfCourse.getStartXPixels();
+    }
+
+    private static double scoreOutcome(final GolfCourse golfCourse,
+                                       final double startXPixels,
+                                       final ShotOutcome shotOutcome)
+    {
+        final double cupXPixels;
+
+        cupXPixels = computeCupXPixels(golfCourse);
+
+        return switch (shotOutcome.getOutcomeType())
+        {
+            case HOLED -> HOLED_SCORE;
+            case STOPPED -> Math.abs(cupXPixels - shotOutcome.getFinalXPixels())
+                            + computeLiePenaltyPixels(shotOutcome.getFinalTerrainType())
+                            + computeWaterProximityPenaltyPixels(golfCourse, shotOutcome.getFinalXPixels());
+            default -> Math.abs(cupXPixels - startXPixels) + WASTED_STROKE_PENALTY_PIXELS;
+        };
+    }
+
+    private static double computeLiePenaltyPixels(final TerrainType terrainType)
+    {
+        return switch (terrainType)
+        {
+            case SAND -> SAND_LIE_PENALTY_PIXELS;
+            case ROUGH -> ROUGH_LIE_PENALTY_PIXELS;
+            default -> NO_PENALTY_PIXELS;
+        };
+    }
+
+    private static double computeWaterProximityPenaltyPixels(final GolfCourse golfCourse,
+                                                             final double restXPixels)
+    {
+        final int restTileIndex;
+        final int firstTileIndex;
+        final int lastTileIndex;
+
+        restTileIndex = golfCourse.findTileIndexAtX(restXPixels);
+
+        if (restTileIndex == NO_TILE_INDEX)
+        {
+            return NO_PENALTY_PIXELS;
+        }
+
+        firstTileIndex = Math.max(0, restTileIndex - WATER_PROXIMITY_TILE_RADIUS);
+        lastTileIndex  = Math.min(golfCourse.getTileCount() - 1, restTileIndex + WATER_PROXIMITY_TILE_RADIUS);
+
+        for (int tileIndex = firstTileIndex; tileIndex <= lastTileIndex; tileIndex++)
+        {
+            if (golfCourse.getCourseData().getTerrainType(tileIndex) == TerrainType.WATER)
+            {
+                return WATER_PROXIMITY_PENALTY_PIXELS;
+            }
+        }
+
+        return NO_PENALTY_PIXELS;
+    }
+
+    private static double computeCupXPixels(final GolfCourse golfCourse)
+    {
+        final TerrainTile holeTile;
+
+        holeTile = golfCourse.getHoleTile();
+
+        return holeTile.getStartXPixels()
+               + (holeTile.getEndXPixels() - holeTile.getStartXPixels()) * TILE_CENTER_RATIO;
+    }
+
+    // Lower score wins; ties keep the earlier candidate.
+    private static ScoredShot better(final ScoredShot currentBest,
+                                     final ScoredShot candidate)
+    {
+        if (currentBest == null)
+        {
+            return candidate;
+        }
+
+        if (candidate == null || currentBest.score <= candidate.score)
+        {
+            return currentBest;
+        }
+
+        return candidate;
+    }
+
+    private static final class SearchLine
+    {
+        private final ClubType clubType;
+        private final double   launchAngleDegrees;
+
+        private SearchLine(final ClubType clubType,
+                           final double launchAngleDegrees)
+        {
+            this.clubType           = clubType;
+            this.launchAngleDegrees = launchAngleDegrees;
+        }
+    }
+
+    private static final class ScoredShot
+    {
+        private final ShotOutcome shotOutcome;
+        private final double      score;
+
+        private ScoredShot(final ShotOutcome shotOutcome,
+                           final double score)
+        {
+            this.shotOutcome = shotOutcome;
+            this.score       = score;
+        }
+    }
+
+    // Everything a search needs besides its line range; shared by every task of one search.
+    private static final class SearchContext
+    {
+        private final AutoPlayer    autoPlayer;
+        private final GolfCourse    golfCourse;
+        private final double        ballXPixels;
+        private final double        ballYPixels;
+        private final long          deadlineNanoseconds;
+        private final AtomicBoolean holedOut;
+
+        private SearchContext(final AutoPlayer autoPlayer,
+                              final GolfCourse golfCourse,
+                              final double ballXPixels,
+                              final double ballYPixels,
+                              final long deadlineNanoseconds,
+                              final AtomicBoolean holedOut)
+        {
+            this.autoPlayer          = autoPlayer;
+            this.golfCourse          = golfCourse;
+            this.ballXPixels         = ballXPixels;
+            this.ballYPixels         = ballYPixels;
+            this.deadlineNanoseconds = deadlineNanoseconds;
+            this.holedOut            = holedOut;
+        }
+    }
+
+    // ForkJoinTask is Serializable, but search tasks never leave the pool, so the context is transient.
+    private static final class SearchTask extends RecursiveTask<ScoredShot>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SearchContext searchContext;
+
+        private final int firstLineIndex;
+        private final int endLineIndex;
+
+        private SearchTask(final SearchContext searchContext,
+                           final int firstLineIndex,
+                           final int endLineIndex)
+        {
+            this.searchContext  = searchContext;
+            this.firstLineIndex = firstLineIndex;
+            this.endLineIndex   = endLineIndex;
+        }
+
+        @Override
+        protected ScoredShot compute()
+        {
+            if (endLineIndex - firstLineIndex <= LINES_PER_LEAF_TASK)
+            {
+                final AutoPlayer autoPlayer;
+                ScoredShot bestShot;
+
+                autoPlayer = searchContext.autoPlayer;
+                bestShot   = null;
+
+                for (int lineIndex = firstLineIndex; lineIndex < endLineIndex; lineIndex++)
+                {
+                    bestShot = better(bestShot, autoPlayer.searchLine(autoPlayer.searchLines[lineIndex],
+                                                                      searchContext.golfCourse,
+                                                                      searchContext.ballXPixels,
+                                                                      searchContext.ballYPixels,
+                                                                      searchContext.deadlineNanoseconds,
+                                                                      searchContext.holedOut));
+                }
+
+                return bestShot;
+            }
+
+            final int        middleLineIndex;
+            final SearchTask firstHalf;
+            final SearchTask secondHalf;
+
+            middleLineIndex = (firstLineIndex + endLineIndex) >>> 1;
+
+            firstHalf  = new SearchTask(searchContext, firstLineIndex, middleLineIndex);
+            secondHalf = new SearchTask(searchContext, middleLineIndex, endLineIndex);
+
+            secondHalf.fork();
+
+            return better(firstHalf.compute(), secondHalf.join());
+        }
+    }
+}
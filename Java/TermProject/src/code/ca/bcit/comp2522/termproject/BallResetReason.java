@@ -0,0 +1,15 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Enumerates why the ball was returned to its last safe position.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public enum BallResetReason
+{
+    LIE_IN_WATER,
+    SPLASH,
+    OUT_OF_BOUNDS,
+    ROLLED_INTO_WATER
+}
@@ -0,0 +1,41 @@
+package ca.bcit.comp2522.termproject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a ball that came to rest, or was returned to
+ * its last safe position after a hazard.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+@Name("ca.bcit.comp2522.termproject.BallStopped")
+@Label("Ball Stopped")
+@Category({"Golf", "Gameplay"})
+@Description("The ball came to rest or was reset after a hazard.")
+@StackTrace(false)
+@Enabled(false)
+final class BallStoppedEvent extends Event
+{
+    @Label("Hole")
+    int holeNumber;
+
+    @Label("Stroke")
+    int strokeNumber;
+
+    @Label("Terrain")
+    String terrainType;
+
+    @Label("Reset Reason")
+    @Description("Why the ball was moved back to its last safe position, or null if it was not.")
+    String resetReason;
+
+    @Label("X (pixels)")
+    double positionXPixels;
+}
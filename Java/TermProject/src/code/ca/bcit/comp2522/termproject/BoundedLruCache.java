@@ -0,0 +1,199 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, least-recently-used map with hit, miss and eviction counts, shared
+ * by the engine's caches.
+ * <p>
+ * Callers look a key up with {@link #get(Object)} and, on a miss, build the
+ * value outside any lock and {@link #put(Object, Object)} it. Two threads
+ * may race on the same miss and both build the value; caches using this
+ * class only hold values that are the same whichever thread built them.
+ * <p>
+ * Safe to share across threads.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Taylor
+ * @version 1.0
+ */
+final class BoundedLruCache<K, V>
+{
+    private static final int     MINIMUM_CAPACITY    = 1;
+    private static final float   DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final double  NO_LOOKUPS_HIT_RATE = 0.0;
+    private static final long    NO_LOOKUPS          = 0L;
+    private static final boolean ACCESS_ORDER        = true;
+
+    private final int                 capacity;
+    private final LinkedHashMap<K, V> entries;
+
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder evictionCount;
+
+    /**
+     * Constructs a BoundedLruCache.
+     *
+     * @param capacity maximum number of entries kept before the least recently used is dropped
+     */
+    BoundedLruCache(final int capacity)
+    {
+        if (capacity < MINIMUM_CAPACITY)
+        {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+
+        this.capacity = capacity;
+
+        hitCount      = new LongAdder();
+        missCount     = new LongAdder();
+        evictionCount = new LongAdder();
+
+        entries = new LinkedHashMap<>(MINIMUM_CAPACITY, DEFAULT_LOAD_FACTOR, ACCESS_ORDER)
+        {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldestEntry)
+            {
+                if (size() > BoundedLruCache.this.capacity)
+                {
+                    evictionCount.increment();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the value for a key and marks it most recently used, counting
+     * the lookup as a hit or a miss.
+     *
+     * @param key key to look up
+     * @return cached value, or {@code null} on a miss
+     */
+    V get(final K key)
+    {
+        final V cachedValue;
+
+        synchronized (entries)
+        {
+            cachedValue = entries.get(key);
+        }
+
+        if (cachedValue == null)
+        {
+            missCount.increment();
+        }
+        else
+        {
+            hitCount.increment();
+        }
+
+        return cachedValue;
+    }
+
+    /**
+     * Stores a value, dropping the least recently used entry if the cache is full.
+     *
+     * @param key   key to store under
+     * @param value value to store
+     */
+    void put(final K key,
+             final V value)
+    {
+        synchronized (entries)
+        {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return hit count
+     */
+    long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that missed.
+     *
+     * @return miss count
+     */
+    long getMissCount()
+    {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of entries dropped to stay within capacity.
+     *
+     * @return eviction count
+     */
+    long getEvictionCount()
+    {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache.
+     *
+     * @return hit rate in {@code [0, 1]}, or 0 before any lookup
+     */
+    double getHitRate()
+    {
+        final long hits;
+        final long lookups;
+
+        hits    = hitCount.sum();
+        lookups = hits + missCount.sum();
+
+        if (lookups == NO_LOOKUPS)
+        {
+            return NO_LOOKUPS_HIT_RATE;
+        }
+
+        return (double) hits / lookups;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return current entry count
+     */
+    int size()
+    {
+        synchronized (entries)
+        {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the maximum number of cached entries.
+     *
+     * @return capacity
+     */
+    int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Drops every cached entry. Metrics are kept.
+     */
+    void clear()
+    {
+        synchronized (entries)
+        {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded, least-recently-used cache of generated and scored holes.
+ * <p>
+ * Entries are keyed by hole seed and every generator setting, so a hit is
+ * always exactly the hole {@link CourseGenerator#generateSingleHole(long, int,
+ * double, double, double)} would build. A daily challenge, a replay or a
+ * restarted round asks for the same seeds again, and gets the layout and
+ * its par without generating or scoring anything. Holes are immutable and
+ * can be shared by every round that plays them.
+ * <p>
+ * The par function is fixed for the cache's lifetime, so a cached par is
+ * never reused by code that would score the hole differently.
+ * <p>
+ * Safe to share across threads. Hit, miss and eviction counts are kept for
+ * tuning the capacity; the bookkeeping is the {@link BoundedLruCache} the
+ * engine's caches share.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class CourseCache
+{
+    /**
+     * Capacity used when none is given: a few full rounds.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final ToIntFunction<GolfCourse>                 parFunction;
+    private final BoundedLruCache<CourseKey, GeneratedHole> entries;
+
+    /**
+     * Constructs a CourseCache with the default capacity.
+     *
+     * @param parFunction scores each hole once when it is generated
+     */
+    public CourseCache(final ToIntFunction<GolfCourse> parFunction)
+    {
+        this(parFunction, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a CourseCache.
+     *
+     * @param parFunction scores each hole once when it is generated
+     * @param capacity    maximum number of holes kept before the least recently used is dropped
+     */
+    public CourseCache(final ToIntFunction<GolfCourse> parFunction,
+                       final int capacity)
+    {
+        Objects.requireNonNull(parFunction, "parFunction must not be null");
+
+        this.parFunction = parFunction;
+        this.entries     = new BoundedLruCache<>(capacity);
+    }
+
+    /**
+     * Returns the hole for a seed and generator settings, generating and
+     * scoring it on a miss.
+     *
+     * @param holeSeed                  seed of the hole
+     * @param numberOfTiles             number of tiles in the hole
+     * @param tileWidthPixels           width of each tile in pixels
+     * @param baseGroundCenterYPixels   base ground y-position in pixels
+     * @param maximumHeightOffsetPixels maximum vertical offset allowed for ground
+     * @return the hole and its par
+     */
+    public GeneratedHole getOrGenerate(final long holeSeed,
+                                       final int numberOfTiles,
+                                       final double tileWidthPixels,
+                                       final double baseGroundCenterYPixels,
+                                       final double maximumHeightOffsetPixels)
+    {
+        final CourseKey key;
+        final GeneratedHole cachedHole;
+        final GolfCourse generatedCourse;
+        final GeneratedHole generatedHole;
+
+        key = new CourseKey(holeSeed,
+                            numberOfTiles,
+                            tileWidthPixels,
+                            baseGroundCenterYPixels,
+                            maximumHeightOffsetPixels);
+
+        cachedHole = entries.get(key);
+
+        if (cachedHole != null)
+        {
+            return cachedHole;
+        }
+
+        generatedCourse = CourseGenerator.generateSingleHole(holeSeed,
+                                                             numberOfTiles,
+                                                             tileWidthPixels,
+                                                             baseGroundCenterYPixels,
+                                                             maximumHeightOffsetPixels);
+        generatedHole   = new GeneratedHole(holeSeed, generatedCourse, parFunction.applyAsInt(generatedCourse));
+
+        // Two threads may race on the same miss; both build the same hole and either may be kept.
+        entries.put(key, generatedHole);
+
+        return generatedHole;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return hit count
+     */
+    public long getHitCount()
+    {
+        return entries.getHitCount();
+    }
+
+    /**
+     * Returns the number of lookups that had to generate a hole.
+     *
+     * @return miss count
+     */
+    public long getMissCount()
+    {
+        return entries.getMissCount();
+    }
+
+    /**
+     * Returns the number of holes dropped to stay within capacity.
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount()
+    {
+        return entries.getEvictionCount();
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache.
+     *
+     * @return hit rate in {@code [0, 1]}, or 0 before any lookup
+     */
+    public double getHitRate()
+    {
+        return entries.getHitRate();
+    }
+
+    /**
+     * Returns the number of cached holes.
+     *
+     * @return current entry count
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of cached holes.
+     *
+     * @return capacity
+     */
+    public int getCapacity()
+    {
+        return entries.getCapacity();
+    }
+
+    /**
+     * Drops every cached hole. Metrics are kept.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    // Doubles are compared by bit pattern, the same way the generator would see them.
+    private static final class CourseKey
+    {
+        private final long   holeSeed;
+        private final int    numberOfTiles;
+        private final double tileWidthPixels;
+        private final double baseGroundCenterYPixels;
+        private final double maximumHeightOffsetPixels;
+
+        private CourseKey(final long holeSeed,
+                          final int numberOfTiles,
+                          final double tileWidthPixels,
+                          final double baseGroundCenterYPixels,
+                          final double maximumHeightOffsetPixels)
+        {
+            this.holeSeed                  = holeSeed;
+            this.numberOfTiles             = numberOfTiles;
+            this.tileWidthPixels           = tileWidthPixels;
+            this.baseGroundCenterYPixels   = baseGroundCenterYPixels;
+            this.maximumHeightOffsetPixels = maximumHeightOffsetPixels;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject)
+        {
+            if (this == otherObject)
+            {
+                return true;
+            }
+
+            if (!(otherObject instanceof CourseKey otherKey))
+            {
+                return false;
+            }
+
+            return holeSeed == otherKey.holeSeed
+                   && numberOfTiles == otherKey.numberOfTiles
+                   && Double.compare(tileWidthPixels, otherKey.tileWidthPixels) == 0
+                   && Double.compare(baseGroundCenterYPixels, otherKey.baseGroundCenterYPixels) == 0
+                   && Double.compare(maximumHeightOffsetPixels, otherKey.maximumHeightOffsetPixels) == 0;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(holeSeed,
+                                numberOfTiles,
+                                tileWidthPixels,
+                                baseGroundCenterYPixels,
+                                maximumHeightOffsetPixels);
+        }
+    }
+}
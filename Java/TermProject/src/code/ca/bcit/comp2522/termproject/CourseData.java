@@ -0,0 +1,390 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The terrain of a hole stored as packed primitive columns: one
+ * {@code double} ground height and one {@code byte} terrain type per tile.
+ * <p>
+ * Generated holes are made of evenly spaced, touching tiles, so a tile's
+ * x-range is implied by its index and is not stored at all. A tile then
+ * costs nine bytes instead of a {@link TerrainTile} object plus the reference
+ * to it, and scanning tiles walks two dense arrays. Layouts that are not
+ * evenly spaced keep explicit start and end columns instead, so any list of
+ * tiles can still be packed.
+ * <p>
+ * Existing callers that want {@link TerrainTile}s get them from
+ * {@link #getTile(int)} or {@link #asTileList()}. These are views built on
+ * request from the columns; nothing is kept per tile.
+ * <p>
+ * Immutable once built; safe to share across threads.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class CourseData
+{
+    private static final TerrainType[] TERRAIN_TYPES = TerrainType.values();
+
+    private static final int    FIRST_TILE_INDEX        = 0;
+    private static final int    NEXT_TILE_OFFSET        = 1;
+    private static final int    NO_TILES                = 0;
+    private static final double NO_TILE_WIDTH_PIXELS    = 0.0;
+    private static final double EMPTY_ORIGIN_X_PIXELS   = 0.0;
+    private static final int    FIRST_TERRAIN_TYPE_CODE = 0;
+
+    // Pieces count as touching when their edges agree to this fraction of a tile.
+    private static final double JOIN_TOLERANCE_TILE_FRACTION = 1e-9;
+
+    private final int      tileCount;
+    private final double   firstTileStartXPixels;
+    private final double   tileWidthPixels;
+    private final double[] groundCenterYPixels;
+    private final byte[]   terrainTypeCodes;
+
+    // Only set when the tiles are not evenly spaced; null otherwise.
+    private final double[] tileStartXPixels;
+    private final double[] tileEndXPixels;
+
+    private final List<TerrainTile> tileListView;
+
+    /**
+     * Constructs evenly spaced course data. The arrays are kept, not copied,
+     * so the caller must not change them afterwards.
+     *
+     * @param firstTileStartXPixels start x-position of the first tile in pixels
+     * @param tileWidthPixels       width of every tile in pixels
+     * @param groundCenterYPixels   ground height of each tile in pixels
+     * @param terrainTypeCodes      terrain type of each tile, from {@link #toTerrainTypeCode(TerrainType)}
+     */
+    CourseData(final double firstTileStartXPixels,
+               final double tileWidthPixels,
+               final double[] groundCenterYPixels,
+               final byte[] terrainTypeCodes)
+    {
+        this(firstTileStartXPixels, tileWidthPixels, groundCenterYPixels, terrainTypeCodes, null, null);
+    }
+
+    private CourseData(final double firstTileStartXPixels,
+                       final double tileWidthPixels,
+                       final double[] groundCenterYPixels,
+                       final byte[] terrainTypeCodes,
+                       final double[] tileStartXPixels,
+                       final double[] tileEndXPixels)
+    {
+        Objects.requireNonNull(groundCenterYPixels, "groundCenterYPixels must not be null");
+        Objects.requireNonNull(terrainTypeCodes, "terrainTypeCodes must not be null");
+
+        if (groundCenterYPixels.length != terrainTypeCodes.length)
+        {
+            throw new IllegalArgumentException("Column lengths differ: "
+                                               + groundCenterYPixels.length + " ground heights, "
+                                               + terrainTypeCodes.length + " terrain types");
+        }
+
+        // Checked once here so getTerrainType never meets a code it cannot decode.
+        for (int tileIndex = 0; tileIndex < terrainTypeCodes.length; tileIndex++)
+        {
+            if (terrainTypeCodes[tileIndex] < FIRST_TERRAIN_TYPE_CODE
+                || terrainTypeCodes[tileIndex] >= TERRAIN_TYPES.length)
+            {
+                throw new IllegalArgumentException("Unknown terrain type code " + terrainTypeCodes[tileIndex]
+                                                   + " at tile " + tileIndex);
+            }
+        }
+
+        this.tileCount             = groundCenterYPixels.length;
+        this.firstTileStartXPixels = firstTileStartXPixels;
+        this.tileWidthPixels       = tileWidthPixels;
+        this.groundCenterYPixels   = groundCenterYPixels;
+        this.terrainTypeCodes      = terrainTypeCodes;
+        this.tileStartXPixels      = tileStartXPixels;
+        this.tileEndXPixels        = tileEndXPixels;
+
+        tileListView = new TileListView();
+    }
+
+    /**
+     * Packs a list of tiles. Evenly spaced, touching tiles drop their
+     * x-ranges; any other layout keeps them, so every tile reads back with
+     * exactly the values it was given.
+     *
+     * @param terrainTiles tiles in increasing x-order
+     * @return packed course data
+     */
+    public static CourseData fromTiles(final List<TerrainTile> terrainTiles)
+    {
+        Objects.requireNonNull(terrainTiles, "terrainTiles must not be null");
+
+        final int tileCount;
+        final double[] groundCenterYPixels;
+        final byte[] terrainTypeCodes;
+        final double[] startXPixels;
+        final double[] endXPixels;
+        final double firstStartXPixels;
+        final double uniformWidthPixels;
+        boolean evenlySpaced;
+
+        tileCount           = terrainTiles.size();
+        groundCenterYPixels = new double[tileCount];
+        terrainTypeCodes    = new byte[tileCount];
+        startXPixels        = new double[tileCount];
+        endXPixels          = new double[tileCount];
+
+        for (int tileIndex = 0; tileIndex < tileCount; tileIndex++)
+        {
+            final TerrainTile terrainTile;
+
+            terrainTile = terrainTiles.get(tileIndex);
+
+            groundCenterYPixels[tileIndex] = terrainTile.getGroundCenterYPixels();
+            terrainTypeCodes[tileIndex]    = toTerrainTypeCode(terrainTile.getTerrainType());
+            startXPixels[tileIndex]        = terrainTile.getStartXPixels();
+            endXPixels[tileIndex]          = terrainTile.getEndXPixels();
+        }
+
+        if (tileCount == NO_TILES)
+        {
+            return new CourseData(EMPTY_ORIGIN_X_PIXELS, NO_TILE_WIDTH_PIXELS, groundCenterYPixels, terrainTypeCodes);
+        }
+
+        firstStartXPixels  = startXPixels[FIRST_TILE_INDEX];
+        uniformWidthPixels = endXPixels[FIRST_TILE_INDEX] - firstStartXPixels;
+        evenlySpaced       = uniformWidthPixels > NO_TILE_WIDTH_PIXELS;
+
+        // Only drop the x-ranges if recomputing them gives back the same doubles.
+        for (int tileIndex = 0; tileIndex < tileCount && evenlySpaced; tileIndex++)
+        {
+            evenlySpaced = startXPixels[tileIndex] == computeStartXPixels(firstStartXPixels, uniformWidthPixels, tileIndex)
+                           && endXPixels[tileIndex] == computeStartXPixels(firstStartXPixels,
+                                                                           uniformWidthPixels,
+                                                                           tileIndex + NEXT_TILE_OFFSET);
+        }
+
+        if (evenlySpaced)
+        {
+            return new CourseData(firstStartXPixels, uniformWidthPixels, groundCenterYPixels, terrainTypeCodes);
+        }
+
+        return new CourseData(firstStartXPixels,
+                              NO_TILE_WIDTH_PIXELS,
+                              groundCenterYPixels,
+                              terrainTypeCodes,
+                              startXPixels,
+                              endXPixels);
+    }
+
+    /**
+     * Joins evenly spaced pieces of terrain that follow one another into one.
+     * The pieces must share a tile width, and each must start where the one
+     * before it ends, to within rounding of the tile positions.
+     *
+     * @param pieces evenly spaced course data, in increasing x-order
+     * @return joined course data starting where the first piece starts
+     * @throws IllegalArgumentException if there are no pieces, or they are not
+     *                                  evenly spaced, of one width and touching
+     */
+    static CourseData join(final List<CourseData> pieces)
+    {
+        final CourseData firstPiece;
+        final double joinTolerancePixels;
+        final double[] joinedGroundCenterYPixels;
+        final byte[] joinedTerrainTypeCodes;
+        double expectedStartXPixels;
+        int joinedTileCount;
+        int writeIndex;
+
+        Objects.requireNonNull(pieces, "pieces must not be null");
+
+        if (pieces.isEmpty())
+        {
+            throw new IllegalArgumentException("pieces must not be empty");
+        }
+
+        firstPiece           = pieces.getFirst();
+        joinTolerancePixels  = firstPiece.tileWidthPixels * JOIN_TOLERANCE_TILE_FRACTION;
+        expectedStartXPixels = firstPiece.firstTileStartXPixels;
+        joinedTileCount      = NO_TILES;
+
+        for (final CourseData piece : pieces)
+        {
+            if (piece.tileStartXPixels != null || piece.tileWidthPixels != firstPiece.tileWidthPixels)
+            {
+                throw new IllegalArgumentException("Only evenly spaced pieces of one tile width can be joined");
+            }
+
+            if (Math.abs(piece.firstTileStartXPixels - expectedStartXPixels) > joinTolerancePixels)
+            {
+                throw new IllegalArgumentException("Piece starts at " + piece.firstTileStartXPixels
+                                                   + " but the piece before it ends at " + expectedStartXPixels);
+            }
+
+            expectedStartXPixels = computeStartXPixels(piece.firstTileStartXPixels,
+                                                       piece.tileWidthPixels,
+                                                       piece.tileCount);
+            joinedTileCount     += piece.tileCount;
+        }
+
+        joinedGroundCenterYPixels = new double[joinedTileCount];
+        joinedTerrainTypeCodes    = new byte[joinedTileCount];
+        writeIndex                = FIRST_TILE_INDEX;
+
+        for (final CourseData piece : pieces)
+        {
+            System.arraycopy(piece.groundCenterYPixels, FIRST_TILE_INDEX,
+                             joinedGroundCenterYPixels, writeIndex, piece.tileCount);
+            System.arraycopy(piece.terrainTypeCodes, FIRST_TILE_INDEX,
+                             joinedTerrainTypeCodes, writeIndex, piece.tileCount);
+            writeIndex += piece.tileCount;
+        }
+
+        return new CourseData(firstPiece.firstTileStartXPixels,
+                              firstPiece.tileWidthPixels,
+                              joinedGroundCenterYPixels,
+                              joinedTerrainTypeCodes);
+    }
+
+    /**
+     * Returns the code a terrain type is stored as.
+     *
+     * @param terrainType terrain type to encode
+     * @return terrain type code
+     */
+    static byte toTerrainTypeCode(final TerrainType terrainType)
+    {
+        return (byte) terrainType.ordinal();
+    }
+
+    /**
+     * Returns the number of tiles.
+     *
+     * @return tile count
+     */
+    public int getTileCount()
+    {
+        return tileCount;
+    }
+
+    /**
+     * Returns the width shared by every tile.
+     *
+     * @return tile width in pixels, or 0 if the tiles are not evenly spaced
+     */
+    public double getUniformTileWidthPixels()
+    {
+        return tileWidthPixels;
+    }
+
+    /**
+     * Returns the inclusive start x-position of a tile.
+     *
+     * @param tileIndex zero-based tile index
+     * @return start x-position in pixels
+     */
+    public double getTileStartXPixels(final int tileIndex)
+    {
+        Objects.checkIndex(tileIndex, tileCount);
+
+        if (tileStartXPixels != null)
+        {
+            return tileStartXPixels[tileIndex];
+        }
+
+        return computeStartXPixels(firstTileStartXPixels, tileWidthPixels, tileIndex);
+    }
+
+    /**
+     * Returns the exclusive end x-position of a tile.
+     *
+     * @param tileIndex zero-based tile index
+     * @return end x-position in pixels
+     */
+    public double getTileEndXPixels(final int tileIndex)
+    {
+        Objects.checkIndex(tileIndex, tileCount);
+
+        if (tileEndXPixels != null)
+        {
+            return tileEndXPixels[tileIndex];
+        }
+
+        return computeStartXPixels(firstTileStartXPixels, tileWidthPixels, tileIndex + NEXT_TILE_OFFSET);
+    }
+
+    /**
+     * Returns the ground height of a tile.
+     *
+     * @param tileIndex zero-based tile index
+     * @return ground y-position in pixels
+     */
+    public double getGroundCenterYPixels(final int tileIndex)
+    {
+        Objects.checkIndex(tileIndex, tileCount);
+
+        return groundCenterYPixels[tileIndex];
+    }
+
+    /**
+     * Returns the terrain type of a tile.
+     *
+     * @param tileIndex zero-based tile index
+     * @return terrain type
+     */
+    public TerrainType getTerrainType(final int tileIndex)
+    {
+        Objects.checkIndex(tileIndex, tileCount);
+
+        return TERRAIN_TYPES[terrainTypeCodes[tileIndex]];
+    }
+
+    /**
+     * Returns a tile as a {@link TerrainTile}, built from the columns.
+     *
+     * @param tileIndex zero-based tile index
+     * @return tile view
+     */
+    public TerrainTile getTile(final int tileIndex)
+    {
+        return new TerrainTile(getTileStartXPixels(tileIndex),
+                               getTileEndXPixels(tileIndex),
+                               groundCenterYPixels[tileIndex],
+                               getTerrainType(tileIndex));
+    }
+
+    /**
+     * Returns every tile as an unmodifiable list whose elements are built
+     * from the columns when read.
+     *
+     * @return tile list view
+     */
+    public List<TerrainTile> asTileList()
+    {
+        return tileListView;
+    }
+
+    // Same expression for every tile, so start(i + 1) == end(i) holds exactly.
+    private static double computeStartXPixels(final double firstStartXPixels,
+                                              final double widthPixels,
+                                              final int tileIndex)
+    {
+        return firstStartXPixels + tileIndex * widthPixels;
+    }
+
+    private final class TileListView extends AbstractList<TerrainTile> implements RandomAccess
+    {
+        @Override
+        public TerrainTile get(final int tileIndex)
+        {
+            return getTile(tileIndex);
+        }
+
+        @Override
+        public int size()
+        {
+            return tileCount;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ca.bcit.comp2522.termproject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the generation of one hole by
+ * {@link CourseGenerator}.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+@Name("ca.bcit.comp2522.termproject.CourseGeneration")
+@Label("Course Generation")
+@Category({"Golf", "Course"})
+@Description("A single hole was generated.")
+@StackTrace(false)
+@Enabled(false)
+final class CourseGenerationEvent extends Event
+{
+    @Label("Tiles")
+    int tileCount;
+
+    @Label("Air Obstacles")
+    int airObstacleCount;
+
+    @Label("Par Guess")
+    int parGuess;
+}
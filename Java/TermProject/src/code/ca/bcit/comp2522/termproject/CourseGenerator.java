@@ -2,7 +2,9 @@ package ca.bcit.comp2522.termproject;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 
 /**
  * Generates random single-hole golf courses with terrain and air obstacles.
@@ -20,9 +22,10 @@ import java.util.Random;
  */
 public final class CourseGenerator
 {
-    private static final int    ALTER_BY_ONE    = 1;
-    private static final int    MIN_VALUE       = 1;
-    private static final double MIN_HOLE_LENGTH = 0.0;
+    private static final int    ALTER_BY_ONE     = 1;
+    private static final int    MIN_VALUE        = 1;
+    private static final double MIN_HOLE_LENGTH  = 0.0;
+    private static final int    FIRST_HOLE_INDEX = 0;
 
     // -------------------- Terrain / Par Constants --------------------
 
@@ -82,6 +85,12 @@ public final class CourseGenerator
 
     private static final int ROUGH_TERRAIN_MAX_PERCENTAGE = 35;
 
+    // -------------------- Endless Chunk Constants --------------------
+
+    private static final long FIRST_CHUNK_INDEX = 0L;
+
+    private static final int TERRAIN_RUN_CONTINUE_PERCENTAGE = 40;
+
     // -------------------- Constructors --------------------
 
     private CourseGenerator()
@@ -89,6 +98,140 @@ public final class CourseGenerator
         // Utility class; prevent instantiation.
     }
 
+    /**
+     * Derives the seed of every hole of a round from the round's seed. Each
+     * hole is then generated from its own seed alone, so a single hole can
+     * be reproduced, shared or cached without the holes before it.
+     *
+     * @param roundSeed     seed for the whole round
+     * @param numberOfHoles number of holes in the round
+     * @return one 64-bit seed per hole, in playing order
+     */
+    public static long[] deriveHoleSeeds(final long roundSeed,
+                                         final int numberOfHoles)
+    {
+        final SplittableRandom roundRandom;
+        final long[] holeSeeds;
+
+        roundRandom = new SplittableRandom(roundSeed);
+        holeSeeds   = new long[numberOfHoles];
+
+        for (int holeIndex = 0; holeIndex < numberOfHoles; holeIndex++)
+        {
+            holeSeeds[holeIndex] = roundRandom.nextLong();
+        }
+
+        return holeSeeds;
+    }
+
+    /**
+     * Generates every hole of a round from one seed. The same seed and
+     * settings always produce the same holes, which is what lets a recorded
+     * round be replayed from its seed alone. Hole {@code i} is the hole
+     * generated from {@code deriveHoleSeeds(roundSeed, numberOfHoles)[i]}.
+     * <p>
+     * Each hole depends only on its own seed, so the holes are generated in
+     * parallel with a parallel stream and come back in playing order,
+     * identical whatever the number of threads.
+     *
+     * @param roundSeed                 seed for the whole round
+     * @param numberOfHoles             number of holes to generate
+     * @param numberOfTiles             number of tiles in each hole
+     * @param tileWidthPixels           width of each tile in pixels
+     * @param baseGroundCenterYPixels   base ground y-position in pixels
+     * @param maximumHeightOffsetPixels maximum vertical offset allowed for ground
+     * @return the holes, in playing order
+     */
+    public static List<GolfCourse> generateRound(final long roundSeed,
+                                                 final int numberOfHoles,
+                                                 final int numberOfTiles,
+                                                 final double tileWidthPixels,
+                                                 final double baseGroundCenterYPixels,
+                                                 final double maximumHeightOffsetPixels)
+    {
+        final long[] holeSeeds;
+
+        holeSeeds = deriveHoleSeeds(roundSeed, numberOfHoles);
+
+        return generateHoles(holeSeeds,
+                             numberOfTiles,
+                             tileWidthPixels,
+                             baseGroundCenterYPixels,
+                             maximumHeightOffsetPixels);
+    }
+
+    /**
+     * Generates several rounds at once, as for a tournament. Every hole of
+     * every round is generated in parallel; round {@code r} is exactly what
+     * {@link #generateRound} returns for {@code roundSeeds[r]}.
+     *
+     * @param roundSeeds                seed of each round
+     * @param numberOfHoles             number of holes in each round
+     * @param numberOfTiles             number of tiles in each hole
+     * @param tileWidthPixels           width of each tile in pixels
+     * @param baseGroundCenterYPixels   base ground y-position in pixels
+     * @param maximumHeightOffsetPixels maximum vertical offset allowed for ground
+     * @return one list of holes per round, in the order of the seeds
+     */
+    public static List<List<GolfCourse>> generateRounds(final long[] roundSeeds,
+                                                        final int numberOfHoles,
+                                                        final int numberOfTiles,
+                                                        final double tileWidthPixels,
+                                                        final double baseGroundCenterYPixels,
+                                                        final double maximumHeightOffsetPixels)
+    {
+        final long[] holeSeeds;
+        final List<GolfCourse> allHoles;
+        final List<List<GolfCourse>> rounds;
+
+        holeSeeds = new long[roundSeeds.length * numberOfHoles];
+
+        for (int roundIndex = 0; roundIndex < roundSeeds.length; roundIndex++)
+        {
+            System.arraycopy(deriveHoleSeeds(roundSeeds[roundIndex], numberOfHoles), FIRST_HOLE_INDEX,
+                             holeSeeds, roundIndex * numberOfHoles, numberOfHoles);
+        }
+
+        // One flat stream over every hole keeps all cores busy even when there are few rounds.
+        allHoles = generateHoles(holeSeeds,
+                                 numberOfTiles,
+                                 tileWidthPixels,
+                                 baseGroundCenterYPixels,
+                                 maximumHeightOffsetPixels);
+        rounds   = new ArrayList<>(roundSeeds.length);
+
+        for (int roundIndex = 0; roundIndex < roundSeeds.length; roundIndex++)
+        {
+            rounds.add(allHoles.subList(roundIndex * numberOfHoles, (roundIndex + ALTER_BY_ONE) * numberOfHoles));
+        }
+
+        return List.copyOf(rounds);
+    }
+
+    /**
+     * Generates the hole for a 64-bit seed. The same seed and settings always
+     * produce the same hole, from a {@link SplittableRandom} stream of its own.
+     *
+     * @param holeSeed                  seed of the hole
+     * @param numberOfTiles             number of tiles in the hole
+     * @param tileWidthPixels           width of each tile in pixels
+     * @param baseGroundCenterYPixels   base ground y-position in pixels
+     * @param maximumHeightOffsetPixels maximum vertical offset allowed for ground
+     * @return new GolfCourse instance
+     */
+    public static GolfCourse generateSingleHole(final long holeSeed,
+                                                final int numberOfTiles,
+                                                final double tileWidthPixels,
+                                                final double baseGroundCenterYPixels,
+                                                final double maximumHeightOffsetPixels)
+    {
+        return generateSingleHole(new SplittableRandom(holeSeed),
+                                  numberOfTiles,
+                                  tileWidthPixels,
+                                  baseGroundCenterYPixels,
+                                  maximumHeightOffsetPixels);
+    }
+
     /**
      * Generates a single-hole course using random terrain tiles and air obstacles.
      *
@@ -99,20 +242,21 @@ public final class CourseGenerator
      * @param maximumHeightOffsetPixels maximum vertical offset allowed for ground
      * @return new GolfCourse instance
      */
-    public static GolfCourse generateSingleHole(final Random randomNumberGenerator,
+    public static GolfCourse generateSingleHole(final RandomGenerator randomNumberGenerator,
                                                 final int numberOfTiles,
                                                 final double tileWidthPixels,
                                                 final double baseGroundCenterYPixels,
                                                 final double maximumHeightOffsetPixels)
     {
-        final List<TerrainTile> terrainTiles;
+        final double[] groundCenterYPixelsByTile;
+        final byte[] terrainTypeCodesByTile;
+        final CourseData courseData;
         final List<AirObstacle> airObstacles;
 
         final int minimumHoleTileIndex;
         final int maximumHoleTileIndex;
         final int holeTileIndex;
 
-        double currentXPixels;
         double currentHeightOffsetPixels;
 
         final double teeBallXPixels;
@@ -121,10 +265,17 @@ public final class CourseGenerator
 
         final int parStrokesGuess;
 
-        terrainTiles = new ArrayList<>();
-        airObstacles = new ArrayList<>();
+        final CourseGenerationEvent courseGenerationEvent;
+        final GolfCourse generatedHole;
+
+        courseGenerationEvent = new CourseGenerationEvent();
+        courseGenerationEvent.begin();
+
+        // Tiles are written straight into packed columns; their x-ranges follow from index and width.
+        groundCenterYPixelsByTile = new double[numberOfTiles];
+        terrainTypeCodesByTile    = new byte[numberOfTiles];
+        airObstacles              = new ArrayList<>();
 
-        currentXPixels            = INITIAL_TERRAIN_START_X_PIXELS;
         currentHeightOffsetPixels = INITIAL_HEIGHT_OFFSET_PIXELS;
 
         // Choose a random tile index for the HOLE in the back half of the course.
@@ -138,8 +289,6 @@ public final class CourseGenerator
         {
             final double randomHeightChangePixels;
             final double groundCenterYPixels;
-            final double startXPixels;
-            final double endXPixels;
             final TerrainType terrainTypeForTile;
 
             randomHeightChangePixels = (randomNumberGenerator.nextDouble() - RANDOM_HEIGHT_DELTA_CENTERING_RATIO)
@@ -153,9 +302,6 @@ public final class CourseGenerator
 
             groundCenterYPixels = baseGroundCenterYPixels + currentHeightOffsetPixels;
 
-            startXPixels = currentXPixels;
-            endXPixels   = currentXPixels + tileWidthPixels;
-
             if (tileIndex == holeTileIndex)
             {
                 // Exact tile that contains the cup.
@@ -177,41 +323,19 @@ public final class CourseGenerator
                 }
                 else
                 {
-                    final int randomValuePercentage;
-
-                    randomValuePercentage = randomNumberGenerator.nextInt(RANDOM_PERCENTAGE_UPPER_BOUND_EXCLUSIVE);
-
-                    if (randomValuePercentage < WATER_TERRAIN_MAX_PERCENTAGE)
-                    {
-                        terrainTypeForTile = TerrainType.WATER;
-                    }
-                    else if (randomValuePercentage < SAND_TERRAIN_MAX_PERCENTAGE)
-                    {
-                        terrainTypeForTile = TerrainType.SAND;
-                    }
-                    else if (randomValuePercentage < ROUGH_TERRAIN_MAX_PERCENTAGE)
-                    {
-                        terrainTypeForTile = TerrainType.ROUGH;
-                    }
-                    else
-                    {
-                        terrainTypeForTile = TerrainType.FAIRWAY;
-                    }
+                    terrainTypeForTile = pickRandomTerrainType(randomNumberGenerator);
                 }
             }
 
-            terrainTiles.add(
-                new TerrainTile(
-                    startXPixels,
-                    endXPixels,
-                    groundCenterYPixels,
-                    terrainTypeForTile
-                )
-                            );
-
-            currentXPixels += tileWidthPixels;
+            groundCenterYPixelsByTile[tileIndex] = groundCenterYPixels;
+            terrainTypeCodesByTile[tileIndex]    = CourseData.toTerrainTypeCode(terrainTypeForTile);
         }
 
+        courseData = new CourseData(INITIAL_TERRAIN_START_X_PIXELS,
+                                    tileWidthPixels,
+                                    groundCenterYPixelsByTile,
+                                    terrainTypeCodesByTile);
+
         // Tee ball X: quarter into the first tile (matches initializeBallAtTee).
         teeBallXPixels = tileWidthPixels * TEE_BALL_OFFSET_RATIO_FROM_TILE_START;
 
@@ -224,25 +348,179 @@ public final class CourseGenerator
                                          Math.round(holeLengthPixels / PIXELS_PER_STROKE_FOR_PAR_GUESS));
 
         generateAirObstaclesForHole(randomNumberGenerator,
-                                    terrainTiles,
+                                    courseData,
+                                    maximumHeightOffsetPixels,
+                                    tileWidthPixels,
+                                    airObstacles);
+
+        generatedHole = new GolfCourse(courseData, airObstacles, parStrokesGuess);
+
+        if (courseGenerationEvent.shouldCommit())
+        {
+            courseGenerationEvent.tileCount        = courseData.getTileCount();
+            courseGenerationEvent.airObstacleCount = airObstacles.size();
+            courseGenerationEvent.parGuess         = parStrokesGuess;
+            courseGenerationEvent.commit();
+        }
+
+        return generatedHole;
+    }
+
+    /**
+     * Generates the next chunk of an endless course. Ground height and the
+     * current terrain run carry on from the previous chunk, so chunks join
+     * without a step or seam. Endless terrain has no green or hole.
+     *
+     * @param chunkSeed                 seed of this chunk
+     * @param previousChunk             chunk this one follows, or {@code null} for the first chunk
+     * @param tilesPerChunk             number of tiles in every chunk
+     * @param tileWidthPixels           width of each tile in pixels
+     * @param baseGroundCenterYPixels   base ground y-position in pixels
+     * @param maximumHeightOffsetPixels maximum vertical offset allowed for ground
+     * @return new chunk, placed directly after the previous one
+     */
+    public static TerrainChunk generateChunk(final long chunkSeed,
+                                             final TerrainChunk previousChunk,
+                                             final int tilesPerChunk,
+                                             final double tileWidthPixels,
+                                             final double baseGroundCenterYPixels,
+                                             final double maximumHeightOffsetPixels)
+    {
+        final RandomGenerator randomNumberGenerator;
+        final long chunkIndex;
+        final double[] groundCenterYPixelsByTile;
+        final byte[] terrainTypeCodesByTile;
+        final List<AirObstacle> airObstacles;
+        final CourseData courseData;
+
+        double currentHeightOffsetPixels;
+        TerrainType previousTerrainType;
+
+        if (tilesPerChunk < MIN_VALUE)
+        {
+            throw new IllegalArgumentException("tilesPerChunk must be positive: " + tilesPerChunk);
+        }
+
+        randomNumberGenerator     = new SplittableRandom(chunkSeed);
+        groundCenterYPixelsByTile = new double[tilesPerChunk];
+        terrainTypeCodesByTile    = new byte[tilesPerChunk];
+        airObstacles              = new ArrayList<>();
+
+        if (previousChunk == null)
+        {
+            chunkIndex                = FIRST_CHUNK_INDEX;
+            currentHeightOffsetPixels = INITIAL_HEIGHT_OFFSET_PIXELS;
+            previousTerrainType       = null;
+        }
+        else
+        {
+            chunkIndex                = previousChunk.getChunkIndex() + ALTER_BY_ONE;
+            currentHeightOffsetPixels = previousChunk.getEndHeightOffsetPixels();
+            previousTerrainType       = previousChunk.getLastTerrainType();
+        }
+
+        for (int tileIndex = 0; tileIndex < tilesPerChunk; tileIndex++)
+        {
+            final double randomHeightChangePixels;
+            final TerrainType terrainTypeForTile;
+
+            randomHeightChangePixels = (randomNumberGenerator.nextDouble() - RANDOM_HEIGHT_DELTA_CENTERING_RATIO)
+                                       * RANDOM_HEIGHT_STEP_PIXELS;
+
+            currentHeightOffsetPixels = clamp(currentHeightOffsetPixels + randomHeightChangePixels,
+                                              -maximumHeightOffsetPixels,
+                                              maximumHeightOffsetPixels);
+
+            if (previousTerrainType == null)
+            {
+                // The very first tile is the tee.
+                terrainTypeForTile = TerrainType.FAIRWAY;
+            }
+            else if (previousTerrainType != TerrainType.WATER
+                     && randomNumberGenerator.nextInt(RANDOM_PERCENTAGE_UPPER_BOUND_EXCLUSIVE)
+                        < TERRAIN_RUN_CONTINUE_PERCENTAGE)
+            {
+                terrainTypeForTile = previousTerrainType;
+            }
+            else
+            {
+                terrainTypeForTile = pickRandomTerrainType(randomNumberGenerator);
+            }
+
+            groundCenterYPixelsByTile[tileIndex] = baseGroundCenterYPixels + currentHeightOffsetPixels;
+            terrainTypeCodesByTile[tileIndex]    = CourseData.toTerrainTypeCode(terrainTypeForTile);
+            previousTerrainType                  = terrainTypeForTile;
+        }
+
+        courseData = new CourseData(chunkIndex * tilesPerChunk * tileWidthPixels,
+                                    tileWidthPixels,
+                                    groundCenterYPixelsByTile,
+                                    terrainTypeCodesByTile);
+
+        generateAirObstaclesForHole(randomNumberGenerator,
+                                    courseData,
                                     maximumHeightOffsetPixels,
                                     tileWidthPixels,
                                     airObstacles);
 
-        return new GolfCourse(terrainTiles, airObstacles, parStrokesGuess);
+        return new TerrainChunk(chunkIndex,
+                                courseData,
+                                airObstacles,
+                                currentHeightOffsetPixels,
+                                previousTerrainType);
     }
 
     // -------------------- Internal Helpers --------------------
 
-    private static void generateAirObstaclesForHole(final Random randomNumberGenerator,
-                                                    final List<TerrainTile> terrainTiles,
+    private static List<GolfCourse> generateHoles(final long[] holeSeeds,
+                                                  final int numberOfTiles,
+                                                  final double tileWidthPixels,
+                                                  final double baseGroundCenterYPixels,
+                                                  final double maximumHeightOffsetPixels)
+    {
+        return IntStream.range(FIRST_HOLE_INDEX, holeSeeds.length)
+                        .parallel()
+                        .mapToObj(holeIndex -> generateSingleHole(holeSeeds[holeIndex],
+                                                                  numberOfTiles,
+                                                                  tileWidthPixels,
+                                                                  baseGroundCenterYPixels,
+                                                                  maximumHeightOffsetPixels))
+                        .toList();
+    }
+
+    private static TerrainType pickRandomTerrainType(final RandomGenerator randomNumberGenerator)
+    {
+        final int randomValuePercentage;
+
+        randomValuePercentage = randomNumberGenerator.nextInt(RANDOM_PERCENTAGE_UPPER_BOUND_EXCLUSIVE);
+
+        if (randomValuePercentage < WATER_TERRAIN_MAX_PERCENTAGE)
+        {
+            return TerrainType.WATER;
+        }
+
+        if (randomValuePercentage < SAND_TERRAIN_MAX_PERCENTAGE)
+        {
+            return TerrainType.SAND;
+        }
+
+        if (randomValuePercentage < ROUGH_TERRAIN_MAX_PERCENTAGE)
+        {
+            return TerrainType.ROUGH;
+        }
+
+        return TerrainType.FAIRWAY;
+    }
+
+    private static void generateAirObstaclesForHole(final RandomGenerator randomNumberGenerator,
+                                                    final CourseData courseData,
                                                     final double maximumHeightOffsetPixels,
                                                     final double tileWidthPixels,
                                                     final List<AirObstacle> airObstacles)
     {
         final int terrainTileCount;
 
-        terrainTileCount = terrainTiles.size();
+        terrainTileCount = courseData.getTileCount();
 
         if (terrainTileCount < MINIMUM_TERRAIN_TILES_FOR_AIR_OBSTACLES)
         {
@@ -260,7 +538,6 @@ public final class CourseGenerator
         for (int obstacleIndex = 0; obstacleIndex < obstacleCount; obstacleIndex++)
         {
             final int tileIndex;
-            final TerrainTile baseTile;
             final double groundCenterYPixels;
 
             final double obstacleWidthPixels;
@@ -279,14 +556,13 @@ public final class CourseGenerator
             tileIndex = AIR_OBSTACLE_START_TILE_INDEX_OFFSET + randomNumberGenerator.nextInt(
                 Math.max(MIN_VALUE, lastIndex - AIR_OBSTACLE_RESERVED_TILES_AT_END));
 
-            baseTile = terrainTiles.get(tileIndex);
-
-            groundCenterYPixels = baseTile.getGroundCenterYPixels();
+            groundCenterYPixels = courseData.getGroundCenterYPixels(tileIndex);
 
             obstacleWidthPixels = tileWidthPixels * AIR_OBSTACLE_WIDTH_RATIO;
 
             centerXPixels =
-                (baseTile.getStartXPixels() + baseTile.getEndXPixels()) * TILE_CENTER_OFFSET_RATIO;
+                (courseData.getTileStartXPixels(tileIndex) + courseData.getTileEndXPixels(tileIndex))
+                * TILE_CENTER_OFFSET_RATIO;
 
             leftXPixels  = centerXPixels - obstacleWidthPixels * TILE_CENTER_OFFSET_RATIO;
             rightXPixels = centerXPixels + obstacleWidthPixels * TILE_CENTER_OFFSET_RATIO;
@@ -0,0 +1,40 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Builds the standard set of clubs used by the golf game, so interactive
+ * play and headless tools evaluate shots with the same club definitions.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class DefaultGolfClubs
+{
+    private DefaultGolfClubs()
+    {
+        // Utility class; prevent instantiation.
+    }
+
+    /**
+     * Creates a new mapping of every club type to its default club.
+     *
+     * @return mutable map of club types to clubs
+     */
+    public static Map<ClubType, GolfClub> create()
+    {
+        final Map<ClubType, GolfClub> golfClubsByType;
+
+        golfClubsByType = new EnumMap<>(ClubType.class);
+
+        golfClubsByType.put(ClubType.DRIVER,
+                            new DriverGolfClub("Driver", DriverGolfClub.DRIVER_YARDAGE));
+        golfClubsByType.put(ClubType.WEDGE,
+                            new WedgeGolfClub("Wedge", WedgeGolfClub.WEDGE_YARDAGE));
+        golfClubsByType.put(ClubType.PUTTER,
+                            new PutterGolfClub("Putter", PutterGolfClub.PUTTER_BASE_DISTANCE_PIXELS));
+
+        return golfClubsByType;
+    }
+}
@@ -28,13 +28,15 @@ public final class DriverGolfClub extends AbstractGolfClub
      * Applies the driver-specific distance adjustment.
      * The driver does not modify the raw distance; it returns it unchanged.
      *
-     * @param rawDistancePixels the computed base distance before club adjustment
-     * @param shotContext       the context describing power and terrain multipliers
+     * @param rawDistancePixels         the computed base distance before club adjustment
+     * @param powerPercentage           power percentage selected by the player
+     * @param terrainDistanceMultiplier multiplier that adjusts distance based on terrain
      * @return the unmodified raw distance
      */
     @Override
     protected double adjustDistanceForClub(final double rawDistancePixels,
-                                           final ShotContext shotContext)
+                                           final double powerPercentage,
+                                           final double terrainDistanceMultiplier)
     {
         return rawDistancePixels;
     }
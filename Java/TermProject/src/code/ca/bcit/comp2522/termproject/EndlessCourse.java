@@ -0,0 +1,282 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A course with no end, built from {@link TerrainChunk}s as play moves along
+ * it.
+ * <p>
+ * Only a sliding window of chunks is kept: a few behind the focus point
+ * (usually the camera) and a few ahead of it. Chunks that fall too far behind
+ * are dropped. Chunks ahead are generated in order on a background thread,
+ * each one continuing from the chunk before. Whenever the window changes, its
+ * chunks are joined into a new immutable {@link GolfCourse}, so physics,
+ * rendering and anything else that takes a {@link GolfCourse} works on the
+ * endless course unchanged. The window's size is fixed, so memory and the
+ * cost of each rebuild stay the same however far the player goes.
+ * {@link #advanceTo(double)} does nothing else on frames where the window
+ * does not move.
+ * <p>
+ * The window only moves forward. Terrain dropped behind it is gone, and the
+ * course's start moves up with it.
+ * <p>
+ * Not thread-safe; use from the thread that plays the course.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class EndlessCourse
+{
+    private static final String GENERATOR_THREAD_NAME = "chunk-generator";
+
+    private static final long   FIRST_CHUNK_INDEX       = 0L;
+    private static final long   REQUIRED_CHUNKS_AHEAD   = 1L;
+    private static final int    ONE_CHUNK               = 1;
+    private static final int    MINIMUM_TILES_PER_CHUNK = 1;
+    private static final int    MINIMUM_CHUNKS_BEHIND   = 0;
+    private static final int    MINIMUM_CHUNKS_AHEAD    = 1;
+    private static final int    NO_RESIDENT_CHUNKS      = 0;
+    private static final int    ENDLESS_PAR_STROKES     = 0;
+    private static final int    EXTRA_CHUNK_SLOTS       = 2;
+    private static final double START_FOCUS_X_PIXELS    = 0.0;
+
+    // Threads die after a minute idle, so a course that is no longer played holds none.
+    private static final ExecutorService GENERATION_EXECUTOR =
+        Executors.newCachedThreadPool(runnable ->
+                                      {
+                                          final Thread generatorThread;
+
+                                          generatorThread = new Thread(runnable, GENERATOR_THREAD_NAME);
+                                          generatorThread.setDaemon(true);
+
+                                          return generatorThread;
+                                      });
+
+    private final int              tilesPerChunk;
+    private final double           tileWidthPixels;
+    private final double           baseGroundCenterYPixels;
+    private final double           maximumHeightOffsetPixels;
+    private final int              chunksBehind;
+    private final int              chunksAhead;
+    private final double           chunkWidthPixels;
+    private final SplittableRandom chunkSeedSource;
+
+    // Chunks from firstChunkIndex on, in order; the first residentChunkCount are in the course.
+    private final List<CompletableFuture<TerrainChunk>> chunkFutures;
+
+    private long       firstChunkIndex;
+    private int        residentChunkCount;
+    private GolfCourse golfCourse;
+
+    /**
+     * Constructs an EndlessCourse and generates the chunks around its start.
+     *
+     * @param courseSeed                seed the whole course is generated from
+     * @param tilesPerChunk             number of tiles in every chunk
+     * @param tileWidthPixels           width of each tile in pixels
+     * @param baseGroundCenterYPixels   base ground y-position in pixels
+     * @param maximumHeightOffsetPixels maximum vertical offset allowed for ground
+     * @param chunksBehind              chunks kept behind the one under the focus point
+     * @param chunksAhead               chunks kept or generated ahead of the one under the focus point
+     */
+    public EndlessCourse(final long courseSeed,
+                         final int tilesPerChunk,
+                         final double tileWidthPixels,
+                         final double baseGroundCenterYPixels,
+                         final double maximumHeightOffsetPixels,
+                         final int chunksBehind,
+                         final int chunksAhead)
+    {
+        if (tilesPerChunk < MINIMUM_TILES_PER_CHUNK)
+        {
+            throw new IllegalArgumentException("tilesPerChunk must be positive: " + tilesPerChunk);
+        }
+
+        if (chunksBehind < MINIMUM_CHUNKS_BEHIND)
+        {
+            throw new IllegalArgumentException("chunksBehind must not be negative: " + chunksBehind);
+        }
+
+        if (chunksAhead < MINIMUM_CHUNKS_AHEAD)
+        {
+            throw new IllegalArgumentException("chunksAhead must be positive: " + chunksAhead);
+        }
+
+        this.tilesPerChunk             = tilesPerChunk;
+        this.tileWidthPixels           = tileWidthPixels;
+        this.baseGroundCenterYPixels   = baseGroundCenterYPixels;
+        this.maximumHeightOffsetPixels = maximumHeightOffsetPixels;
+        this.chunksBehind              = chunksBehind;
+        this.chunksAhead               = chunksAhead;
+
+        chunkWidthPixels   = tilesPerChunk * tileWidthPixels;
+        chunkSeedSource    = new SplittableRandom(courseSeed);
+        chunkFutures       = new ArrayList<>(chunksBehind + chunksAhead + EXTRA_CHUNK_SLOTS);
+        firstChunkIndex    = FIRST_CHUNK_INDEX;
+        residentChunkCount = NO_RESIDENT_CHUNKS;
+
+        // The first chunk is generated here so the course can be played at once.
+        chunkFutures.add(CompletableFuture.completedFuture(
+            CourseGenerator.generateChunk(chunkSeedSource.nextLong(),
+                                          null,
+                                          tilesPerChunk,
+                                          tileWidthPixels,
+                                          baseGroundCenterYPixels,
+                                          maximumHeightOffsetPixels)));
+
+        advanceTo(START_FOCUS_X_PIXELS);
+    }
+
+    /**
+     * Moves the window to a focus point, usually the camera's left edge.
+     * Drops chunks that fell behind, queues generation of chunks ahead, and
+     * adds any that are ready. Blocks only if the chunk just past the focus
+     * point is not generated yet.
+     *
+     * @param focusXPixels world x-position the window is centred on
+     * @return {@code true} if {@link #getCourse()} now returns a new course
+     */
+    public boolean advanceTo(final double focusXPixels)
+    {
+        final long focusChunkIndex;
+        final long lastRequiredChunkIndex;
+        boolean windowChanged;
+
+        // Clamped to chunks already requested, so a jump ahead cannot empty the window.
+        focusChunkIndex        = Math.min(Math.max(firstChunkIndex, (long) Math.floor(focusXPixels / chunkWidthPixels)),
+                                          firstChunkIndex + chunkFutures.size() - ONE_CHUNK);
+        lastRequiredChunkIndex = focusChunkIndex + REQUIRED_CHUNKS_AHEAD;
+        windowChanged          = golfCourse == null;
+
+        while (firstChunkIndex < focusChunkIndex - chunksBehind)
+        {
+            chunkFutures.removeFirst();
+            firstChunkIndex++;
+            residentChunkCount = Math.max(NO_RESIDENT_CHUNKS, residentChunkCount - ONE_CHUNK);
+            windowChanged      = true;
+        }
+
+        while (firstChunkIndex + chunkFutures.size() <= focusChunkIndex + chunksAhead)
+        {
+            requestNextChunk();
+        }
+
+        while (residentChunkCount < chunkFutures.size())
+        {
+            final CompletableFuture<TerrainChunk> nextChunkFuture;
+
+            nextChunkFuture = chunkFutures.get(residentChunkCount);
+
+            if (!nextChunkFuture.isDone() && firstChunkIndex + residentChunkCount > lastRequiredChunkIndex)
+            {
+                break;
+            }
+
+            nextChunkFuture.join();
+            residentChunkCount++;
+            windowChanged = true;
+        }
+
+        if (windowChanged)
+        {
+            golfCourse = buildCourse();
+        }
+
+        return windowChanged;
+    }
+
+    /**
+     * Returns the course made of the chunks currently in the window.
+     *
+     * @return current course
+     */
+    public GolfCourse getCourse()
+    {
+        return golfCourse;
+    }
+
+    /**
+     * Returns the index of the first chunk in the window.
+     *
+     * @return zero-based chunk index
+     */
+    public long getFirstResidentChunkIndex()
+    {
+        return firstChunkIndex;
+    }
+
+    /**
+     * Returns the number of chunks in the window.
+     *
+     * @return resident chunk count
+     */
+    public int getResidentChunkCount()
+    {
+        return residentChunkCount;
+    }
+
+    /**
+     * Returns the width of one chunk.
+     *
+     * @return chunk width in pixels
+     */
+    public double getChunkWidthPixels()
+    {
+        return chunkWidthPixels;
+    }
+
+    /**
+     * Stops generating. Chunks not yet in the window are cancelled.
+     */
+    public void cancel()
+    {
+        for (int chunkSlot = residentChunkCount; chunkSlot < chunkFutures.size(); chunkSlot++)
+        {
+            chunkFutures.get(chunkSlot).cancel(false);
+        }
+    }
+
+    // Seeds are drawn here, in chunk order, so the terrain does not depend on thread timing.
+    private void requestNextChunk()
+    {
+        final long chunkSeed;
+
+        chunkSeed = chunkSeedSource.nextLong();
+
+        chunkFutures.add(chunkFutures.getLast()
+                                     .thenApplyAsync(previousChunk -> CourseGenerator.generateChunk(
+                                                         chunkSeed,
+                                                         previousChunk,
+                                                         tilesPerChunk,
+                                                         tileWidthPixels,
+                                                         baseGroundCenterYPixels,
+                                                         maximumHeightOffsetPixels),
+                                                     GENERATION_EXECUTOR));
+    }
+
+    private GolfCourse buildCourse()
+    {
+        final List<CourseData> residentTerrain;
+        final List<AirObstacle> residentAirObstacles;
+
+        residentTerrain      = new ArrayList<>(residentChunkCount);
+        residentAirObstacles = new ArrayList<>();
+
+        for (int chunkSlot = 0; chunkSlot < residentChunkCount; chunkSlot++)
+        {
+            final TerrainChunk terrainChunk;
+
+            terrainChunk = chunkFutures.get(chunkSlot).join();
+
+            residentTerrain.add(terrainChunk.getCourseData());
+            residentAirObstacles.addAll(terrainChunk.getAirObstacles());
+        }
+
+        return new GolfCourse(CourseData.join(residentTerrain), residentAirObstacles, ENDLESS_PAR_STROKES);
+    }
+}
@@ -0,0 +1,121 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Converts variable frame times into a whole number of fixed simulation steps.
+ * <p>
+ * Elapsed frame time is collected in an accumulator measured in nanoseconds
+ * and drained in constant-size steps, so the physics always integrates with the
+ * same delta regardless of the display refresh rate. The number of steps per
+ * frame is capped; any time beyond the cap is dropped so a long hitch cannot
+ * trigger a burst of catch-up work. The leftover fraction of a step is exposed
+ * as an interpolation factor for rendering between two physics states.
+ * <p>
+ * The accumulator counts whole nanoseconds, but the step handed to the
+ * simulation is {@code 1.0 / stepsPerSecond} exactly, the same double as
+ * {@link ProjectilePhysics#SIMULATION_STEP_SECONDS} at the game's rate, so
+ * headless simulation integrates the same shots as the game.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class FixedTimestepClock
+{
+    private static final double NANOSECONDS_PER_SECOND = 1_000_000_000.0;
+    private static final double ONE_SECOND             = 1.0;
+
+    private static final long ZERO_NANOSECONDS = 0L;
+    private static final int  ZERO_STEPS       = 0;
+
+    private static final double MINIMUM_INTERPOLATION_ALPHA = 0.0;
+
+    private final long   stepNanoseconds;
+    private final double stepSeconds;
+    private final int    maximumStepsPerFrame;
+
+    private long accumulatedNanoseconds;
+
+    /**
+     * Constructs a FixedTimestepClock.
+     *
+     * @param stepsPerSecond       number of simulation steps per simulated second
+     * @param maximumStepsPerFrame maximum number of steps to run for a single frame
+     */
+    public FixedTimestepClock(final int stepsPerSecond,
+                              final int maximumStepsPerFrame)
+    {
+        if (stepsPerSecond <= ZERO_STEPS)
+        {
+            throw new IllegalArgumentException("stepsPerSecond must be positive: " + stepsPerSecond);
+        }
+
+        if (maximumStepsPerFrame <= ZERO_STEPS)
+        {
+            throw new IllegalArgumentException("maximumStepsPerFrame must be positive: " + maximumStepsPerFrame);
+        }
+
+        this.stepNanoseconds      = Math.round(NANOSECONDS_PER_SECOND / stepsPerSecond);
+        this.stepSeconds          = ONE_SECOND / stepsPerSecond;
+        this.maximumStepsPerFrame = maximumStepsPerFrame;
+
+        accumulatedNanoseconds = ZERO_NANOSECONDS;
+    }
+
+    /**
+     * Adds a frame's elapsed time and returns how many fixed steps should run now.
+     * If more steps are owed than the per-frame cap, the excess whole steps are
+     * discarded and only the fractional remainder is kept.
+     *
+     * @param frameDeltaNanoseconds elapsed wall time since the previous frame
+     * @return number of fixed steps to simulate for this frame
+     */
+    public int advance(final long frameDeltaNanoseconds)
+    {
+        final long owedSteps;
+
+        if (frameDeltaNanoseconds > ZERO_NANOSECONDS)
+        {
+            accumulatedNanoseconds += frameDeltaNanoseconds;
+        }
+
+        owedSteps = accumulatedNanoseconds / stepNanoseconds;
+
+        if (owedSteps > maximumStepsPerFrame)
+        {
+            accumulatedNanoseconds %= stepNanoseconds;
+            return maximumStepsPerFrame;
+        }
+
+        accumulatedNanoseconds -= owedSteps * stepNanoseconds;
+
+        return (int) owedSteps;
+    }
+
+    /**
+     * Returns the fraction of a step left in the accumulator, for blending
+     * the previous and current physics states when rendering.
+     *
+     * @return interpolation factor in {@code [0, 1)}
+     */
+    public double getInterpolationAlpha()
+    {
+        return Math.max(MINIMUM_INTERPOLATION_ALPHA, (double) accumulatedNanoseconds / stepNanoseconds);
+    }
+
+    /**
+     * Returns the fixed step length in seconds passed to the simulation.
+     *
+     * @return step length in seconds
+     */
+    public double getStepSeconds()
+    {
+        return stepSeconds;
+    }
+
+    /**
+     * Clears any accumulated time.
+     */
+    public void reset()
+    {
+        accumulatedNanoseconds = ZERO_NANOSECONDS;
+    }
+}
@@ -0,0 +1,17 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Enumerates the parts of a frame that {@link FrameProfiler} times.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public enum FramePhase
+{
+    INPUT,
+    UPDATE,
+    PHYSICS_STEP,
+    RENDER,
+    FRAME,
+    FRAME_INTERVAL
+}
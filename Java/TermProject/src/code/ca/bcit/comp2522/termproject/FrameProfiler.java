@@ -0,0 +1,229 @@
+package ca.bcit.comp2522.termproject;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times the phases of each frame into {@link LatencyHistogram}s.
+ * <p>
+ * Every duration goes into two histograms per phase: one for the whole
+ * session, written out by {@link #writeReport(Path)}, and one for a short
+ * rolling window, summarised for an on-screen overlay by
+ * {@link #getOverlayLines(long)}. The overlay text is rebuilt at most
+ * twice a second, so showing it does not itself allocate every frame.
+ * <p>
+ * Not thread-safe; use from the JavaFX application thread.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class FrameProfiler
+{
+    private static final long   OVERLAY_REFRESH_NANOSECONDS = 500_000_000L;
+    private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000.0;
+    private static final long   NANOSECONDS_PER_SECOND      = 1_000_000_000L;
+
+    private static final double   MEDIAN_PERCENTILE = 50.0;
+    private static final double   TAIL_PERCENTILE   = 99.0;
+    private static final double[] REPORT_PERCENTILES = {50.0, 90.0, 99.0, 99.9, 100.0};
+
+    private final Map<FramePhase, LatencyHistogram> sessionHistograms;
+    private final Map<FramePhase, LatencyHistogram> windowHistograms;
+    private final long                              sessionStartNanoseconds;
+    private final long                              gcCountAtStart;
+    private final long                              gcMillisecondsAtStart;
+
+    private List<String> overlayLines;
+    private long         lastOverlayRefreshNanoseconds;
+
+    /**
+     * Constructs a FrameProfiler and starts its session clock.
+     */
+    public FrameProfiler()
+    {
+        sessionHistograms = new EnumMap<>(FramePhase.class);
+        windowHistograms  = new EnumMap<>(FramePhase.class);
+
+        for (final FramePhase framePhase : FramePhase.values())
+        {
+            sessionHistograms.put(framePhase, new LatencyHistogram());
+            windowHistograms.put(framePhase, new LatencyHistogram());
+        }
+
+        sessionStartNanoseconds       = System.nanoTime();
+        gcCountAtStart                = sumGarbageCollectionCounts();
+        gcMillisecondsAtStart         = sumGarbageCollectionMilliseconds();
+        overlayLines                  = List.of();
+        lastOverlayRefreshNanoseconds = sessionStartNanoseconds;
+    }
+
+    /**
+     * Records a phase that started at the given time and ends now.
+     *
+     * @param framePhase       phase that ran
+     * @param startNanoseconds {@link System#nanoTime()} when the phase started
+     */
+    public void record(final FramePhase framePhase,
+                       final long startNanoseconds)
+    {
+        recordDuration(framePhase, System.nanoTime() - startNanoseconds);
+    }
+
+    /**
+     * Records a phase duration measured elsewhere.
+     *
+     * @param framePhase  phase that ran
+     * @param nanoseconds how long it took
+     */
+    public void recordDuration(final FramePhase framePhase,
+                               final long nanoseconds)
+    {
+        sessionHistograms.get(framePhase).record(nanoseconds);
+        windowHistograms.get(framePhase).record(nanoseconds);
+    }
+
+    /**
+     * Returns one line per phase with p50, p99 and maximum in milliseconds
+     * over the most recent window. The window is summarised and restarted
+     * every half second; between refreshes the same lines are returned.
+     *
+     * @param nowNanoseconds current {@link System#nanoTime()}
+     * @return overlay lines
+     */
+    public List<String> getOverlayLines(final long nowNanoseconds)
+    {
+        final List<String> refreshedLines;
+
+        if (nowNanoseconds - lastOverlayRefreshNanoseconds < OVERLAY_REFRESH_NANOSECONDS)
+        {
+            return overlayLines;
+        }
+
+        refreshedLines = new ArrayList<>(FramePhase.values().length);
+
+        for (final FramePhase framePhase : FramePhase.values())
+        {
+            final LatencyHistogram windowHistogram;
+
+            windowHistogram = windowHistograms.get(framePhase);
+
+            refreshedLines.add(String.format("%-14s p50 %6.2f  p99 %6.2f  max %6.2f ms",
+                                             framePhase,
+                                             toMilliseconds(windowHistogram.getValueAtPercentile(MEDIAN_PERCENTILE)),
+                                             toMilliseconds(windowHistogram.getValueAtPercentile(TAIL_PERCENTILE)),
+                                             toMilliseconds(windowHistogram.getMaximumNanoseconds())));
+            windowHistogram.reset();
+        }
+
+        overlayLines                  = List.copyOf(refreshedLines);
+        lastOverlayRefreshNanoseconds = nowNanoseconds;
+
+        return overlayLines;
+    }
+
+    /**
+     * Returns the session histogram of a phase.
+     *
+     * @param framePhase phase to look up
+     * @return histogram of every duration recorded for the phase
+     */
+    public LatencyHistogram getSessionHistogram(final FramePhase framePhase)
+    {
+        return sessionHistograms.get(framePhase);
+    }
+
+    /**
+     * Writes the session's percentiles for every phase, together with the
+     * garbage collections that ran, to a text file.
+     *
+     * @param reportPath file to write; parent directories are created
+     * @throws IOException if the file cannot be written
+     */
+    public void writeReport(final Path reportPath) throws IOException
+    {
+        final StringBuilder reportBuilder;
+
+        reportBuilder = new StringBuilder();
+
+        reportBuilder.append(String.format("Session: %d s, %d garbage collections taking %d ms%n",
+                                           (System.nanoTime() - sessionStartNanoseconds) / NANOSECONDS_PER_SECOND,
+                                           sumGarbageCollectionCounts() - gcCountAtStart,
+                                           sumGarbageCollectionMilliseconds() - gcMillisecondsAtStart));
+        reportBuilder.append(String.format("%-14s %10s %9s", "phase", "count", "mean ms"));
+
+        for (final double percentile : REPORT_PERCENTILES)
+        {
+            reportBuilder.append(String.format(" %9s", "p" + percentile));
+        }
+
+        reportBuilder.append(System.lineSeparator());
+
+        for (final FramePhase framePhase : FramePhase.values())
+        {
+            final LatencyHistogram sessionHistogram;
+
+            sessionHistogram = sessionHistograms.get(framePhase);
+
+            reportBuilder.append(String.format("%-14s %10d %9.3f",
+                                               framePhase,
+                                               sessionHistogram.getTotalCount(),
+                                               sessionHistogram.getMeanNanoseconds() / NANOSECONDS_PER_MILLISECOND));
+
+            for (final double percentile : REPORT_PERCENTILES)
+            {
+                reportBuilder.append(String.format(" %9.3f",
+                                                   toMilliseconds(sessionHistogram.getValueAtPercentile(percentile))));
+            }
+
+            reportBuilder.append(System.lineSeparator());
+        }
+
+        if (reportPath.getParent() != null)
+        {
+            Files.createDirectories(reportPath.getParent());
+        }
+
+        Files.writeString(reportPath, reportBuilder);
+    }
+
+    private static double toMilliseconds(final long nanoseconds)
+    {
+        return nanoseconds / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    // Collectors report -1 when a count is unavailable; those are skipped.
+    private static long sumGarbageCollectionCounts()
+    {
+        long totalCount;
+
+        totalCount = 0L;
+
+        for (final GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            totalCount += Math.max(0L, garbageCollector.getCollectionCount());
+        }
+
+        return totalCount;
+    }
+
+    private static long sumGarbageCollectionMilliseconds()
+    {
+        long totalMilliseconds;
+
+        totalMilliseconds = 0L;
+
+        for (final GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            totalMilliseconds += Math.max(0L, garbageCollector.getCollectionTime());
+        }
+
+        return totalMilliseconds;
+    }
+}
@@ -0,0 +1,67 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Objects;
+
+/**
+ * A generated hole together with the seed it came from and the par it was
+ * scored at.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class GeneratedHole
+{
+    private final long       holeSeed;
+    private final GolfCourse golfCourse;
+    private final int        heuristicPar;
+
+    /**
+     * Constructs a GeneratedHole.
+     *
+     * @param holeSeed     seed the hole was generated from
+     * @param golfCourse   the hole
+     * @param heuristicPar par the hole was scored at when generated
+     */
+    public GeneratedHole(final long holeSeed,
+                         final GolfCourse golfCourse,
+                         final int heuristicPar)
+    {
+        Objects.requireNonNull(golfCourse, "golfCourse must not be null");
+
+        this.holeSeed     = holeSeed;
+        this.golfCourse   = golfCourse;
+        this.heuristicPar = heuristicPar;
+    }
+
+    /**
+     * Returns the seed the hole was generated from.
+     *
+     * @return hole seed
+     */
+    public long getHoleSeed()
+    {
+        return holeSeed;
+    }
+
+    /**
+     * Returns the hole.
+     *
+     * @return the hole
+     */
+    public GolfCourse getGolfCourse()
+    {
+        return golfCourse;
+    }
+
+    /**
+     * Returns the par the hole was scored at when generated.
+     *
+     * @return heuristic par
+     */
+    public int getHeuristicPar()
+    {
+        return heuristicPar;
+    }
+}
@@ -13,6 +13,7 @@ package ca.bcit.comp2522.termproject;
 public final class GolfBall
 {
     private static final double ZERO_VELOCITY_PIXELS_PER_SECOND = 0.0;
+    private static final double NO_CARRIED_SECONDS              = 0.0;
 
     private final double radiusPixels;
 
@@ -27,6 +28,9 @@ public final class GolfBall
 
     private boolean moving;
 
+    // Step time the swept update could not spend; added to the next step.
+    private double carriedStepSeconds;
+
     /**
      * Constructs a GolfBall with an initial position and radius.
      *
@@ -71,6 +75,7 @@ public final class GolfBall
 
         velocityXPixelsPerSecond = ZERO_VELOCITY_PIXELS_PER_SECOND;
         velocityYPixelsPerSecond = ZERO_VELOCITY_PIXELS_PER_SECOND;
+        carriedStepSeconds       = NO_CARRIED_SECONDS;
     }
 
     /**
@@ -87,6 +92,7 @@ public final class GolfBall
 
         velocityXPixelsPerSecond = ZERO_VELOCITY_PIXELS_PER_SECOND;
         velocityYPixelsPerSecond = ZERO_VELOCITY_PIXELS_PER_SECOND;
+        carriedStepSeconds       = NO_CARRIED_SECONDS;
 
         moving = false;
     }
@@ -102,6 +108,7 @@ public final class GolfBall
     {
         velocityXPixelsPerSecond = newVelocityXPixelsPerSecond;
         velocityYPixelsPerSecond = newVelocityYPixelsPerSecond;
+        carriedStepSeconds       = NO_CARRIED_SECONDS;
 
         moving = true;
     }
@@ -137,6 +144,19 @@ public final class GolfBall
         positionYPixels = groundCenterYPixels;
     }
 
+    /**
+     * Places the ball at a new position without changing its velocity.
+     *
+     * @param newPositionXPixels x-position in pixels
+     * @param newPositionYPixels y-position in pixels
+     */
+    public void moveTo(final double newPositionXPixels,
+                       final double newPositionYPixels)
+    {
+        positionXPixels = newPositionXPixels;
+        positionYPixels = newPositionYPixels;
+    }
+
     /**
      * Returns the current x-position of the ball in pixels.
      *
@@ -157,6 +177,16 @@ public final class GolfBall
         return positionYPixels;
     }
 
+    /**
+     * Returns the x-position the ball is reset to by {@link #resetToSafePosition()}.
+     *
+     * @return safe x-position in pixels
+     */
+    public double getSafePositionXPixels()
+    {
+        return safePositionXPixels;
+    }
+
     /**
      * Returns the horizontal velocity in pixels per second.
      *
@@ -226,5 +256,26 @@ public final class GolfBall
 
         velocityXPixelsPerSecond = ZERO_VELOCITY_PIXELS_PER_SECOND;
         velocityYPixelsPerSecond = ZERO_VELOCITY_PIXELS_PER_SECOND;
+        carriedStepSeconds       = NO_CARRIED_SECONDS;
+    }
+
+    /**
+     * Returns the step time the last swept update could not spend.
+     *
+     * @return carried time in seconds
+     */
+    double getCarriedStepSeconds()
+    {
+        return carriedStepSeconds;
+    }
+
+    /**
+     * Sets the step time to add to the next swept update.
+     *
+     * @param newCarriedStepSeconds carried time in seconds
+     */
+    void setCarriedStepSeconds(final double newCarriedStepSeconds)
+    {
+        carriedStepSeconds = newCarriedStepSeconds;
     }
 }
@@ -0,0 +1,288 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Arrays;
+
+/**
+ * Stores many golf balls as parallel primitive columns instead of one
+ * {@link GolfBall} object per ball.
+ * <p>
+ * Positions, velocities and the moving flag each live in their own array,
+ * indexed by ball. Stepping the batch first gathers the ground height and roll
+ * friction under every ball into two more columns, then runs
+ * {@link ProjectilePhysics#updateBallBatchWithTerrain} as a single tight loop
+ * over the arrays. This keeps the data cache-friendly for multi-ball modes and
+ * Monte Carlo runs that advance thousands of balls per step.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class GolfBallBatch
+{
+    private static final int    MINIMUM_CAPACITY = 1;
+    private static final int    EMPTY_SIZE       = 0;
+    private static final int    GROWTH_FACTOR    = 2;
+    private static final double ZERO_VELOCITY    = 0.0;
+
+    private final double radiusPixels;
+
+    private double[]  positionsXPixels;
+    private double[]  positionsYPixels;
+    private double[]  velocitiesXPixelsPerSecond;
+    private double[]  velocitiesYPixelsPerSecond;
+    private boolean[] movingFlags;
+
+    private double[] groundCentersYPixels;
+    private double[] rollFrictionFactors;
+
+    private int size;
+
+    /**
+     * Constructs an empty GolfBallBatch.
+     *
+     * @param initialCapacity number of balls to reserve space for
+     * @param radiusPixels    radius shared by every ball in the batch
+     */
+    public GolfBallBatch(final int initialCapacity,
+                         final double radiusPixels)
+    {
+        final int capacity;
+
+        capacity = Math.max(MINIMUM_CAPACITY, initialCapacity);
+
+        this.radiusPixels = radiusPixels;
+
+        positionsXPixels           = new double[capacity];
+        positionsYPixels           = new double[capacity];
+        velocitiesXPixelsPerSecond = new double[capacity];
+        velocitiesYPixelsPerSecond = new double[capacity];
+        movingFlags                = new boolean[capacity];
+        groundCentersYPixels       = new double[capacity];
+        rollFrictionFactors        = new double[capacity];
+
+        size = EMPTY_SIZE;
+    }
+
+    /**
+     * Adds a resting ball at the given position.
+     *
+     * @param positionXPixels ball center x-position in pixels
+     * @param positionYPixels ball center y-position in pixels
+     * @return index of the new ball
+     */
+    public int addBall(final double positionXPixels,
+                       final double positionYPixels)
+    {
+        final int ballIndex;
+
+        if (size == positionsXPixels.length)
+        {
+            grow();
+        }
+
+        ballIndex = size;
+
+        positionsXPixels[ballIndex]           = positionXPixels;
+        positionsYPixels[ballIndex]           = positionYPixels;
+        velocitiesXPixelsPerSecond[ballIndex] = ZERO_VELOCITY;
+        velocitiesYPixelsPerSecond[ballIndex] = ZERO_VELOCITY;
+        movingFlags[ballIndex]                = false;
+
+        size++;
+
+        return ballIndex;
+    }
+
+    /**
+     * Launches one ball with the given velocity.
+     *
+     * @param ballIndex                index of the ball
+     * @param velocityXPixelsPerSecond horizontal velocity in px/s
+     * @param velocityYPixelsPerSecond vertical velocity in px/s
+     */
+    public void launch(final int ballIndex,
+                       final double velocityXPixelsPerSecond,
+                       final double velocityYPixelsPerSecond)
+    {
+        checkIndex(ballIndex);
+
+        velocitiesXPixelsPerSecond[ballIndex] = velocityXPixelsPerSecond;
+        velocitiesYPixelsPerSecond[ballIndex] = velocityYPixelsPerSecond;
+        movingFlags[ballIndex]                = true;
+    }
+
+    /**
+     * Advances every ball by one step on the given course.
+     *
+     * @param golfCourse       course providing ground height and terrain
+     * @param deltaTimeSeconds elapsed time in seconds
+     * @return number of balls still moving
+     */
+    public int step(final GolfCourse golfCourse,
+                    final double deltaTimeSeconds)
+    {
+        final CourseData courseData;
+
+        courseData = golfCourse.getCourseData();
+
+        for (int ballIndex = 0; ballIndex < size; ballIndex++)
+        {
+            final int tileIndex;
+
+            tileIndex = golfCourse.findTileIndexAtXOrLast(positionsXPixels[ballIndex]);
+
+            groundCentersYPixels[ballIndex] = courseData.getGroundCenterYPixels(tileIndex) - radiusPixels;
+            rollFrictionFactors[ballIndex]  = ProjectilePhysics.computeRollFriction(courseData.getTerrainType(tileIndex));
+        }
+
+        return ProjectilePhysics.updateBallBatchWithTerrain(this, deltaTimeSeconds);
+    }
+
+    /**
+     * Removes every ball while keeping the allocated columns.
+     */
+    public void clear()
+    {
+        Arrays.fill(movingFlags, EMPTY_SIZE, size, false);
+        size = EMPTY_SIZE;
+    }
+
+    /**
+     * Returns the number of balls in the batch.
+     *
+     * @return ball count
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the radius shared by every ball.
+     *
+     * @return radius in pixels
+     */
+    public double getRadiusPixels()
+    {
+        return radiusPixels;
+    }
+
+    /**
+     * Returns a ball's x-position.
+     *
+     * @param ballIndex index of the ball
+     * @return x-position in pixels
+     */
+    public double getPositionXPixels(final int ballIndex)
+    {
+        checkIndex(ballIndex);
+        return positionsXPixels[ballIndex];
+    }
+
+    /**
+     * Returns a ball's y-position.
+     *
+     * @param ballIndex index of the ball
+     * @return y-position in pixels
+     */
+    public double getPositionYPixels(final int ballIndex)
+    {
+        checkIndex(ballIndex);
+        return positionsYPixels[ballIndex];
+    }
+
+    /**
+     * Returns a ball's horizontal velocity.
+     *
+     * @param ballIndex index of the ball
+     * @return horizontal velocity in px/s
+     */
+    public double getVelocityXPixelsPerSecond(final int ballIndex)
+    {
+        checkIndex(ballIndex);
+        return velocitiesXPixelsPerSecond[ballIndex];
+    }
+
+    /**
+     * Returns a ball's vertical velocity.
+     *
+     * @param ballIndex index of the ball
+     * @return vertical velocity in px/s
+     */
+    public double getVelocityYPixelsPerSecond(final int ballIndex)
+    {
+        checkIndex(ballIndex);
+        return velocitiesYPixelsPerSecond[ballIndex];
+    }
+
+    /**
+     * Returns whether a ball is moving.
+     *
+     * @param ballIndex index of the ball
+     * @return true if moving, false otherwise
+     */
+    public boolean isMoving(final int ballIndex)
+    {
+        checkIndex(ballIndex);
+        return movingFlags[ballIndex];
+    }
+
+    // Column accessors for the physics kernel; arrays may be longer than size().
+
+    double[] positionsXPixels()
+    {
+        return positionsXPixels;
+    }
+
+    double[] positionsYPixels()
+    {
+        return positionsYPixels;
+    }
+
+    double[] velocitiesXPixelsPerSecond()
+    {
+        return velocitiesXPixelsPerSecond;
+    }
+
+    double[] velocitiesYPixelsPerSecond()
+    {
+        return velocitiesYPixelsPerSecond;
+    }
+
+    boolean[] movingFlags()
+    {
+        return movingFlags;
+    }
+
+    double[] groundCentersYPixels()
+    {
+        return groundCentersYPixels;
+    }
+
+    double[] rollFrictionFactors()
+    {
+        return rollFrictionFactors;
+    }
+
+    private void grow()
+    {
+        final int newCapacity;
+
+        newCapacity = positionsXPixels.length * GROWTH_FACTOR;
+
+        positionsXPixels           = Arrays.copyOf(positionsXPixels, newCapacity);
+        positionsYPixels           = Arrays.copyOf(positionsYPixels, newCapacity);
+        velocitiesXPixelsPerSecond = Arrays.copyOf(velocitiesXPixelsPerSecond, newCapacity);
+        velocitiesYPixelsPerSecond = Arrays.copyOf(velocitiesYPixelsPerSecond, newCapacity);
+        movingFlags                = Arrays.copyOf(movingFlags, newCapacity);
+        groundCentersYPixels       = Arrays.copyOf(groundCentersYPixels, newCapacity);
+        rollFrictionFactors        = Arrays.copyOf(rollFrictionFactors, newCapacity);
+    }
+
+    private void checkIndex(final int ballIndex)
+    {
+        if (ballIndex < EMPTY_SIZE || ballIndex >= size)
+        {
+            throw new IndexOutOfBoundsException("Ball index " + ballIndex + " out of range for size " + size);
+        }
+    }
+}
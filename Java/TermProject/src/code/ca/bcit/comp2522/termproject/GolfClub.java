@@ -2,7 +2,12 @@ package ca.bcit.comp2522.termproject;
 
 /**
  * Strategy interface for golf clubs. Each club computes a shot
- * differently based on the ShotContext.
+ * differently based on power and terrain.
+ * <p>
+ * {@link #computeRangePixels(double, double)} works on primitives and is the
+ * method the physics, simulation and bot code call, so computing a shot never
+ * allocates. {@link #computeShot(ShotContext)} wraps it for callers that want
+ * the value objects.
  *
  * @author Taylor
  * @version 1.0
@@ -16,11 +21,25 @@ public interface GolfClub
      */
     String getDisplayName();
 
+    /**
+     * Computes the expected flat-ground range of a shot with this club.
+     *
+     * @param powerPercentage           power percentage selected by the player
+     * @param terrainDistanceMultiplier multiplier that adjusts distance based on terrain
+     * @return expected horizontal range in pixels
+     */
+    double computeRangePixels(final double powerPercentage,
+                              final double terrainDistanceMultiplier);
+
     /**
      * Computes the expected flat-ground shot outcome for this club.
      *
      * @param shotContext the context describing power and terrain multipliers
      * @return a ShotResult describing the expected horizontal range
      */
-    ShotResult computeShot(final ShotContext shotContext);
+    default ShotResult computeShot(final ShotContext shotContext)
+    {
+        return new ShotResult(computeRangePixels(shotContext.getPowerPercentage(),
+                                                 shotContext.getTerrainDistanceMultiplier()));
+    }
 }
@@ -1,5 +1,6 @@
 package ca.bcit.comp2522.termproject;
 
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -9,6 +10,11 @@ import java.util.Map;
  * world-space pixel coordinates.
  * <p>
  * Immutable container: tiles and obstacles are assigned once at construction.
+ * Tiles are expected in increasing x-order without overlaps and are held as
+ * packed {@link CourseData} columns; {@link TerrainTile}s handed out are
+ * views built from those columns. Lookup indices (hole tile, terrain counts)
+ * are precomputed at construction so per-frame queries do not scan the tiles.
+ * Tile lookups keep no state, so one course is safe to share across threads.
  *
  * @author Taylor
  * @version 1.0
@@ -26,17 +32,34 @@ public final class GolfCourse
     private static final int DRIVER_STROKES_PAR3_THRESHOLD = 2;
     private static final int DRIVER_STROKES_PAR4_THRESHOLD = 3;
 
+    // Range does not depend on aim, so par lookups share one cache entry per lie.
+    private static final double PAR_REFERENCE_LAUNCH_ANGLE_DEGREES = 45.0;
+
     private static final int    MIN_STROKES       = 0;
     private static final double MIN_ZERO_DOUBLE   = 0.0;
     private static final int    MIN_TERRAIN_TILES = 0;
 
-    private final List<TerrainTile> terrainTiles;
+    private static final double DEFAULT_OBSTACLE_BUCKET_WIDTH_PIXELS = 40.0;
+
+    private static final int    NO_TILE_INDEX                = -1;
+    private static final int    FIRST_TILE_INDEX             = 0;
+    private static final int    NEIGHBOUR_TILE_OFFSET        = 1;
+    private static final double NO_UNIFORM_TILE_WIDTH_PIXELS = 0.0;
+
+    private final CourseData        courseData;
     private final List<AirObstacle> airObstacles;
     private final int               parStrokes;
+    private final AirObstacleIndex  airObstacleIndex;
+
+    private final int                    tileCount;
+    private final double                 uniformTileWidthPixels;
+    private final int                    holeTileIndex;
+    private final Map<TerrainType, Long> terrainTileCounts;
 
     /**
      * Creates a GolfCourse with a fixed set of terrain tiles, air obstacles, and
      * an initial par estimate. The layout cannot change after construction.
+     * The tiles are packed into {@link CourseData}; the list is not kept.
      *
      * @param terrainTiles list of terrain tiles making up the hole
      * @param airObstacles list of air obstacles above the course
@@ -46,19 +69,109 @@ public final class GolfCourse
                       final List<AirObstacle> airObstacles,
                       final int parStrokes)
     {
-        this.terrainTiles = terrainTiles;
+        this(CourseData.fromTiles(terrainTiles), airObstacles, parStrokes);
+    }
+
+    /**
+     * Creates a GolfCourse from packed terrain, air obstacles, and an initial
+     * par estimate. The layout cannot change after construction.
+     *
+     * @param courseData   packed terrain of the hole
+     * @param airObstacles list of air obstacles above the course
+     * @param parStrokes   initial par estimate (may be overridden by computePar)
+     */
+    public GolfCourse(final CourseData courseData,
+                      final List<AirObstacle> airObstacles,
+                      final int parStrokes)
+    {
+        this.courseData   = courseData;
         this.airObstacles = airObstacles;
         this.parStrokes   = parStrokes;
+
+        // Bucket obstacles by tile width so a query touches one or two buckets.
+        this.airObstacleIndex = new AirObstacleIndex(airObstacles, computeObstacleBucketWidthPixels(courseData));
+
+        int foundHoleTileIndex;
+
+        tileCount              = courseData.getTileCount();
+        uniformTileWidthPixels = courseData.getUniformTileWidthPixels();
+        terrainTileCounts      = new EnumMap<>(TerrainType.class);
+
+        foundHoleTileIndex = NO_TILE_INDEX;
+
+        for (final TerrainType terrainType : TerrainType.values())
+        {
+            terrainTileCounts.put(terrainType, (long) MIN_TERRAIN_TILES);
+        }
+
+        for (int tileIndex = 0; tileIndex < tileCount; tileIndex++)
+        {
+            final TerrainType terrainType;
+
+            terrainType = courseData.getTerrainType(tileIndex);
+
+            terrainTileCounts.merge(terrainType, 1L, Long::sum);
+
+            if (foundHoleTileIndex == NO_TILE_INDEX && terrainType == TerrainType.HOLE)
+            {
+                foundHoleTileIndex = tileIndex;
+            }
+        }
+
+        holeTileIndex = foundHoleTileIndex;
     }
 
     /**
-     * Returns the ordered terrain tiles of the hole.
+     * Returns the ordered terrain tiles of the hole. The list is an
+     * unmodifiable view; each tile read from it is built from the packed
+     * columns, so loops over many tiles should read {@link #getCourseData()}
+     * instead.
      *
      * @return list of terrain tiles
      */
     public List<TerrainTile> getTerrainTiles()
     {
-        return terrainTiles;
+        return courseData.asTileList();
+    }
+
+    /**
+     * Returns the packed terrain of the hole.
+     *
+     * @return course data
+     */
+    public CourseData getCourseData()
+    {
+        return courseData;
+    }
+
+    /**
+     * Returns the number of terrain tiles in the hole.
+     *
+     * @return tile count
+     */
+    public int getTileCount()
+    {
+        return tileCount;
+    }
+
+    /**
+     * Returns the x-position where the first tile starts.
+     *
+     * @return start x-position of the hole in pixels
+     */
+    public double getStartXPixels()
+    {
+        return courseData.getTileStartXPixels(FIRST_TILE_INDEX);
+    }
+
+    /**
+     * Returns the x-position where the last tile ends.
+     *
+     * @return end x-position of the hole in pixels
+     */
+    public double getEndXPixels()
+    {
+        return courseData.getTileEndXPixels(tileCount - NEIGHBOUR_TILE_OFFSET);
     }
 
     /**
@@ -71,6 +184,16 @@ public final class GolfCourse
         return airObstacles;
     }
 
+    /**
+     * Returns the spatial index over the air obstacles, built once for this hole.
+     *
+     * @return air obstacle index
+     */
+    public AirObstacleIndex getAirObstacleIndex()
+    {
+        return airObstacleIndex;
+    }
+
     /**
      * Returns the first terrain tile, representing the tee area.
      *
@@ -78,7 +201,7 @@ public final class GolfCourse
      */
     public TerrainTile getStartTile()
     {
-        return terrainTiles.getFirst();
+        return courseData.getTile(FIRST_TILE_INDEX);
     }
 
     /**
@@ -88,33 +211,146 @@ public final class GolfCourse
      */
     public TerrainTile getLastTile()
     {
-        return terrainTiles.getLast();
+        return courseData.getTile(tileCount - NEIGHBOUR_TILE_OFFSET);
     }
 
     /**
      * Returns the terrain tile covering the given world X coordinate in pixels.
-     * If X exceeds the course bounds, the last tile is returned.
+     * If X exceeds the course bounds, the last tile is returned. The tile is
+     * built on each call; see {@link #findTileIndexAtXOrLast(double)}.
      *
      * @param worldXPixels world-space x-position in pixels
      * @return containing tile
      */
     public TerrainTile getTileAtX(final double worldXPixels)
     {
-        for (final TerrainTile terrainTile : terrainTiles)
+        return courseData.getTile(findTileIndexAtXOrLast(worldXPixels));
+    }
+
+    /**
+     * Returns the index of the tile {@link #getTileAtX(double)} returns: the
+     * tile covering the given world X coordinate, or the last tile if X is
+     * outside the course. Per-step loops use this and read the tile's values
+     * from {@link #getCourseData()}, so no {@link TerrainTile} is built.
+     *
+     * @param worldXPixels world-space x-position in pixels
+     * @return index of the containing tile, or of the last tile
+     */
+    public int findTileIndexAtXOrLast(final double worldXPixels)
+    {
+        final int tileIndex;
+
+        tileIndex = findTileIndexAtX(worldXPixels);
+
+        if (tileIndex == NO_TILE_INDEX)
         {
-            final double startXPixels;
-            final double endXPixels;
+            return tileCount - NEIGHBOUR_TILE_OFFSET;
+        }
 
-            startXPixels = terrainTile.getStartXPixels();
-            endXPixels   = terrainTile.getEndXPixels();
+        return tileIndex;
+    }
 
-            if (worldXPixels >= startXPixels && worldXPixels < endXPixels)
+    /**
+     * Returns the index of the tile covering the given world X coordinate.
+     * Uses arithmetic indexing for evenly spaced tiles, or a binary search
+     * over tile start positions otherwise. Keeps no lookup state, so one
+     * course can be searched from many threads at once.
+     *
+     * @param worldXPixels world-space x-position in pixels
+     * @return index of the containing tile, or {@code -1} if no tile contains X
+     */
+    public int findTileIndexAtX(final double worldXPixels)
+    {
+        if (uniformTileWidthPixels > NO_UNIFORM_TILE_WIDTH_PIXELS && tileCount > FIRST_TILE_INDEX)
+        {
+            final double offsetFromStartPixels;
+
+            offsetFromStartPixels = worldXPixels - getStartXPixels();
+
+            if (offsetFromStartPixels >= MIN_ZERO_DOUBLE)
             {
-                return terrainTile;
+                final double arithmeticIndex;
+
+                arithmeticIndex = Math.floor(offsetFromStartPixels / uniformTileWidthPixels);
+
+                if (arithmeticIndex < tileCount && isInTile((int) arithmeticIndex, worldXPixels))
+                {
+                    return (int) arithmeticIndex;
+                }
             }
         }
 
-        return terrainTiles.getLast();
+        return binarySearchTileIndex(worldXPixels);
+    }
+
+    /**
+     * Returns the index of the first tile that ends after the given
+     * x-position: the leftmost tile visible in a view whose left edge is
+     * there. Found by binary search over tile end positions.
+     *
+     * @param worldXPixels world-space x-position in pixels
+     * @return tile index, or the tile count if every tile ends at or before X
+     */
+    public int findFirstTileIndexEndingAfter(final double worldXPixels)
+    {
+        int lowIndex;
+        int highIndex;
+
+        lowIndex  = FIRST_TILE_INDEX;
+        highIndex = tileCount;
+
+        while (lowIndex < highIndex)
+        {
+            final int middleIndex;
+
+            middleIndex = (lowIndex + highIndex) >>> 1;
+
+            if (courseData.getTileEndXPixels(middleIndex) > worldXPixels)
+            {
+                highIndex = middleIndex;
+            }
+            else
+            {
+                lowIndex = middleIndex + NEIGHBOUR_TILE_OFFSET;
+            }
+        }
+
+        return lowIndex;
+    }
+
+    /**
+     * Returns the index of the last tile that starts before the given
+     * x-position: the rightmost tile visible in a view whose right edge is
+     * there. Found by binary search over tile start positions.
+     *
+     * @param worldXPixels world-space x-position in pixels
+     * @return tile index, or {@code -1} if every tile starts at or after X
+     */
+    public int findLastTileIndexStartingBefore(final double worldXPixels)
+    {
+        int lowIndex;
+        int highIndex;
+
+        lowIndex  = FIRST_TILE_INDEX;
+        highIndex = tileCount;
+
+        while (lowIndex < highIndex)
+        {
+            final int middleIndex;
+
+            middleIndex = (lowIndex + highIndex) >>> 1;
+
+            if (courseData.getTileStartXPixels(middleIndex) < worldXPixels)
+            {
+                lowIndex = middleIndex + NEIGHBOUR_TILE_OFFSET;
+            }
+            else
+            {
+                highIndex = middleIndex;
+            }
+        }
+
+        return lowIndex - NEIGHBOUR_TILE_OFFSET;
     }
 
     /**
@@ -162,15 +398,12 @@ public final class GolfCourse
      */
     public TerrainTile getHoleTile()
     {
-        for (final TerrainTile terrainTile : terrainTiles)
+        if (holeTileIndex == NO_TILE_INDEX)
         {
-            if (terrainTile.getTerrainType() == TerrainType.HOLE)
-            {
-                return terrainTile;
-            }
+            return getLastTile();
         }
 
-        return getLastTile();
+        return courseData.getTile(holeTileIndex);
     }
 
     /**
@@ -181,19 +414,7 @@ public final class GolfCourse
      */
     public long countTerrainTilesByType(final TerrainType terrainType)
     {
-        long count;
-
-        count = MIN_TERRAIN_TILES;
-
-        for (final TerrainTile terrainTile : terrainTiles)
-        {
-            if (terrainTile.getTerrainType() == terrainType)
-            {
-                count++;
-            }
-        }
-
-        return count;
+        return terrainTileCounts.get(terrainType);
     }
 
     /**
@@ -213,22 +434,59 @@ public final class GolfCourse
                           final double maximumPowerPercentage,
                           final double fairwayDistanceMultiplier)
     {
-        final double holeLengthPixels;
-        final ShotContext fullPowerContext;
         final GolfClub driverGolfClub;
 
         final double driverRangePixels;
-        final double strokesEstimate;
 
-        final int par;
+        driverGolfClub = golfClubsByType.get(ClubType.DRIVER);
 
-        holeLengthPixels = getHoleLengthPixels();
+        if (driverGolfClub == null)
+        {
+            return computeParForDriverRange(MIN_ZERO_DOUBLE);
+        }
 
-        fullPowerContext = new ShotContext(maximumPowerPercentage, fairwayDistanceMultiplier);
+        driverRangePixels = driverGolfClub.computeRangePixels(maximumPowerPercentage, fairwayDistanceMultiplier);
 
-        driverGolfClub = golfClubsByType.get(ClubType.DRIVER);
+        return computeParForDriverRange(driverRangePixels);
+    }
 
+    /**
+     * Computes par like {@link #computePar(Map, double, double)}, reading the
+     * driver's full-power range from a shot estimate cache so every hole of a
+     * round shares one computation.
+     *
+     * @param shotEstimateCache      cache holding the player's clubs
+     * @param maximumPowerPercentage power percentage for full swing
+     * @param fairwayTerrainType     terrain the driver range is measured from
+     * @return computed par value
+     */
+    public int computePar(final ShotEstimateCache shotEstimateCache,
+                          final double maximumPowerPercentage,
+                          final TerrainType fairwayTerrainType)
+    {
+        final ShotEstimate driverEstimate;
+
+        driverEstimate = shotEstimateCache.lookup(ClubType.DRIVER,
+                                                  maximumPowerPercentage,
+                                                  PAR_REFERENCE_LAUNCH_ANGLE_DEGREES,
+                                                  fairwayTerrainType);
+
+        if (driverEstimate == null)
+        {
+            return computeParForDriverRange(MIN_ZERO_DOUBLE);
+        }
+
+        return computeParForDriverRange(driverEstimate.getRangePixels());
+    }
+
+    private int computeParForDriverRange(final double driverRangePixels)
+    {
+        final double holeLengthPixels;
+        final double strokesEstimate;
         final int strokes;
+        final int par;
+
+        holeLengthPixels = getHoleLengthPixels();
 
         if (parStrokes <= MIN_STROKES)
         {
@@ -241,14 +499,6 @@ public final class GolfCourse
 
         int max = Math.max(PAR_MINIMUM, Math.min(PAR_MAXIMUM, strokes));
 
-        if (driverGolfClub == null)
-        {
-            return max;
-        }
-
-        driverRangePixels = driverGolfClub.computeShot(fullPowerContext)
-                                          .getExpectedHorizontalRangePixels();
-
         if (driverRangePixels <= MIN_ZERO_DOUBLE)
         {
             return max;
@@ -271,4 +521,54 @@ public final class GolfCourse
         
         return par;
     }
+
+    private static double computeObstacleBucketWidthPixels(final CourseData courseData)
+    {
+        if (courseData.getTileCount() == MIN_TERRAIN_TILES)
+        {
+            return DEFAULT_OBSTACLE_BUCKET_WIDTH_PIXELS;
+        }
+
+        return courseData.getTileEndXPixels(FIRST_TILE_INDEX) - courseData.getTileStartXPixels(FIRST_TILE_INDEX);
+    }
+
+    private boolean isInTile(final int tileIndex,
+                             final double worldXPixels)
+    {
+        return worldXPixels >= courseData.getTileStartXPixels(tileIndex)
+               && worldXPixels < courseData.getTileEndXPixels(tileIndex);
+    }
+
+    private int binarySearchTileIndex(final double worldXPixels)
+    {
+        int lowIndex;
+        int highIndex;
+
+        lowIndex  = FIRST_TILE_INDEX;
+        highIndex = tileCount - NEIGHBOUR_TILE_OFFSET;
+
+        // Find the last tile whose start is at or before X.
+        while (lowIndex <= highIndex)
+        {
+            final int middleIndex;
+
+            middleIndex = (lowIndex + highIndex) >>> 1;
+
+            if (courseData.getTileStartXPixels(middleIndex) <= worldXPixels)
+            {
+                lowIndex = middleIndex + NEIGHBOUR_TILE_OFFSET;
+            }
+            else
+            {
+                highIndex = middleIndex - NEIGHBOUR_TILE_OFFSET;
+            }
+        }
+
+        if (highIndex >= FIRST_TILE_INDEX && isInTile(highIndex, worldXPixels))
+        {
+            return highIndex;
+        }
+
+        return NO_TILE_INDEX;
+    }
 }
@@ -1,6 +1,7 @@
 package ca.bcit.comp2522.termproject;
 
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
@@ -14,18 +15,22 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
-import java.util.ArrayList;
-import java.util.EnumMap;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * JavaFX-based left-to-right golf game.
- * Orchestrates UI, rendering, course, physics, and scoring.
+ * Turns input into {@link GolfRoundEngine} calls, drives the engine from the
+ * frame loop, and renders the course, ball and score it reports.
  *
  * @author Taylor
  * @version 1.0
@@ -35,87 +40,94 @@ public final class GolfGameInterface
     private static final double CANVAS_WIDTH_PIXELS  = 800.0;
     private static final double CANVAS_HEIGHT_PIXELS = 400.0;
 
-    private static final double BALL_RADIUS_PIXELS = 6.0;
+    private static final double BALL_RADIUS_PIXELS       = GolfRoundEngine.BALL_RADIUS_PIXELS;
+    private static final double MAXIMUM_POWER_PERCENTAGE = GolfRoundEngine.MAXIMUM_POWER_PERCENTAGE;
 
     private static final double BASE_GROUND_CENTER_Y_RATIO = 0.75;
 
     private static final double CAMERA_CENTER_THRESHOLD_RATIO = 0.4;
 
-    private static final int    NUMBER_OF_TILES_PER_HOLE = 30;
-    private static final double TILE_WIDTH_PIXELS        = 40.0;
-
-    private static final double SAND_DISTANCE_MULTIPLIER    = 0.40;
-    private static final double ROUGH_DISTANCE_MULTIPLIER   = 0.70;
-    private static final double FAIRWAY_DISTANCE_MULTIPLIER = 1.00;
-
-    private static final double MINIMUM_LAUNCH_ANGLE_DEGREES = 5.0;
-    private static final double MAXIMUM_LAUNCH_ANGLE_DEGREES = 175.0;
-    private static final double DEFAULT_LAUNCH_ANGLE_DEGREES = 45.0;
-
-    private static final double MAXIMUM_POWER_PERCENTAGE = 100.0;
-
     private static final double AIM_ARROW_BASE_LENGTH_PIXELS  = 80.0;
     private static final double AIM_ARROW_EXTRA_LENGTH_PIXELS = 80.0;
     private static final double AIM_ARROW_HEAD_LENGTH_PIXELS  = 12.0;
     private static final double AIM_ARROW_HEAD_ANGLE_DEGREES  = 160.0;
 
-    private static final double COURSE_HEIGHT_SAFETY_FACTOR      = 0.70;
-    private static final double MINIMUM_MAX_HEIGHT_OFFSET_PIXELS = 40.0;
+    private static final double CONTROL_PANEL_SPACING_PIXELS = 10.0;
+    private static final double CONTROL_PANEL_PADDING_PIXELS = 8.0;
 
-    private static final double POWER_CHARGE_RATE_PERCENT_PER_SECOND = 70.0;
+    private static final double BALL_RADIUS_MULTIPLIER = 2.0;
+    private static final int    NEXT_HOLE_INDEX        = 1;
 
-    private static final int NUMBER_OF_HOLES_PER_ROUND = 18;
+    private static final double ARROW_LINE_WIDTH_PIXELS   = 2.0;
+    private static final double PREVIEW_DOT_RADIUS_PIXELS = 2.0;
 
-    private static final double CONTROL_PANEL_SPACING_PIXELS                    = 10.0;
-    private static final double CONTROL_PANEL_PADDING_PIXELS                    = 8.0;
-    private static final double ALTER_BY_ONE                                    = 1.0;
-    private static final double MINIMUM_AIM_DELTA_X_PIXELS                      = 0.001;
-    private static final double MINIMUM_INITIAL_SPEED_EPSILON_PIXELS_PER_SECOND = 0.01;
+    private static final int MAXIMUM_PHYSICS_STEPS_PER_FRAME = 8;
 
-    private static final double BALL_RADIUS_MULTIPLIER                = 2.0;
-    private static final int    NEXT_HOLE_INDEX                       = 1;
-    private static final double TEE_BALL_OFFSET_RATIO_FROM_TILE_START = 0.25;
+    private static final long PAR_ESTIMATE_TIME_BUDGET_MILLIS = 3000L;
+    private static final long PAR_BOT_MOVE_TIME_BUDGET_MILLIS = 40L;
+    private static final int  PAR_POOL_RESERVED_CORES         = 1;
+    private static final int  MINIMUM_PAR_POOL_PARALLELISM    = 1;
 
-    private static final double FLAG_HEIGHT_PIXELS                  = 40.0;
-    private static final double FLAG_TRIANGLE_OFFSET_X_PIXELS       = 18.0;
-    private static final double FLAG_TRIANGLE_OFFSET_Y_SMALL_PIXELS = 8.0;
-    private static final double FLAG_TRIANGLE_OFFSET_Y_LARGE_PIXELS = 16.0;
+    private static final String REPLAY_DIRECTORY_NAME          = "golf_replays";
+    private static final String REPLAY_FILE_PREFIX             = "round-";
+    private static final String REPLAY_FILE_SUFFIX             = ".replay";
+    private static final int    REPLAY_KEYFRAME_INTERVAL_STEPS = 30;
 
-    private static final double ARROW_LINE_WIDTH_PIXELS = 2.0;
-    private static final double FLAG_POLE_X_MULTIPLIER  = 0.5;
+    private static final String PROFILE_DIRECTORY_NAME = "golf_profiles";
+    private static final String PROFILE_FILE_PREFIX    = "frame-times-";
+    private static final String PROFILE_FILE_SUFFIX    = ".txt";
 
-    private static final int POLYGON_FILL = 3;
+    private static final double OVERLAY_MARGIN_PIXELS      = 8.0;
+    private static final double OVERLAY_LINE_HEIGHT_PIXELS = 14.0;
+    private static final double OVERLAY_WIDTH_PIXELS       = 330.0;
+    private static final double OVERLAY_FONT_SIZE          = 11.0;
+    private static final double OVERLAY_TEXT_INSET_PIXELS  = 6.0;
+    private static final double OVERLAY_BACKGROUND_OPACITY = 0.6;
+    private static final String OVERLAY_FONT_FAMILY        = "Monospaced";
 
     private final CountDownLatch gameFinishedLatch;
 
     private final Random                  randomNumberGenerator;
     private final Map<ClubType, GolfClub> golfClubsByType;
+    private final GolfRoundEngine         golfRoundEngine;
+    private final GolfBall                golfBall;
+
+    private final TrajectoryPreviewer trajectoryPreviewer;
+
+    private ReplayRecorder replayRecorder;
+
+    private final ForkJoinPool  parEstimationPool;
+    private final ParEstimator  parEstimator;
+    private       int           roundGeneration;
+    private       AtomicBoolean parEstimationCancelled;
 
     private Stage           gameStage;
     private Canvas          gameCanvas;
     private GraphicsContext graphicsContext;
 
-    private final List<GolfCourse> golfCourses;
-    private final List<Integer>    parPerHole;
-    private final List<Integer>    strokesPerHole;
-    private       int              currentHoleIndex;
+    private StaticCourseLayer staticCourseLayer;
 
     private Integer bestRoundRelativeToPar;
 
-    private GolfCourse golfCourse;
-    private GolfBall   golfBall;
-
     private double cameraOffsetXPixels;
 
-    private int strokesTakenCount;
-    private int parForHole;
+    private AnimationTimer  animationTimer;
+    private RenderScheduler renderScheduler;
+
+    private final FixedTimestepClock simulationClock;
 
-    private AnimationTimer animationTimer;
+    private final FrameProfiler frameProfiler;
+    private       boolean       profilerOverlayVisible;
+
+    private double previousBallXPixels;
+    private double previousBallYPixels;
+    private double previousCameraOffsetXPixels;
+
+    private double renderBallXPixels;
+    private double renderBallYPixels;
+    private double renderCameraOffsetXPixels;
 
     private ComboBox<ClubType> clubSelectionComboBox;
-    private double             currentAimAngleDegrees;
-    private double             currentPowerPercentage;
-    private boolean            chargingPower;
 
     private Label statusLabel;
     private Label parAndScoreLabel;
@@ -125,24 +137,40 @@ public final class GolfGameInterface
 
     {
         randomNumberGenerator = new Random();
-        golfClubsByType       = new EnumMap<>(ClubType.class);
+        golfClubsByType       = DefaultGolfClubs.create();
+        golfRoundEngine       = new GolfRoundEngine(golfClubsByType,
+                                                    CANVAS_HEIGHT_PIXELS * BASE_GROUND_CENTER_Y_RATIO,
+                                                    new RoundEventHandler());
+        golfBall              = golfRoundEngine.getGolfBall();
+        simulationClock       = new FixedTimestepClock(ProjectilePhysics.SIMULATION_STEPS_PER_SECOND,
+                                                       MAXIMUM_PHYSICS_STEPS_PER_FRAME);
+
+        frameProfiler          = new FrameProfiler();
+        profilerOverlayVisible = false;
+
+        // A finished preview has to be drawn even when the loop is idle.
+        trajectoryPreviewer = new TrajectoryPreviewer(BALL_RADIUS_PIXELS,
+                                                      () -> Platform.runLater(this::requestRender));
+
+        // Leave a core for the FX thread so estimating par never stalls rendering.
+        parEstimationPool = new ForkJoinPool(Math.max(MINIMUM_PAR_POOL_PARALLELISM,
+                                                      Runtime.getRuntime().availableProcessors()
+                                                      - PAR_POOL_RESERVED_CORES));
+        parEstimator      = new ParEstimator(new AutoPlayer(new ShotSimulator(golfRoundEngine.getShotEstimateCache(),
+                                                                              BALL_RADIUS_PIXELS),
+                                                            parEstimationPool,
+                                                            PAR_BOT_MOVE_TIME_BUDGET_MILLIS),
+                                             parEstimationPool,
+                                             PAR_ESTIMATE_TIME_BUDGET_MILLIS);
+        roundGeneration   = INIT_TO_ZERO_INT;
+
+        parEstimationCancelled = new AtomicBoolean(false);
 
         cameraOffsetXPixels = INIT_TO_ZERO_DOUBLE;
-        strokesTakenCount   = INIT_TO_ZERO_INT;
-        parForHole          = INIT_TO_ZERO_INT;
-
-        currentAimAngleDegrees = DEFAULT_LAUNCH_ANGLE_DEGREES;
-        currentPowerPercentage = INIT_TO_ZERO_DOUBLE;
-        chargingPower          = false;
-
-        golfCourses      = new ArrayList<>();
-        parPerHole       = new ArrayList<>();
-        strokesPerHole   = new ArrayList<>();
-        currentHoleIndex = INIT_TO_ZERO_INT;
     }
 
     /**
-     * Constructs the GolfGameInterface, initializing clubs, course, ball, and score.
+     * Constructs the GolfGameInterface, loading the best round so far.
      *
      * @param gameFinishedLatch latch that is counted down when the window closes
      */
@@ -190,10 +218,10 @@ public final class GolfGameInterface
         gameCanvas.setFocusTraversable(true);
         gameCanvas.requestFocus();
 
-        gameCanvas.setOnMouseMoved(this::handleMouseMoved);
+        gameCanvas.setOnMouseMoved(mouseEvent -> handleInput(() -> handleMouseMoved(mouseEvent)));
 
-        scene.setOnKeyPressed(this::handleKeyPressed);
-        scene.setOnKeyReleased(this::handleKeyReleased);
+        scene.setOnKeyPressed(keyEvent -> handleInput(() -> handleKeyPressed(keyEvent)));
+        scene.setOnKeyReleased(keyEvent -> handleInput(() -> handleKeyReleased(keyEvent)));
 
         generateNewRound();
         updateParAndScoreLabel();
@@ -202,225 +230,256 @@ public final class GolfGameInterface
 
         gameStage.setOnCloseRequest(_ ->
                                     {
-                                        if (animationTimer != null)
+                                        if (renderScheduler != null)
                                         {
-                                            animationTimer.stop();
+                                            renderScheduler.stop();
                                         }
+                                        parEstimationCancelled.set(true);
+                                        parEstimationPool.shutdownNow();
+                                        trajectoryPreviewer.shutdown();
+                                        stopReplayRecording();
+                                        writeFrameProfile();
                                         gameFinishedLatch.countDown();
                                     });
 
         gameStage.show();
     }
 
-    private void initializeClubs()
-    {
-        golfClubsByType.put(ClubType.DRIVER,
-                            new DriverGolfClub("Driver", DriverGolfClub.DRIVER_YARDAGE));
-        golfClubsByType.put(ClubType.WEDGE,
-                            new WedgeGolfClub("Wedge", WedgeGolfClub.WEDGE_YARDAGE));
-        golfClubsByType.put(ClubType.PUTTER,
-                            new PutterGolfClub("Putter", PutterGolfClub.PUTTER_BASE_DISTANCE_PIXELS));
-    }
-
     private void generateNewRound()
     {
-        final double maximumHeightOffsetPixels;
-
-        golfCourses.clear();
-        parPerHole.clear();
-        strokesPerHole.clear();
-        currentHoleIndex = INIT_TO_ZERO_INT;
-
-        maximumHeightOffsetPixels = ProjectilePhysics.computeMaximumHeightOffsetForCourse(
-            golfClubsByType.get(ClubType.WEDGE),
-            MAXIMUM_POWER_PERCENTAGE,
-            FAIRWAY_DISTANCE_MULTIPLIER,
-            MAXIMUM_LAUNCH_ANGLE_DEGREES,
-            COURSE_HEIGHT_SAFETY_FACTOR,
-            MINIMUM_MAX_HEIGHT_OFFSET_PIXELS);
-
-        for (int holeIndex = 0; holeIndex < NUMBER_OF_HOLES_PER_ROUND; holeIndex++)
-        {
-            final GolfCourse generatedHole;
-            final int parForThisHole;
-
-            generatedHole = CourseGenerator.generateSingleHole(
-                randomNumberGenerator,
-                NUMBER_OF_TILES_PER_HOLE,
-                TILE_WIDTH_PIXELS,
-                CANVAS_HEIGHT_PIXELS * BASE_GROUND_CENTER_Y_RATIO,
-                maximumHeightOffsetPixels);
-
-            parForThisHole = generatedHole.computePar(
-                golfClubsByType,
-                MAXIMUM_POWER_PERCENTAGE,
-                FAIRWAY_DISTANCE_MULTIPLIER);
-
-            golfCourses.add(generatedHole);
-            parPerHole.add(parForThisHole);
-            strokesPerHole.add(INIT_TO_ZERO_INT);
-        }
+        golfRoundEngine.startRound(randomNumberGenerator.nextLong());
 
-        startHole(INIT_TO_ZERO_INT);
+        startReplayRecording();
+        startParEstimation();
     }
 
-    private void startHole(final int holeIndex)
+    // Replays and par estimates are per round, so an endless run has neither.
+    private void generateEndlessRun()
     {
-        currentHoleIndex = holeIndex;
-        golfCourse       = golfCourses.get(holeIndex);
-        parForHole       = parPerHole.get(holeIndex);
+        stopReplayRecording();
 
-        initializeBallAtTee();
-        statusLabel.setText(
-            "Hole " + (holeIndex + NEXT_HOLE_INDEX) + " of " + NUMBER_OF_HOLES_PER_ROUND
-            + ". Move mouse to aim, hold SPACE to charge, release to hit."
-                           );
+        parEstimationCancelled.set(true);
+        roundGeneration++;
+
+        golfRoundEngine.startEndlessRun(randomNumberGenerator.nextLong());
     }
 
-    private void handleMouseMoved(final MouseEvent mouseEvent)
+    private void startReplayRecording()
     {
-        final double mouseScreenXPixels;
-        final double mouseScreenYPixels;
+        final long roundSeed;
+        final Path replayPath;
 
-        final double mouseWorldXPixels;
-        final double mouseWorldYPixels;
+        stopReplayRecording();
 
-        final double ballWorldXPixels;
-        final double ballWorldYPixels;
+        roundSeed  = golfRoundEngine.getRoundSeed();
+        replayPath = Path.of("").toAbsolutePath()
+                         .resolve(REPLAY_DIRECTORY_NAME)
+                         .resolve(REPLAY_FILE_PREFIX + Long.toHexString(roundSeed) + REPLAY_FILE_SUFFIX);
 
-        double deltaXPixels;
-        double deltaYPixels;
+        try
+        {
+            replayRecorder = ReplayRecorder.open(replayPath,
+                                                 new ReplayHeader(roundSeed,
+                                                                  GolfRoundEngine.NUMBER_OF_HOLES_PER_ROUND,
+                                                                  GolfRoundEngine.NUMBER_OF_TILES_PER_HOLE,
+                                                                  GolfRoundEngine.TILE_WIDTH_PIXELS,
+                                                                  golfRoundEngine.getBaseGroundCenterYPixels(),
+                                                                  golfRoundEngine.getMaximumHeightOffsetPixels(),
+                                                                  BALL_RADIUS_PIXELS,
+                                                                  simulationClock.getStepSeconds(),
+                                                                  REPLAY_KEYFRAME_INTERVAL_STEPS));
+        }
+        catch (final IOException ioException)
+        {
+            System.err.println("Failed to start replay at " + replayPath + ": " + ioException.getMessage());
+        }
+    }
 
-        double aimAngleDegrees;
+    private void stopReplayRecording()
+    {
+        if (replayRecorder != null)
+        {
+            replayRecorder.close();
+            replayRecorder = null;
+        }
+    }
 
-        gameCanvas.requestFocus();
+    private void writeFrameProfile()
+    {
+        final Path profilePath;
 
-        if (golfBall.isMoving())
+        if (frameProfiler.getSessionHistogram(FramePhase.FRAME).getTotalCount() == INIT_TO_ZERO_INT)
         {
             return;
         }
 
-        mouseScreenXPixels = mouseEvent.getX();
-        mouseScreenYPixels = mouseEvent.getY();
+        profilePath = Path.of("").toAbsolutePath()
+                          .resolve(PROFILE_DIRECTORY_NAME)
+                          .resolve(PROFILE_FILE_PREFIX + System.currentTimeMillis() + PROFILE_FILE_SUFFIX);
 
-        mouseWorldXPixels = mouseScreenXPixels + cameraOffsetXPixels;
-        mouseWorldYPixels = mouseScreenYPixels;
+        try
+        {
+            frameProfiler.writeReport(profilePath);
+        }
+        catch (final IOException ioException)
+        {
+            System.err.println("Failed to write frame profile to " + profilePath + ": " + ioException.getMessage());
+        }
+    }
 
-        ballWorldXPixels = golfBall.getPositionXPixels();
-        ballWorldYPixels = golfBall.getPositionYPixels();
+    // Times the handler, then wakes the loop so its effect is drawn on the next pulse.
+    private void handleInput(final Runnable inputHandler)
+    {
+        final long startNanoseconds;
 
-        deltaXPixels = mouseWorldXPixels - ballWorldXPixels;
-        deltaYPixels = ballWorldYPixels - mouseWorldYPixels;
+        startNanoseconds = System.nanoTime();
+        inputHandler.run();
+        frameProfiler.record(FramePhase.INPUT, startNanoseconds);
 
-        final boolean isDeltaXTooSmall =
-            Math.abs(deltaXPixels) < MINIMUM_AIM_DELTA_X_PIXELS;
+        requestRender();
+    }
 
-        if (isDeltaXTooSmall)
+    private void requestRender()
+    {
+        if (renderScheduler != null)
         {
-            final double directionSign;
+            renderScheduler.requestRender();
+        }
+    }
 
-            if (deltaXPixels >= INIT_TO_ZERO_DOUBLE)
-            {
-                directionSign = ALTER_BY_ONE;
-            }
-            else
-            {
-                directionSign = -ALTER_BY_ONE;
-            }
+    // Frames run back to back only while something moves on its own.
+    private boolean isSceneAnimating()
+    {
+        return golfBall.isMoving()
+               || golfRoundEngine.isChargingPower()
+               || renderCameraOffsetXPixels != cameraOffsetXPixels;
+    }
 
-            deltaXPixels = directionSign * MINIMUM_AIM_DELTA_X_PIXELS;
-        }
+    // The heuristic par is shown at once; simulated estimates replace it as they finish.
+    // Each hole is estimated as soon as the engine has generated it. Estimates still
+    // running for the previous round are cancelled so they stop taking pool time.
+    private void startParEstimation()
+    {
+        final int           generation;
+        final AtomicBoolean roundCancelled;
 
-        aimAngleDegrees = Math.toDegrees(Math.atan2(deltaYPixels, deltaXPixels));
+        parEstimationCancelled.set(true);
 
-        if (aimAngleDegrees < MINIMUM_LAUNCH_ANGLE_DEGREES)
-        {
-            aimAngleDegrees = MINIMUM_LAUNCH_ANGLE_DEGREES;
-        }
-        else if (aimAngleDegrees > MAXIMUM_LAUNCH_ANGLE_DEGREES)
+        roundGeneration++;
+        generation             = roundGeneration;
+        roundCancelled         = new AtomicBoolean(false);
+        parEstimationCancelled = roundCancelled;
+
+        for (int holeIndex = 0; holeIndex < GolfRoundEngine.NUMBER_OF_HOLES_PER_ROUND; holeIndex++)
         {
-            aimAngleDegrees = MAXIMUM_LAUNCH_ANGLE_DEGREES;
+            final int holeToEstimate;
+            final long estimateSeed;
+
+            holeToEstimate = holeIndex;
+            estimateSeed   = randomNumberGenerator.nextLong();
+
+            golfRoundEngine.getCourseAsync(holeIndex)
+                           .thenCompose(golfCourse -> parEstimator.estimateAsync(golfCourse,
+                                                                                 estimateSeed,
+                                                                                 roundCancelled::get))
+                           .thenAccept(parEstimate -> Platform.runLater(
+                               () -> applyParEstimate(generation, holeToEstimate, parEstimate)));
         }
-
-        final ClubType selectedClub = clubSelectionComboBox.getSelectionModel().getSelectedItem();
-        currentAimAngleDegrees = aimAngleDegrees;
     }
 
-    private void handleKeyPressed(final KeyEvent keyEvent)
+    private void applyParEstimate(final int generation,
+                                  final int holeIndex,
+                                  final ParEstimate parEstimate)
     {
-        if (keyEvent.getCode() == KeyCode.SPACE)
+        // Ignore estimates for an old round; the engine ignores holes already started.
+        if (generation != roundGeneration)
         {
-            if (!chargingPower && !golfBall.isMoving())
-            {
-                chargingPower          = true;
-                currentPowerPercentage = INIT_TO_ZERO_DOUBLE;
-                statusLabel.setText("Charging shot power... release SPACE to hit.");
-            }
+            return;
         }
-    }
 
-    private void handleKeyReleased(final KeyEvent keyEvent)
-    {
-        if (keyEvent.getCode() == KeyCode.SPACE)
+        if (golfRoundEngine.setEstimatedPar(holeIndex, parEstimate.getPar()))
         {
-            if (chargingPower && !golfBall.isMoving())
-            {
-                chargingPower = false;
-                performShot();
-            }
+            updateParAndScoreLabel();
         }
     }
 
-    private void initializeBallAtTee()
+    private void handleMouseMoved(final MouseEvent mouseEvent)
     {
-        final List<TerrainTile> terrainTiles;
-        TerrainTile teeTerrainTile;
+        gameCanvas.requestFocus();
+
+        if (golfBall.isMoving())
+        {
+            return;
+        }
 
-        final double ballStartXPixels;
-        final double ballStartYPixels;
+        golfRoundEngine.aimAt(mouseEvent.getX() + cameraOffsetXPixels, mouseEvent.getY());
 
-        terrainTiles = golfCourse.getTerrainTiles();
+        requestTrajectoryPreview();
+    }
 
-        teeTerrainTile = TerrainTileUtils.findFirstTileOfType(
-            terrainTiles,
-            TerrainType.FAIRWAY
-                                                             );
+    private void requestTrajectoryPreview()
+    {
+        final ClubType selectedClubType;
+        final double previewPowerPercentage;
 
-        if (teeTerrainTile == null)
+        if (golfBall.isMoving())
         {
-            teeTerrainTile = golfCourse.getStartTile();
+            return;
         }
 
-        ballStartXPixels =
-            teeTerrainTile.getStartXPixels()
-            + TILE_WIDTH_PIXELS * TEE_BALL_OFFSET_RATIO_FROM_TILE_START;
+        selectedClubType = golfRoundEngine.getSelectedClubType();
 
-        ballStartYPixels =
-            teeTerrainTile.getGroundCenterYPixels() - BALL_RADIUS_PIXELS;
+        if (selectedClubType == null)
+        {
+            return;
+        }
 
-        if (golfBall == null)
+        // Before charging, preview a full swing so the player can see the club's reach.
+        if (golfRoundEngine.isChargingPower())
         {
-            golfBall = new GolfBall(ballStartXPixels, ballStartYPixels, BALL_RADIUS_PIXELS);
+            previewPowerPercentage = golfRoundEngine.getPowerPercentage();
         }
         else
         {
-            golfBall.resetToTee(ballStartXPixels, ballStartYPixels);
+            previewPowerPercentage = MAXIMUM_POWER_PERCENTAGE;
         }
 
-        golfBall.markSafePosition();
+        trajectoryPreviewer.requestPreview(golfRoundEngine.getCurrentCourse(),
+                                           golfClubsByType.get(selectedClubType),
+                                           selectedClubType,
+                                           golfBall.getPositionXPixels(),
+                                           golfBall.getPositionYPixels(),
+                                           previewPowerPercentage,
+                                           golfRoundEngine.getAimAngleDegrees());
+    }
+
+    private void handleKeyPressed(final KeyEvent keyEvent)
+    {
+        if (keyEvent.getCode() == KeyCode.F3)
+        {
+            profilerOverlayVisible = !profilerOverlayVisible;
+            return;
+        }
 
-        cameraOffsetXPixels    = INIT_TO_ZERO_DOUBLE;
-        strokesTakenCount      = INIT_TO_ZERO_INT;
-        currentPowerPercentage = INIT_TO_ZERO_DOUBLE;
-        chargingPower          = false;
+        if (keyEvent.getCode() == KeyCode.SPACE && golfRoundEngine.startCharging())
+        {
+            statusLabel.setText("Charging shot power... release SPACE to hit.");
+        }
+    }
 
-        updateParAndScoreLabel();
+    private void handleKeyReleased(final KeyEvent keyEvent)
+    {
+        if (keyEvent.getCode() == KeyCode.SPACE)
+        {
+            golfRoundEngine.releaseCharge();
+        }
     }
 
     private HBox createControlPanel()
     {
         final HBox controlPanel;
         final Button newRoundButton;
+        final Button endlessRunButton;
         final Label clubLabel;
 
         controlPanel = new HBox(CONTROL_PANEL_SPACING_PIXELS);
@@ -429,19 +488,36 @@ public final class GolfGameInterface
 
         clubSelectionComboBox = new ComboBox<>();
         clubSelectionComboBox.getItems().addAll(ClubType.values());
-        clubSelectionComboBox.getSelectionModel().select(ClubType.DRIVER);
+        clubSelectionComboBox.getSelectionModel().select(golfRoundEngine.getSelectedClubType());
         clubSelectionComboBox.getStyleClass().add("club-selector");
 
-        clubSelectionComboBox.setOnAction(_ -> gameCanvas.requestFocus());
+        clubSelectionComboBox.setOnAction(_ ->
+                                          {
+                                              golfRoundEngine.selectClub(
+                                                  clubSelectionComboBox.getSelectionModel().getSelectedItem());
+                                              gameCanvas.requestFocus();
+                                              requestTrajectoryPreview();
+                                              requestRender();
+                                          });
 
         newRoundButton = new Button("New Round");
         newRoundButton.setOnAction(_ ->
                                    {
                                        generateNewRound();
                                        gameCanvas.requestFocus();
+                                       requestRender();
                                    });
         newRoundButton.getStyleClass().add("primary-button");
 
+        endlessRunButton = new Button("Endless");
+        endlessRunButton.setOnAction(_ ->
+                                     {
+                                         generateEndlessRun();
+                                         gameCanvas.requestFocus();
+                                         requestRender();
+                                     });
+        endlessRunButton.getStyleClass().add("primary-button");
+
         statusLabel = new Label(
             "Move mouse to aim, hold SPACE to charge, release to hit."
         );
@@ -457,6 +533,7 @@ public final class GolfGameInterface
             clubLabel,
             clubSelectionComboBox,
             newRoundButton,
+            endlessRunButton,
             parAndScoreLabel,
             statusLabel
                                          );
@@ -470,171 +547,145 @@ public final class GolfGameInterface
         {
             private long lastUpdateNanoseconds = INIT_TO_ZERO_INT;
 
+            // Time spent idle must not be simulated when the loop wakes up.
+            @Override
+            public void start()
+            {
+                lastUpdateNanoseconds = INIT_TO_ZERO_INT;
+                super.start();
+            }
+
             @Override
             public void handle(final long currentTimeNanoseconds)
             {
-                final double deltaTimeSeconds;
+                final long frameStartNanoseconds;
+                final long renderStartNanoseconds;
+                final int stepCount;
+                final PhysicsStepBatchEvent physicsStepBatchEvent;
 
+                frameStartNanoseconds = System.nanoTime();
+
+                // The first pulse after waking only draws; stepping starts from the next one.
                 if (lastUpdateNanoseconds == INIT_TO_ZERO_INT)
                 {
                     lastUpdateNanoseconds = currentTimeNanoseconds;
-                    return;
+                    simulationClock.reset();
+                }
+                else
+                {
+                    frameProfiler.recordDuration(FramePhase.FRAME_INTERVAL,
+                                                 currentTimeNanoseconds - lastUpdateNanoseconds);
                 }
 
-                deltaTimeSeconds =
-                    (currentTimeNanoseconds - lastUpdateNanoseconds) / 1_000_000_000.0;
+                stepCount = simulationClock.advance(currentTimeNanoseconds - lastUpdateNanoseconds);
 
                 lastUpdateNanoseconds = currentTimeNanoseconds;
 
-                updateGameState(deltaTimeSeconds);
-                renderGame();
-            }
-        };
-
-        animationTimer.start();
-    }
-
-    private void performShot()
-    {
-        final ClubType selectedClubType;
-        final GolfClub selectedGolfClub;
-
-        final TerrainTile terrainTileUnderBall;
-        final double terrainDistanceMultiplier;
+                physicsStepBatchEvent = new PhysicsStepBatchEvent();
+                physicsStepBatchEvent.begin();
 
-        final ShotContext shotContext;
-        final ShotResult shotResult;
+                for (int stepIndex = 0; stepIndex < stepCount; stepIndex++)
+                {
+                    final long stepStartNanoseconds;
 
-        double launchAngleDegrees;
-        final double initialSpeedPixelsPerSecond;
+                    stepStartNanoseconds = System.nanoTime();
 
-        double initialVelocityXPixelsPerSecond;
-        double initialVelocityYPixelsPerSecond;
+                    capturePreviousSimulationState();
+                    updateGameState(simulationClock.getStepSeconds());
 
-        if (golfBall.isMoving())
-        {
-            return;
-        }
+                    frameProfiler.record(FramePhase.PHYSICS_STEP, stepStartNanoseconds);
+                }
 
-        if (currentPowerPercentage <= INIT_TO_ZERO_DOUBLE)
-        {
-            statusLabel.setText("No power charged. Hold SPACE before releasing.");
-            return;
-        }
+                // Once a frame is enough: the course only changes when the camera crosses a chunk.
+                if (golfRoundEngine.advanceEndlessCourse(cameraOffsetXPixels))
+                {
+                    updateParAndScoreLabel();
+                }
 
-        selectedClubType = clubSelectionComboBox.getSelectionModel().getSelectedItem();
+                if (stepCount > INIT_TO_ZERO_INT)
+                {
+                    frameProfiler.record(FramePhase.UPDATE, frameStartNanoseconds);
+
+                    if (physicsStepBatchEvent.shouldCommit())
+                    {
+                        physicsStepBatchEvent.stepCount  = stepCount;
+                        physicsStepBatchEvent.ballMoving = golfBall.isMoving();
+                        physicsStepBatchEvent.commit();
+                    }
+                }
 
-        if (selectedClubType == null)
-        {
-            statusLabel.setText("No club selected.");
-            return;
-        }
+                renderStartNanoseconds = System.nanoTime();
 
-        selectedGolfClub = golfClubsByType.get(selectedClubType);
+                renderGame(simulationClock.getInterpolationAlpha());
 
-        terrainTileUnderBall = golfCourse.getTileAtX(golfBall.getPositionXPixels());
+                frameProfiler.record(FramePhase.RENDER, renderStartNanoseconds);
+                frameProfiler.record(FramePhase.FRAME, frameStartNanoseconds);
 
-        terrainDistanceMultiplier = switch (terrainTileUnderBall.getTerrainType())
-        {
-            case SAND -> SAND_DISTANCE_MULTIPLIER;
-            case ROUGH -> ROUGH_DISTANCE_MULTIPLIER;
-            case WATER -> INIT_TO_ZERO_DOUBLE;
-            default -> FAIRWAY_DISTANCE_MULTIPLIER;
+                renderScheduler.frameRendered();
+            }
         };
 
-        if (terrainDistanceMultiplier == INIT_TO_ZERO_DOUBLE)
-        {
-            golfBall.resetToSafePosition();
-            statusLabel.setText("Splash! Ball reset to the tee.");
-            recenterCameraIfBallOffscreen();
-            return;
-        }
-
-        shotContext = new ShotContext(currentPowerPercentage, terrainDistanceMultiplier);
-
-        shotResult = selectedGolfClub.computeShot(shotContext);
+        renderScheduler = new RenderScheduler(animationTimer::start,
+                                              animationTimer::stop,
+                                              this::isSceneAnimating);
+        renderScheduler.requestRender();
+    }
 
-        launchAngleDegrees = currentAimAngleDegrees;
+    private void capturePreviousSimulationState()
+    {
+        previousBallXPixels         = golfBall.getPositionXPixels();
+        previousBallYPixels         = golfBall.getPositionYPixels();
+        previousCameraOffsetXPixels = cameraOffsetXPixels;
+    }
 
-        if (selectedClubType == ClubType.PUTTER)
+    private void updateRenderState(final double interpolationAlpha)
+    {
+        // Blend the last two physics states only while in flight so resets never smear.
+        if (golfBall.isMoving())
         {
-            initialSpeedPixelsPerSecond = shotResult.getExpectedHorizontalRangePixels();
-
-            if (initialSpeedPixelsPerSecond <= MINIMUM_INITIAL_SPEED_EPSILON_PIXELS_PER_SECOND)
-            {
-                statusLabel.setText("Putter shot power too low.");
-                return;
-            }
+            renderBallXPixels = interpolate(previousBallXPixels,
+                                            golfBall.getPositionXPixels(),
+                                            interpolationAlpha);
+            renderBallYPixels = interpolate(previousBallYPixels,
+                                            golfBall.getPositionYPixels(),
+                                            interpolationAlpha);
+
+            renderCameraOffsetXPixels = interpolate(previousCameraOffsetXPixels,
+                                                    cameraOffsetXPixels,
+                                                    interpolationAlpha);
         }
         else
         {
-            // Use a symmetric acute angle for speed calculation so backwards shots still work.
-            final double rightAngleDegrees;
-            rightAngleDegrees = 90.0;
-
-            double effectiveLaunchAngleDegrees;
-            effectiveLaunchAngleDegrees = launchAngleDegrees;
-
-            if (effectiveLaunchAngleDegrees > rightAngleDegrees)
-            {
-                // Map 100° → 80°, 150° → 30°, etc.
-                effectiveLaunchAngleDegrees = (2.0 * rightAngleDegrees) - effectiveLaunchAngleDegrees;
-            }
-
-            final double computedInitialSpeedPixelsPerSecond;
-            computedInitialSpeedPixelsPerSecond = ProjectilePhysics.computeInitialSpeed(
-                shotResult.getExpectedHorizontalRangePixels(),
-                effectiveLaunchAngleDegrees);
-
-            initialSpeedPixelsPerSecond = computedInitialSpeedPixelsPerSecond;
-
-            if (initialSpeedPixelsPerSecond <= MINIMUM_INITIAL_SPEED_EPSILON_PIXELS_PER_SECOND)
-            {
-                statusLabel.setText("Invalid aim. Adjust your aim angle.");
-                return;
-            }
+            renderBallXPixels         = golfBall.getPositionXPixels();
+            renderBallYPixels         = golfBall.getPositionYPixels();
+            renderCameraOffsetXPixels = cameraOffsetXPixels;
         }
+    }
 
-        final double launchAngleRadians;
-        launchAngleRadians = Math.toRadians(launchAngleDegrees);
-
-        initialVelocityXPixelsPerSecond = initialSpeedPixelsPerSecond * Math.cos(launchAngleRadians);
+    private static double interpolate(final double previousValue,
+                                      final double currentValue,
+                                      final double interpolationAlpha)
+    {
+        return previousValue + (currentValue - previousValue) * interpolationAlpha;
+    }
 
-        initialVelocityYPixelsPerSecond = -initialSpeedPixelsPerSecond * Math.sin(launchAngleRadians);
+    private void updateGameState(final double deltaTimeSeconds)
+    {
+        golfRoundEngine.tick(deltaTimeSeconds);
 
-        if (selectedClubType == ClubType.PUTTER)
+        if (golfRoundEngine.isChargingPower())
         {
-            initialVelocityYPixelsPerSecond = INIT_TO_ZERO_DOUBLE;
+            statusLabel.setText("Charging... power " + Math.round(golfRoundEngine.getPowerPercentage()) + "%");
+            requestTrajectoryPreview();
         }
 
-        golfBall.launch(initialVelocityXPixelsPerSecond, initialVelocityYPixelsPerSecond);
-
-        strokesTakenCount++;
-        currentPowerPercentage = INIT_TO_ZERO_DOUBLE;
-
-        statusLabel.setText(
-            "Shot with " + selectedGolfClub.getDisplayName()
-            + " at " + Math.round(launchAngleDegrees) + "°"
-            + " power " + Math.round(shotContext.getPowerPercentage()) + "%"
-                           );
-        updateParAndScoreLabel();
+        updateCamera();
     }
 
-
-    private void finishRoundAndUpdateHighScore()
+    private void finishRoundAndUpdateHighScore(final int totalStrokes,
+                                               final int totalPar)
     {
-        int totalPar;
-        int totalStrokes;
-        int relativeToPar;
-
-        totalPar     = INIT_TO_ZERO_INT;
-        totalStrokes = INIT_TO_ZERO_INT;
-
-        for (int holeIndex = 0; holeIndex < NUMBER_OF_HOLES_PER_ROUND; holeIndex++)
-        {
-            totalPar += parPerHole.get(holeIndex);
-            totalStrokes += strokesPerHole.get(holeIndex);
-        }
+        final int relativeToPar;
 
         relativeToPar = totalStrokes - totalPar;
 
@@ -667,178 +718,6 @@ public final class GolfGameInterface
         return Integer.toString(relativeToPar);
     }
 
-    private void updateGameState(final double deltaTimeSeconds)
-    {
-        if (chargingPower && !golfBall.isMoving())
-        {
-            currentPowerPercentage += POWER_CHARGE_RATE_PERCENT_PER_SECOND * deltaTimeSeconds;
-
-            if (currentPowerPercentage > MAXIMUM_POWER_PERCENTAGE)
-            {
-                currentPowerPercentage = MAXIMUM_POWER_PERCENTAGE;
-            }
-
-            statusLabel.setText("Charging... power " + Math.round(currentPowerPercentage) + "%");
-        }
-
-        if (golfBall.isMoving())
-        {
-            updateMovingBall(deltaTimeSeconds);
-        }
-
-        updateCamera();
-    }
-
-    private void updateMovingBall(final double deltaTimeSeconds)
-    {
-        final TerrainTile terrainTileBeforeUpdate;
-        final double groundCenterYPixels;
-
-        final boolean stillMoving;
-
-        terrainTileBeforeUpdate = golfCourse.getTileAtX(golfBall.getPositionXPixels());
-
-        groundCenterYPixels = terrainTileBeforeUpdate.getGroundCenterYPixels() - golfBall.getRadiusPixels();
-
-        stillMoving = ProjectilePhysics.updateBallWithTerrain(
-            golfBall,
-            terrainTileBeforeUpdate,
-            groundCenterYPixels,
-            deltaTimeSeconds
-                                                             );
-
-        if (ProjectilePhysics.handleAirObstacleCollisions(golfBall, golfCourse.getAirObstacles()))
-        {
-            statusLabel.setText("Ball hit an air obstacle!");
-        }
-
-        final TerrainTile terrainTileAfterUpdate = golfCourse.getTileAtX(golfBall.getPositionXPixels());
-
-        if (handleWaterCollisionIfNeeded(terrainTileAfterUpdate))
-        {
-            return;
-        }
-
-        if (handleOutOfBoundsIfNeeded())
-        {
-            return;
-        }
-
-        if (!stillMoving)
-        {
-            handleBallStop(terrainTileAfterUpdate);
-        }
-    }
-
-    private boolean handleWaterCollisionIfNeeded(final TerrainTile terrainTileAfterUpdate)
-    {
-        if (terrainTileAfterUpdate.getTerrainType() != TerrainType.WATER)
-        {
-            return false;
-        }
-
-        final double waterSurfaceYPixels;
-        final double ballBottomYPixels;
-
-        waterSurfaceYPixels = terrainTileAfterUpdate.getGroundCenterYPixels();
-
-        ballBottomYPixels = golfBall.getPositionYPixels() + golfBall.getRadiusPixels();
-
-        if (ballBottomYPixels < waterSurfaceYPixels)
-        {
-            return false;
-        }
-
-        golfBall.stop();
-        golfBall.resetToSafePosition();
-        statusLabel.setText("Splash! Ball reset to last safe position.");
-        recenterCameraIfBallOffscreen();
-
-        return true;
-    }
-
-    private boolean handleOutOfBoundsIfNeeded()
-    {
-        final TerrainTile lastTerrainTile;
-        final TerrainTile firstTerrainTile;
-
-        final double lastTileEndXPixels;
-        final double firstTileXPixels;
-
-        lastTerrainTile    = golfCourse.getLastTile();
-        firstTerrainTile   = golfCourse.getStartTile();
-        lastTileEndXPixels = lastTerrainTile.getEndXPixels();
-        firstTileXPixels   = firstTerrainTile.getStartXPixels();
-
-        if (golfBall.getPositionXPixels() <= lastTileEndXPixels && golfBall.getPositionXPixels() >= firstTileXPixels)
-        {
-            return false;
-        }
-
-        golfBall.stop();
-        golfBall.resetToSafePosition();
-        statusLabel.setText("Ball went out of bounds past the hole. Reset to last safe position.");
-        recenterCameraIfBallOffscreen();
-
-        return true;
-    }
-
-    private void handleBallStop(final TerrainTile currentTerrainTile)
-    {
-        final TerrainType terrainType;
-        final TerrainTile lastTerrainTile;
-
-        final boolean ballPastEnd;
-
-        terrainType = currentTerrainTile.getTerrainType();
-
-        lastTerrainTile = golfCourse.getLastTile();
-        ballPastEnd     = golfBall.getPositionXPixels() > lastTerrainTile.getEndXPixels();
-
-        if (!ballPastEnd && terrainType != TerrainType.WATER)
-        {
-            golfBall.markSafePosition();
-        }
-
-        if (ballPastEnd)
-        {
-            golfBall.resetToSafePosition();
-            statusLabel.setText("Ball went out of bounds past the hole. Reset to last safe position.");
-        }
-        else if (terrainType == TerrainType.WATER)
-        {
-            golfBall.resetToSafePosition();
-            statusLabel.setText("Ball rolled into water. Reset to last safe position.");
-        }
-        else if (terrainType == TerrainType.HOLE || terrainType == TerrainType.GREEN)
-        {
-            strokesPerHole.set(currentHoleIndex, strokesTakenCount);
-
-            statusLabel.setText(
-                "Hole " + (currentHoleIndex + NEXT_HOLE_INDEX)
-                + " complete in " + strokesTakenCount
-                + " strokes (par " + parForHole + ")."
-                               );
-
-            if (currentHoleIndex + NEXT_HOLE_INDEX < NUMBER_OF_HOLES_PER_ROUND)
-            {
-                startHole(currentHoleIndex + NEXT_HOLE_INDEX);
-            }
-            else
-            {
-                finishRoundAndUpdateHighScore();
-            }
-        }
-        else if (terrainType == TerrainType.SAND)
-        {
-            statusLabel.setText("Stopped in sand. Next shot is heavily reduced.");
-        }
-        else
-        {
-            statusLabel.setText("Ball stopped on " + terrainType.name().toLowerCase() + ".");
-        }
-    }
-
     private void updateCamera()
     {
         final double centerThresholdXPixels;
@@ -859,36 +738,6 @@ public final class GolfGameInterface
         }
     }
 
-    private int computeTotalParUpToCurrentHole()
-    {
-        int totalPar;
-
-        totalPar = INIT_TO_ZERO_INT;
-
-        for (int holeIndex = 0; holeIndex <= currentHoleIndex && holeIndex < parPerHole.size(); holeIndex++)
-        {
-            totalPar += parPerHole.get(holeIndex);
-        }
-
-        return totalPar;
-    }
-
-    private int computeTotalStrokesUpToCurrentHole()
-    {
-        int totalStrokes;
-
-        totalStrokes = INIT_TO_ZERO_INT;
-
-        for (int holeIndex = 0; holeIndex < currentHoleIndex; holeIndex++)
-        {
-            totalStrokes += strokesPerHole.get(holeIndex);
-        }
-
-        totalStrokes += strokesTakenCount;
-
-        return totalStrokes;
-    }
-
     private void recenterCameraIfBallOffscreen()
     {
         final double ballScreenXPixels;
@@ -912,146 +761,97 @@ public final class GolfGameInterface
         }
     }
 
-    private void renderGame()
+    private void renderGame(final double interpolationAlpha)
     {
-        graphicsContext.setFill(Color.SKYBLUE);
-        graphicsContext.fillRect(INIT_TO_ZERO_DOUBLE, INIT_TO_ZERO_DOUBLE, CANVAS_WIDTH_PIXELS, CANVAS_HEIGHT_PIXELS);
-
-        final List<TerrainTile> terrainTiles;
+        updateRenderState(interpolationAlpha);
 
-        terrainTiles = golfCourse.getTerrainTiles();
+        // The course is fixed for the whole hole, or until an endless run's window moves;
+        // only repaint it when the course changes.
+        if (staticCourseLayer == null || staticCourseLayer.getCourse() != golfRoundEngine.getCurrentCourse())
+        {
+            staticCourseLayer = new StaticCourseLayer(golfRoundEngine.getCurrentCourse(), CANVAS_HEIGHT_PIXELS);
+        }
 
-        terrainTiles.forEach(this::drawTerrainTile);
-        golfCourse.getAirObstacles().forEach(this::drawAirObstacle);
+        staticCourseLayer.draw(graphicsContext, renderCameraOffsetXPixels, CANVAS_WIDTH_PIXELS);
 
         drawBall();
 
         if (!golfBall.isMoving())
         {
+            drawTrajectoryPreview();
             drawAimArrow();
         }
+
+        if (profilerOverlayVisible)
+        {
+            drawProfilerOverlay();
+        }
     }
 
-    private void drawAirObstacle(final AirObstacle airObstacle)
+    // Drawn last so it sits above the course; F3 toggles it.
+    private void drawProfilerOverlay()
     {
-        final double screenLeftXPixels;
-        final double screenRightXPixels;
+        final List<String> overlayLines;
+        final double overlayHeightPixels;
 
-        final double obstacleWidthPixels;
-        final double obstacleHeightPixels;
+        overlayLines        = frameProfiler.getOverlayLines(System.nanoTime());
+        overlayHeightPixels = OVERLAY_LINE_HEIGHT_PIXELS * overlayLines.size() + OVERLAY_TEXT_INSET_PIXELS;
 
-        screenLeftXPixels  = airObstacle.getLeftXPixels() - cameraOffsetXPixels;
-        screenRightXPixels = airObstacle.getRightXPixels() - cameraOffsetXPixels;
+        graphicsContext.save();
 
-        obstacleWidthPixels  = screenRightXPixels - screenLeftXPixels;
-        obstacleHeightPixels = airObstacle.getBottomYPixels() - airObstacle.getTopYPixels();
+        graphicsContext.setGlobalAlpha(OVERLAY_BACKGROUND_OPACITY);
+        graphicsContext.setFill(Color.BLACK);
+        graphicsContext.fillRect(OVERLAY_MARGIN_PIXELS,
+                                 OVERLAY_MARGIN_PIXELS,
+                                 OVERLAY_WIDTH_PIXELS,
+                                 overlayHeightPixels);
 
-        if (screenRightXPixels < INIT_TO_ZERO_DOUBLE || screenLeftXPixels > CANVAS_WIDTH_PIXELS)
-        {
-            return;
-        }
+        graphicsContext.restore();
 
-        graphicsContext.setFill(Color.DARKGRAY);
-        graphicsContext.fillRect(
-            screenLeftXPixels,
-            airObstacle.getTopYPixels(),
-            obstacleWidthPixels,
-            obstacleHeightPixels
-                                );
+        graphicsContext.setFill(Color.WHITE);
+        graphicsContext.setFont(Font.font(OVERLAY_FONT_FAMILY, OVERLAY_FONT_SIZE));
 
-        graphicsContext.setStroke(Color.BLACK);
-        graphicsContext.strokeRect(
-            screenLeftXPixels,
-            airObstacle.getTopYPixels(),
-            obstacleWidthPixels,
-            obstacleHeightPixels
-                                  );
+        for (int lineIndex = 0; lineIndex < overlayLines.size(); lineIndex++)
+        {
+            graphicsContext.fillText(overlayLines.get(lineIndex),
+                                     OVERLAY_MARGIN_PIXELS + OVERLAY_TEXT_INSET_PIXELS,
+                                     OVERLAY_MARGIN_PIXELS + OVERLAY_LINE_HEIGHT_PIXELS * (lineIndex + 1));
+        }
     }
 
-    private void drawTerrainTile(final TerrainTile terrainTile)
+    private void drawTrajectoryPreview()
     {
-        final double screenStartXPixels;
-        final double screenEndXPixels;
-        final double tileWidthOnScreenPixels;
-
-        final double groundCenterYPixels;
+        final TrajectoryPreview trajectoryPreview;
 
-        screenStartXPixels      = terrainTile.getStartXPixels() - cameraOffsetXPixels;
-        screenEndXPixels        = terrainTile.getEndXPixels() - cameraOffsetXPixels;
-        tileWidthOnScreenPixels = screenEndXPixels - screenStartXPixels;
+        trajectoryPreview = trajectoryPreviewer.getLatestPreview();
 
-        if (screenEndXPixels < INIT_TO_ZERO_DOUBLE || screenStartXPixels > CANVAS_WIDTH_PIXELS)
+        if (trajectoryPreview == null)
         {
             return;
         }
 
-        switch (terrainTile.getTerrainType())
-        {
-            case FAIRWAY -> graphicsContext.setFill(Color.GREEN);
-            case ROUGH -> graphicsContext.setFill(Color.DARKGREEN);
-            case SAND -> graphicsContext.setFill(Color.KHAKI);
-            case WATER -> graphicsContext.setFill(Color.DEEPSKYBLUE);
-            case HOLE, GREEN -> graphicsContext.setFill(Color.LAWNGREEN);
-            default -> graphicsContext.setFill(Color.GRAY);
-        }
-
-        groundCenterYPixels = terrainTile.getGroundCenterYPixels();
-
-        graphicsContext.fillRect(
-            screenStartXPixels,
-            groundCenterYPixels,
-            tileWidthOnScreenPixels,
-            CANVAS_HEIGHT_PIXELS - groundCenterYPixels
-                                );
+        graphicsContext.setFill(Color.WHITE);
 
-        if (terrainTile.getTerrainType() == TerrainType.HOLE)
+        for (int dotIndex = 0; dotIndex < trajectoryPreview.getDotCount(); dotIndex++)
         {
-            drawFlag(screenStartXPixels, tileWidthOnScreenPixels, groundCenterYPixels);
+            graphicsContext.fillOval(
+                trajectoryPreview.getDotXPixels(dotIndex) - renderCameraOffsetXPixels - PREVIEW_DOT_RADIUS_PIXELS,
+                trajectoryPreview.getDotYPixels(dotIndex) - PREVIEW_DOT_RADIUS_PIXELS,
+                PREVIEW_DOT_RADIUS_PIXELS * BALL_RADIUS_MULTIPLIER,
+                PREVIEW_DOT_RADIUS_PIXELS * BALL_RADIUS_MULTIPLIER);
         }
     }
 
-    private void drawFlag(final double screenStartXPixels,
-                          final double tileWidthOnScreenPixels,
-                          final double groundCenterYPixels)
-    {
-        final double flagPoleXPixels;
-        final double flagTopYPixels;
-
-        flagPoleXPixels = screenStartXPixels + tileWidthOnScreenPixels * FLAG_POLE_X_MULTIPLIER;
-        flagTopYPixels  = groundCenterYPixels - FLAG_HEIGHT_PIXELS;
-
-        graphicsContext.setStroke(Color.BLACK);
-        graphicsContext.strokeLine(flagPoleXPixels,
-                                   groundCenterYPixels,
-                                   flagPoleXPixels,
-                                   flagTopYPixels);
-
-        graphicsContext.setFill(Color.RED);
-        graphicsContext.fillPolygon(
-            new double[]{
-                flagPoleXPixels,
-                flagPoleXPixels + FLAG_TRIANGLE_OFFSET_X_PIXELS,
-                flagPoleXPixels
-            },
-            new double[]{
-                flagTopYPixels,
-                flagTopYPixels + FLAG_TRIANGLE_OFFSET_Y_SMALL_PIXELS,
-                flagTopYPixels + FLAG_TRIANGLE_OFFSET_Y_LARGE_PIXELS
-            },
-            POLYGON_FILL
-                                   );
-    }
-
     private void drawBall()
     {
         final double screenBallXPixels;
 
-        screenBallXPixels = golfBall.getPositionXPixels() - cameraOffsetXPixels;
+        screenBallXPixels = renderBallXPixels - renderCameraOffsetXPixels;
 
         graphicsContext.setFill(Color.WHITE);
         graphicsContext.fillOval(
             screenBallXPixels - BALL_RADIUS_PIXELS,
-            golfBall.getPositionYPixels() - BALL_RADIUS_PIXELS,
+            renderBallYPixels - BALL_RADIUS_PIXELS,
             BALL_RADIUS_PIXELS * BALL_RADIUS_MULTIPLIER,
             BALL_RADIUS_PIXELS * BALL_RADIUS_MULTIPLIER
                                 );
@@ -1059,7 +859,7 @@ public final class GolfGameInterface
         graphicsContext.setStroke(Color.BLACK);
         graphicsContext.strokeOval(
             screenBallXPixels - BALL_RADIUS_PIXELS,
-            golfBall.getPositionYPixels() - BALL_RADIUS_PIXELS,
+            renderBallYPixels - BALL_RADIUS_PIXELS,
             BALL_RADIUS_PIXELS * BALL_RADIUS_MULTIPLIER,
             BALL_RADIUS_PIXELS * BALL_RADIUS_MULTIPLIER
                                   );
@@ -1088,12 +888,12 @@ public final class GolfGameInterface
         final double rightHeadXPixels;
         final double rightHeadYPixels;
 
-        baseArrowXPixels = golfBall.getPositionXPixels() - cameraOffsetXPixels;
-        baseArrowYPixels = golfBall.getPositionYPixels();
+        baseArrowXPixels = renderBallXPixels - renderCameraOffsetXPixels;
+        baseArrowYPixels = renderBallYPixels;
 
-        launchAngleRadians = Math.toRadians(currentAimAngleDegrees);
+        launchAngleRadians = Math.toRadians(golfRoundEngine.getAimAngleDegrees());
 
-        normalizedPower = currentPowerPercentage / MAXIMUM_POWER_PERCENTAGE;
+        normalizedPower = golfRoundEngine.getPowerPercentage() / MAXIMUM_POWER_PERCENTAGE;
 
         arrowLengthPixels = AIM_ARROW_BASE_LENGTH_PIXELS + AIM_ARROW_EXTRA_LENGTH_PIXELS * normalizedPower;
 
@@ -1154,24 +954,31 @@ public final class GolfGameInterface
             bestRoundText = "Best round: " + formatRelativeToPar(bestRoundRelativeToPar);
         }
 
-        sandTileCount = golfCourse.getTerrainTiles().stream()
-                                  .filter(tile -> tile.getTerrainType() == TerrainType.SAND)
-                                  .count();
+        sandTileCount = golfRoundEngine.getCurrentCourse().countTerrainTilesByType(TerrainType.SAND);
 
         sandSummary = "Sand tiles: " + sandTileCount;
 
-        holeLabel = "Hole " + (currentHoleIndex + NEXT_HOLE_INDEX) + "/" + NUMBER_OF_HOLES_PER_ROUND;
+        if (golfRoundEngine.isEndless())
+        {
+            return "Endless run"
+                   + " | Strokes: " + golfRoundEngine.getStrokesThisHole()
+                   + " | " + bestRoundText
+                   + " | " + sandSummary;
+        }
+
+        holeLabel = "Hole " + (golfRoundEngine.getCurrentHoleIndex() + NEXT_HOLE_INDEX)
+                    + "/" + GolfRoundEngine.NUMBER_OF_HOLES_PER_ROUND;
 
-        totalParSoFar      = computeTotalParUpToCurrentHole();
-        totalStrokesSoFar  = computeTotalStrokesUpToCurrentHole();
+        totalParSoFar      = golfRoundEngine.getTotalParUpToCurrentHole();
+        totalStrokesSoFar  = golfRoundEngine.getTotalStrokesUpToCurrentHole();
         relativeToParSoFar = totalStrokesSoFar - totalParSoFar;
 
         roundScoreSummary = "Round: " + totalStrokesSoFar + "/" + totalParSoFar
                             + " (" + formatRelativeToPar(relativeToParSoFar) + ")";
 
         return holeLabel
-               + " | Par: " + parForHole
-               + " | Strokes this hole: " + strokesTakenCount
+               + " | Par: " + golfRoundEngine.getParForCurrentHole()
+               + " | Strokes this hole: " + golfRoundEngine.getStrokesThisHole()
                + " | " + roundScoreSummary
                + " | " + bestRoundText
                + " | " + sandSummary;
@@ -1184,4 +991,145 @@ public final class GolfGameInterface
             parAndScoreLabel.setText(buildParAndScoreText());
         }
     }
+
+    // Turns engine events into status text, camera moves, previews and replay records.
+    private final class RoundEventHandler implements GolfRoundListener
+    {
+        @Override
+        public void holeStarted(final int holeIndex)
+        {
+            cameraOffsetXPixels = INIT_TO_ZERO_DOUBLE;
+
+            trajectoryPreviewer.clear();
+            requestTrajectoryPreview();
+
+            updateParAndScoreLabel();
+
+            if (golfRoundEngine.isEndless())
+            {
+                statusLabel.setText("Endless run. The course goes on as far as you can hit.");
+                return;
+            }
+
+            statusLabel.setText(
+                "Hole " + (holeIndex + NEXT_HOLE_INDEX) + " of " + GolfRoundEngine.NUMBER_OF_HOLES_PER_ROUND
+                + ". Move mouse to aim, hold SPACE to charge, release to hit."
+                               );
+        }
+
+        @Override
+        public void shotRejected(final ShotRejectionReason shotRejectionReason)
+        {
+            switch (shotRejectionReason)
+            {
+                case NO_POWER -> statusLabel.setText("No power charged. Hold SPACE before releasing.");
+                case NO_CLUB -> statusLabel.setText("No club selected.");
+                case PUTTER_POWER_TOO_LOW -> statusLabel.setText("Putter shot power too low.");
+                default -> statusLabel.setText("Invalid aim. Adjust your aim angle.");
+            }
+        }
+
+        @Override
+        public void shotTaken(final int holeIndex,
+                              final GolfClub golfClub,
+                              final ClubType clubType,
+                              final double powerPercentage,
+                              final double launchAngleDegrees,
+                              final double startXPixels,
+                              final double startYPixels)
+        {
+            trajectoryPreviewer.clear();
+
+            if (replayRecorder != null)
+            {
+                replayRecorder.recordStroke(holeIndex,
+                                            clubType,
+                                            powerPercentage,
+                                            launchAngleDegrees,
+                                            startXPixels,
+                                            startYPixels);
+            }
+
+            statusLabel.setText(
+                "Shot with " + golfClub.getDisplayName()
+                + " at " + Math.round(launchAngleDegrees) + "°"
+                + " power " + Math.round(powerPercentage) + "%"
+                               );
+            updateParAndScoreLabel();
+        }
+
+        @Override
+        public void stepSimulated(final GolfBall movedGolfBall,
+                                  final int contacts)
+        {
+            if (replayRecorder != null)
+            {
+                replayRecorder.recordStep(movedGolfBall);
+            }
+
+            if ((contacts & ProjectilePhysics.CONTACT_AIR_OBSTACLE) != ProjectilePhysics.NO_CONTACT)
+            {
+                statusLabel.setText("Ball hit an air obstacle!");
+            }
+        }
+
+        @Override
+        public void ballReset(final BallResetReason ballResetReason)
+        {
+            switch (ballResetReason)
+            {
+                case LIE_IN_WATER -> statusLabel.setText("Splash! Ball reset to the tee.");
+                case SPLASH -> statusLabel.setText("Splash! Ball reset to last safe position.");
+                case ROLLED_INTO_WATER -> statusLabel.setText("Ball rolled into water. Reset to last safe position.");
+                default -> statusLabel.setText(
+                    "Ball went out of bounds past the hole. Reset to last safe position.");
+            }
+
+            recenterCameraIfBallOffscreen();
+            requestTrajectoryPreview();
+        }
+
+        @Override
+        public void ballStopped(final TerrainType terrainType)
+        {
+            if (terrainType == TerrainType.SAND)
+            {
+                statusLabel.setText("Stopped in sand. Next shot is heavily reduced.");
+            }
+            else
+            {
+                statusLabel.setText("Ball stopped on " + terrainType.name().toLowerCase() + ".");
+            }
+        }
+
+        @Override
+        public void holeCompleted(final int holeIndex,
+                                  final int strokes,
+                                  final int par)
+        {
+            statusLabel.setText(
+                "Hole " + (holeIndex + NEXT_HOLE_INDEX)
+                + " complete in " + strokes
+                + " strokes (par " + par + ")."
+                               );
+        }
+
+        @Override
+        public void roundCompleted(final int totalStrokes,
+                                   final int totalPar)
+        {
+            finishRoundAndUpdateHighScore(totalStrokes, totalPar);
+        }
+
+        @Override
+        public void strokeEnded()
+        {
+            if (replayRecorder != null)
+            {
+                replayRecorder.recordStrokeEnd();
+            }
+
+            requestTrajectoryPreview();
+        }
+    }
 }
@@ -0,0 +1,944 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Headless rules of an 18-hole round: the holes and their par, the ball,
+ * aiming and power charging, striking, hazards and scoring. Instead of a
+ * round, the engine can play an endless run; see {@link #startEndlessRun(long)}.
+ * <p>
+ * The engine has no UI dependency. It advances only when {@link #tick(double)}
+ * is called with a fixed step length, and reports what happens through a
+ * {@link GolfRoundListener}. A view drives it from its input handlers and
+ * frame loop and reads the ball and score back to draw them. A simulation,
+ * bot or server can drive it the same way at whatever speed it likes. Given
+ * the same seed, inputs and step length, a round always plays out the same.
+ * <p>
+ * An engine is not thread-safe; call it from one thread at a time.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class GolfRoundEngine
+{
+    /**
+     * Number of holes in a round.
+     */
+    public static final int NUMBER_OF_HOLES_PER_ROUND = 18;
+
+    /**
+     * Number of terrain tiles in each hole.
+     */
+    public static final int NUMBER_OF_TILES_PER_HOLE = 30;
+
+    /**
+     * Width of a terrain tile in pixels.
+     */
+    public static final double TILE_WIDTH_PIXELS = 40.0;
+
+    /**
+     * Radius of the ball in pixels.
+     */
+    public static final double BALL_RADIUS_PIXELS = 6.0;
+
+    /**
+     * Largest power percentage a shot can be struck with.
+     */
+    public static final double MAXIMUM_POWER_PERCENTAGE = 100.0;
+
+    private static final double MINIMUM_LAUNCH_ANGLE_DEGREES = 5.0;
+    private static final double MAXIMUM_LAUNCH_ANGLE_DEGREES = 175.0;
+    private static final double DEFAULT_LAUNCH_ANGLE_DEGREES = 45.0;
+    private static final double MINIMUM_AIM_DELTA_X_PIXELS   = 0.001;
+
+    private static final double COURSE_HEIGHT_SAFETY_FACTOR      = 0.70;
+    private static final double MINIMUM_MAX_HEIGHT_OFFSET_PIXELS = 40.0;
+
+    private static final double POWER_CHARGE_RATE_PERCENT_PER_SECOND = 70.0;
+
+    private static final int HOLE_GENERATION_LOOK_AHEAD = 2;
+
+    private static final int ENDLESS_CHUNKS_BEHIND = 1;
+    private static final int ENDLESS_CHUNKS_AHEAD  = 2;
+    private static final int ENDLESS_PAR           = 0;
+
+    private static final double TEE_BALL_OFFSET_RATIO_FROM_TILE_START = 0.25;
+    private static final int    NEXT_HOLE_INDEX                       = 1;
+    private static final double ALTER_BY_ONE                          = 1.0;
+    private static final double NO_POWER                              = 0.0;
+    private static final int    NO_STROKES                            = 0;
+    private static final int    FIRST_HOLE_INDEX                      = 0;
+
+    private final Map<ClubType, GolfClub> golfClubsByType;
+    private final ShotEstimateCache       shotEstimateCache;
+    private final CourseCache             courseCache;
+    private final double                  baseGroundCenterYPixels;
+    private final GolfRoundListener       golfRoundListener;
+
+    private final List<Integer> parPerHole;
+    private final List<Integer> strokesPerHole;
+    private final GolfBall      golfBall;
+
+    private long                   roundSeed;
+    private double                 maximumHeightOffsetPixels;
+    private HoleGenerationPipeline holeGenerationPipeline;
+    private EndlessCourse          endlessCourse;
+    private int                    currentHoleIndex;
+    private GolfCourse             golfCourse;
+    private int                    strokesTakenCount;
+    private int                    parForHole;
+
+    private ClubType selectedClubType;
+    private double   currentAimAngleDegrees;
+    private double   currentPowerPercentage;
+    private boolean  chargingPower;
+
+    private HoleCompletedEvent holeCompletedEvent;
+
+    /**
+     * Constructs a GolfRoundEngine. Call {@link #startRound(long)} before
+     * anything else.
+     *
+     * @param golfClubsByType         clubs available to the player
+     * @param baseGroundCenterYPixels y-position the generated terrain varies around
+     * @param golfRoundListener       receiver of round events
+     */
+    public GolfRoundEngine(final Map<ClubType, GolfClub> golfClubsByType,
+                           final double baseGroundCenterYPixels,
+                           final GolfRoundListener golfRoundListener)
+    {
+        Objects.requireNonNull(golfClubsByType, "golfClubsByType must not be null");
+        Objects.requireNonNull(golfRoundListener, "golfRoundListener must not be null");
+
+        this.golfClubsByType         = golfClubsByType;
+        this.baseGroundCenterYPixels = baseGroundCenterYPixels;
+        this.golfRoundListener       = golfRoundListener;
+
+        shotEstimateCache = new ShotEstimateCache(golfClubsByType);
+        courseCache       = new CourseCache(generatedCourse -> generatedCourse.computePar(shotEstimateCache,
+                                                                                         MAXIMUM_POWER_PERCENTAGE,
+                                                                                         TerrainType.FAIRWAY));
+        parPerHole        = new ArrayList<>(NUMBER_OF_HOLES_PER_ROUND);
+        strokesPerHole    = new ArrayList<>(NUMBER_OF_HOLES_PER_ROUND);
+        golfBall          = new GolfBall(NO_POWER, baseGroundCenterYPixels, BALL_RADIUS_PIXELS);
+
+        selectedClubType       = ClubType.DRIVER;
+        currentAimAngleDegrees = DEFAULT_LAUNCH_ANGLE_DEGREES;
+        currentPowerPercentage = NO_POWER;
+        chargingPower          = false;
+    }
+
+    /**
+     * Starts a new round from a seed and places the ball on the first tee.
+     * Only the first hole is generated before this returns; the others are
+     * generated in the background a few holes ahead of play, by a
+     * {@link HoleGenerationPipeline}. Holes seen recently, such as those of
+     * a restarted round, come from the engine's {@link CourseCache} instead.
+     * Par for each hole starts at the heuristic from
+     * {@link GolfCourse#computePar(ShotEstimateCache, double, TerrainType)}.
+     *
+     * @param newRoundSeed seed the holes are generated from
+     */
+    public void startRound(final long newRoundSeed)
+    {
+        stopGeneration();
+
+        parPerHole.clear();
+        strokesPerHole.clear();
+
+        roundSeed                 = newRoundSeed;
+        maximumHeightOffsetPixels = computeMaximumHeightOffsetPixels();
+
+        holeGenerationPipeline = new HoleGenerationPipeline(roundSeed,
+                                                            NUMBER_OF_HOLES_PER_ROUND,
+                                                            NUMBER_OF_TILES_PER_HOLE,
+                                                            TILE_WIDTH_PIXELS,
+                                                            baseGroundCenterYPixels,
+                                                            maximumHeightOffsetPixels,
+                                                            courseCache,
+                                                            HOLE_GENERATION_LOOK_AHEAD);
+
+        // Par stays null until the hole is generated or an estimate arrives.
+        for (int holeIndex = 0; holeIndex < NUMBER_OF_HOLES_PER_ROUND; holeIndex++)
+        {
+            parPerHole.add(null);
+            strokesPerHole.add(NO_STROKES);
+        }
+
+        startHole(FIRST_HOLE_INDEX);
+    }
+
+    /**
+     * Starts an endless run from a seed and places the ball at its start.
+     * The run is a single hole with no cup and no par, played on an
+     * {@link EndlessCourse} one hole-length chunk at a time. Call
+     * {@link #advanceEndlessCourse(double)} every frame so the course follows
+     * play; the run lasts until the next {@link #startRound(long)} or
+     * {@link #startEndlessRun(long)}.
+     *
+     * @param newRunSeed seed the course is generated from
+     */
+    public void startEndlessRun(final long newRunSeed)
+    {
+        stopGeneration();
+
+        parPerHole.clear();
+        strokesPerHole.clear();
+
+        roundSeed                 = newRunSeed;
+        maximumHeightOffsetPixels = computeMaximumHeightOffsetPixels();
+
+        endlessCourse = new EndlessCourse(roundSeed,
+                                          NUMBER_OF_TILES_PER_HOLE,
+                                          TILE_WIDTH_PIXELS,
+                                          baseGroundCenterYPixels,
+                                          maximumHeightOffsetPixels,
+                                          ENDLESS_CHUNKS_BEHIND,
+                                          ENDLESS_CHUNKS_AHEAD);
+
+        currentHoleIndex = FIRST_HOLE_INDEX;
+        golfCourse       = endlessCourse.getCourse();
+        parForHole       = ENDLESS_PAR;
+
+        placeBallOnTee();
+
+        golfRoundListener.holeStarted(FIRST_HOLE_INDEX);
+    }
+
+    /**
+     * Moves an endless run's course to a focus point, usually the camera's
+     * left edge, and plays on the new course if it changed. The focus is held
+     * back to the ball's safe position so a reset always lands on terrain
+     * still in the course. Does nothing outside an endless run.
+     *
+     * @param focusXPixels world x-position play has reached
+     * @return {@code true} if {@link #getCurrentCourse()} now returns a new course
+     */
+    public boolean advanceEndlessCourse(final double focusXPixels)
+    {
+        if (endlessCourse == null)
+        {
+            return false;
+        }
+
+        if (!endlessCourse.advanceTo(Math.min(focusXPixels, golfBall.getSafePositionXPixels())))
+        {
+            return false;
+        }
+
+        golfCourse = endlessCourse.getCourse();
+
+        return true;
+    }
+
+    /**
+     * Returns whether an endless run is being played rather than a round.
+     *
+     * @return {@code true} during an endless run
+     */
+    public boolean isEndless()
+    {
+        return endlessCourse != null;
+    }
+
+    /**
+     * Replaces the par of a hole with a better estimate, unless the hole has
+     * already been started: par never changes under a player mid-hole.
+     *
+     * @param holeIndex zero-based hole index
+     * @param par       new par
+     * @return {@code true} if the par was replaced
+     */
+    public boolean setEstimatedPar(final int holeIndex,
+                                   final int par)
+    {
+        if (endlessCourse != null || holeIndex < currentHoleIndex)
+        {
+            return false;
+        }
+
+        if (holeIndex == currentHoleIndex && strokesTakenCount > NO_STROKES)
+        {
+            return false;
+        }
+
+        parPerHole.set(holeIndex, par);
+
+        if (holeIndex == currentHoleIndex)
+        {
+            parForHole = par;
+        }
+
+        return true;
+    }
+
+    /**
+     * Aims at a point in world coordinates. The angle is clamped to the
+     * playable range. Ignored while the ball is moving.
+     *
+     * @param targetXPixels x-position to aim at
+     * @param targetYPixels y-position to aim at
+     */
+    public void aimAt(final double targetXPixels,
+                      final double targetYPixels)
+    {
+        double deltaXPixels;
+
+        final double deltaYPixels;
+
+        if (golfBall.isMoving())
+        {
+            return;
+        }
+
+        deltaXPixels = targetXPixels - golfBall.getPositionXPixels();
+        deltaYPixels = golfBall.getPositionYPixels() - targetYPixels;
+
+        if (Math.abs(deltaXPixels) < MINIMUM_AIM_DELTA_X_PIXELS)
+        {
+            final double directionSign;
+
+            if (deltaXPixels >= NO_POWER)
+            {
+                directionSign = ALTER_BY_ONE;
+            }
+            else
+            {
+                directionSign = -ALTER_BY_ONE;
+            }
+
+            deltaXPixels = directionSign * MINIMUM_AIM_DELTA_X_PIXELS;
+        }
+
+        setAimAngleDegrees(Math.toDegrees(Math.atan2(deltaYPixels, deltaXPixels)));
+    }
+
+    /**
+     * Sets the aim angle, clamped to the playable range.
+     *
+     * @param aimAngleDegrees aim angle in degrees
+     */
+    public void setAimAngleDegrees(final double aimAngleDegrees)
+    {
+        currentAimAngleDegrees = Math.clamp(aimAngleDegrees,
+                                            MINIMUM_LAUNCH_ANGLE_DEGREES,
+                                            MAXIMUM_LAUNCH_ANGLE_DEGREES);
+    }
+
+    /**
+     * Selects the club the next charged shot is struck with.
+     *
+     * @param clubType club to use, or {@code null} for none
+     */
+    public void selectClub(final ClubType clubType)
+    {
+        selectedClubType = clubType;
+    }
+
+    /**
+     * Starts charging power from zero.
+     *
+     * @return {@code true} if charging started; {@code false} if already
+     *         charging or the ball is moving
+     */
+    public boolean startCharging()
+    {
+        if (chargingPower || golfBall.isMoving())
+        {
+            return false;
+        }
+
+        chargingPower          = true;
+        currentPowerPercentage = NO_POWER;
+
+        return true;
+    }
+
+    /**
+     * Stops charging and strikes the selected club with the charged power
+     * at the current aim.
+     *
+     * @return {@code true} if the ball was launched
+     */
+    public boolean releaseCharge()
+    {
+        if (!chargingPower || golfBall.isMoving())
+        {
+            return false;
+        }
+
+        chargingPower = false;
+
+        return performShot(selectedClubType, currentPowerPercentage, currentAimAngleDegrees);
+    }
+
+    /**
+     * Strikes a shot directly, without charging, as a bot or remote player
+     * would.
+     *
+     * @param clubType           club to use
+     * @param powerPercentage    power percentage in {@code (0, 100]}
+     * @param launchAngleDegrees aim angle in degrees; clamped to the playable range
+     * @return {@code true} if the ball was launched
+     */
+    public boolean shoot(final ClubType clubType,
+                         final double powerPercentage,
+                         final double launchAngleDegrees)
+    {
+        if (golfBall.isMoving())
+        {
+            return false;
+        }
+
+        chargingPower = false;
+        setAimAngleDegrees(launchAngleDegrees);
+
+        return performShot(clubType,
+                           Math.min(powerPercentage, MAXIMUM_POWER_PERCENTAGE),
+                           currentAimAngleDegrees);
+    }
+
+    /**
+     * Advances the round by one fixed step: charges power, or moves the ball
+     * and applies the hazard, scoring and hole rules when it stops.
+     *
+     * @param stepSeconds step length in seconds
+     */
+    public void tick(final double stepSeconds)
+    {
+        if (chargingPower && !golfBall.isMoving())
+        {
+            currentPowerPercentage = Math.min(currentPowerPercentage
+                                              + POWER_CHARGE_RATE_PERCENT_PER_SECOND * stepSeconds,
+                                              MAXIMUM_POWER_PERCENTAGE);
+        }
+
+        if (golfBall.isMoving())
+        {
+            updateMovingBall(stepSeconds);
+
+            if (!golfBall.isMoving())
+            {
+                golfRoundListener.strokeEnded();
+            }
+        }
+    }
+
+    /**
+     * Returns the seed of the current round.
+     *
+     * @return round seed
+     */
+    public long getRoundSeed()
+    {
+        return roundSeed;
+    }
+
+    /**
+     * Returns the terrain height limit the current round was generated with.
+     *
+     * @return maximum ground height offset in pixels
+     */
+    public double getMaximumHeightOffsetPixels()
+    {
+        return maximumHeightOffsetPixels;
+    }
+
+    /**
+     * Returns the y-position the generated terrain varies around.
+     *
+     * @return base ground y-position in pixels
+     */
+    public double getBaseGroundCenterYPixels()
+    {
+        return baseGroundCenterYPixels;
+    }
+
+    /**
+     * Returns the shot estimate cache built from this engine's clubs.
+     *
+     * @return shot estimate cache
+     */
+    public ShotEstimateCache getShotEstimateCache()
+    {
+        return shotEstimateCache;
+    }
+
+    /**
+     * Returns a future for a hole of the current round, completed once the
+     * hole has been generated. Holes are generated only a few ahead of play,
+     * so do not block on a later hole from the thread that plays the round.
+     *
+     * @param holeIndex zero-based hole index
+     * @return future of the hole; completes exceptionally if a new round starts first
+     */
+    public CompletableFuture<GolfCourse> getCourseAsync(final int holeIndex)
+    {
+        return holeGenerationPipeline.getHoleAsync(holeIndex).thenApply(GeneratedHole::getGolfCourse);
+    }
+
+    /**
+     * Returns the cache the engine's holes are generated through.
+     *
+     * @return course cache
+     */
+    public CourseCache getCourseCache()
+    {
+        return courseCache;
+    }
+
+    /**
+     * Returns the hole being played.
+     *
+     * @return current hole
+     */
+    public GolfCourse getCurrentCourse()
+    {
+        return golfCourse;
+    }
+
+    /**
+     * Returns the zero-based index of the hole being played.
+     *
+     * @return current hole index
+     */
+    public int getCurrentHoleIndex()
+    {
+        return currentHoleIndex;
+    }
+
+    /**
+     * Returns the ball. Views may read it but should change it only through
+     * the engine.
+     *
+     * @return the ball
+     */
+    public GolfBall getGolfBall()
+    {
+        return golfBall;
+    }
+
+    /**
+     * Returns the par of the hole being played.
+     *
+     * @return par
+     */
+    public int getParForCurrentHole()
+    {
+        return parForHole;
+    }
+
+    /**
+     * Returns the strokes taken on the hole being played.
+     *
+     * @return stroke count
+     */
+    public int getStrokesThisHole()
+    {
+        return strokesTakenCount;
+    }
+
+    /**
+     * Returns the par of every hole up to and including the current one.
+     *
+     * @return total par so far
+     */
+    public int getTotalParUpToCurrentHole()
+    {
+        int totalPar;
+
+        totalPar = NO_STROKES;
+
+        for (int holeIndex = 0; holeIndex <= currentHoleIndex && holeIndex < parPerHole.size(); holeIndex++)
+        {
+            totalPar += parPerHole.get(holeIndex);
+        }
+
+        return totalPar;
+    }
+
+    /**
+     * Returns the strokes of every finished hole plus those taken on the current one.
+     *
+     * @return total strokes so far
+     */
+    public int getTotalStrokesUpToCurrentHole()
+    {
+        int totalStrokes;
+
+        totalStrokes = NO_STROKES;
+
+        for (int holeIndex = 0; holeIndex < currentHoleIndex; holeIndex++)
+        {
+            totalStrokes += strokesPerHole.get(holeIndex);
+        }
+
+        return totalStrokes + strokesTakenCount;
+    }
+
+    /**
+     * Returns the selected club.
+     *
+     * @return selected club type, or {@code null} if none
+     */
+    public ClubType getSelectedClubType()
+    {
+        return selectedClubType;
+    }
+
+    /**
+     * Returns the current aim angle.
+     *
+     * @return aim angle in degrees
+     */
+    public double getAimAngleDegrees()
+    {
+        return currentAimAngleDegrees;
+    }
+
+    /**
+     * Returns the power charged so far.
+     *
+     * @return power percentage
+     */
+    public double getPowerPercentage()
+    {
+        return currentPowerPercentage;
+    }
+
+    /**
+     * Returns whether power is being charged.
+     *
+     * @return {@code true} while charging
+     */
+    public boolean isChargingPower()
+    {
+        return chargingPower;
+    }
+
+    private void startHole(final int holeIndex)
+    {
+        final GeneratedHole generatedHole;
+
+        generatedHole    = holeGenerationPipeline.awaitHole(holeIndex);
+        currentHoleIndex = holeIndex;
+        golfCourse       = generatedHole.getGolfCourse();
+
+        if (parPerHole.get(holeIndex) == null)
+        {
+            parPerHole.set(holeIndex, generatedHole.getHeuristicPar());
+        }
+
+        parForHole = parPerHole.get(holeIndex);
+
+        placeBallOnTee();
+
+        // Spans the whole hole; committed, if enabled, when the ball drops.
+        holeCompletedEvent = new HoleCompletedEvent();
+        holeCompletedEvent.begin();
+
+        golfRoundListener.holeStarted(holeIndex);
+    }
+
+    private void placeBallOnTee()
+    {
+        final TerrainTile fairwayTile;
+        final TerrainTile teeTerrainTile;
+
+        fairwayTile = TerrainTileUtils.findFirstTileOfType(golfCourse.getTerrainTiles(), TerrainType.FAIRWAY);
+
+        if (fairwayTile == null)
+        {
+            teeTerrainTile = golfCourse.getStartTile();
+        }
+        else
+        {
+            teeTerrainTile = fairwayTile;
+        }
+
+        golfBall.resetToTee(teeTerrainTile.getStartXPixels() + TILE_WIDTH_PIXELS * TEE_BALL_OFFSET_RATIO_FROM_TILE_START,
+                            teeTerrainTile.getGroundCenterYPixels() - BALL_RADIUS_PIXELS);
+        golfBall.markSafePosition();
+
+        strokesTakenCount      = NO_STROKES;
+        currentPowerPercentage = NO_POWER;
+        chargingPower          = false;
+    }
+
+    private double computeMaximumHeightOffsetPixels()
+    {
+        return ProjectilePhysics.computeMaximumHeightOffsetForCourse(shotEstimateCache,
+                                                                     MAXIMUM_POWER_PERCENTAGE,
+                                                                     TerrainType.FAIRWAY,
+                                                                     MAXIMUM_LAUNCH_ANGLE_DEGREES,
+                                                                     COURSE_HEIGHT_SAFETY_FACTOR,
+                                                                     MINIMUM_MAX_HEIGHT_OFFSET_PIXELS);
+    }
+
+    private void stopGeneration()
+    {
+        if (holeGenerationPipeline != null)
+        {
+            holeGenerationPipeline.cancel();
+        }
+
+        if (endlessCourse != null)
+        {
+            endlessCourse.cancel();
+            endlessCourse = null;
+        }
+    }
+
+    private boolean performShot(final ClubType clubType,
+                                final double powerPercentage,
+                                final double launchAngleDegrees)
+    {
+        final GolfClub golfClub;
+        final double terrainDistanceMultiplier;
+        final double startXPixels;
+        final double startYPixels;
+        final ShotLaunchedEvent shotLaunchedEvent;
+
+        if (powerPercentage <= NO_POWER)
+        {
+            golfRoundListener.shotRejected(ShotRejectionReason.NO_POWER);
+            return false;
+        }
+
+        if (clubType == null || golfClubsByType.get(clubType) == null)
+        {
+            golfRoundListener.shotRejected(ShotRejectionReason.NO_CLUB);
+            return false;
+        }
+
+        golfClub = golfClubsByType.get(clubType);
+
+        terrainDistanceMultiplier = ProjectilePhysics.computeTerrainDistanceMultiplier(
+            golfCourse.getCourseData().getTerrainType(golfCourse.findTileIndexAtXOrLast(golfBall.getPositionXPixels())));
+
+        if (terrainDistanceMultiplier == NO_POWER)
+        {
+            golfBall.resetToSafePosition();
+            golfRoundListener.ballReset(BallResetReason.LIE_IN_WATER);
+            return false;
+        }
+
+        startXPixels = golfBall.getPositionXPixels();
+        startYPixels = golfBall.getPositionYPixels();
+
+        if (!ProjectilePhysics.launchBall(golfBall,
+                                          clubType,
+                                          golfClub.computeRangePixels(powerPercentage, terrainDistanceMultiplier),
+                                          launchAngleDegrees))
+        {
+            if (clubType == ClubType.PUTTER)
+            {
+                golfRoundListener.shotRejected(ShotRejectionReason.PUTTER_POWER_TOO_LOW);
+            }
+            else
+            {
+                golfRoundListener.shotRejected(ShotRejectionReason.INVALID_AIM);
+            }
+            return false;
+        }
+
+        strokesTakenCount++;
+        currentPowerPercentage = NO_POWER;
+
+        shotLaunchedEvent = new ShotLaunchedEvent();
+
+        if (shotLaunchedEvent.shouldCommit())
+        {
+            shotLaunchedEvent.holeNumber         = currentHoleIndex + NEXT_HOLE_INDEX;
+            shotLaunchedEvent.strokeNumber       = strokesTakenCount;
+            shotLaunchedEvent.clubType           = clubType.name();
+            shotLaunchedEvent.powerPercentage    = powerPercentage;
+            shotLaunchedEvent.launchAngleDegrees = launchAngleDegrees;
+            shotLaunchedEvent.startXPixels       = startXPixels;
+            shotLaunchedEvent.startYPixels       = startYPixels;
+            shotLaunchedEvent.commit();
+        }
+
+        golfRoundListener.shotTaken(currentHoleIndex,
+                                    golfClub,
+                                    clubType,
+                                    powerPercentage,
+                                    launchAngleDegrees,
+                                    startXPixels,
+                                    startYPixels);
+
+        return true;
+    }
+
+    private void updateMovingBall(final double stepSeconds)
+    {
+        final int contacts;
+        final boolean stillMoving;
+        final int tileIndexAfterUpdate;
+
+        contacts = ProjectilePhysics.updateBallWithSweptCollisions(golfBall, golfCourse, stepSeconds);
+
+        golfRoundListener.stepSimulated(golfBall, contacts);
+
+        // An index, not a TerrainTile, so a step allocates nothing.
+        stillMoving          = golfBall.isMoving();
+        tileIndexAfterUpdate = golfCourse.findTileIndexAtXOrLast(golfBall.getPositionXPixels());
+
+        if (handleWaterCollisionIfNeeded(tileIndexAfterUpdate))
+        {
+            return;
+        }
+
+        if (handleOutOfBoundsIfNeeded())
+        {
+            return;
+        }
+
+        if (!stillMoving)
+        {
+            handleBallStop(golfCourse.getCourseData().getTerrainType(tileIndexAfterUpdate));
+        }
+    }
+
+    private boolean handleWaterCollisionIfNeeded(final int tileIndexAfterUpdate)
+    {
+        final CourseData courseData;
+        final double ballBottomYPixels;
+
+        courseData = golfCourse.getCourseData();
+
+        if (courseData.getTerrainType(tileIndexAfterUpdate) != TerrainType.WATER)
+        {
+            return false;
+        }
+
+        ballBottomYPixels = golfBall.getPositionYPixels() + golfBall.getRadiusPixels();
+
+        if (ballBottomYPixels < courseData.getGroundCenterYPixels(tileIndexAfterUpdate))
+        {
+            return false;
+        }
+
+        golfBall.stop();
+        recordBallStopped(TerrainType.WATER, BallResetReason.SPLASH);
+        golfBall.resetToSafePosition();
+        golfRoundListener.ballReset(BallResetReason.SPLASH);
+
+        return true;
+    }
+
+    private boolean handleOutOfBoundsIfNeeded()
+    {
+        final double ballXPixels;
+
+        ballXPixels = golfBall.getPositionXPixels();
+
+        if (ballXPixels <= golfCourse.getEndXPixels()
+            && ballXPixels >= golfCourse.getStartXPixels())
+        {
+            return false;
+        }
+
+        golfBall.stop();
+        recordBallStopped(null, BallResetReason.OUT_OF_BOUNDS);
+        golfBall.resetToSafePosition();
+        golfRoundListener.ballReset(BallResetReason.OUT_OF_BOUNDS);
+
+        return true;
+    }
+
+    private void handleBallStop(final TerrainType terrainType)
+    {
+        final boolean ballPastEnd;
+
+        ballPastEnd = golfBall.getPositionXPixels() > golfCourse.getEndXPixels();
+
+        if (!ballPastEnd && terrainType != TerrainType.WATER)
+        {
+            golfBall.markSafePosition();
+        }
+
+        if (ballPastEnd)
+        {
+            recordBallStopped(terrainType, BallResetReason.OUT_OF_BOUNDS);
+            golfBall.resetToSafePosition();
+            golfRoundListener.ballReset(BallResetReason.OUT_OF_BOUNDS);
+        }
+        else if (terrainType == TerrainType.WATER)
+        {
+            recordBallStopped(terrainType, BallResetReason.ROLLED_INTO_WATER);
+            golfBall.resetToSafePosition();
+            golfRoundListener.ballReset(BallResetReason.ROLLED_INTO_WATER);
+        }
+        else if (endlessCourse == null && (terrainType == TerrainType.HOLE || terrainType == TerrainType.GREEN))
+        {
+            recordBallStopped(terrainType, null);
+            completeHole();
+        }
+        else
+        {
+            recordBallStopped(terrainType, null);
+            golfRoundListener.ballStopped(terrainType);
+        }
+    }
+
+    // Recorded before any reset, so the position is where the ball actually ended up.
+    private void recordBallStopped(final TerrainType terrainType,
+                                   final BallResetReason ballResetReason)
+    {
+        final BallStoppedEvent ballStoppedEvent;
+
+        ballStoppedEvent = new BallStoppedEvent();
+
+        if (!ballStoppedEvent.shouldCommit())
+        {
+            return;
+        }
+
+        ballStoppedEvent.holeNumber      = currentHoleIndex + NEXT_HOLE_INDEX;
+        ballStoppedEvent.strokeNumber    = strokesTakenCount;
+        ballStoppedEvent.terrainType     = terrainType == null ? null : terrainType.name();
+        ballStoppedEvent.resetReason     = ballResetReason == null ? null : ballResetReason.name();
+        ballStoppedEvent.positionXPixels = golfBall.getPositionXPixels();
+        ballStoppedEvent.commit();
+    }
+
+    private void completeHole()
+    {
+        int totalPar;
+        int totalStrokes;
+
+        strokesPerHole.set(currentHoleIndex, strokesTakenCount);
+
+        if (holeCompletedEvent.shouldCommit())
+        {
+            holeCompletedEvent.holeNumber = currentHoleIndex + NEXT_HOLE_INDEX;
+            holeCompletedEvent.strokes    = strokesTakenCount;
+            holeCompletedEvent.par        = parForHole;
+            holeCompletedEvent.commit();
+        }
+
+        golfRoundListener.holeCompleted(currentHoleIndex, strokesTakenCount, parForHole);
+
+        if (currentHoleIndex + NEXT_HOLE_INDEX < NUMBER_OF_HOLES_PER_ROUND)
+        {
+            startHole(currentHoleIndex + NEXT_HOLE_INDEX);
+            return;
+        }
+
+        totalPar     = NO_STROKES;
+        totalStrokes = NO_STROKES;
+
+        for (int holeIndex = 0; holeIndex < NUMBER_OF_HOLES_PER_ROUND; holeIndex++)
+        {
+            totalPar += parPerHole.get(holeIndex);
+            totalStrokes += strokesPerHole.get(holeIndex);
+        }
+
+        golfRoundListener.roundCompleted(totalStrokes, totalPar);
+    }
+}
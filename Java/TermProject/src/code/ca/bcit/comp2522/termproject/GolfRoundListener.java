@@ -0,0 +1,114 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Receives the events of a {@link GolfRoundEngine} round.
+ * <p>
+ * Every method does nothing by default, so a listener only overrides the
+ * events it cares about. Events are delivered on the thread that called
+ * into the engine, in the order they happen.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public interface GolfRoundListener
+{
+    /**
+     * Called when the ball has been placed on the tee of a hole.
+     *
+     * @param holeIndex zero-based hole index
+     */
+    default void holeStarted(final int holeIndex)
+    {
+    }
+
+    /**
+     * Called when a requested shot is not struck.
+     *
+     * @param shotRejectionReason why the shot was rejected
+     */
+    default void shotRejected(final ShotRejectionReason shotRejectionReason)
+    {
+    }
+
+    /**
+     * Called right after the ball is launched.
+     *
+     * @param holeIndex          zero-based hole being played
+     * @param golfClub           club used
+     * @param clubType           type of the club used
+     * @param powerPercentage    power percentage struck
+     * @param launchAngleDegrees aim angle in degrees
+     * @param startXPixels       ball center x-position before the strike
+     * @param startYPixels       ball center y-position before the strike
+     */
+    default void shotTaken(final int holeIndex,
+                           final GolfClub golfClub,
+                           final ClubType clubType,
+                           final double powerPercentage,
+                           final double launchAngleDegrees,
+                           final double startXPixels,
+                           final double startYPixels)
+    {
+    }
+
+    /**
+     * Called after each physics step of a moving ball, before any hazard reset.
+     *
+     * @param golfBall ball after the step
+     * @param contacts contact flags returned by
+     *                 {@link ProjectilePhysics#updateBallWithSweptCollisions(GolfBall, GolfCourse, double)}
+     */
+    default void stepSimulated(final GolfBall golfBall,
+                               final int contacts)
+    {
+    }
+
+    /**
+     * Called when the ball is returned to its last safe position.
+     *
+     * @param ballResetReason why the ball was reset
+     */
+    default void ballReset(final BallResetReason ballResetReason)
+    {
+    }
+
+    /**
+     * Called when the ball comes to rest on a playable tile short of the cup.
+     *
+     * @param terrainType terrain the ball is resting on
+     */
+    default void ballStopped(final TerrainType terrainType)
+    {
+    }
+
+    /**
+     * Called when the ball reaches the green or the cup.
+     *
+     * @param holeIndex zero-based hole index
+     * @param strokes   strokes taken on the hole
+     * @param par       par of the hole
+     */
+    default void holeCompleted(final int holeIndex,
+                               final int strokes,
+                               final int par)
+    {
+    }
+
+    /**
+     * Called when the last hole of the round is completed.
+     *
+     * @param totalStrokes strokes taken over the round
+     * @param totalPar     par of the round
+     */
+    default void roundCompleted(final int totalStrokes,
+                                final int totalPar)
+    {
+    }
+
+    /**
+     * Called once a stroke is over, after any reset or hole change it caused.
+     */
+    default void strokeEnded()
+    {
+    }
+}
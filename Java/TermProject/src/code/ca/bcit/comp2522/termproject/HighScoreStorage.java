@@ -27,6 +27,9 @@ public final class HighScoreStorage
     private static final Path BEST_ROUND_FILE_PATH =
         Path.of("").toAbsolutePath().resolve(BEST_ROUND_FILE_NAME);
 
+    private static final int NO_RECORDS = 0;
+    private static final int ONE_RECORD = 1;
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      */
@@ -44,6 +47,28 @@ public final class HighScoreStorage
      * @return the best round relative to par, or {@code null} if unavailable
      */
     public static Integer loadBestRoundRelativeToPar()
+    {
+        final PersistenceEvent persistenceEvent;
+        final Integer bestRound;
+
+        persistenceEvent = new PersistenceEvent();
+        persistenceEvent.begin();
+
+        bestRound = readBestRoundRelativeToPar();
+
+        if (persistenceEvent.shouldCommit())
+        {
+            persistenceEvent.operation   = PersistenceEvent.LOAD_BEST_ROUND;
+            persistenceEvent.path        = BEST_ROUND_FILE_PATH.toString();
+            persistenceEvent.recordCount = bestRound == null ? NO_RECORDS : ONE_RECORD;
+            persistenceEvent.succeeded   = bestRound != null;
+            persistenceEvent.commit();
+        }
+
+        return bestRound;
+    }
+
+    private static Integer readBestRoundRelativeToPar()
     {
         try
         {
@@ -87,6 +112,13 @@ public final class HighScoreStorage
     public static void saveBestRoundRelativeToPar(final int relativeToPar,
                                                   final Label statusLabel)
     {
+        final PersistenceEvent persistenceEvent;
+        boolean saved;
+
+        persistenceEvent = new PersistenceEvent();
+        persistenceEvent.begin();
+        saved            = false;
+
         try
         {
             final String scoreAsString;
@@ -98,6 +130,7 @@ public final class HighScoreStorage
             }
 
             Files.writeString(BEST_ROUND_FILE_PATH, scoreAsString);
+            saved = true;
 
             System.out.println("Saved best round " + relativeToPar
                                + " to " + BEST_ROUND_FILE_PATH);
@@ -112,5 +145,14 @@ public final class HighScoreStorage
                 statusLabel.setText("Round complete, but failed to save best round.");
             }
         }
+
+        if (persistenceEvent.shouldCommit())
+        {
+            persistenceEvent.operation   = PersistenceEvent.SAVE_BEST_ROUND;
+            persistenceEvent.path        = BEST_ROUND_FILE_PATH.toString();
+            persistenceEvent.recordCount = saved ? ONE_RECORD : NO_RECORDS;
+            persistenceEvent.succeeded   = saved;
+            persistenceEvent.commit();
+        }
     }
 }
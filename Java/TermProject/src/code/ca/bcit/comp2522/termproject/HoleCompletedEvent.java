@@ -0,0 +1,34 @@
+package ca.bcit.comp2522.termproject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning a hole from the ball being teed up to it
+ * dropping.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+@Name("ca.bcit.comp2522.termproject.HoleCompleted")
+@Label("Hole Completed")
+@Category({"Golf", "Gameplay"})
+@Description("A hole was played out, from tee to cup.")
+@StackTrace(false)
+@Enabled(false)
+final class HoleCompletedEvent extends Event
+{
+    @Label("Hole")
+    int holeNumber;
+
+    @Label("Strokes")
+    int strokes;
+
+    @Label("Par")
+    int par;
+}
@@ -0,0 +1,242 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Generates the holes of a round in the background, a few holes ahead of
+ * the player.
+ * <p>
+ * The first hole is generated and scored on the calling thread, so play can
+ * start at once. The remaining holes are handed out in order by a background
+ * thread. Every hole comes from its own seed, derived by
+ * {@link CourseGenerator#deriveHoleSeeds(long, int)}, so holes do not depend
+ * on one another and the holes inside the look-ahead are generated at the
+ * same time, each on its own thread. Every hole goes through a
+ * {@link CourseCache}, so a seed always yields the same holes and a hole
+ * seen recently is neither generated nor scored again. The generator may
+ * run at most a fixed number of holes past the last hole started with
+ * {@link #awaitHole(int)}. That bound keeps memory flat and stops an
+ * abandoned round from generating holes nobody plays. Starting a hole
+ * blocks only if its generation has not finished yet.
+ * <p>
+ * {@link #awaitHole(int)} is meant for the thread that plays the round.
+ * {@link #getHoleAsync(int)} may be used from any thread.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class HoleGenerationPipeline
+{
+    private static final String GENERATOR_THREAD_NAME = "hole-generator";
+
+    private static final int FIRST_HOLE_INDEX         = 0;
+    private static final int NEXT_HOLE_INDEX          = 1;
+    private static final int MINIMUM_HOLES            = 1;
+    private static final int MINIMUM_LOOK_AHEAD_HOLES = 1;
+
+    // Threads die after a minute idle, so rounds that have finished generating hold none.
+    private static final ExecutorService GENERATION_EXECUTOR =
+        Executors.newCachedThreadPool(runnable ->
+                                      {
+                                          final Thread generatorThread;
+
+                                          generatorThread = new Thread(runnable, GENERATOR_THREAD_NAME);
+                                          generatorThread.setDaemon(true);
+
+                                          return generatorThread;
+                                      });
+
+    private final long[]      holeSeeds;
+    private final int         numberOfTiles;
+    private final double      tileWidthPixels;
+    private final double      baseGroundCenterYPixels;
+    private final double      maximumHeightOffsetPixels;
+    private final CourseCache courseCache;
+
+    private final List<CompletableFuture<GeneratedHole>> holeFutures;
+    private final Semaphore                              lookAheadPermits;
+    private final Future<?>                              generatorTask;
+
+    private int lastStartedHoleIndex;
+
+    /**
+     * Constructs a HoleGenerationPipeline, generating the first hole now and
+     * the rest in the background.
+     *
+     * @param roundSeed                 seed for the whole round
+     * @param numberOfHoles             number of holes to generate
+     * @param numberOfTiles             number of tiles in each hole
+     * @param tileWidthPixels           width of each tile in pixels
+     * @param baseGroundCenterYPixels   base ground y-position in pixels
+     * @param maximumHeightOffsetPixels maximum vertical offset allowed for ground
+     * @param courseCache               cache that generates and scores each hole
+     * @param lookAheadHoles            holes the generator may run past the last one started
+     */
+    public HoleGenerationPipeline(final long roundSeed,
+                                  final int numberOfHoles,
+                                  final int numberOfTiles,
+                                  final double tileWidthPixels,
+                                  final double baseGroundCenterYPixels,
+                                  final double maximumHeightOffsetPixels,
+                                  final CourseCache courseCache,
+                                  final int lookAheadHoles)
+    {
+        Objects.requireNonNull(courseCache, "courseCache must not be null");
+
+        if (numberOfHoles < MINIMUM_HOLES)
+        {
+            throw new IllegalArgumentException("numberOfHoles must be positive: " + numberOfHoles);
+        }
+
+        if (lookAheadHoles < MINIMUM_LOOK_AHEAD_HOLES)
+        {
+            throw new IllegalArgumentException("lookAheadHoles must be positive: " + lookAheadHoles);
+        }
+
+        this.numberOfTiles             = numberOfTiles;
+        this.tileWidthPixels           = tileWidthPixels;
+        this.baseGroundCenterYPixels   = baseGroundCenterYPixels;
+        this.maximumHeightOffsetPixels = maximumHeightOffsetPixels;
+        this.courseCache               = courseCache;
+
+        holeSeeds            = CourseGenerator.deriveHoleSeeds(roundSeed, numberOfHoles);
+        holeFutures          = new ArrayList<>(numberOfHoles);
+        lookAheadPermits     = new Semaphore(lookAheadHoles);
+        lastStartedHoleIndex = FIRST_HOLE_INDEX;
+
+        for (int holeIndex = 0; holeIndex < numberOfHoles; holeIndex++)
+        {
+            holeFutures.add(new CompletableFuture<>());
+        }
+
+        generateHole(FIRST_HOLE_INDEX);
+
+        generatorTask = GENERATION_EXECUTOR.submit(this::generateRemainingHoles);
+    }
+
+    /**
+     * Returns a hole, blocking until it has been generated, and lets the
+     * generator run ahead of it. Call with each hole as play reaches it.
+     *
+     * @param holeIndex zero-based hole index
+     * @return the hole and its par
+     * @throws java.util.concurrent.CancellationException if the pipeline was cancelled first
+     */
+    public GeneratedHole awaitHole(final int holeIndex)
+    {
+        if (holeIndex > lastStartedHoleIndex)
+        {
+            lookAheadPermits.release(holeIndex - lastStartedHoleIndex);
+            lastStartedHoleIndex = holeIndex;
+        }
+
+        return holeFutures.get(holeIndex).join();
+    }
+
+    /**
+     * Returns a future for a hole that completes once it is generated. This
+     * does not move the look-ahead window, so it never makes the generator
+     * run further ahead than play allows.
+     *
+     * @param holeIndex zero-based hole index
+     * @return future of the hole; completes exceptionally if the pipeline is cancelled first
+     */
+    public CompletableFuture<GeneratedHole> getHoleAsync(final int holeIndex)
+    {
+        return holeFutures.get(holeIndex).copy();
+    }
+
+    /**
+     * Returns the seed a hole is generated from. Known for every hole from
+     * the start, before the hole itself is generated.
+     *
+     * @param holeIndex zero-based hole index
+     * @return hole seed
+     */
+    public long getHoleSeed(final int holeIndex)
+    {
+        return holeSeeds[holeIndex];
+    }
+
+    /**
+     * Returns the number of holes in the round.
+     *
+     * @return hole count
+     */
+    public int getHoleCount()
+    {
+        return holeFutures.size();
+    }
+
+    /**
+     * Stops generating. Holes not yet generated are cancelled.
+     */
+    public void cancel()
+    {
+        generatorTask.cancel(true);
+
+        for (final CompletableFuture<GeneratedHole> holeFuture : holeFutures)
+        {
+            holeFuture.cancel(false);
+        }
+    }
+
+    private void generateRemainingHoles()
+    {
+        try
+        {
+            for (int holeIndex = FIRST_HOLE_INDEX + NEXT_HOLE_INDEX; holeIndex < holeFutures.size(); holeIndex++)
+            {
+                final int startedHoleIndex;
+
+                startedHoleIndex = holeIndex;
+
+                lookAheadPermits.acquire();
+                GENERATION_EXECUTOR.execute(() -> generateHoleInBackground(startedHoleIndex));
+            }
+        }
+        catch (final InterruptedException interruptedException)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void generateHoleInBackground(final int holeIndex)
+    {
+        final CompletableFuture<GeneratedHole> holeFuture;
+
+        holeFuture = holeFutures.get(holeIndex);
+
+        // Already done only if cancelled; skip the work.
+        if (holeFuture.isDone())
+        {
+            return;
+        }
+
+        try
+        {
+            generateHole(holeIndex);
+        }
+        catch (final RuntimeException runtimeException)
+        {
+            // Fail this hole rather than leave play blocked on one that never comes.
+            holeFuture.completeExceptionally(runtimeException);
+        }
+    }
+
+    private void generateHole(final int holeIndex)
+    {
+        holeFutures.get(holeIndex).complete(courseCache.getOrGenerate(holeSeeds[holeIndex],
+                                                                      numberOfTiles,
+                                                                      tileWidthPixels,
+                                                                      baseGroundCenterYPixels,
+                                                                      maximumHeightOffsetPixels));
+    }
+}
@@ -0,0 +1,202 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of durations in nanoseconds with about one percent
+ * precision, in the style of HdrHistogram.
+ * <p>
+ * Values below {@value #SUB_BUCKET_COUNT} ns are counted exactly. Above
+ * that, each doubling of the value range is split into
+ * {@value #HALF_SUB_BUCKET_COUNT} equal buckets, so a recorded value is
+ * never reported more than 1/64 above what was measured. Recording is a
+ * few shifts and an array increment, with no allocation, which keeps it
+ * cheap enough to call several times per frame. Values above
+ * {@link #MAXIMUM_TRACKABLE_NANOSECONDS} land in the last bucket, but the
+ * exact maximum is always kept.
+ * <p>
+ * Not thread-safe; record from one thread.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class LatencyHistogram
+{
+    /**
+     * Largest duration resolved into its own bucket: one minute.
+     */
+    public static final long MAXIMUM_TRACKABLE_NANOSECONDS = 60_000_000_000L;
+
+    private static final int    SUB_BUCKET_BITS       = 7;
+    private static final int    SUB_BUCKET_COUNT      = 1 << SUB_BUCKET_BITS;
+    private static final int    HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int    HIGHEST_BIT_INDEX     = Long.SIZE - 1;
+    private static final int    FIRST_SHIFT           = 1;
+    private static final double MAXIMUM_PERCENTILE    = 100.0;
+    private static final long   NO_COUNT              = 0L;
+
+    private final long[] counts;
+
+    private long totalCount;
+    private long maximumNanoseconds;
+    private long totalNanoseconds;
+
+    /**
+     * Constructs an empty LatencyHistogram.
+     */
+    public LatencyHistogram()
+    {
+        counts = new long[bucketIndexFor(MAXIMUM_TRACKABLE_NANOSECONDS) + 1];
+    }
+
+    /**
+     * Records one duration. Negative durations are counted as zero.
+     *
+     * @param nanoseconds duration to record
+     */
+    public void record(final long nanoseconds)
+    {
+        final long clampedNanoseconds;
+
+        clampedNanoseconds = Math.max(NO_COUNT, nanoseconds);
+
+        counts[bucketIndexFor(Math.min(clampedNanoseconds, MAXIMUM_TRACKABLE_NANOSECONDS))]++;
+
+        totalCount++;
+        totalNanoseconds += clampedNanoseconds;
+        maximumNanoseconds = Math.max(maximumNanoseconds, clampedNanoseconds);
+    }
+
+    /**
+     * Returns the duration that at least the given percentage of recorded
+     * durations are at or below, rounded up to the top of its bucket and
+     * never above the recorded maximum.
+     *
+     * @param percentile percentile in {@code [0, 100]}
+     * @return duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(final double percentile)
+    {
+        final long targetCount;
+
+        long cumulativeCount;
+
+        if (totalCount == NO_COUNT)
+        {
+            return NO_COUNT;
+        }
+
+        targetCount     = Math.max(1L, (long) Math.ceil(Math.min(percentile, MAXIMUM_PERCENTILE)
+                                                        / MAXIMUM_PERCENTILE * totalCount));
+        cumulativeCount = NO_COUNT;
+
+        for (int bucketIndex = 0; bucketIndex < counts.length; bucketIndex++)
+        {
+            cumulativeCount += counts[bucketIndex];
+
+            if (cumulativeCount >= targetCount)
+            {
+                return Math.min(highestValueInBucket(bucketIndex), maximumNanoseconds);
+            }
+        }
+
+        return maximumNanoseconds;
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return count
+     */
+    public long getTotalCount()
+    {
+        return totalCount;
+    }
+
+    /**
+     * Returns the largest recorded duration, exactly.
+     *
+     * @return maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMaximumNanoseconds()
+    {
+        return maximumNanoseconds;
+    }
+
+    /**
+     * Returns the mean of the recorded durations.
+     *
+     * @return mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMeanNanoseconds()
+    {
+        if (totalCount == NO_COUNT)
+        {
+            return NO_COUNT;
+        }
+
+        return (double) totalNanoseconds / totalCount;
+    }
+
+    /**
+     * Adds every duration recorded by another histogram to this one.
+     *
+     * @param otherHistogram histogram to add
+     */
+    public void add(final LatencyHistogram otherHistogram)
+    {
+        for (int bucketIndex = 0; bucketIndex < counts.length; bucketIndex++)
+        {
+            counts[bucketIndex] += otherHistogram.counts[bucketIndex];
+        }
+
+        totalCount += otherHistogram.totalCount;
+        totalNanoseconds += otherHistogram.totalNanoseconds;
+        maximumNanoseconds = Math.max(maximumNanoseconds, otherHistogram.maximumNanoseconds);
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    public void reset()
+    {
+        Arrays.fill(counts, NO_COUNT);
+
+        totalCount         = NO_COUNT;
+        totalNanoseconds   = NO_COUNT;
+        maximumNanoseconds = NO_COUNT;
+    }
+
+    // Values below SUB_BUCKET_COUNT map to themselves; above, the top seven bits pick the bucket.
+    private static int bucketIndexFor(final long nanoseconds)
+    {
+        final int shift;
+        final int subBucketIndex;
+
+        if (nanoseconds < SUB_BUCKET_COUNT)
+        {
+            return (int) nanoseconds;
+        }
+
+        shift          = HIGHEST_BIT_INDEX - Long.numberOfLeadingZeros(nanoseconds) - (SUB_BUCKET_BITS - 1);
+        subBucketIndex = (int) (nanoseconds >>> shift);
+
+        return SUB_BUCKET_COUNT + (shift - FIRST_SHIFT) * HALF_SUB_BUCKET_COUNT + subBucketIndex - HALF_SUB_BUCKET_COUNT;
+    }
+
+    private static long highestValueInBucket(final int bucketIndex)
+    {
+        final int shift;
+        final long subBucketIndex;
+
+        if (bucketIndex < SUB_BUCKET_COUNT)
+        {
+            return bucketIndex;
+        }
+
+        shift          = (bucketIndex - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + FIRST_SHIFT;
+        subBucketIndex = (bucketIndex - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+
+        return ((subBucketIndex + 1) << shift) - 1;
+    }
+}
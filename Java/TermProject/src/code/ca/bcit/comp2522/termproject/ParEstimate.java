@@ -0,0 +1,93 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Result of a Monte Carlo par estimate for one hole: the mean number of
+ * strokes the simulated rounds took, how tight that mean is, and the par
+ * derived from it.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ParEstimate
+{
+    private final int     par;
+    private final double  meanStrokes;
+    private final double  confidenceHalfWidthStrokes;
+    private final int     roundCount;
+    private final boolean converged;
+
+    /**
+     * Constructs a ParEstimate.
+     *
+     * @param par                        par assigned to the hole
+     * @param meanStrokes                mean strokes over the simulated rounds
+     * @param confidenceHalfWidthStrokes half-width of the 95% confidence interval of the mean
+     * @param roundCount                 number of simulated rounds
+     * @param converged                  whether the interval reached its target before the budget ran out
+     */
+    public ParEstimate(final int par,
+                       final double meanStrokes,
+                       final double confidenceHalfWidthStrokes,
+                       final int roundCount,
+                       final boolean converged)
+    {
+        this.par                        = par;
+        this.meanStrokes                = meanStrokes;
+        this.confidenceHalfWidthStrokes = confidenceHalfWidthStrokes;
+        this.roundCount                 = roundCount;
+        this.converged                  = converged;
+    }
+
+    /**
+     * Returns the par assigned to the hole.
+     *
+     * @return par
+     */
+    public int getPar()
+    {
+        return par;
+    }
+
+    /**
+     * Returns the mean strokes over the simulated rounds.
+     *
+     * @return mean strokes
+     */
+    public double getMeanStrokes()
+    {
+        return meanStrokes;
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval of the mean.
+     *
+     * @return half-width in strokes
+     */
+    public double getConfidenceHalfWidthStrokes()
+    {
+        return confidenceHalfWidthStrokes;
+    }
+
+    /**
+     * Returns how many rounds were simulated.
+     *
+     * @return round count
+     */
+    public int getRoundCount()
+    {
+        return roundCount;
+    }
+
+    /**
+     * Returns whether sampling stopped because the interval was tight enough,
+     * rather than because the time or round limit was reached.
+     *
+     * @return {@code true} if the estimate converged
+     */
+    public boolean isConverged()
+    {
+        return converged;
+    }
+}
@@ -0,0 +1,223 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Estimates a hole's par by having an {@link AutoPlayer} play it many times
+ * with human-like swing error and averaging the strokes taken.
+ * <p>
+ * Unlike the driver-length heuristic in {@link GolfCourse#computePar}, this
+ * accounts for water, sand, air obstacles and elevation, because every round
+ * is played through the real physics. Rounds run in batches across a
+ * fork/join pool, one batch per pool worker. After each batch the 95%
+ * confidence interval of the mean is checked, and sampling stops as soon as it
+ * is tight enough, the round limit is reached, or the time budget runs out.
+ * Each round draws its swing error from its own split of a seeded
+ * {@link SplittableRandom}, so rounds never contend on a shared generator.
+ * A caller that no longer needs an estimate can cancel it; sampling stops
+ * before the next batch starts.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ParEstimator
+{
+    private static final int MINIMUM_ROUNDS            = 8;
+    private static final int MAXIMUM_ROUNDS            = 256;
+    private static final int MAXIMUM_STROKES_PER_ROUND = 10;
+
+    private static final double TARGET_CONFIDENCE_HALF_WIDTH_STROKES = 0.25;
+    private static final double CONFIDENCE_Z_SCORE_95                = 1.96;
+
+    private static final int PAR_MINIMUM = 3;
+    private static final int PAR_MAXIMUM = 5;
+
+    private static final int    NO_ROUNDS             = 0;
+    private static final double NO_STROKES            = 0.0;
+    private static final double NO_VARIANCE           = 0.0;
+    private static final int    SAMPLE_VARIANCE_SHIFT = 1;
+    private static final long   MINIMUM_BUDGET_MILLIS = 1L;
+
+    private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+
+    private final AutoPlayer   autoPlayer;
+    private final ForkJoinPool roundPool;
+    private final long         timeBudgetNanoseconds;
+
+    /**
+     * Constructs a ParEstimator.
+     *
+     * @param autoPlayer        bot that plays the simulated rounds
+     * @param roundPool         pool the rounds run on
+     * @param timeBudgetMillis  wall-clock budget for estimating one hole, in milliseconds
+     */
+    public ParEstimator(final AutoPlayer autoPlayer,
+                        final ForkJoinPool roundPool,
+                        final long timeBudgetMillis)
+    {
+        Objects.requireNonNull(autoPlayer, "autoPlayer must not be null");
+        Objects.requireNonNull(roundPool, "roundPool must not be null");
+
+        if (timeBudgetMillis < MINIMUM_BUDGET_MILLIS)
+        {
+            throw new IllegalArgumentException("timeBudgetMillis must be positive: " + timeBudgetMillis);
+        }
+
+        this.autoPlayer            = autoPlayer;
+        this.roundPool             = roundPool;
+        this.timeBudgetNanoseconds = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+    }
+
+    /**
+     * Estimates par for a hole, blocking until sampling stops. At least one
+     * batch of rounds is always played, even if the budget is already spent.
+     *
+     * @param golfCourse hole to estimate
+     * @param seed       seed for the swing error of every round
+     * @return the estimate
+     */
+    public ParEstimate estimate(final GolfCourse golfCourse,
+                                final long seed)
+    {
+        return estimate(golfCourse, seed, NEVER_CANCELLED);
+    }
+
+    /**
+     * Estimates par for a hole like {@link #estimate(GolfCourse, long)}, but
+     * checks before every batch whether the estimate is still wanted.
+     *
+     * @param golfCourse hole to estimate
+     * @param seed       seed for the swing error of every round
+     * @param cancelled  returns {@code true} once the estimate is no longer needed
+     * @return the estimate
+     * @throws CancellationException if {@code cancelled} reports true before sampling finishes
+     */
+    public ParEstimate estimate(final GolfCourse golfCourse,
+                                final long seed,
+                                final BooleanSupplier cancelled)
+    {
+        final long             deadlineNanoseconds;
+        final SplittableRandom seedRandom;
+        final int              batchSize;
+
+        int     roundCount;
+        double  strokeSum;
+        double  strokeSquareSum;
+        double  confidenceHalfWidthStrokes;
+        boolean converged;
+
+        deadlineNanoseconds = System.nanoTime() + timeBudgetNanoseconds;
+        seedRandom          = new SplittableRandom(seed);
+        batchSize           = roundPool.getParallelism();
+
+        roundCount                 = NO_ROUNDS;
+        strokeSum                  = NO_STROKES;
+        strokeSquareSum            = NO_STROKES;
+        confidenceHalfWidthStrokes = Double.POSITIVE_INFINITY;
+        converged                  = false;
+
+        do
+        {
+            final List<ForkJoinTask<Integer>> roundTasks;
+            final int roundsInBatch;
+
+            if (cancelled.getAsBoolean())
+            {
+                throw new CancellationException("Par estimation cancelled after " + roundCount + " rounds");
+            }
+
+            roundsInBatch = Math.min(batchSize, MAXIMUM_ROUNDS - roundCount);
+            roundTasks    = new ArrayList<>(roundsInBatch);
+
+            for (int round = 0; round < roundsInBatch; round++)
+            {
+                final SplittableRandom roundRandom;
+
+                roundRandom = seedRandom.split();
+
+                roundTasks.add(roundPool.submit(
+                    () -> autoPlayer.playHole(golfCourse, MAXIMUM_STROKES_PER_ROUND, roundRandom)));
+            }
+
+            for (final ForkJoinTask<Integer> roundTask : roundTasks)
+            {
+                final int strokes;
+
+                strokes = roundTask.join();
+
+                strokeSum       += strokes;
+                strokeSquareSum += (double) strokes * strokes;
+                roundCount++;
+            }
+
+            if (roundCount >= MINIMUM_ROUNDS)
+            {
+                confidenceHalfWidthStrokes = computeConfidenceHalfWidth(roundCount, strokeSum, strokeSquareSum);
+                converged                  = confidenceHalfWidthStrokes <= TARGET_CONFIDENCE_HALF_WIDTH_STROKES;
+            }
+        }
+        while (!converged && roundCount < MAXIMUM_ROUNDS && System.nanoTime() < deadlineNanoseconds);
+
+        final double meanStrokes;
+        final int    par;
+
+        meanStrokes = strokeSum / roundCount;
+        par         = Math.clamp(Math.round(meanStrokes), PAR_MINIMUM, PAR_MAXIMUM);
+
+        return new ParEstimate(par, meanStrokes, confidenceHalfWidthStrokes, roundCount, converged);
+    }
+
+    /**
+     * Starts estimating par for a hole on the round pool and returns at once.
+     *
+     * @param golfCourse hole to estimate
+     * @param seed       seed for the swing error of every round
+     * @return future completed with the estimate
+     */
+    public CompletableFuture<ParEstimate> estimateAsync(final GolfCourse golfCourse,
+                                                        final long seed)
+    {
+        return estimateAsync(golfCourse, seed, NEVER_CANCELLED);
+    }
+
+    /**
+     * Starts estimating par for a hole on the round pool and returns at once.
+     * Once {@code cancelled} reports true, sampling stops before the next
+     * batch and the future completes with a {@link CancellationException}.
+     *
+     * @param golfCourse hole to estimate
+     * @param seed       seed for the swing error of every round
+     * @param cancelled  returns {@code true} once the estimate is no longer needed
+     * @return future completed with the estimate
+     */
+    public CompletableFuture<ParEstimate> estimateAsync(final GolfCourse golfCourse,
+                                                        final long seed,
+                                                        final BooleanSupplier cancelled)
+    {
+        return CompletableFuture.supplyAsync(() -> estimate(golfCourse, seed, cancelled), roundPool);
+    }
+
+    private static double computeConfidenceHalfWidth(final int roundCount,
+                                                     final double strokeSum,
+                                                     final double strokeSquareSum)
+    {
+        final double meanStrokes;
+        final double sampleVariance;
+
+        meanStrokes    = strokeSum / roundCount;
+        sampleVariance = Math.max(NO_VARIANCE,
+                                  (strokeSquareSum - roundCount * meanStrokes * meanStrokes)
+                                  / (roundCount - SAMPLE_VARIANCE_SHIFT));
+
+        return CONFIDENCE_Z_SCORE_95 * Math.sqrt(sampleVariance / roundCount);
+    }
+}
@@ -0,0 +1,58 @@
+package ca.bcit.comp2522.termproject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one load or save of game data: the best
+ * round in {@link HighScoreStorage}, the score file read by {@link Score}
+ * and the country files read by {@link World}. Stack traces are kept, so a
+ * read on the JavaFX application thread shows up as one.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+@Name("ca.bcit.comp2522.termproject.Persistence")
+@Label("Game Data I/O")
+@Category({"Golf", "I/O"})
+@Description("Game data was loaded from or saved to disk.")
+@Enabled(false)
+final class PersistenceEvent extends Event
+{
+    /**
+     * Operation name for loading the best round.
+     */
+    static final String LOAD_BEST_ROUND = "Load best round";
+
+    /**
+     * Operation name for saving the best round.
+     */
+    static final String SAVE_BEST_ROUND = "Save best round";
+
+    /**
+     * Operation name for reading the score file.
+     */
+    static final String READ_SCORES = "Read scores";
+
+    /**
+     * Operation name for loading the country files.
+     */
+    static final String LOAD_WORLD = "Load world";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Records")
+    @Description("Values, scores or countries read or written.")
+    int recordCount;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
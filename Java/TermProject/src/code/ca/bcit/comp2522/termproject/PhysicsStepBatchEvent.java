@@ -0,0 +1,31 @@
+package ca.bcit.comp2522.termproject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the fixed physics steps run in one frame.
+ * Frames that run no step are not recorded.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+@Name("ca.bcit.comp2522.termproject.PhysicsStepBatch")
+@Label("Physics Step Batch")
+@Category({"Golf", "Physics"})
+@Description("The fixed simulation steps run during one frame.")
+@StackTrace(false)
+@Enabled(false)
+final class PhysicsStepBatchEvent extends Event
+{
+    @Label("Steps")
+    int stepCount;
+
+    @Label("Ball Moving")
+    boolean ballMoving;
+}
@@ -1,6 +1,7 @@
 package ca.bcit.comp2522.termproject;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Utility methods for projectile and rolling physics in the golf game.
@@ -10,6 +11,37 @@ import java.util.List;
  */
 public final class ProjectilePhysics
 {
+    /**
+     * Number of fixed physics steps per simulated second, shared by the
+     * interactive game loop and headless simulation so both integrate identically.
+     */
+    public static final int SIMULATION_STEPS_PER_SECOND = 120;
+
+    /**
+     * Length of one fixed physics step in seconds. The game loop, replays,
+     * trajectory preview, shot simulation and the bot all step with exactly
+     * this value, so a previewed or searched shot is the shot the player gets.
+     */
+    public static final double SIMULATION_STEP_SECONDS = 1.0 / SIMULATION_STEPS_PER_SECOND;
+
+    /**
+     * Contact flag returned by {@link #updateBallWithSweptCollisions} when the
+     * ball touched an air obstacle during the step.
+     */
+    public static final int CONTACT_AIR_OBSTACLE = 1;
+
+    /**
+     * Contact flag returned by {@link #updateBallWithSweptCollisions} when the
+     * ball touched the ground or a tile wall during the step.
+     */
+    public static final int CONTACT_TERRAIN = 2;
+
+    /**
+     * Value returned by {@link #updateBallWithSweptCollisions} when the ball
+     * touched nothing during the step.
+     */
+    public static final int NO_CONTACT = 0;
+
     private static final double GRAVITY_ACCELERATION_PIXELS_PER_SECOND_SQUARED = 420.0;
 
     private static final double GRAVITY_MULTIPLIER_ASCENT = 0.8;
@@ -40,10 +72,51 @@ public final class ProjectilePhysics
 
     private static final double ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND = 0.0;
 
+    private static final double ZERO_HORIZONTAL_VELOCITY_PIXELS_PER_SECOND = 0.0;
+
     private static final double AIR_OBSTACLE_HORIZONTAL_RESTITUTION_FACTOR = 0.6;
 
     private static final double AIR_OBSTACLE_VERTICAL_DAMPING_FACTOR = 0.6;
 
+    private static final double SAND_DISTANCE_MULTIPLIER    = 0.40;
+    private static final double ROUGH_DISTANCE_MULTIPLIER   = 0.70;
+    private static final double WATER_DISTANCE_MULTIPLIER   = 0.0;
+    private static final double FAIRWAY_DISTANCE_MULTIPLIER = 1.00;
+
+    private static final double RIGHT_ANGLE_DEGREES = 90.0;
+
+    private static final double MINIMUM_INITIAL_SPEED_EPSILON_PIXELS_PER_SECOND = 0.01;
+
+    private static final double NO_IMPACT_TIME_SECONDS = Double.POSITIVE_INFINITY;
+
+    private static final double LAUNCH_TIME_SECONDS = 0.0;
+
+    private static final double HALF = 0.5;
+
+    private static final double QUADRATIC_TWO = 2.0;
+
+    private static final double ZERO_HORIZONTAL_SPEED = 0.0;
+
+    private static final double HEIGHT_TOLERANCE_PIXELS = 1e-9;
+
+    private static final double ZERO_HEIGHT_PIXELS = 0.0;
+
+    private static final int MAXIMUM_SWEEP_ITERATIONS = 4;
+
+    private static final double SINGLE_ROLL_STEP = 1.0;
+
+    private static final double NO_ROLL_STEPS = 0.0;
+
+    private static final double SWEEP_START_FRACTION   = 0.0;
+    private static final double SWEEP_END_FRACTION     = 1.0;
+    private static final double NO_CONTACT_FRACTION    = Double.POSITIVE_INFINITY;
+    private static final double ZERO_REMAINING_SECONDS = 0.0;
+    private static final double WALL_SEPARATION_PIXELS = 1e-6;
+
+    private static final int NO_TILE_INDEX      = -1;
+    private static final int FORWARD_TILE_STEP  = 1;
+    private static final int BACKWARD_TILE_STEP = -1;
+
     private ProjectilePhysics()
     {
         // Utility class; prevent instantiation.
@@ -92,49 +165,795 @@ public final class ProjectilePhysics
         {
             golfBall.snapToGround(groundCenterYPixels);
 
-            final double absoluteVerticalVelocityPixelsPerSecond;
-            absoluteVerticalVelocityPixelsPerSecond = Math.abs(golfBall.getVelocityYPixelsPerSecond());
+            applyGroundContactResponse(golfBall, terrainTile.getTerrainType(), SINGLE_ROLL_STEP);
+        }
+
+        return golfBall.isMoving();
+    }
+
+    /**
+     * Advances the ball by one step, finding the exact time of impact inside the
+     * step instead of only checking where the ball ends up.
+     * <p>
+     * With semi-implicit Euler the ball moves along a straight segment during a
+     * step, so its circle is swept along that segment. Obstacle contacts are found
+     * with a slab test against each obstacle grown by the ball radius. Terrain
+     * contacts are found by walking the tiles under the segment, checking the
+     * surface of each tile and the vertical wall at its leading edge. The ball is
+     * moved to the earliest contact, the usual response is applied, and the rest
+     * of the step continues from there, up to a small number of contacts per step.
+     * <p>
+     * A wall no higher than the ball radius is treated as a step up onto the next
+     * tile, matching how the discrete update lets rolling balls climb small
+     * height changes. Taller walls reflect the ball like the side of an obstacle,
+     * whether it meets them in flight or rolling along the ground. A ball on the
+     * ground rolls for the rest of the step, including the part of a step left
+     * after it lands, with the rolling friction scaled to the time rolled so a
+     * coarse step slows the ball as much as several fine ones. Time the sweep
+     * cannot spend within its contact limit is carried into the next step.
+     *
+     * @param golfBall         the ball to update
+     * @param golfCourse       course providing terrain tiles and indexed air obstacles
+     * @param deltaTimeSeconds elapsed time in seconds
+     * @return bitwise OR of {@link #CONTACT_AIR_OBSTACLE} and {@link #CONTACT_TERRAIN}
+     *         for what the ball touched, or {@link #NO_CONTACT}
+     */
+    public static int updateBallWithSweptCollisions(final GolfBall golfBall,
+                                                    final GolfCourse golfCourse,
+                                                    final double deltaTimeSeconds)
+    {
+        if (!golfBall.isMoving())
+        {
+            return NO_CONTACT;
+        }
+
+        final double           radiusPixels;
+        final CourseData       courseData;
+        final AirObstacleIndex airObstacleIndex;
+
+        double remainingSeconds;
+        int    contacts;
+
+        radiusPixels     = golfBall.getRadiusPixels();
+        courseData       = golfCourse.getCourseData();
+        airObstacleIndex = golfCourse.getAirObstacleIndex();
+
+        remainingSeconds = deltaTimeSeconds + golfBall.getCarriedStepSeconds();
+        contacts         = NO_CONTACT;
 
-            if (absoluteVerticalVelocityPixelsPerSecond
-                > LANDING_BOUNCE_THRESHOLD_PIXELS_PER_SECOND)
+        golfBall.setCarriedStepSeconds(ZERO_REMAINING_SECONDS);
+
+        for (int iteration = 0;
+             iteration < MAXIMUM_SWEEP_ITERATIONS && remainingSeconds > ZERO_REMAINING_SECONDS && golfBall.isMoving();
+             iteration++)
+        {
+            final double      startXPixels;
+            final double      startYPixels;
+            final double      velocityYPixelsPerSecond;
+            final double      gravityPixelsPerSecondSquared;
+            final double      stepVelocityYPixelsPerSecond;
+            final double      deltaXPixels;
+            final double      deltaYPixels;
+            final int         startTileIndex;
+            final int         contactTileIndex;
+            final AirObstacle contactObstacle;
+
+            double terrainFraction;
+            double obstacleFraction;
+
+            startXPixels             = golfBall.getPositionXPixels();
+            startYPixels             = golfBall.getPositionYPixels();
+            velocityYPixelsPerSecond = golfBall.getVelocityYPixelsPerSecond();
+
+            if (velocityYPixelsPerSecond < ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+            {
+                gravityPixelsPerSecondSquared = getAscentGravity();
+            }
+            else
             {
-                final double newVerticalVelocityPixelsPerSecond;
-                newVerticalVelocityPixelsPerSecond = -golfBall.getVelocityYPixelsPerSecond()
-                                                     * LANDING_BOUNCE_ENERGY_RESTITUTION_FACTOR;
+                gravityPixelsPerSecondSquared = getDescentGravity();
+            }
+
+            stepVelocityYPixelsPerSecond = velocityYPixelsPerSecond + gravityPixelsPerSecondSquared * remainingSeconds;
+
+            deltaXPixels = golfBall.getVelocityXPixelsPerSecond() * remainingSeconds;
+            deltaYPixels = stepVelocityYPixelsPerSecond * remainingSeconds;
 
-                golfBall.setVelocityYPixelsPerSecond(newVerticalVelocityPixelsPerSecond);
+            startTileIndex = golfCourse.findTileIndexAtX(startXPixels);
+
+            if (startTileIndex == NO_TILE_INDEX)
+            {
+                contactTileIndex = NO_TILE_INDEX;
+                terrainFraction  = NO_CONTACT_FRACTION;
             }
             else
             {
-                golfBall.setVelocityYPixelsPerSecond(ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND);
+                contactTileIndex = findTerrainContactTile(courseData, startTileIndex, startXPixels, startYPixels,
+                                                          deltaXPixels, deltaYPixels, radiusPixels);
+                terrainFraction  = NO_CONTACT_FRACTION;
 
-                final double rollFriction;
-                final double newHorizontalVelocityPixelsPerSecond;
-                final double absoluteHorizontalVelocityPixelsPerSecond;
+                if (contactTileIndex != NO_TILE_INDEX)
+                {
+                    terrainFraction = computeTileContactFraction(courseData, contactTileIndex,
+                                                                 contactTileIndex == startTileIndex,
+                                                                 startXPixels, startYPixels,
+                                                                 deltaXPixels, deltaYPixels, radiusPixels);
+                }
+            }
 
-                rollFriction =
-                    switch (terrainTile.getTerrainType())
-                    {
-                        case SAND -> ROLL_FRICTION_FACTOR_SAND;
-                        case ROUGH -> ROLL_FRICTION_FACTOR_ROUGH;
-                        case FAIRWAY, HOLE -> ROLL_FRICTION_FACTOR_FAIRWAY;
-                        default -> ROLL_FRICTION_FACTOR_DEFAULT;
-                    };
+            contactObstacle  = airObstacleIndex.findFirstSweptContact(startXPixels, startYPixels,
+                                                                      deltaXPixels, deltaYPixels,
+                                                                      radiusPixels);
+            obstacleFraction = NO_CONTACT_FRACTION;
 
-                newHorizontalVelocityPixelsPerSecond = golfBall.getVelocityXPixelsPerSecond() * rollFriction;
+            if (contactObstacle != null)
+            {
+                obstacleFraction = computeSweptAirObstacleContactFraction(startXPixels, startYPixels,
+                                                                          deltaXPixels, deltaYPixels,
+                                                                          radiusPixels, contactObstacle);
+            }
 
-                golfBall.setVelocityXPixelsPerSecond(newHorizontalVelocityPixelsPerSecond);
+            if (terrainFraction == NO_CONTACT_FRACTION && obstacleFraction == NO_CONTACT_FRACTION)
+            {
+                golfBall.moveTo(startXPixels + deltaXPixels, startYPixels + deltaYPixels);
+                golfBall.setVelocityYPixelsPerSecond(stepVelocityYPixelsPerSecond);
+
+                remainingSeconds = ZERO_REMAINING_SECONDS;
+                break;
+            }
+
+            if (obstacleFraction < terrainFraction)
+            {
+                golfBall.moveTo(startXPixels + deltaXPixels * obstacleFraction,
+                                startYPixels + deltaYPixels * obstacleFraction);
+                golfBall.setVelocityYPixelsPerSecond(velocityYPixelsPerSecond
+                                                     + gravityPixelsPerSecondSquared
+                                                       * remainingSeconds * obstacleFraction);
+
+                applyAirObstacleBounce(golfBall, contactObstacle);
+
+                contacts |= CONTACT_AIR_OBSTACLE;
+                remainingSeconds *= SWEEP_END_FRACTION - obstacleFraction;
+                continue;
+            }
+
+            final double surfaceYPixels;
+            final double contactXPixels;
+            final double contactYPixels;
+
+            contacts |= CONTACT_TERRAIN;
 
-                absoluteHorizontalVelocityPixelsPerSecond = Math.abs(golfBall.getVelocityXPixelsPerSecond());
+            surfaceYPixels = courseData.getGroundCenterYPixels(contactTileIndex) - radiusPixels;
+            contactXPixels = startXPixels + deltaXPixels * terrainFraction;
+            contactYPixels = startYPixels + deltaYPixels * terrainFraction;
 
-                if (absoluteHorizontalVelocityPixelsPerSecond < ROLL_STOP_SPEED_THRESHOLD_PIXELS_PER_SECOND)
+            if (contactTileIndex == startTileIndex && terrainFraction == SWEEP_START_FRACTION)
+            {
+                // Already on or below this tile's surface: roll along the ground.
+                golfBall.setVelocityYPixelsPerSecond(velocityYPixelsPerSecond);
+
+                remainingSeconds = rollAlongGround(golfBall, courseData, contactTileIndex,
+                                                   surfaceYPixels, remainingSeconds);
+                continue;
+            }
+
+            golfBall.setVelocityYPixelsPerSecond(velocityYPixelsPerSecond
+                                                 + gravityPixelsPerSecondSquared * remainingSeconds * terrainFraction);
+
+            if (contactYPixels - surfaceYPixels > radiusPixels)
+            {
+                // Wall taller than a step: back off the edge and reflect sideways.
+                final double separationXPixels;
+
+                separationXPixels = Math.copySign(WALL_SEPARATION_PIXELS, deltaXPixels);
+
+                golfBall.moveTo(contactXPixels - separationXPixels, contactYPixels);
+                golfBall.setVelocityXPixelsPerSecond(-golfBall.getVelocityXPixelsPerSecond()
+                                                     * AIR_OBSTACLE_HORIZONTAL_RESTITUTION_FACTOR);
+                golfBall.setVelocityYPixelsPerSecond(golfBall.getVelocityYPixelsPerSecond()
+                                                     * AIR_OBSTACLE_VERTICAL_DAMPING_FACTOR);
+
+                remainingSeconds *= SWEEP_END_FRACTION - terrainFraction;
+                continue;
+            }
+
+            golfBall.moveTo(contactXPixels, surfaceYPixels);
+
+            // No friction for the landing itself; a ball that stays down rolls, with friction, for the rest of
+            // the step. It rolls on the tile it landed on, which at a tile edge is not always the tile under X.
+            applyGroundContactResponse(golfBall, courseData.getTerrainType(contactTileIndex), NO_ROLL_STEPS);
+
+            remainingSeconds *= SWEEP_END_FRACTION - terrainFraction;
+
+            if (golfBall.isMoving() && golfBall.getVelocityYPixelsPerSecond() >= ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+            {
+                remainingSeconds = rollAlongGround(golfBall, courseData, contactTileIndex,
+                                                   surfaceYPixels, remainingSeconds);
+            }
+        }
+
+        // Out of sweep iterations: carry the unspent time into the next step instead of dropping it.
+        if (golfBall.isMoving())
+        {
+            golfBall.setCarriedStepSeconds(Math.min(remainingSeconds, deltaTimeSeconds));
+        }
+
+        return contacts;
+    }
+
+    // Roll friction factors are per reference step; rollSteps scales them to other step lengths.
+    private static void applyGroundContactResponse(final GolfBall golfBall,
+                                                   final TerrainType terrainType,
+                                                   final double rollSteps)
+    {
+        final double absoluteVerticalVelocityPixelsPerSecond;
+        absoluteVerticalVelocityPixelsPerSecond = Math.abs(golfBall.getVelocityYPixelsPerSecond());
+
+        if (absoluteVerticalVelocityPixelsPerSecond
+            > LANDING_BOUNCE_THRESHOLD_PIXELS_PER_SECOND)
+        {
+            final double newVerticalVelocityPixelsPerSecond;
+            newVerticalVelocityPixelsPerSecond = -golfBall.getVelocityYPixelsPerSecond()
+                                                 * LANDING_BOUNCE_ENERGY_RESTITUTION_FACTOR;
+
+            golfBall.setVelocityYPixelsPerSecond(newVerticalVelocityPixelsPerSecond);
+        }
+        else
+        {
+            golfBall.setVelocityYPixelsPerSecond(ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND);
+
+            final double rollFriction;
+            final double newHorizontalVelocityPixelsPerSecond;
+            final double absoluteHorizontalVelocityPixelsPerSecond;
+
+            rollFriction = Math.pow(computeRollFriction(terrainType), rollSteps);
+
+            newHorizontalVelocityPixelsPerSecond = golfBall.getVelocityXPixelsPerSecond() * rollFriction;
+
+            golfBall.setVelocityXPixelsPerSecond(newHorizontalVelocityPixelsPerSecond);
+
+            absoluteHorizontalVelocityPixelsPerSecond = Math.abs(golfBall.getVelocityXPixelsPerSecond());
+
+            if (absoluteHorizontalVelocityPixelsPerSecond < ROLL_STOP_SPEED_THRESHOLD_PIXELS_PER_SECOND)
+            {
+                golfBall.stop();
+            }
+        }
+    }
+
+    // Rolls the ball along a tile's surface, climbing steps no higher than its radius.
+    // Returns the time left after bouncing off a taller wall, or zero if the roll used it all.
+    private static double rollAlongGround(final GolfBall golfBall,
+                                          final CourseData courseData,
+                                          final int tileIndex,
+                                          final double surfaceYPixels,
+                                          final double rollSeconds)
+    {
+        final double startXPixels;
+        final double deltaXPixels;
+        final double wallFraction;
+        final double rolledSeconds;
+        final double separationXPixels;
+
+        startXPixels = golfBall.getPositionXPixels();
+        deltaXPixels = golfBall.getVelocityXPixelsPerSecond() * rollSeconds;
+        wallFraction = findRollingWallFraction(courseData, tileIndex, startXPixels,
+                                               deltaXPixels, surfaceYPixels, golfBall.getRadiusPixels());
+
+        if (wallFraction == NO_CONTACT_FRACTION)
+        {
+            golfBall.moveTo(startXPixels + deltaXPixels, surfaceYPixels);
+
+            applyGroundContactResponse(golfBall,
+                                       courseData.getTerrainType(tileIndex),
+                                       rollSeconds * SIMULATION_STEPS_PER_SECOND);
+
+            return ZERO_REMAINING_SECONDS;
+        }
+
+        rolledSeconds     = rollSeconds * wallFraction;
+        separationXPixels = Math.copySign(WALL_SEPARATION_PIXELS, deltaXPixels);
+
+        golfBall.moveTo(startXPixels + deltaXPixels * wallFraction - separationXPixels, surfaceYPixels);
+
+        applyGroundContactResponse(golfBall,
+                                   courseData.getTerrainType(tileIndex),
+                                   rolledSeconds * SIMULATION_STEPS_PER_SECOND);
+
+        if (golfBall.isMoving())
+        {
+            golfBall.setVelocityXPixelsPerSecond(-golfBall.getVelocityXPixelsPerSecond()
+                                                 * AIR_OBSTACLE_HORIZONTAL_RESTITUTION_FACTOR);
+        }
+
+        return rollSeconds - rolledSeconds;
+    }
+
+    // Fraction of a roll at which the ball meets a wall taller than a step, or
+    // NO_CONTACT_FRACTION. Smaller steps are climbed, so later walls are measured
+    // from the highest surface reached.
+    private static double findRollingWallFraction(final CourseData courseData,
+                                                  final int startTileIndex,
+                                                  final double startXPixels,
+                                                  final double deltaXPixels,
+                                                  final double startSurfaceYPixels,
+                                                  final double radiusPixels)
+    {
+        final int tileStep;
+
+        double rollingSurfaceYPixels;
+
+        if (deltaXPixels == ZERO_HORIZONTAL_SPEED)
+        {
+            return NO_CONTACT_FRACTION;
+        }
+
+        if (deltaXPixels < ZERO_HORIZONTAL_SPEED)
+        {
+            tileStep = BACKWARD_TILE_STEP;
+        }
+        else
+        {
+            tileStep = FORWARD_TILE_STEP;
+        }
+
+        rollingSurfaceYPixels = startSurfaceYPixels;
+
+        for (int tileIndex = startTileIndex + tileStep;
+             tileIndex >= 0 && tileIndex < courseData.getTileCount();
+             tileIndex += tileStep)
+        {
+            final double entryFraction;
+            final double tileSurfaceYPixels;
+
+            entryFraction = computeTileEntryFraction(courseData, tileIndex, startXPixels, deltaXPixels);
+
+            if (entryFraction > SWEEP_END_FRACTION)
+            {
+                break;
+            }
+
+            tileSurfaceYPixels = courseData.getGroundCenterYPixels(tileIndex) - radiusPixels;
+
+            if (rollingSurfaceYPixels - tileSurfaceYPixels > radiusPixels)
+            {
+                return entryFraction;
+            }
+
+            rollingSurfaceYPixels = Math.min(rollingSurfaceYPixels, tileSurfaceYPixels);
+        }
+
+        return NO_CONTACT_FRACTION;
+    }
+
+    private static double computeTileEntryFraction(final CourseData courseData,
+                                                   final int tileIndex,
+                                                   final double startXPixels,
+                                                   final double deltaXPixels)
+    {
+        if (deltaXPixels < ZERO_HORIZONTAL_SPEED)
+        {
+            return (courseData.getTileEndXPixels(tileIndex) - startXPixels) / deltaXPixels;
+        }
+
+        return (courseData.getTileStartXPixels(tileIndex) - startXPixels) / deltaXPixels;
+    }
+
+    // Walks the tiles under a step's segment and returns the first one the ball touches.
+    private static int findTerrainContactTile(final CourseData courseData,
+                                              final int startTileIndex,
+                                              final double startXPixels,
+                                              final double startYPixels,
+                                              final double deltaXPixels,
+                                              final double deltaYPixels,
+                                              final double radiusPixels)
+    {
+        final int tileStep;
+
+        if (deltaXPixels < ZERO_HORIZONTAL_SPEED)
+        {
+            tileStep = BACKWARD_TILE_STEP;
+        }
+        else
+        {
+            tileStep = FORWARD_TILE_STEP;
+        }
+
+        for (int tileIndex = startTileIndex;
+             tileIndex >= 0 && tileIndex < courseData.getTileCount();
+             tileIndex += tileStep)
+        {
+            if (computeTileContactFraction(courseData, tileIndex, tileIndex == startTileIndex,
+                                           startXPixels, startYPixels,
+                                           deltaXPixels, deltaYPixels, radiusPixels) != NO_CONTACT_FRACTION)
+            {
+                return tileIndex;
+            }
+
+            if (computeTileExitFraction(courseData, tileIndex, startXPixels, deltaXPixels) >= SWEEP_END_FRACTION)
+            {
+                break;
+            }
+        }
+
+        return NO_TILE_INDEX;
+    }
+
+    // Fraction of the segment at which the ball meets this tile's leading wall or
+    // surface, or NO_CONTACT_FRACTION if it passes over the tile.
+    private static double computeTileContactFraction(final CourseData courseData,
+                                                     final int tileIndex,
+                                                     final boolean startTile,
+                                                     final double startXPixels,
+                                                     final double startYPixels,
+                                                     final double deltaXPixels,
+                                                     final double deltaYPixels,
+                                                     final double radiusPixels)
+    {
+        final double surfaceYPixels;
+        final double entryFraction;
+        final double exitFraction;
+
+        surfaceYPixels = courseData.getGroundCenterYPixels(tileIndex) - radiusPixels;
+        exitFraction   = Math.min(SWEEP_END_FRACTION,
+                                  computeTileExitFraction(courseData, tileIndex, startXPixels, deltaXPixels));
+
+        if (startTile)
+        {
+            entryFraction = SWEEP_START_FRACTION;
+
+            if (startYPixels >= surfaceYPixels && deltaYPixels >= ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+            {
+                return SWEEP_START_FRACTION;
+            }
+        }
+        else
+        {
+            final double entryEdgeXPixels;
+
+            if (deltaXPixels < ZERO_HORIZONTAL_SPEED)
+            {
+                entryEdgeXPixels = courseData.getTileEndXPixels(tileIndex);
+            }
+            else
+            {
+                entryEdgeXPixels = courseData.getTileStartXPixels(tileIndex);
+            }
+
+            entryFraction = (entryEdgeXPixels - startXPixels) / deltaXPixels;
+
+            if (startYPixels + deltaYPixels * entryFraction > surfaceYPixels)
+            {
+                return entryFraction;
+            }
+        }
+
+        if (deltaYPixels > ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+        {
+            final double surfaceFraction;
+
+            surfaceFraction = (surfaceYPixels - startYPixels) / deltaYPixels;
+
+            if (surfaceFraction >= entryFraction && surfaceFraction <= exitFraction)
+            {
+                return surfaceFraction;
+            }
+        }
+
+        return NO_CONTACT_FRACTION;
+    }
+
+    private static double computeTileExitFraction(final CourseData courseData,
+                                                  final int tileIndex,
+                                                  final double startXPixels,
+                                                  final double deltaXPixels)
+    {
+        if (deltaXPixels == ZERO_HORIZONTAL_SPEED)
+        {
+            return NO_CONTACT_FRACTION;
+        }
+
+        if (deltaXPixels < ZERO_HORIZONTAL_SPEED)
+        {
+            return (courseData.getTileStartXPixels(tileIndex) - startXPixels) / deltaXPixels;
+        }
+
+        return (courseData.getTileEndXPixels(tileIndex) - startXPixels) / deltaXPixels;
+    }
+
+    /**
+     * Advances every ball in a batch by one step with the same gravity, bounce
+     * and rolling rules as {@link #updateBallWithTerrain}. The caller must have
+     * filled the batch's ground and friction columns for the current positions.
+     * <p>
+     * The loop body works only on primitive columns and uses conditional
+     * selects instead of early exits, so the JIT can unroll and vectorize it.
+     *
+     * @param golfBallBatch    balls to update
+     * @param deltaTimeSeconds elapsed time in seconds
+     * @return number of balls still moving after this update
+     */
+    public static int updateBallBatchWithTerrain(final GolfBallBatch golfBallBatch,
+                                                 final double deltaTimeSeconds)
+    {
+        final double[] positionsX;
+        final double[] positionsY;
+        final double[] velocitiesX;
+        final double[] velocitiesY;
+        final boolean[] movingFlags;
+        final double[] groundCentersY;
+        final double[] rollFrictions;
+        final int ballCount;
+
+        final double ascentGravity;
+        final double descentGravity;
+
+        int movingCount;
+
+        positionsX     = golfBallBatch.positionsXPixels();
+        positionsY     = golfBallBatch.positionsYPixels();
+        velocitiesX    = golfBallBatch.velocitiesXPixelsPerSecond();
+        velocitiesY    = golfBallBatch.velocitiesYPixelsPerSecond();
+        movingFlags    = golfBallBatch.movingFlags();
+        groundCentersY = golfBallBatch.groundCentersYPixels();
+        rollFrictions  = golfBallBatch.rollFrictionFactors();
+        ballCount      = golfBallBatch.size();
+
+        ascentGravity  = GRAVITY_ACCELERATION_PIXELS_PER_SECOND_SQUARED * GRAVITY_MULTIPLIER_ASCENT;
+        descentGravity = GRAVITY_ACCELERATION_PIXELS_PER_SECOND_SQUARED * GRAVITY_MULTIPLIER_DESCENT;
+
+        movingCount = 0;
+
+        for (int ballIndex = 0; ballIndex < ballCount; ballIndex++)
+        {
+            final boolean moving;
+            final double gravity;
+            final double flightVelocityY;
+            final double flightPositionX;
+            final double flightPositionY;
+            final boolean grounded;
+            final boolean bouncing;
+            final double rolledVelocityX;
+            final boolean stopped;
+            final boolean stillMoving;
+
+            moving = movingFlags[ballIndex];
+
+            if (velocitiesY[ballIndex] < ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+            {
+                gravity = ascentGravity;
+            }
+            else
+            {
+                gravity = descentGravity;
+            }
+
+            flightVelocityY = velocitiesY[ballIndex] + gravity * deltaTimeSeconds;
+            flightPositionX = positionsX[ballIndex] + velocitiesX[ballIndex] * deltaTimeSeconds;
+            flightPositionY = positionsY[ballIndex] + flightVelocityY * deltaTimeSeconds;
+
+            grounded = flightPositionY >= groundCentersY[ballIndex];
+            bouncing = Math.abs(flightVelocityY) > LANDING_BOUNCE_THRESHOLD_PIXELS_PER_SECOND;
+
+            rolledVelocityX = velocitiesX[ballIndex] * rollFrictions[ballIndex];
+            stopped         = grounded
+                              && !bouncing
+                              && Math.abs(rolledVelocityX) < ROLL_STOP_SPEED_THRESHOLD_PIXELS_PER_SECOND;
+            stillMoving     = moving && !stopped;
+
+            if (moving)
+            {
+                positionsX[ballIndex] = flightPositionX;
+                positionsY[ballIndex] = grounded ? groundCentersY[ballIndex] : flightPositionY;
+
+                if (stopped)
                 {
-                    golfBall.stop();
+                    velocitiesX[ballIndex] = ZERO_HORIZONTAL_VELOCITY_PIXELS_PER_SECOND;
+                    velocitiesY[ballIndex] = ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND;
                 }
+                else if (grounded && bouncing)
+                {
+                    velocitiesY[ballIndex] = -flightVelocityY * LANDING_BOUNCE_ENERGY_RESTITUTION_FACTOR;
+                }
+                else if (grounded)
+                {
+                    velocitiesX[ballIndex] = rolledVelocityX;
+                    velocitiesY[ballIndex] = ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND;
+                }
+                else
+                {
+                    velocitiesY[ballIndex] = flightVelocityY;
+                }
+            }
+
+            movingFlags[ballIndex] = stillMoving;
+
+            if (stillMoving)
+            {
+                movingCount++;
             }
         }
 
-        return golfBall.isMoving();
+        return movingCount;
+    }
+
+    /**
+     * Returns the rolling friction factor applied to horizontal speed each
+     * step while the ball rolls on the given terrain.
+     *
+     * @param terrainType terrain under the ball
+     * @return friction factor in {@code (0, 1]}
+     */
+    public static double computeRollFriction(final TerrainType terrainType)
+    {
+        return switch (terrainType)
+        {
+            case SAND -> ROLL_FRICTION_FACTOR_SAND;
+            case ROUGH -> ROLL_FRICTION_FACTOR_ROUGH;
+            case FAIRWAY, HOLE -> ROLL_FRICTION_FACTOR_FAIRWAY;
+            default -> ROLL_FRICTION_FACTOR_DEFAULT;
+        };
+    }
+
+    /**
+     * Returns the shot distance multiplier for a ball played from the given terrain.
+     * Water returns zero, meaning the ball cannot be played from there.
+     *
+     * @param terrainType terrain under the ball
+     * @return multiplier applied to the club's distance
+     */
+    public static double computeTerrainDistanceMultiplier(final TerrainType terrainType)
+    {
+        return switch (terrainType)
+        {
+            case SAND -> SAND_DISTANCE_MULTIPLIER;
+            case ROUGH -> ROUGH_DISTANCE_MULTIPLIER;
+            case WATER -> WATER_DISTANCE_MULTIPLIER;
+            default -> FAIRWAY_DISTANCE_MULTIPLIER;
+        };
+    }
+
+    /**
+     * Launches the ball for a club's expected range and an aim angle.
+     * Putts roll along the ground at a speed equal to the range; every other
+     * club is lofted using a symmetric acute angle so backwards shots still work.
+     *
+     * @param golfBall           the ball to launch
+     * @param clubType           type of club used for the shot
+     * @param rangePixels        expected flat-ground range of the shot in pixels
+     * @param launchAngleDegrees aim angle in degrees, measured from the +x axis
+     * @return {@code true} if the ball was launched; {@code false} if the speed was too low
+     */
+    public static boolean launchBall(final GolfBall golfBall,
+                                     final ClubType clubType,
+                                     final double rangePixels,
+                                     final double launchAngleDegrees)
+    {
+        final double initialSpeedPixelsPerSecond;
+        final double launchAngleRadians;
+        final double initialVelocityXPixelsPerSecond;
+        final double initialVelocityYPixelsPerSecond;
+
+        initialSpeedPixelsPerSecond = computeLaunchSpeed(clubType, rangePixels, launchAngleDegrees);
+
+        if (!isLaunchSpeedPlayable(initialSpeedPixelsPerSecond))
+        {
+            return false;
+        }
+
+        launchAngleRadians = Math.toRadians(launchAngleDegrees);
+
+        initialVelocityXPixelsPerSecond = initialSpeedPixelsPerSecond * Math.cos(launchAngleRadians);
+        initialVelocityYPixelsPerSecond = computeLaunchVelocityY(clubType,
+                                                                 initialSpeedPixelsPerSecond,
+                                                                 launchAngleDegrees);
+
+        golfBall.launch(initialVelocityXPixelsPerSecond, initialVelocityYPixelsPerSecond);
+
+        return true;
+    }
+
+    /**
+     * Returns the launch speed for a club's expected range and an aim angle.
+     * Putts use the range directly as a rolling speed; every other club uses
+     * the symmetric acute angle, so 100° behaves like 80°.
+     *
+     * @param clubType           type of club used for the shot
+     * @param rangePixels        expected flat-ground range of the shot in pixels
+     * @param launchAngleDegrees aim angle in degrees, measured from the +x axis
+     * @return launch speed in pixels per second
+     */
+    public static double computeLaunchSpeed(final ClubType clubType,
+                                            final double rangePixels,
+                                            final double launchAngleDegrees)
+    {
+        if (clubType == ClubType.PUTTER)
+        {
+            return rangePixels;
+        }
+
+        double effectiveLaunchAngleDegrees;
+        effectiveLaunchAngleDegrees = launchAngleDegrees;
+
+        if (effectiveLaunchAngleDegrees > RIGHT_ANGLE_DEGREES)
+        {
+            // Map 100° → 80°, 150° → 30°, etc.
+            effectiveLaunchAngleDegrees = (2.0 * RIGHT_ANGLE_DEGREES) - effectiveLaunchAngleDegrees;
+        }
+
+        return computeInitialSpeed(rangePixels, effectiveLaunchAngleDegrees);
+    }
+
+    /**
+     * Returns whether a launch speed is high enough for the ball to be hit.
+     *
+     * @param launchSpeedPixelsPerSecond launch speed in pixels per second
+     * @return {@code true} if the shot can be played
+     */
+    public static boolean isLaunchSpeedPlayable(final double launchSpeedPixelsPerSecond)
+    {
+        return launchSpeedPixelsPerSecond > MINIMUM_INITIAL_SPEED_EPSILON_PIXELS_PER_SECOND;
+    }
+
+    /**
+     * Returns the vertical launch velocity for a club; putts stay on the ground.
+     *
+     * @param clubType                   type of club used for the shot
+     * @param launchSpeedPixelsPerSecond launch speed in pixels per second
+     * @param launchAngleDegrees         aim angle in degrees, measured from the +x axis
+     * @return vertical velocity in pixels per second, negative is up
+     */
+    public static double computeLaunchVelocityY(final ClubType clubType,
+                                                final double launchSpeedPixelsPerSecond,
+                                                final double launchAngleDegrees)
+    {
+        if (clubType == ClubType.PUTTER)
+        {
+            return ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND;
+        }
+
+        return -launchSpeedPixelsPerSecond * Math.sin(Math.toRadians(launchAngleDegrees));
+    }
+
+    /**
+     * Returns how high above its launch point a ball rises under ascent gravity.
+     *
+     * @param launchVelocityYPixelsPerSecond vertical launch velocity, negative is up
+     * @return apex height in pixels; zero for a ball launched flat or downward
+     */
+    public static double computeApexHeightPixels(final double launchVelocityYPixelsPerSecond)
+    {
+        if (launchVelocityYPixelsPerSecond >= ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+        {
+            return ZERO_HEIGHT_PIXELS;
+        }
+
+        return launchVelocityYPixelsPerSecond * launchVelocityYPixelsPerSecond
+               / (QUADRATIC_TWO * getAscentGravity());
+    }
+
+    /**
+     * Returns how long a ball takes to come back down to its launch height,
+     * rising under ascent gravity and falling under descent gravity.
+     *
+     * @param launchVelocityYPixelsPerSecond vertical launch velocity, negative is up
+     * @return flight time in seconds; zero for a ball launched flat or downward
+     */
+    public static double computeFlatGroundFlightTimeSeconds(final double launchVelocityYPixelsPerSecond)
+    {
+        if (launchVelocityYPixelsPerSecond >= ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+        {
+            return LAUNCH_TIME_SECONDS;
+        }
+
+        final double ascentTimeSeconds;
+        final double descentTimeSeconds;
+
+        ascentTimeSeconds  = -launchVelocityYPixelsPerSecond / getAscentGravity();
+        descentTimeSeconds = Math.sqrt(QUADRATIC_TWO * computeApexHeightPixels(launchVelocityYPixelsPerSecond)
+                                       / getDescentGravity());
+
+        return ascentTimeSeconds + descentTimeSeconds;
     }
 
     /**
@@ -188,20 +1007,65 @@ public final class ProjectilePhysics
         final double courseHeightSafetyFactor,
         final double minimumMaxHeightOffsetPixels)
     {
-        final ShotContext fullPowerShotContext;
-        final ShotResult fullPowerWedgeShotResult;
+        final double fullPowerWedgeRangePixels;
 
-        fullPowerShotContext     = new ShotContext(maximumPowerPercentage, fairwayDistanceMultiplier);
-        fullPowerWedgeShotResult = wedgeGolfClub.computeShot(fullPowerShotContext);
+        fullPowerWedgeRangePixels = wedgeGolfClub.computeRangePixels(maximumPowerPercentage,
+                                                                     fairwayDistanceMultiplier);
 
-        final double maximumWedgeRangePixels;
+        return computeMaximumHeightOffsetForRange(fullPowerWedgeRangePixels,
+                                                  maximumLaunchAngleDegrees,
+                                                  courseHeightSafetyFactor,
+                                                  minimumMaxHeightOffsetPixels);
+    }
+
+    /**
+     * Computes the maximum vertical height offset for terrain generation, reading
+     * the full-power wedge range from a shot estimate cache.
+     *
+     * @param shotEstimateCache            cache holding the player's clubs
+     * @param maximumPowerPercentage       max power used for range
+     * @param fairwayTerrainType           terrain the range is measured from
+     * @param maximumLaunchAngleDegrees    maximum launch angle in degrees
+     * @param courseHeightSafetyFactor     safety factor to shrink the theoretical max
+     * @param minimumMaxHeightOffsetPixels minimum height if physics fails or there is no wedge
+     * @return safe maximum height offset in pixels
+     */
+    public static double computeMaximumHeightOffsetForCourse(
+        final ShotEstimateCache shotEstimateCache,
+        final double maximumPowerPercentage,
+        final TerrainType fairwayTerrainType,
+        final double maximumLaunchAngleDegrees,
+        final double courseHeightSafetyFactor,
+        final double minimumMaxHeightOffsetPixels)
+    {
+        final ShotEstimate fullPowerWedgeEstimate;
+
+        fullPowerWedgeEstimate = shotEstimateCache.lookup(ClubType.WEDGE,
+                                                          maximumPowerPercentage,
+                                                          maximumLaunchAngleDegrees,
+                                                          fairwayTerrainType);
+
+        if (fullPowerWedgeEstimate == null)
+        {
+            return minimumMaxHeightOffsetPixels;
+        }
+
+        return computeMaximumHeightOffsetForRange(fullPowerWedgeEstimate.getRangePixels(),
+                                                  maximumLaunchAngleDegrees,
+                                                  courseHeightSafetyFactor,
+                                                  minimumMaxHeightOffsetPixels);
+    }
+
+    private static double computeMaximumHeightOffsetForRange(final double maximumWedgeRangePixels,
+                                                             final double maximumLaunchAngleDegrees,
+                                                             final double courseHeightSafetyFactor,
+                                                             final double minimumMaxHeightOffsetPixels)
+    {
         final double gravityPixelsPerSecondSquared;
         final double launchAngleRadians;
         final double sinDoubleAngle;
         final double initialSpeedSquaredPixelsPerSecondSquared;
 
-        maximumWedgeRangePixels = fullPowerWedgeShotResult.getExpectedHorizontalRangePixels();
-
         gravityPixelsPerSecondSquared = getGravityAccelerationPixelsPerSecondSquared();
 
         launchAngleRadians = Math.toRadians(maximumLaunchAngleDegrees);
@@ -249,97 +1113,667 @@ public final class ProjectilePhysics
             return false;
         }
 
-        final double ballCenterXPixels;
-        final double ballCenterYPixels;
-        final double ballRadiusPixels;
+        for (final AirObstacle airObstacle : airObstacles)
+        {
+            if (isTouchingAirObstacle(golfBall.getPositionXPixels(),
+                                      golfBall.getPositionYPixels(),
+                                      golfBall.getRadiusPixels(),
+                                      airObstacle))
+            {
+                applyAirObstacleBounce(golfBall, airObstacle);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Handles collisions between the golf ball and the obstacles of a spatial index.
+     * Only obstacles in the buckets under the ball are tested, and the bounce is
+     * the same one the list-based overload would apply.
+     *
+     * @param golfBall         the golf ball whose motion is being simulated
+     * @param airObstacleIndex index of the course's air obstacles
+     * @return {@code true} if a collision occurred; {@code false} otherwise
+     */
+    public static boolean handleAirObstacleCollisions(final GolfBall golfBall,
+                                                      final AirObstacleIndex airObstacleIndex)
+    {
+        final AirObstacle airObstacle;
+
+        airObstacle = airObstacleIndex.findFirstTouching(golfBall.getPositionXPixels(),
+                                                         golfBall.getPositionYPixels(),
+                                                         golfBall.getRadiusPixels());
+
+        if (airObstacle == null)
+        {
+            return false;
+        }
+
+        applyAirObstacleBounce(golfBall, airObstacle);
+
+        return true;
+    }
+
+    /**
+     * Determines whether a ball overlaps an air obstacle.
+     *
+     * @param ballCenterXPixels ball center x-position in pixels
+     * @param ballCenterYPixels ball center y-position in pixels
+     * @param ballRadiusPixels  ball radius in pixels
+     * @param airObstacle       obstacle to test
+     * @return {@code true} if the ball's circle touches the obstacle's rectangle
+     */
+    public static boolean isTouchingAirObstacle(final double ballCenterXPixels,
+                                                final double ballCenterYPixels,
+                                                final double ballRadiusPixels,
+                                                final AirObstacle airObstacle)
+    {
+        final double closestXPixels;
+        final double closestYPixels;
+        final double deltaXPixels;
+        final double deltaYPixels;
+        final double distanceSquaredPixels;
+
+        closestXPixels = clamp(ballCenterXPixels,
+                               airObstacle.getLeftXPixels(),
+                               airObstacle.getRightXPixels());
+
+        closestYPixels = clamp(ballCenterYPixels,
+                               airObstacle.getTopYPixels(),
+                               airObstacle.getBottomYPixels());
+
+        deltaXPixels = ballCenterXPixels - closestXPixels;
+
+        deltaYPixels = ballCenterYPixels - closestYPixels;
+
+        distanceSquaredPixels = deltaXPixels * deltaXPixels + deltaYPixels * deltaYPixels;
+
+        return distanceSquaredPixels <= ballRadiusPixels * ballRadiusPixels;
+    }
+
+    /**
+     * Returns the fraction of a straight step at which a moving ball first
+     * touches an air obstacle. The obstacle is grown by the ball radius on every
+     * side and the segment is clipped against it one axis at a time. Only
+     * movement into the obstacle counts, so a ball that has just bounced off
+     * its surface is not caught again on the next step.
+     *
+     * @param startXPixels ball center x-position at the start of the step
+     * @param startYPixels ball center y-position at the start of the step
+     * @param deltaXPixels horizontal distance covered by the step
+     * @param deltaYPixels vertical distance covered by the step
+     * @param radiusPixels ball radius in pixels
+     * @param airObstacle  obstacle to test
+     * @return contact fraction in {@code [0, 1]}, or positive infinity if the step misses
+     */
+    public static double computeSweptAirObstacleContactFraction(final double startXPixels,
+                                                                final double startYPixels,
+                                                                final double deltaXPixels,
+                                                                final double deltaYPixels,
+                                                                final double radiusPixels,
+                                                                final AirObstacle airObstacle)
+    {
+        final double entryXFraction;
+        final double exitXFraction;
+        final double entryYFraction;
+        final double exitYFraction;
+        final double entryFraction;
+        final double exitFraction;
+
+        entryXFraction = computeSlabEntryFraction(startXPixels, deltaXPixels,
+                                                  airObstacle.getLeftXPixels() - radiusPixels,
+                                                  airObstacle.getRightXPixels() + radiusPixels);
+        exitXFraction  = computeSlabExitFraction(startXPixels, deltaXPixels,
+                                                 airObstacle.getLeftXPixels() - radiusPixels,
+                                                 airObstacle.getRightXPixels() + radiusPixels);
+        entryYFraction = computeSlabEntryFraction(startYPixels, deltaYPixels,
+                                                  airObstacle.getTopYPixels() - radiusPixels,
+                                                  airObstacle.getBottomYPixels() + radiusPixels);
+        exitYFraction  = computeSlabExitFraction(startYPixels, deltaYPixels,
+                                                 airObstacle.getTopYPixels() - radiusPixels,
+                                                 airObstacle.getBottomYPixels() + radiusPixels);
+
+        entryFraction = Math.max(entryXFraction, entryYFraction);
+        exitFraction  = Math.min(exitXFraction, exitYFraction);
+
+        // A ball that starts inside or on the boundary moving away is leaving, not hitting.
+        if (entryFraction < SWEEP_START_FRACTION
+            || entryFraction > SWEEP_END_FRACTION
+            || entryFraction >= exitFraction)
+        {
+            return NO_CONTACT_FRACTION;
+        }
+
+        return entryFraction;
+    }
+
+    // Segment fraction at which a coordinate enters [minimum, maximum]; -inf if it starts inside
+    // and never moves, +inf if it starts outside and never moves.
+    private static double computeSlabEntryFraction(final double startPixels,
+                                                   final double deltaPixels,
+                                                   final double minimumPixels,
+                                                   final double maximumPixels)
+    {
+        if (deltaPixels == ZERO_HORIZONTAL_SPEED)
+        {
+            if (startPixels < minimumPixels || startPixels > maximumPixels)
+            {
+                return NO_CONTACT_FRACTION;
+            }
+
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        return Math.min((minimumPixels - startPixels) / deltaPixels,
+                        (maximumPixels - startPixels) / deltaPixels);
+    }
 
-        ballCenterXPixels = golfBall.getPositionXPixels();
+    private static double computeSlabExitFraction(final double startPixels,
+                                                  final double deltaPixels,
+                                                  final double minimumPixels,
+                                                  final double maximumPixels)
+    {
+        if (deltaPixels == ZERO_HORIZONTAL_SPEED)
+        {
+            if (startPixels < minimumPixels || startPixels > maximumPixels)
+            {
+                return Double.NEGATIVE_INFINITY;
+            }
+
+            return NO_CONTACT_FRACTION;
+        }
+
+        return Math.max((minimumPixels - startPixels) / deltaPixels,
+                        (maximumPixels - startPixels) / deltaPixels);
+    }
+
+    private static void applyAirObstacleBounce(final GolfBall golfBall,
+                                               final AirObstacle airObstacle)
+    {
+        final double ballCenterYPixels;
+        final double closestYPixels;
+        final double currentVelocityXPixelsPerSecond;
+        final double currentVelocityYPixelsPerSecond;
 
         ballCenterYPixels = golfBall.getPositionYPixels();
 
-        ballRadiusPixels = golfBall.getRadiusPixels();
+        closestYPixels = clamp(ballCenterYPixels,
+                               airObstacle.getTopYPixels(),
+                               airObstacle.getBottomYPixels());
 
-        for (final AirObstacle airObstacle : airObstacles)
+        currentVelocityXPixelsPerSecond = golfBall.getVelocityXPixelsPerSecond();
+        currentVelocityYPixelsPerSecond = golfBall.getVelocityYPixelsPerSecond();
+
+        // Decide which side we hit: top/bottom vs left/right.
+        final boolean hitTop;
+        final boolean hitBottom;
+
+        hitTop =
+            (ballCenterYPixels <= airObstacle.getTopYPixels())
+            && (closestYPixels == airObstacle.getTopYPixels());
+
+        hitBottom =
+            (ballCenterYPixels >= airObstacle.getBottomYPixels())
+            && (closestYPixels == airObstacle.getBottomYPixels());
+
+        if (hitTop || hitBottom)
         {
-            final double closestXPixels;
-            final double closestYPixels;
-            final double deltaXPixels;
-            final double deltaYPixels;
-            final double distanceSquaredPixels;
+            // Vertical collision (top or bottom of the block)
+            // → flip vertical velocity, lightly damp horizontal.
+            final double newVerticalVelocityPixelsPerSecond;
+            final double newHorizontalVelocityPixelsPerSecond;
 
-            closestXPixels = clamp(ballCenterXPixels,
-                                   airObstacle.getLeftXPixels(),
-                                   airObstacle.getRightXPixels());
+            newVerticalVelocityPixelsPerSecond =
+                -currentVelocityYPixelsPerSecond * AIR_OBSTACLE_VERTICAL_DAMPING_FACTOR;
 
-            closestYPixels = clamp(ballCenterYPixels,
-                                   airObstacle.getTopYPixels(),
-                                   airObstacle.getBottomYPixels());
+            newHorizontalVelocityPixelsPerSecond =
+                currentVelocityXPixelsPerSecond * AIR_OBSTACLE_HORIZONTAL_RESTITUTION_FACTOR;
 
-            deltaXPixels = ballCenterXPixels - closestXPixels;
+            golfBall.setVelocityYPixelsPerSecond(newVerticalVelocityPixelsPerSecond);
+            golfBall.setVelocityXPixelsPerSecond(newHorizontalVelocityPixelsPerSecond);
+        }
+        else
+        {
+            // Side collision (left or right)
+            // → flip horizontal velocity, lightly damp vertical.
+            final double newHorizontalVelocityXPixelsPerSecond;
+            final double newVerticalVelocityYPixelsPerSecond;
+
+            newHorizontalVelocityXPixelsPerSecond =
+                -currentVelocityXPixelsPerSecond * AIR_OBSTACLE_HORIZONTAL_RESTITUTION_FACTOR;
+
+            newVerticalVelocityYPixelsPerSecond =
+                currentVelocityYPixelsPerSecond * AIR_OBSTACLE_VERTICAL_DAMPING_FACTOR;
+
+            golfBall.setVelocityXPixelsPerSecond(newHorizontalVelocityXPixelsPerSecond);
+            golfBall.setVelocityYPixelsPerSecond(newVerticalVelocityYPixelsPerSecond);
+        }
+    }
+
+    /**
+     * Solves where the ball's current flight first meets the course, without
+     * stepping frame by frame.
+     * <p>
+     * The flight is modelled in closed form: a parabola under ascent gravity up
+     * to the apex, then a second parabola under descent gravity. Tile heights are
+     * constant across each tile, so the path is walked one tile at a time in
+     * the direction of travel; in each tile the ball either enters below the
+     * ground (a wall hit at the tile edge), reaches the ground inside the tile,
+     * or passes over it. Air obstacles are tested with the same closed form,
+     * treating each obstacle as its rectangle grown by the ball radius; only
+     * the obstacles the course's {@link AirObstacleIndex} finds between the
+     * launch point and the ground impact are tested.
+     * Results follow the continuous path, so they can differ slightly from the
+     * stepped simulation.
+     *
+     * @param golfCourse          course to test against
+     * @param golfBall            ball with its launch position and velocity
+     * @param includeAirObstacles whether air obstacles can stop the flight
+     * @return the first contact along the path
+     */
+    public static TrajectoryImpact solveFirstImpact(final GolfCourse golfCourse,
+                                                    final GolfBall golfBall,
+                                                    final boolean includeAirObstacles)
+    {
+        final TrajectoryImpact groundImpact;
+
+        groundImpact = solveGroundImpact(golfCourse, golfBall);
+
+        if (!includeAirObstacles || golfCourse.getAirObstacleIndex().size() == 0)
+        {
+            return groundImpact;
+        }
+
+        final FirstAirObstacleSearch firstAirObstacleSearch;
+
+        // Only obstacles spanning the flight's x-range up to the ground impact can be hit first.
+        firstAirObstacleSearch = new FirstAirObstacleSearch(golfBall, groundImpact.getTimeSeconds());
+
+        golfCourse.getAirObstacleIndex().forEachOverlapping(
+            Math.min(golfBall.getPositionXPixels(), groundImpact.getPositionXPixels()) - golfBall.getRadiusPixels(),
+            Math.max(golfBall.getPositionXPixels(), groundImpact.getPositionXPixels()) + golfBall.getRadiusPixels(),
+            firstAirObstacleSearch);
 
-            deltaYPixels = ballCenterYPixels - closestYPixels;
+        if (firstAirObstacleSearch.firstAirObstacle == null)
+        {
+            return groundImpact;
+        }
 
-            distanceSquaredPixels = deltaXPixels * deltaXPixels + deltaYPixels * deltaYPixels;
+        return createImpact(golfBall,
+                            TrajectoryImpactType.AIR_OBSTACLE,
+                            firstAirObstacleSearch.firstTimeSeconds,
+                            null,
+                            firstAirObstacleSearch.firstAirObstacle);
+    }
 
-            if (distanceSquaredPixels <= ballRadiusPixels * ballRadiusPixels)
+    /**
+     * Computes the first time the ball's flight touches an air obstacle.
+     * The obstacle is grown by the ball radius on every side, so corners
+     * are treated as square.
+     *
+     * @param golfBall    ball with its launch position and velocity
+     * @param airObstacle obstacle to test
+     * @return time of first contact in seconds, or positive infinity if the path misses
+     */
+    public static double computeAirObstacleImpactTime(final GolfBall golfBall,
+                                                      final AirObstacle airObstacle)
+    {
+        final double radiusPixels;
+        final double leftXPixels;
+        final double rightXPixels;
+        final double topYPixels;
+        final double bottomYPixels;
+        final double startXPixels;
+        final double velocityXPixelsPerSecond;
+
+        final double entryTimeSeconds;
+        final double exitTimeSeconds;
+
+        radiusPixels  = golfBall.getRadiusPixels();
+        leftXPixels   = airObstacle.getLeftXPixels() - radiusPixels;
+        rightXPixels  = airObstacle.getRightXPixels() + radiusPixels;
+        topYPixels    = airObstacle.getTopYPixels() - radiusPixels;
+        bottomYPixels = airObstacle.getBottomYPixels() + radiusPixels;
+
+        startXPixels             = golfBall.getPositionXPixels();
+        velocityXPixelsPerSecond = golfBall.getVelocityXPixelsPerSecond();
+
+        if (velocityXPixelsPerSecond == ZERO_HORIZONTAL_SPEED)
+        {
+            if (startXPixels < leftXPixels || startXPixels > rightXPixels)
             {
-                final double currentVelocityXPixelsPerSecond;
-                final double currentVelocityYPixelsPerSecond;
+                return NO_IMPACT_TIME_SECONDS;
+            }
+
+            entryTimeSeconds = LAUNCH_TIME_SECONDS;
+            exitTimeSeconds  = NO_IMPACT_TIME_SECONDS;
+        }
+        else
+        {
+            final double leftTimeSeconds;
+            final double rightTimeSeconds;
 
-                currentVelocityXPixelsPerSecond = golfBall.getVelocityXPixelsPerSecond();
-                currentVelocityYPixelsPerSecond = golfBall.getVelocityYPixelsPerSecond();
+            leftTimeSeconds  = (leftXPixels - startXPixels) / velocityXPixelsPerSecond;
+            rightTimeSeconds = (rightXPixels - startXPixels) / velocityXPixelsPerSecond;
 
-                // Decide which side we hit: top/bottom vs left/right.
-                final boolean hitTop;
-                final boolean hitBottom;
+            entryTimeSeconds = Math.max(LAUNCH_TIME_SECONDS, Math.min(leftTimeSeconds, rightTimeSeconds));
+            exitTimeSeconds  = Math.max(leftTimeSeconds, rightTimeSeconds);
+        }
 
-                hitTop =
-                    (ballCenterYPixels <= airObstacle.getTopYPixels())
-                    && (closestYPixels == airObstacle.getTopYPixels());
+        if (exitTimeSeconds < entryTimeSeconds)
+        {
+            return NO_IMPACT_TIME_SECONDS;
+        }
 
-                hitBottom =
-                    (ballCenterYPixels >= airObstacle.getBottomYPixels())
-                    && (closestYPixels == airObstacle.getBottomYPixels());
+        // Entry happens either through a side (at the x-entry time) or through
+        // the top or bottom (at a time the path crosses that height).
+        double firstTimeSeconds;
+
+        firstTimeSeconds = NO_IMPACT_TIME_SECONDS;
+        firstTimeSeconds = keepEarlierObstacleContact(golfBall, entryTimeSeconds,
+                                                      entryTimeSeconds, exitTimeSeconds,
+                                                      topYPixels, bottomYPixels, firstTimeSeconds);
+        firstTimeSeconds = keepEarlierObstacleContact(golfBall, computeAscentTimeAtHeight(golfBall, topYPixels),
+                                                      entryTimeSeconds, exitTimeSeconds,
+                                                      topYPixels, bottomYPixels, firstTimeSeconds);
+        firstTimeSeconds = keepEarlierObstacleContact(golfBall, computeDescentTimeAtHeight(golfBall, topYPixels),
+                                                      entryTimeSeconds, exitTimeSeconds,
+                                                      topYPixels, bottomYPixels, firstTimeSeconds);
+        firstTimeSeconds = keepEarlierObstacleContact(golfBall, computeAscentTimeAtHeight(golfBall, bottomYPixels),
+                                                      entryTimeSeconds, exitTimeSeconds,
+                                                      topYPixels, bottomYPixels, firstTimeSeconds);
+        firstTimeSeconds = keepEarlierObstacleContact(golfBall, computeDescentTimeAtHeight(golfBall, bottomYPixels),
+                                                      entryTimeSeconds, exitTimeSeconds,
+                                                      topYPixels, bottomYPixels, firstTimeSeconds);
+
+        return firstTimeSeconds;
+    }
 
-                if (hitTop || hitBottom)
-                {
-                    // Vertical collision (top or bottom of the block)
-                    // → flip vertical velocity, lightly damp horizontal.
-                    final double newVerticalVelocityPixelsPerSecond;
-                    final double newHorizontalVelocityPixelsPerSecond;
+    // Returns the candidate time if it is an earlier point inside the grown obstacle, else the current first time.
+    private static double keepEarlierObstacleContact(final GolfBall golfBall,
+                                                     final double candidateTimeSeconds,
+                                                     final double entryTimeSeconds,
+                                                     final double exitTimeSeconds,
+                                                     final double topYPixels,
+                                                     final double bottomYPixels,
+                                                     final double firstTimeSeconds)
+    {
+        if (Double.isNaN(candidateTimeSeconds)
+            || candidateTimeSeconds < entryTimeSeconds
+            || candidateTimeSeconds > exitTimeSeconds
+            || candidateTimeSeconds >= firstTimeSeconds)
+        {
+            return firstTimeSeconds;
+        }
+
+        final double candidateYPixels;
+
+        candidateYPixels = computeFlightPositionY(golfBall, candidateTimeSeconds);
+
+        if (candidateYPixels >= topYPixels - HEIGHT_TOLERANCE_PIXELS
+            && candidateYPixels <= bottomYPixels + HEIGHT_TOLERANCE_PIXELS)
+        {
+            return candidateTimeSeconds;
+        }
+
+        return firstTimeSeconds;
+    }
+
+    private static TrajectoryImpact solveGroundImpact(final GolfCourse golfCourse,
+                                                      final GolfBall golfBall)
+    {
+        final CourseData courseData;
+        final double startXPixels;
+        final double velocityXPixelsPerSecond;
+        final double radiusPixels;
+        final int tileStep;
+
+        courseData               = golfCourse.getCourseData();
+        startXPixels             = golfBall.getPositionXPixels();
+        velocityXPixelsPerSecond = golfBall.getVelocityXPixelsPerSecond();
+        radiusPixels             = golfBall.getRadiusPixels();
+
+        int tileIndex;
+
+        tileIndex = golfCourse.findTileIndexAtX(startXPixels);
+
+        if (tileIndex == NO_TILE_INDEX)
+        {
+            return createImpact(golfBall, TrajectoryImpactType.LEFT_COURSE, LAUNCH_TIME_SECONDS, null, null);
+        }
+
+        if (velocityXPixelsPerSecond < ZERO_HORIZONTAL_SPEED)
+        {
+            tileStep = BACKWARD_TILE_STEP;
+        }
+        else
+        {
+            tileStep = FORWARD_TILE_STEP;
+        }
+
+        double tileEntryTimeSeconds;
+
+        tileEntryTimeSeconds = LAUNCH_TIME_SECONDS;
 
-                    newVerticalVelocityPixelsPerSecond =
-                        -currentVelocityYPixelsPerSecond * AIR_OBSTACLE_VERTICAL_DAMPING_FACTOR;
+        while (tileIndex > NO_TILE_INDEX && tileIndex < courseData.getTileCount())
+        {
+            final double restingCenterYPixels;
+            final double tileExitTimeSeconds;
+            final double entryYPixels;
+
+            restingCenterYPixels = courseData.getGroundCenterYPixels(tileIndex) - radiusPixels;
+            entryYPixels         = computeFlightPositionY(golfBall, tileEntryTimeSeconds);
+
+            if (velocityXPixelsPerSecond == ZERO_HORIZONTAL_SPEED)
+            {
+                tileExitTimeSeconds = NO_IMPACT_TIME_SECONDS;
+            }
+            else if (tileStep == FORWARD_TILE_STEP)
+            {
+                tileExitTimeSeconds = (courseData.getTileEndXPixels(tileIndex) - startXPixels)
+                                      / velocityXPixelsPerSecond;
+            }
+            else
+            {
+                tileExitTimeSeconds = (courseData.getTileStartXPixels(tileIndex) - startXPixels)
+                                      / velocityXPixelsPerSecond;
+            }
+
+            final boolean launchedFromGround;
+
+            launchedFromGround = tileEntryTimeSeconds == LAUNCH_TIME_SECONDS
+                                 && golfBall.getVelocityYPixelsPerSecond() < ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND;
 
-                    newHorizontalVelocityPixelsPerSecond =
-                        currentVelocityXPixelsPerSecond * AIR_OBSTACLE_HORIZONTAL_RESTITUTION_FACTOR;
+            if (entryYPixels >= restingCenterYPixels && !launchedFromGround)
+            {
+                final TrajectoryImpactType impactType;
 
-                    golfBall.setVelocityYPixelsPerSecond(newVerticalVelocityPixelsPerSecond);
-                    golfBall.setVelocityXPixelsPerSecond(newHorizontalVelocityPixelsPerSecond);
+                if (tileEntryTimeSeconds == LAUNCH_TIME_SECONDS)
+                {
+                    impactType = TrajectoryImpactType.GROUND;
                 }
                 else
                 {
-                    // Side collision (left or right)
-                    // → flip horizontal velocity, lightly damp vertical.
-                    final double newHorizontalVelocityXPixelsPerSecond;
-                    final double newVerticalVelocityYPixelsPerSecond;
+                    impactType = TrajectoryImpactType.TILE_WALL;
+                }
 
-                    newHorizontalVelocityXPixelsPerSecond =
-                        -currentVelocityXPixelsPerSecond * AIR_OBSTACLE_HORIZONTAL_RESTITUTION_FACTOR;
+                return createImpact(golfBall, impactType, tileEntryTimeSeconds, courseData.getTile(tileIndex), null);
+            }
 
-                    newVerticalVelocityYPixelsPerSecond =
-                        currentVelocityYPixelsPerSecond * AIR_OBSTACLE_VERTICAL_DAMPING_FACTOR;
+            final double landingTimeSeconds;
 
-                    golfBall.setVelocityXPixelsPerSecond(newHorizontalVelocityXPixelsPerSecond);
-                    golfBall.setVelocityYPixelsPerSecond(newVerticalVelocityYPixelsPerSecond);
-                }
+            landingTimeSeconds = computeDescentTimeAtHeight(golfBall, restingCenterYPixels);
 
-                return true;
+            if (!Double.isNaN(landingTimeSeconds) && landingTimeSeconds < tileExitTimeSeconds)
+            {
+                return createImpact(golfBall,
+                                    TrajectoryImpactType.GROUND,
+                                    Math.max(tileEntryTimeSeconds, landingTimeSeconds),
+                                    courseData.getTile(tileIndex),
+                                    null);
             }
 
+            tileEntryTimeSeconds = tileExitTimeSeconds;
+            tileIndex += tileStep;
         }
 
-        return false;
+        return createImpact(golfBall, TrajectoryImpactType.LEFT_COURSE, tileEntryTimeSeconds, null, null);
+    }
+
+    private static TrajectoryImpact createImpact(final GolfBall golfBall,
+                                                 final TrajectoryImpactType impactType,
+                                                 final double timeSeconds,
+                                                 final TerrainTile terrainTile,
+                                                 final AirObstacle airObstacle)
+    {
+        return new TrajectoryImpact(impactType,
+                                    timeSeconds,
+                                    golfBall.getPositionXPixels()
+                                    + golfBall.getVelocityXPixelsPerSecond() * timeSeconds,
+                                    computeFlightPositionY(golfBall, timeSeconds),
+                                    golfBall.getVelocityXPixelsPerSecond(),
+                                    computeFlightVelocityY(golfBall, timeSeconds),
+                                    terrainTile,
+                                    airObstacle);
+    }
+
+    private static double getAscentGravity()
+    {
+        return GRAVITY_ACCELERATION_PIXELS_PER_SECOND_SQUARED * GRAVITY_MULTIPLIER_ASCENT;
+    }
+
+    private static double getDescentGravity()
+    {
+        return GRAVITY_ACCELERATION_PIXELS_PER_SECOND_SQUARED * GRAVITY_MULTIPLIER_DESCENT;
+    }
+
+    // Time at which the descent phase begins: the apex if rising, otherwise launch.
+    private static double computeDescentStartTime(final GolfBall golfBall)
+    {
+        final double velocityYPixelsPerSecond;
+
+        velocityYPixelsPerSecond = golfBall.getVelocityYPixelsPerSecond();
+
+        if (velocityYPixelsPerSecond < ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+        {
+            return -velocityYPixelsPerSecond / getAscentGravity();
+        }
+
+        return LAUNCH_TIME_SECONDS;
+    }
+
+    private static double computeFlightPositionY(final GolfBall golfBall,
+                                                 final double timeSeconds)
+    {
+        final double startYPixels;
+        final double velocityYPixelsPerSecond;
+        final double descentStartTimeSeconds;
+
+        startYPixels             = golfBall.getPositionYPixels();
+        velocityYPixelsPerSecond = golfBall.getVelocityYPixelsPerSecond();
+        descentStartTimeSeconds  = computeDescentStartTime(golfBall);
+
+        if (velocityYPixelsPerSecond < ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+        {
+            if (timeSeconds <= descentStartTimeSeconds)
+            {
+                return startYPixels
+                       + velocityYPixelsPerSecond * timeSeconds
+                       + HALF * getAscentGravity() * timeSeconds * timeSeconds;
+            }
+
+            final double apexYPixels;
+            final double descentTimeSeconds;
+
+            apexYPixels = startYPixels
+                          + velocityYPixelsPerSecond * descentStartTimeSeconds
+                          + HALF * getAscentGravity() * descentStartTimeSeconds * descentStartTimeSeconds;
+
+            descentTimeSeconds = timeSeconds - descentStartTimeSeconds;
+
+            return apexYPixels + HALF * getDescentGravity() * descentTimeSeconds * descentTimeSeconds;
+        }
+
+        return startYPixels
+               + velocityYPixelsPerSecond * timeSeconds
+               + HALF * getDescentGravity() * timeSeconds * timeSeconds;
+    }
+
+    private static double computeFlightVelocityY(final GolfBall golfBall,
+                                                 final double timeSeconds)
+    {
+        final double velocityYPixelsPerSecond;
+        final double descentStartTimeSeconds;
+
+        velocityYPixelsPerSecond = golfBall.getVelocityYPixelsPerSecond();
+        descentStartTimeSeconds  = computeDescentStartTime(golfBall);
+
+        if (velocityYPixelsPerSecond < ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+        {
+            if (timeSeconds <= descentStartTimeSeconds)
+            {
+                return velocityYPixelsPerSecond + getAscentGravity() * timeSeconds;
+            }
+
+            return getDescentGravity() * (timeSeconds - descentStartTimeSeconds);
+        }
+
+        return velocityYPixelsPerSecond + getDescentGravity() * timeSeconds;
+    }
+
+    // Rising-phase time at which the ball center reaches the height, or NaN if it never does while rising.
+    private static double computeAscentTimeAtHeight(final GolfBall golfBall,
+                                                    final double heightYPixels)
+    {
+        final double startYPixels;
+        final double velocityYPixelsPerSecond;
+        final double discriminant;
+
+        startYPixels             = golfBall.getPositionYPixels();
+        velocityYPixelsPerSecond = golfBall.getVelocityYPixelsPerSecond();
+
+        if (velocityYPixelsPerSecond >= ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND || heightYPixels > startYPixels)
+        {
+            return Double.NaN;
+        }
+
+        discriminant = velocityYPixelsPerSecond * velocityYPixelsPerSecond
+                       - QUADRATIC_TWO * getAscentGravity() * (startYPixels - heightYPixels);
+
+        if (discriminant < ZERO_VERTICAL_VELOCITY_PIXELS_PER_SECOND)
+        {
+            return Double.NaN;
+        }
+
+        return (-velocityYPixelsPerSecond - Math.sqrt(discriminant)) / getAscentGravity();
+    }
+
+    // Falling-phase time at which the ball center reaches the height, or NaN if the height is above the apex.
+    private static double computeDescentTimeAtHeight(final GolfBall golfBall,
+                                                     final double heightYPixels)
+    {
+        final double descentStartTimeSeconds;
+        final double descentStartYPixels;
+        final double descentStartVelocityYPixelsPerSecond;
+        final double descentGravity;
+
+        descentStartTimeSeconds              = computeDescentStartTime(golfBall);
+        descentStartYPixels                  = computeFlightPositionY(golfBall, descentStartTimeSeconds);
+        descentStartVelocityYPixelsPerSecond = computeFlightVelocityY(golfBall, descentStartTimeSeconds);
+        descentGravity                       = getDescentGravity();
+
+        if (heightYPixels < descentStartYPixels)
+        {
+            return Double.NaN;
+        }
+
+        return descentStartTimeSeconds
+               + (-descentStartVelocityYPixelsPerSecond
+                  + Math.sqrt(descentStartVelocityYPixelsPerSecond * descentStartVelocityYPixelsPerSecond
+                              + QUADRATIC_TWO * descentGravity * (heightYPixels - descentStartYPixels)))
+                 / descentGravity;
     }
 
     /**
@@ -366,4 +1800,35 @@ public final class ProjectilePhysics
     {
         return GRAVITY_ACCELERATION_PIXELS_PER_SECOND_SQUARED;
     }
+
+    // Collects the earliest obstacle contact among the obstacles an index query visits.
+    private static final class FirstAirObstacleSearch implements Consumer<AirObstacle>
+    {
+        private final GolfBall golfBall;
+
+        private AirObstacle firstAirObstacle;
+        private double      firstTimeSeconds;
+
+        private FirstAirObstacleSearch(final GolfBall golfBall,
+                                       final double groundImpactTimeSeconds)
+        {
+            this.golfBall         = golfBall;
+            this.firstAirObstacle = null;
+            this.firstTimeSeconds = groundImpactTimeSeconds;
+        }
+
+        @Override
+        public void accept(final AirObstacle airObstacle)
+        {
+            final double impactTimeSeconds;
+
+            impactTimeSeconds = computeAirObstacleImpactTime(golfBall, airObstacle);
+
+            if (impactTimeSeconds < firstTimeSeconds)
+            {
+                firstAirObstacle = airObstacle;
+                firstTimeSeconds = impactTimeSeconds;
+            }
+        }
+    }
 }
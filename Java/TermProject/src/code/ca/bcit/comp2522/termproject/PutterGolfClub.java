@@ -34,13 +34,15 @@ public final class PutterGolfClub extends AbstractGolfClub
     /**
      * Ensures the putter's shot distance never exceeds its maximum allowed distance.
      *
-     * @param rawDistancePixels the unadjusted computed distance in pixels
-     * @param shotContext       context describing power and terrain multipliers
+     * @param rawDistancePixels         the unadjusted computed distance in pixels
+     * @param powerPercentage           power percentage selected by the player
+     * @param terrainDistanceMultiplier multiplier that adjusts distance based on terrain
      * @return the capped shot distance in pixels
      */
     @Override
     protected double adjustDistanceForClub(final double rawDistancePixels,
-                                           final ShotContext shotContext)
+                                           final double powerPercentage,
+                                           final double terrainDistanceMultiplier)
     {
         final double cappedDistancePixels;
         cappedDistancePixels = Math.min(rawDistancePixels, MAXIMUM_PUTTER_DISTANCE_PIXELS);
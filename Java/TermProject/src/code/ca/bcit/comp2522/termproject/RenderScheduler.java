@@ -0,0 +1,111 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Decides when a frame loop needs to run, so an idle scene costs nothing.
+ * <p>
+ * The loop runs continuously only while something is animating, as
+ * reported by the supplied condition: a ball in flight, power charging or
+ * the camera catching up. Anything else that changes the picture, such as
+ * the aim following the mouse or a trajectory preview arriving, calls
+ * {@link #requestRender()} to get one more frame. Requests made between
+ * frames are all satisfied by the next one, so a burst of mouse moves
+ * still costs a single frame. After each frame the loop reports back
+ * through {@link #frameRendered()}, and if nothing is animating the loop
+ * is stopped until the next request.
+ * <p>
+ * Starting and stopping the loop are supplied as callbacks, so the
+ * scheduler does not depend on JavaFX. Not thread-safe; call from the
+ * thread that runs the loop.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class RenderScheduler
+{
+    private final Runnable        startLoop;
+    private final Runnable        stopLoop;
+    private final BooleanSupplier animating;
+
+    private boolean running;
+
+    /**
+     * Constructs a RenderScheduler with the loop stopped.
+     *
+     * @param startLoop callback that starts the frame loop
+     * @param stopLoop  callback that stops the frame loop
+     * @param animating condition that is true while frames must run back to back
+     */
+    public RenderScheduler(final Runnable startLoop,
+                           final Runnable stopLoop,
+                           final BooleanSupplier animating)
+    {
+        Objects.requireNonNull(startLoop, "startLoop must not be null");
+        Objects.requireNonNull(stopLoop, "stopLoop must not be null");
+        Objects.requireNonNull(animating, "animating must not be null");
+
+        this.startLoop = startLoop;
+        this.stopLoop  = stopLoop;
+        this.animating = animating;
+
+        running = false;
+    }
+
+    /**
+     * Asks for at least one more frame, starting the loop if it is idle.
+     * Also call this when an animation begins, such as charging or a shot,
+     * so the loop wakes up to run it.
+     */
+    public void requestRender()
+    {
+        if (!running)
+        {
+            running = true;
+            startLoop.run();
+        }
+    }
+
+    /**
+     * Reports that a frame was drawn, satisfying every earlier request.
+     * Stops the loop if nothing is animating.
+     *
+     * @return {@code true} if the loop was stopped
+     */
+    public boolean frameRendered()
+    {
+        if (!running || animating.getAsBoolean())
+        {
+            return false;
+        }
+
+        running = false;
+        stopLoop.run();
+
+        return true;
+    }
+
+    /**
+     * Stops the loop for good, for when the view is closed. Later requests
+     * start it again.
+     */
+    public void stop()
+    {
+        if (running)
+        {
+            running = false;
+            stopLoop.run();
+        }
+    }
+
+    /**
+     * Returns whether the loop is currently running.
+     *
+     * @return {@code true} while frames are being scheduled
+     */
+    public boolean isRunning()
+    {
+        return running;
+    }
+}
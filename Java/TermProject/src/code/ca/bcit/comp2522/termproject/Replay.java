@@ -0,0 +1,323 @@
+package ca.bcit.comp2522.termproject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A round read back from a replay log written by {@link ReplayRecorder}.
+ * <p>
+ * The whole file is read through one channel into a heap buffer and parsed
+ * in a single pass. A log cut short by a crash is still readable: a
+ * partial record at the end is ignored, and a stroke with no end record
+ * reports {@link ReplayStroke#UNKNOWN_END_STEP}. Use {@link ReplayPlayer}
+ * to run the strokes back through the physics.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class Replay
+{
+    private static final int  NO_KEYFRAMES              = 0;
+    private static final int  INITIAL_KEYFRAME_CAPACITY = 16;
+    private static final int  KEYFRAME_GROWTH_FACTOR    = 2;
+    private static final int  END_OF_STREAM             = -1;
+    private static final int  UNSIGNED_BYTE_MASK        = 0xFF;
+    private static final long MAXIMUM_REPLAY_BYTES      = Integer.MAX_VALUE;
+
+    private final ReplayHeader       replayHeader;
+    private final List<ReplayStroke> replayStrokes;
+
+    private Replay(final ReplayHeader replayHeader,
+                   final List<ReplayStroke> replayStrokes)
+    {
+        this.replayHeader  = replayHeader;
+        this.replayStrokes = replayStrokes;
+    }
+
+    /**
+     * Reads a replay log.
+     *
+     * @param replayPath file to read
+     * @return the parsed replay
+     * @throws IOException if the file cannot be read or is not a replay log
+     */
+    public static Replay read(final Path replayPath) throws IOException
+    {
+        final ByteBuffer replayBuffer;
+
+        try (final FileChannel replayChannel = FileChannel.open(replayPath, StandardOpenOption.READ))
+        {
+            final long replaySizeBytes;
+
+            replaySizeBytes = replayChannel.size();
+
+            if (replaySizeBytes > MAXIMUM_REPLAY_BYTES)
+            {
+                throw new IOException("Replay too large: " + replayPath);
+            }
+
+            replayBuffer = ByteBuffer.allocate((int) replaySizeBytes);
+
+            while (replayBuffer.hasRemaining() && replayChannel.read(replayBuffer) != END_OF_STREAM)
+            {
+                // Keep reading until the buffer is full or the file ends.
+            }
+        }
+
+        replayBuffer.flip();
+
+        return parse(replayBuffer, replayPath);
+    }
+
+    /**
+     * Returns the round and physics settings the replay was recorded with.
+     *
+     * @return replay header
+     */
+    public ReplayHeader getHeader()
+    {
+        return replayHeader;
+    }
+
+    /**
+     * Returns the number of recorded strokes.
+     *
+     * @return stroke count
+     */
+    public int getStrokeCount()
+    {
+        return replayStrokes.size();
+    }
+
+    /**
+     * Returns a recorded stroke.
+     *
+     * @param strokeIndex zero-based stroke index over the whole round
+     * @return the stroke
+     */
+    public ReplayStroke getStroke(final int strokeIndex)
+    {
+        return replayStrokes.get(strokeIndex);
+    }
+
+    private static Replay parse(final ByteBuffer replayBuffer,
+                                final Path replayPath) throws IOException
+    {
+        final ReplayHeader replayHeader;
+        final List<ReplayStroke> replayStrokes;
+        final ClubType[] clubTypes;
+
+        PendingStroke pendingStroke;
+
+        if (replayBuffer.remaining() < ReplayRecorder.HEADER_BYTES
+            || replayBuffer.getInt() != ReplayRecorder.MAGIC_NUMBER)
+        {
+            throw new IOException("Not a replay log: " + replayPath);
+        }
+
+        if (replayBuffer.getInt() != ReplayRecorder.FORMAT_VERSION)
+        {
+            throw new IOException("Unsupported replay version: " + replayPath);
+        }
+
+        replayHeader = new ReplayHeader(replayBuffer.getLong(),
+                                        replayBuffer.getInt(),
+                                        replayBuffer.getInt(),
+                                        replayBuffer.getDouble(),
+                                        replayBuffer.getDouble(),
+                                        replayBuffer.getDouble(),
+                                        replayBuffer.getDouble(),
+                                        replayBuffer.getDouble(),
+                                        replayBuffer.getInt());
+
+        replayStrokes = new ArrayList<>();
+        clubTypes     = ClubType.values();
+        pendingStroke = null;
+
+        while (replayBuffer.hasRemaining())
+        {
+            final byte recordType;
+            final int recordBytes;
+
+            recordType = replayBuffer.get(replayBuffer.position());
+
+            recordBytes = switch (recordType)
+            {
+                case ReplayRecorder.STROKE_RECORD -> ReplayRecorder.STROKE_BYTES;
+                case ReplayRecorder.KEYFRAME_RECORD -> ReplayRecorder.KEYFRAME_BYTES;
+                case ReplayRecorder.STROKE_END_RECORD -> ReplayRecorder.STROKE_END_BYTES;
+                default -> throw new IOException("Corrupt replay record at byte "
+                                                 + replayBuffer.position() + ": " + replayPath);
+            };
+
+            // A partial record at the end means recording stopped mid-write.
+            if (replayBuffer.remaining() < recordBytes)
+            {
+                break;
+            }
+
+            replayBuffer.get();
+
+            if (recordType == ReplayRecorder.STROKE_RECORD)
+            {
+                if (pendingStroke != null)
+                {
+                    replayStrokes.add(pendingStroke.build(ReplayStroke.UNKNOWN_END_STEP,
+                                                          pendingStroke.startXPixels,
+                                                          pendingStroke.startYPixels));
+                }
+
+                final int holeIndex;
+                final int clubOrdinal;
+
+                holeIndex   = replayBuffer.get() & UNSIGNED_BYTE_MASK;
+                clubOrdinal = replayBuffer.get() & UNSIGNED_BYTE_MASK;
+
+                if (clubOrdinal >= clubTypes.length)
+                {
+                    throw new IOException("Unknown club " + clubOrdinal + " in replay: " + replayPath);
+                }
+
+                pendingStroke = new PendingStroke(holeIndex,
+                                                  clubTypes[clubOrdinal],
+                                                  replayBuffer.getDouble(),
+                                                  replayBuffer.getDouble(),
+                                                  replayBuffer.getDouble(),
+                                                  replayBuffer.getDouble());
+            }
+            else if (recordType == ReplayRecorder.KEYFRAME_RECORD)
+            {
+                if (pendingStroke == null)
+                {
+                    throw new IOException("Keyframe outside a stroke: " + replayPath);
+                }
+
+                pendingStroke.addKeyframe(replayBuffer.getInt(),
+                                          replayBuffer.getDouble(),
+                                          replayBuffer.getDouble(),
+                                          replayBuffer.getDouble(),
+                                          replayBuffer.getDouble(),
+                                          replayBuffer.getDouble());
+            }
+            else
+            {
+                if (pendingStroke == null)
+                {
+                    throw new IOException("Stroke end outside a stroke: " + replayPath);
+                }
+
+                replayStrokes.add(pendingStroke.build(replayBuffer.getInt(),
+                                                      replayBuffer.getDouble(),
+                                                      replayBuffer.getDouble()));
+                pendingStroke = null;
+            }
+        }
+
+        if (pendingStroke != null)
+        {
+            replayStrokes.add(pendingStroke.build(ReplayStroke.UNKNOWN_END_STEP,
+                                                  pendingStroke.startXPixels,
+                                                  pendingStroke.startYPixels));
+        }
+
+        return new Replay(replayHeader, List.copyOf(replayStrokes));
+    }
+
+    private static final class PendingStroke
+    {
+        private final int      holeIndex;
+        private final ClubType clubType;
+        private final double   powerPercentage;
+        private final double   launchAngleDegrees;
+        private final double   startXPixels;
+        private final double   startYPixels;
+
+        private int[]    keyframeSteps;
+        private double[] keyframeXPixels;
+        private double[] keyframeYPixels;
+        private double[] keyframeVelocityXPixelsPerSecond;
+        private double[] keyframeVelocityYPixelsPerSecond;
+        private double[] keyframeCarriedStepSeconds;
+        private int      keyframeCount;
+
+        private PendingStroke(final int holeIndex,
+                              final ClubType clubType,
+                              final double powerPercentage,
+                              final double launchAngleDegrees,
+                              final double startXPixels,
+                              final double startYPixels)
+        {
+            this.holeIndex          = holeIndex;
+            this.clubType           = clubType;
+            this.powerPercentage    = powerPercentage;
+            this.launchAngleDegrees = launchAngleDegrees;
+            this.startXPixels       = startXPixels;
+            this.startYPixels       = startYPixels;
+
+            keyframeSteps                    = new int[INITIAL_KEYFRAME_CAPACITY];
+            keyframeXPixels                  = new double[INITIAL_KEYFRAME_CAPACITY];
+            keyframeYPixels                  = new double[INITIAL_KEYFRAME_CAPACITY];
+            keyframeVelocityXPixelsPerSecond = new double[INITIAL_KEYFRAME_CAPACITY];
+            keyframeVelocityYPixelsPerSecond = new double[INITIAL_KEYFRAME_CAPACITY];
+            keyframeCarriedStepSeconds       = new double[INITIAL_KEYFRAME_CAPACITY];
+            keyframeCount                    = NO_KEYFRAMES;
+        }
+
+        private void addKeyframe(final int stepIndex,
+                                 final double xPixels,
+                                 final double yPixels,
+                                 final double velocityXPixelsPerSecond,
+                                 final double velocityYPixelsPerSecond,
+                                 final double carriedStepSeconds)
+        {
+            if (keyframeCount == keyframeSteps.length)
+            {
+                final int grownCapacity;
+
+                grownCapacity = keyframeSteps.length * KEYFRAME_GROWTH_FACTOR;
+
+                keyframeSteps                    = Arrays.copyOf(keyframeSteps, grownCapacity);
+                keyframeXPixels                  = Arrays.copyOf(keyframeXPixels, grownCapacity);
+                keyframeYPixels                  = Arrays.copyOf(keyframeYPixels, grownCapacity);
+                keyframeVelocityXPixelsPerSecond = Arrays.copyOf(keyframeVelocityXPixelsPerSecond, grownCapacity);
+                keyframeVelocityYPixelsPerSecond = Arrays.copyOf(keyframeVelocityYPixelsPerSecond, grownCapacity);
+                keyframeCarriedStepSeconds       = Arrays.copyOf(keyframeCarriedStepSeconds, grownCapacity);
+            }
+
+            keyframeSteps[keyframeCount]                    = stepIndex;
+            keyframeXPixels[keyframeCount]                  = xPixels;
+            keyframeYPixels[keyframeCount]                  = yPixels;
+            keyframeVelocityXPixelsPerSecond[keyframeCount] = velocityXPixelsPerSecond;
+            keyframeVelocityYPixelsPerSecond[keyframeCount] = velocityYPixelsPerSecond;
+            keyframeCarriedStepSeconds[keyframeCount]       = carriedStepSeconds;
+            keyframeCount++;
+        }
+
+        private ReplayStroke build(final int endStepCount,
+                                   final double endXPixels,
+                                   final double endYPixels)
+        {
+            return new ReplayStroke(holeIndex,
+                                    clubType,
+                                    powerPercentage,
+                                    launchAngleDegrees,
+                                    startXPixels,
+                                    startYPixels,
+                                    Arrays.copyOf(keyframeSteps, keyframeCount),
+                                    Arrays.copyOf(keyframeXPixels, keyframeCount),
+                                    Arrays.copyOf(keyframeYPixels, keyframeCount),
+                                    Arrays.copyOf(keyframeVelocityXPixelsPerSecond, keyframeCount),
+                                    Arrays.copyOf(keyframeVelocityYPixelsPerSecond, keyframeCount),
+                                    Arrays.copyOf(keyframeCarriedStepSeconds, keyframeCount),
+                                    endStepCount,
+                                    endXPixels,
+                                    endYPixels);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Everything a replay needs besides its strokes: the round seed, the course
+ * generation settings, and the physics settings the round was played with.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ReplayHeader
+{
+    private static final int FIRST_HOLE_INDEX = 0;
+
+    private final long   roundSeed;
+    private final int    numberOfHoles;
+    private final int    numberOfTilesPerHole;
+    private final double tileWidthPixels;
+    private final double baseGroundCenterYPixels;
+    private final double maximumHeightOffsetPixels;
+    private final double ballRadiusPixels;
+    private final double stepSeconds;
+    private final int    keyframeIntervalSteps;
+
+    /**
+     * Constructs a ReplayHeader.
+     *
+     * @param roundSeed                 seed the round's holes were generated from
+     * @param numberOfHoles             number of holes in the round
+     * @param numberOfTilesPerHole      number of tiles in each hole
+     * @param tileWidthPixels           width of each tile in pixels
+     * @param baseGroundCenterYPixels   base ground y-position in pixels
+     * @param maximumHeightOffsetPixels maximum vertical ground offset in pixels
+     * @param ballRadiusPixels          ball radius in pixels
+     * @param stepSeconds               fixed physics step length in seconds
+     * @param keyframeIntervalSteps     physics steps between ball keyframes
+     */
+    public ReplayHeader(final long roundSeed,
+                        final int numberOfHoles,
+                        final int numberOfTilesPerHole,
+                        final double tileWidthPixels,
+                        final double baseGroundCenterYPixels,
+                        final double maximumHeightOffsetPixels,
+                        final double ballRadiusPixels,
+                        final double stepSeconds,
+                        final int keyframeIntervalSteps)
+    {
+        this.roundSeed                 = roundSeed;
+        this.numberOfHoles             = numberOfHoles;
+        this.numberOfTilesPerHole      = numberOfTilesPerHole;
+        this.tileWidthPixels           = tileWidthPixels;
+        this.baseGroundCenterYPixels   = baseGroundCenterYPixels;
+        this.maximumHeightOffsetPixels = maximumHeightOffsetPixels;
+        this.ballRadiusPixels          = ballRadiusPixels;
+        this.stepSeconds               = stepSeconds;
+        this.keyframeIntervalSteps     = keyframeIntervalSteps;
+    }
+
+    /**
+     * Loads the round's holes from the seed and course settings through a
+     * {@link CourseCache}, so a replay of a round still in the cache reuses
+     * its holes instead of generating them again. Misses are generated in
+     * parallel; the holes are the ones
+     * {@link CourseGenerator#generateRound} returns for the same seed.
+     *
+     * @param courseCache cache to load the holes through
+     * @return the holes, in playing order
+     */
+    public List<GolfCourse> generateCourses(final CourseCache courseCache)
+    {
+        final long[] holeSeeds;
+
+        Objects.requireNonNull(courseCache, "courseCache must not be null");
+
+        holeSeeds = CourseGenerator.deriveHoleSeeds(roundSeed, numberOfHoles);
+
+        return IntStream.range(FIRST_HOLE_INDEX, holeSeeds.length)
+                        .parallel()
+                        .mapToObj(holeIndex -> courseCache.getOrGenerate(holeSeeds[holeIndex],
+                                                                         numberOfTilesPerHole,
+                                                                         tileWidthPixels,
+                                                                         baseGroundCenterYPixels,
+                                                                         maximumHeightOffsetPixels)
+                                                          .getGolfCourse())
+                        .toList();
+    }
+
+    /**
+     * Returns the seed the round's holes were generated from.
+     *
+     * @return round seed
+     */
+    public long getRoundSeed()
+    {
+        return roundSeed;
+    }
+
+    /**
+     * Returns the number of holes in the round.
+     *
+     * @return hole count
+     */
+    public int getNumberOfHoles()
+    {
+        return numberOfHoles;
+    }
+
+    /**
+     * Returns the number of tiles in each hole.
+     *
+     * @return tiles per hole
+     */
+    public int getNumberOfTilesPerHole()
+    {
+        return numberOfTilesPerHole;
+    }
+
+    /**
+     * Returns the width of each tile.
+     *
+     * @return tile width in pixels
+     */
+    public double getTileWidthPixels()
+    {
+        return tileWidthPixels;
+    }
+
+    /**
+     * Returns the base ground y-position.
+     *
+     * @return base ground y-position in pixels
+     */
+    public double getBaseGroundCenterYPixels()
+    {
+        return baseGroundCenterYPixels;
+    }
+
+    /**
+     * Returns the maximum vertical ground offset.
+     *
+     * @return maximum height offset in pixels
+     */
+    public double getMaximumHeightOffsetPixels()
+    {
+        return maximumHeightOffsetPixels;
+    }
+
+    /**
+     * Returns the ball radius.
+     *
+     * @return ball radius in pixels
+     */
+    public double getBallRadiusPixels()
+    {
+        return ballRadiusPixels;
+    }
+
+    /**
+     * Returns the fixed physics step length the round was played with.
+     *
+     * @return step length in seconds
+     */
+    public double getStepSeconds()
+    {
+        return stepSeconds;
+    }
+
+    /**
+     * Returns the number of physics steps between ball keyframes.
+     *
+     * @return keyframe interval in steps
+     */
+    public int getKeyframeIntervalSteps()
+    {
+        return keyframeIntervalSteps;
+    }
+}
@@ -0,0 +1,319 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Runs a {@link Replay} back through the physics with no UI.
+ * <p>
+ * The round's holes are loaded from the recorded seed through a
+ * {@link CourseCache}, and every stroke
+ * is struck again from its recorded start with the same club range, launch
+ * and swept collision rules the game uses, at the recorded step length.
+ * {@link #seek(int, int)} restores the nearest keyframe at or before the
+ * requested step and simulates only the steps after it.
+ * {@link #findFirstDivergentStroke(double)} re-simulates a whole round and
+ * checks it against every keyframe, which is how a physics change is
+ * validated against stored rounds.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ReplayPlayer
+{
+    /**
+     * Returned by {@link #findFirstDivergentStroke(double)} when every stroke matches.
+     */
+    public static final int NO_DIVERGENCE = -1;
+
+    private static final double MAXIMUM_STROKE_SECONDS = 60.0;
+    private static final int    NO_STEPS               = 0;
+    private static final int    FIRST_KEYFRAME_INDEX   = 0;
+    private static final int    NO_KEYFRAME            = -1;
+
+    private final Replay                  replay;
+    private final Map<ClubType, GolfClub> golfClubsByType;
+    private final List<GolfCourse>        golfCourses;
+    private final double                  stepSeconds;
+    private final double                  ballRadiusPixels;
+    private final int                     maximumStepsPerStroke;
+
+    /**
+     * Constructs a ReplayPlayer, generating the replay's holes through a
+     * cache of its own.
+     *
+     * @param replay          replay to play back
+     * @param golfClubsByType clubs the round was played with
+     */
+    public ReplayPlayer(final Replay replay,
+                        final Map<ClubType, GolfClub> golfClubsByType)
+    {
+        this(replay, golfClubsByType, createCourseCache(golfClubsByType));
+    }
+
+    /**
+     * Constructs a ReplayPlayer, loading the replay's holes through a shared
+     * cache, such as {@link GolfRoundEngine#getCourseCache()}, so holes the
+     * game already generated are reused.
+     *
+     * @param replay          replay to play back
+     * @param golfClubsByType clubs the round was played with
+     * @param courseCache     cache to load the replay's holes through
+     */
+    public ReplayPlayer(final Replay replay,
+                        final Map<ClubType, GolfClub> golfClubsByType,
+                        final CourseCache courseCache)
+    {
+        Objects.requireNonNull(replay, "replay must not be null");
+        Objects.requireNonNull(golfClubsByType, "golfClubsByType must not be null");
+        Objects.requireNonNull(courseCache, "courseCache must not be null");
+
+        this.replay          = replay;
+        this.golfClubsByType = golfClubsByType;
+
+        golfCourses           = replay.getHeader().generateCourses(courseCache);
+        stepSeconds           = replay.getHeader().getStepSeconds();
+        ballRadiusPixels      = replay.getHeader().getBallRadiusPixels();
+        maximumStepsPerStroke = (int) Math.ceil(MAXIMUM_STROKE_SECONDS / stepSeconds);
+    }
+
+    /**
+     * Returns a hole of the replayed round.
+     *
+     * @param holeIndex zero-based hole index
+     * @return the hole
+     */
+    public GolfCourse getCourse(final int holeIndex)
+    {
+        return golfCourses.get(holeIndex);
+    }
+
+    /**
+     * Returns the ball as it was after a given number of physics steps of a
+     * stroke. Steps past the end of the stroke leave the ball where it ended.
+     *
+     * @param strokeIndex zero-based stroke index over the whole round
+     * @param stepIndex   number of steps into the stroke; 0 is just before the strike
+     * @return a new ball in the requested state
+     */
+    public GolfBall seek(final int strokeIndex,
+                         final int stepIndex)
+    {
+        final ReplayStroke replayStroke;
+        final GolfCourse golfCourse;
+        final GolfBall golfBall;
+        final int keyframeIndex;
+
+        int stepsRun;
+
+        replayStroke  = replay.getStroke(strokeIndex);
+        golfCourse    = golfCourses.get(replayStroke.getHoleIndex());
+        golfBall      = new GolfBall(replayStroke.getStartXPixels(), replayStroke.getStartYPixels(), ballRadiusPixels);
+        keyframeIndex = replayStroke.findKeyframeAtOrBefore(stepIndex);
+
+        if (stepIndex <= NO_STEPS)
+        {
+            return golfBall;
+        }
+
+        if (keyframeIndex == NO_KEYFRAME)
+        {
+            if (!strike(replayStroke, golfCourse, golfBall))
+            {
+                return golfBall;
+            }
+
+            stepsRun = NO_STEPS;
+        }
+        else
+        {
+            golfBall.moveTo(replayStroke.getKeyframeXPixels(keyframeIndex),
+                            replayStroke.getKeyframeYPixels(keyframeIndex));
+            golfBall.launch(replayStroke.getKeyframeVelocityXPixelsPerSecond(keyframeIndex),
+                            replayStroke.getKeyframeVelocityYPixelsPerSecond(keyframeIndex));
+            golfBall.setCarriedStepSeconds(replayStroke.getKeyframeCarriedStepSeconds(keyframeIndex));
+
+            stepsRun = replayStroke.getKeyframeStep(keyframeIndex);
+        }
+
+        while (stepsRun < stepIndex && stepsRun < maximumStepsPerStroke && advance(golfCourse, golfBall))
+        {
+            stepsRun++;
+        }
+
+        return golfBall;
+    }
+
+    /**
+     * Re-simulates one stroke from its start and checks it against its
+     * keyframes and recorded end.
+     *
+     * @param strokeIndex     zero-based stroke index over the whole round
+     * @param tolerancePixels largest position difference still counted as a match
+     * @return {@code true} if the stroke reproduces within the tolerance
+     */
+    public boolean verifyStroke(final int strokeIndex,
+                                final double tolerancePixels)
+    {
+        final ReplayStroke replayStroke;
+        final GolfCourse golfCourse;
+        final GolfBall golfBall;
+
+        int     stepsRun;
+        int     keyframeIndex;
+        boolean strokeContinues;
+
+        replayStroke = replay.getStroke(strokeIndex);
+        golfCourse   = golfCourses.get(replayStroke.getHoleIndex());
+        golfBall     = new GolfBall(replayStroke.getStartXPixels(), replayStroke.getStartYPixels(), ballRadiusPixels);
+
+        if (!strike(replayStroke, golfCourse, golfBall))
+        {
+            return false;
+        }
+
+        stepsRun        = NO_STEPS;
+        keyframeIndex   = FIRST_KEYFRAME_INDEX;
+        strokeContinues = true;
+
+        while (strokeContinues && stepsRun < maximumStepsPerStroke)
+        {
+            strokeContinues = advance(golfCourse, golfBall);
+            stepsRun++;
+
+            if (keyframeIndex < replayStroke.getKeyframeCount()
+                && replayStroke.getKeyframeStep(keyframeIndex) == stepsRun)
+            {
+                if (!isWithin(golfBall,
+                              replayStroke.getKeyframeXPixels(keyframeIndex),
+                              replayStroke.getKeyframeYPixels(keyframeIndex),
+                              tolerancePixels))
+                {
+                    return false;
+                }
+
+                keyframeIndex++;
+            }
+        }
+
+        // Keyframes left over mean the recorded ball kept moving after ours stopped.
+        if (keyframeIndex < replayStroke.getKeyframeCount())
+        {
+            return false;
+        }
+
+        if (replayStroke.getEndStepCount() == ReplayStroke.UNKNOWN_END_STEP)
+        {
+            return true;
+        }
+
+        return stepsRun == replayStroke.getEndStepCount()
+               && isWithin(golfBall, replayStroke.getEndXPixels(), replayStroke.getEndYPixels(), tolerancePixels);
+    }
+
+    /**
+     * Re-simulates every stroke of the round and returns the first one that
+     * no longer reproduces.
+     *
+     * @param tolerancePixels largest position difference still counted as a match
+     * @return index of the first divergent stroke, or {@link #NO_DIVERGENCE}
+     */
+    public int findFirstDivergentStroke(final double tolerancePixels)
+    {
+        for (int strokeIndex = 0; strokeIndex < replay.getStrokeCount(); strokeIndex++)
+        {
+            if (!verifyStroke(strokeIndex, tolerancePixels))
+            {
+                return strokeIndex;
+            }
+        }
+
+        return NO_DIVERGENCE;
+    }
+
+    // Mirrors performShot: the lie sets the terrain multiplier, then the club range is launched.
+    private boolean strike(final ReplayStroke replayStroke,
+                           final GolfCourse golfCourse,
+                           final GolfBall golfBall)
+    {
+        final GolfClub golfClub;
+        final double terrainDistanceMultiplier;
+
+        golfClub = golfClubsByType.get(replayStroke.getClubType());
+
+        if (golfClub == null)
+        {
+            return false;
+        }
+
+        terrainDistanceMultiplier = ProjectilePhysics.computeTerrainDistanceMultiplier(
+            golfCourse.getCourseData().getTerrainType(golfCourse.findTileIndexAtXOrLast(replayStroke.getStartXPixels())));
+
+        return ProjectilePhysics.launchBall(golfBall,
+                                            replayStroke.getClubType(),
+                                            golfClub.computeRangePixels(replayStroke.getPowerPercentage(),
+                                                                        terrainDistanceMultiplier),
+                                            replayStroke.getLaunchAngleDegrees());
+    }
+
+    // Mirrors updateMovingBall: one physics step, then the stroke ends at rest, off the course, or in water.
+    private boolean advance(final GolfCourse golfCourse,
+                            final GolfBall golfBall)
+    {
+        final double ballXPixels;
+        final CourseData courseData;
+        final int tileIndex;
+
+        ProjectilePhysics.updateBallWithSweptCollisions(golfBall, golfCourse, stepSeconds);
+
+        if (!golfBall.isMoving())
+        {
+            return false;
+        }
+
+        ballXPixels = golfBall.getPositionXPixels();
+
+        if (ballXPixels < golfCourse.getStartXPixels()
+            || ballXPixels > golfCourse.getEndXPixels())
+        {
+            golfBall.stop();
+            return false;
+        }
+
+        courseData = golfCourse.getCourseData();
+        tileIndex  = golfCourse.findTileIndexAtXOrLast(ballXPixels);
+
+        if (courseData.getTerrainType(tileIndex) == TerrainType.WATER
+            && golfBall.getPositionYPixels() + golfBall.getRadiusPixels() >= courseData.getGroundCenterYPixels(tileIndex))
+        {
+            golfBall.stop();
+            return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isWithin(final GolfBall golfBall,
+                                    final double expectedXPixels,
+                                    final double expectedYPixels,
+                                    final double tolerancePixels)
+    {
+        return Math.abs(golfBall.getPositionXPixels() - expectedXPixels) <= tolerancePixels
+               && Math.abs(golfBall.getPositionYPixels() - expectedYPixels) <= tolerancePixels;
+    }
+
+    // Scores holes the way the engine does, so both caches hold the same par.
+    private static CourseCache createCourseCache(final Map<ClubType, GolfClub> golfClubsByType)
+    {
+        final ShotEstimateCache shotEstimateCache;
+
+        Objects.requireNonNull(golfClubsByType, "golfClubsByType must not be null");
+
+        shotEstimateCache = new ShotEstimateCache(golfClubsByType);
+
+        return new CourseCache(generatedCourse -> generatedCourse.computePar(shotEstimateCache,
+                                                                             GolfRoundEngine.MAXIMUM_POWER_PERCENTAGE,
+                                                                             TerrainType.FAIRWAY));
+    }
+}
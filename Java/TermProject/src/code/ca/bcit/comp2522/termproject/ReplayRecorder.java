@@ -0,0 +1,275 @@
+package ca.bcit.comp2522.termproject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a round to a compact binary replay log.
+ * <p>
+ * The log starts with a {@link ReplayHeader}. It is followed by one record
+ * per stroke (hole, club, power, aim and starting position), a ball keyframe
+ * every {@link ReplayHeader#getKeyframeIntervalSteps()} physics steps while
+ * the ball is moving, and a record of where and after how many steps each
+ * stroke came to an end. Records go into a direct buffer, which is written
+ * to the file channel only when it fills up or the recorder is closed, so
+ * recording a physics step costs a counter update and, now and then, one
+ * 45-byte write into memory. A keyframe holds everything the next step
+ * depends on, including step time the ball carried over from a step that
+ * ran out of sweep contacts, so a player can resume from it exactly.
+ * <p>
+ * Recording is best-effort. If a write fails, the error is reported once on
+ * standard error and later records are dropped, so a full disk never
+ * interrupts play. {@link Replay} reads the log back.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ReplayRecorder implements AutoCloseable
+{
+    // Shared with Replay, which reads the same layout back.
+    static final int  MAGIC_NUMBER      = 0x47525031;
+    static final int  FORMAT_VERSION    = 4;
+    static final byte STROKE_RECORD     = 1;
+    static final byte KEYFRAME_RECORD   = 2;
+    static final byte STROKE_END_RECORD = 3;
+
+    static final int HEADER_BYTES     = Integer.BYTES * 5 + Long.BYTES + Double.BYTES * 5;
+    static final int STROKE_BYTES     = Byte.BYTES * 3 + Double.BYTES * 4;
+    static final int KEYFRAME_BYTES   = Byte.BYTES + Integer.BYTES + Double.BYTES * 5;
+    static final int STROKE_END_BYTES = Byte.BYTES + Integer.BYTES + Double.BYTES * 2;
+
+    private static final int BUFFER_CAPACITY_BYTES = 64 * 1024;
+    private static final int NO_STEPS              = 0;
+    private static final int STEP_REMAINDER_ZERO   = 0;
+
+    private final Path        replayPath;
+    private final FileChannel replayChannel;
+    private final ByteBuffer  recordBuffer;
+    private final int         keyframeIntervalSteps;
+
+    private boolean strokeInProgress;
+    private int     strokeStepCount;
+    private double  lastBallXPixels;
+    private double  lastBallYPixels;
+    private boolean failed;
+
+    private ReplayRecorder(final Path replayPath,
+                           final FileChannel replayChannel,
+                           final int keyframeIntervalSteps)
+    {
+        this.replayPath            = replayPath;
+        this.replayChannel         = replayChannel;
+        this.keyframeIntervalSteps = keyframeIntervalSteps;
+
+        recordBuffer     = ByteBuffer.allocateDirect(BUFFER_CAPACITY_BYTES);
+        strokeInProgress = false;
+        strokeStepCount  = NO_STEPS;
+        failed           = false;
+    }
+
+    /**
+     * Creates or replaces a replay file and writes its header.
+     *
+     * @param replayPath   file to write
+     * @param replayHeader round and physics settings to record
+     * @return a recorder positioned after the header
+     * @throws IOException if the file cannot be created
+     */
+    public static ReplayRecorder open(final Path replayPath,
+                                      final ReplayHeader replayHeader) throws IOException
+    {
+        final FileChannel replayChannel;
+        final ReplayRecorder replayRecorder;
+
+        if (replayHeader.getKeyframeIntervalSteps() <= NO_STEPS)
+        {
+            throw new IllegalArgumentException("keyframeIntervalSteps must be positive: "
+                                               + replayHeader.getKeyframeIntervalSteps());
+        }
+
+        if (replayPath.getParent() != null)
+        {
+            Files.createDirectories(replayPath.getParent());
+        }
+
+        replayChannel = FileChannel.open(replayPath,
+                                         StandardOpenOption.CREATE,
+                                         StandardOpenOption.TRUNCATE_EXISTING,
+                                         StandardOpenOption.WRITE);
+
+        replayRecorder = new ReplayRecorder(replayPath, replayChannel, replayHeader.getKeyframeIntervalSteps());
+
+        replayRecorder.recordBuffer.putInt(MAGIC_NUMBER)
+                                   .putInt(FORMAT_VERSION)
+                                   .putLong(replayHeader.getRoundSeed())
+                                   .putInt(replayHeader.getNumberOfHoles())
+                                   .putInt(replayHeader.getNumberOfTilesPerHole())
+                                   .putDouble(replayHeader.getTileWidthPixels())
+                                   .putDouble(replayHeader.getBaseGroundCenterYPixels())
+                                   .putDouble(replayHeader.getMaximumHeightOffsetPixels())
+                                   .putDouble(replayHeader.getBallRadiusPixels())
+                                   .putDouble(replayHeader.getStepSeconds())
+                                   .putInt(replayHeader.getKeyframeIntervalSteps());
+
+        return replayRecorder;
+    }
+
+    /**
+     * Records a stroke at the moment the ball is launched.
+     *
+     * @param holeIndex          zero-based hole being played
+     * @param clubType           club used
+     * @param powerPercentage    power percentage struck
+     * @param launchAngleDegrees aim angle in degrees
+     * @param startXPixels       ball center x-position before the strike
+     * @param startYPixels       ball center y-position before the strike
+     */
+    public void recordStroke(final int holeIndex,
+                             final ClubType clubType,
+                             final double powerPercentage,
+                             final double launchAngleDegrees,
+                             final double startXPixels,
+                             final double startYPixels)
+    {
+        if (!ensureRoom(STROKE_BYTES))
+        {
+            return;
+        }
+
+        recordBuffer.put(STROKE_RECORD)
+                    .put((byte) holeIndex)
+                    .put((byte) clubType.ordinal())
+                    .putDouble(powerPercentage)
+                    .putDouble(launchAngleDegrees)
+                    .putDouble(startXPixels)
+                    .putDouble(startYPixels);
+
+        strokeInProgress = true;
+        strokeStepCount  = NO_STEPS;
+        lastBallXPixels  = startXPixels;
+        lastBallYPixels  = startYPixels;
+    }
+
+    /**
+     * Records that one physics step of the current stroke has run. Call right
+     * after the physics update, before any hazard reset moves the ball.
+     *
+     * @param golfBall ball after the step
+     */
+    public void recordStep(final GolfBall golfBall)
+    {
+        if (!strokeInProgress)
+        {
+            return;
+        }
+
+        strokeStepCount++;
+        lastBallXPixels = golfBall.getPositionXPixels();
+        lastBallYPixels = golfBall.getPositionYPixels();
+
+        if (strokeStepCount % keyframeIntervalSteps != STEP_REMAINDER_ZERO
+            || !golfBall.isMoving()
+            || !ensureRoom(KEYFRAME_BYTES))
+        {
+            return;
+        }
+
+        recordBuffer.put(KEYFRAME_RECORD)
+                    .putInt(strokeStepCount)
+                    .putDouble(lastBallXPixels)
+                    .putDouble(lastBallYPixels)
+                    .putDouble(golfBall.getVelocityXPixelsPerSecond())
+                    .putDouble(golfBall.getVelocityYPixelsPerSecond())
+                    .putDouble(golfBall.getCarriedStepSeconds());
+    }
+
+    /**
+     * Records where the current stroke ended: the position after its last
+     * physics step, before any water or out-of-bounds reset.
+     */
+    public void recordStrokeEnd()
+    {
+        if (!strokeInProgress)
+        {
+            return;
+        }
+
+        strokeInProgress = false;
+
+        if (!ensureRoom(STROKE_END_BYTES))
+        {
+            return;
+        }
+
+        recordBuffer.put(STROKE_END_RECORD)
+                    .putInt(strokeStepCount)
+                    .putDouble(lastBallXPixels)
+                    .putDouble(lastBallYPixels);
+    }
+
+    /**
+     * Writes any buffered records and closes the file.
+     */
+    @Override
+    public void close()
+    {
+        flushBuffer();
+
+        try
+        {
+            replayChannel.close();
+        }
+        catch (final IOException ioException)
+        {
+            reportFailure(ioException);
+        }
+    }
+
+    private boolean ensureRoom(final int recordBytes)
+    {
+        if (recordBuffer.remaining() < recordBytes)
+        {
+            flushBuffer();
+        }
+
+        return !failed;
+    }
+
+    private void flushBuffer()
+    {
+        if (failed)
+        {
+            return;
+        }
+
+        recordBuffer.flip();
+
+        try
+        {
+            while (recordBuffer.hasRemaining())
+            {
+                replayChannel.write(recordBuffer);
+            }
+        }
+        catch (final IOException ioException)
+        {
+            reportFailure(ioException);
+        }
+
+        recordBuffer.clear();
+    }
+
+    private void reportFailure(final IOException ioException)
+    {
+        if (!failed)
+        {
+            System.err.println("Failed to write replay to " + replayPath + ": " + ioException.getMessage());
+        }
+
+        failed = true;
+    }
+}
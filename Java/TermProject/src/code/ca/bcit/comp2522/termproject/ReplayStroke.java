@@ -0,0 +1,283 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Arrays;
+
+/**
+ * One recorded stroke of a replay: how it was struck, the ball keyframes
+ * captured while it moved, and where it ended.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ReplayStroke
+{
+    /**
+     * End step count of a stroke whose end was never recorded, such as the
+     * last stroke of a round abandoned mid-flight.
+     */
+    public static final int UNKNOWN_END_STEP = -1;
+
+    private static final int NOT_FOUND_INSERTION_OFFSET = 2;
+    private static final int FIRST_KEYFRAME_INDEX       = 0;
+
+    private final int      holeIndex;
+    private final ClubType clubType;
+    private final double   powerPercentage;
+    private final double   launchAngleDegrees;
+    private final double   startXPixels;
+    private final double   startYPixels;
+
+    private final int[]    keyframeSteps;
+    private final double[] keyframeXPixels;
+    private final double[] keyframeYPixels;
+    private final double[] keyframeVelocityXPixelsPerSecond;
+    private final double[] keyframeVelocityYPixelsPerSecond;
+    private final double[] keyframeCarriedStepSeconds;
+
+    private final int    endStepCount;
+    private final double endXPixels;
+    private final double endYPixels;
+
+    /**
+     * Constructs a ReplayStroke. The keyframe arrays must be the same length,
+     * sorted by step, and are used as is, not copied.
+     *
+     * @param holeIndex                        zero-based hole the stroke was played on
+     * @param clubType                         club used
+     * @param powerPercentage                  power percentage struck
+     * @param launchAngleDegrees               aim angle in degrees
+     * @param startXPixels                     ball center x-position before the strike
+     * @param startYPixels                     ball center y-position before the strike
+     * @param keyframeSteps                    step index of each keyframe
+     * @param keyframeXPixels                  ball x-position at each keyframe
+     * @param keyframeYPixels                  ball y-position at each keyframe
+     * @param keyframeVelocityXPixelsPerSecond ball x-velocity at each keyframe
+     * @param keyframeVelocityYPixelsPerSecond ball y-velocity at each keyframe
+     * @param keyframeCarriedStepSeconds       step time the ball carried into the next step at each keyframe
+     * @param endStepCount                     steps the stroke ran, or {@link #UNKNOWN_END_STEP}
+     * @param endXPixels                       ball x-position after the last step
+     * @param endYPixels                       ball y-position after the last step
+     */
+    ReplayStroke(final int holeIndex,
+                 final ClubType clubType,
+                 final double powerPercentage,
+                 final double launchAngleDegrees,
+                 final double startXPixels,
+                 final double startYPixels,
+                 final int[] keyframeSteps,
+                 final double[] keyframeXPixels,
+                 final double[] keyframeYPixels,
+                 final double[] keyframeVelocityXPixelsPerSecond,
+                 final double[] keyframeVelocityYPixelsPerSecond,
+                 final double[] keyframeCarriedStepSeconds,
+                 final int endStepCount,
+                 final double endXPixels,
+                 final double endYPixels)
+    {
+        this.holeIndex                        = holeIndex;
+        this.clubType                         = clubType;
+        this.powerPercentage                  = powerPercentage;
+        this.launchAngleDegrees               = launchAngleDegrees;
+        this.startXPixels                     = startXPixels;
+        this.startYPixels                     = startYPixels;
+        this.keyframeSteps                    = keyframeSteps;
+        this.keyframeXPixels                  = keyframeXPixels;
+        this.keyframeYPixels                  = keyframeYPixels;
+        this.keyframeVelocityXPixelsPerSecond = keyframeVelocityXPixelsPerSecond;
+        this.keyframeVelocityYPixelsPerSecond = keyframeVelocityYPixelsPerSecond;
+        this.keyframeCarriedStepSeconds       = keyframeCarriedStepSeconds;
+        this.endStepCount                     = endStepCount;
+        this.endXPixels                       = endXPixels;
+        this.endYPixels                       = endYPixels;
+    }
+
+    /**
+     * Returns the index of the last keyframe at or before a step.
+     *
+     * @param stepIndex step to look up
+     * @return keyframe index, or -1 if every keyframe is later than the step
+     */
+    public int findKeyframeAtOrBefore(final int stepIndex)
+    {
+        final int searchResult;
+
+        searchResult = Arrays.binarySearch(keyframeSteps, stepIndex);
+
+        if (searchResult >= FIRST_KEYFRAME_INDEX)
+        {
+            return searchResult;
+        }
+
+        // binarySearch returns -(insertionPoint) - 1; the keyframe before the insertion point is the answer.
+        return -searchResult - NOT_FOUND_INSERTION_OFFSET;
+    }
+
+    /**
+     * Returns the zero-based hole the stroke was played on.
+     *
+     * @return hole index
+     */
+    public int getHoleIndex()
+    {
+        return holeIndex;
+    }
+
+    /**
+     * Returns the club used.
+     *
+     * @return club type
+     */
+    public ClubType getClubType()
+    {
+        return clubType;
+    }
+
+    /**
+     * Returns the power percentage struck.
+     *
+     * @return power percentage
+     */
+    public double getPowerPercentage()
+    {
+        return powerPercentage;
+    }
+
+    /**
+     * Returns the aim angle.
+     *
+     * @return launch angle in degrees
+     */
+    public double getLaunchAngleDegrees()
+    {
+        return launchAngleDegrees;
+    }
+
+    /**
+     * Returns the ball x-position before the strike.
+     *
+     * @return start x-position in pixels
+     */
+    public double getStartXPixels()
+    {
+        return startXPixels;
+    }
+
+    /**
+     * Returns the ball y-position before the strike.
+     *
+     * @return start y-position in pixels
+     */
+    public double getStartYPixels()
+    {
+        return startYPixels;
+    }
+
+    /**
+     * Returns the number of keyframes recorded for this stroke.
+     *
+     * @return keyframe count
+     */
+    public int getKeyframeCount()
+    {
+        return keyframeSteps.length;
+    }
+
+    /**
+     * Returns the step a keyframe was captured after.
+     *
+     * @param keyframeIndex index in {@code [0, getKeyframeCount())}
+     * @return step index
+     */
+    public int getKeyframeStep(final int keyframeIndex)
+    {
+        return keyframeSteps[keyframeIndex];
+    }
+
+    /**
+     * Returns the ball x-position at a keyframe.
+     *
+     * @param keyframeIndex index in {@code [0, getKeyframeCount())}
+     * @return x-position in pixels
+     */
+    public double getKeyframeXPixels(final int keyframeIndex)
+    {
+        return keyframeXPixels[keyframeIndex];
+    }
+
+    /**
+     * Returns the ball y-position at a keyframe.
+     *
+     * @param keyframeIndex index in {@code [0, getKeyframeCount())}
+     * @return y-position in pixels
+     */
+    public double getKeyframeYPixels(final int keyframeIndex)
+    {
+        return keyframeYPixels[keyframeIndex];
+    }
+
+    /**
+     * Returns the ball x-velocity at a keyframe.
+     *
+     * @param keyframeIndex index in {@code [0, getKeyframeCount())}
+     * @return x-velocity in pixels per second
+     */
+    public double getKeyframeVelocityXPixelsPerSecond(final int keyframeIndex)
+    {
+        return keyframeVelocityXPixelsPerSecond[keyframeIndex];
+    }
+
+    /**
+     * Returns the ball y-velocity at a keyframe.
+     *
+     * @param keyframeIndex index in {@code [0, getKeyframeCount())}
+     * @return y-velocity in pixels per second
+     */
+    public double getKeyframeVelocityYPixelsPerSecond(final int keyframeIndex)
+    {
+        return keyframeVelocityYPixelsPerSecond[keyframeIndex];
+    }
+
+    /**
+     * Returns the step time the ball carried into the next step at a
+     * keyframe: time a step could not spend within its sweep contact limit.
+     *
+     * @param keyframeIndex index in {@code [0, getKeyframeCount())}
+     * @return carried time in seconds, usually 0
+     */
+    public double getKeyframeCarriedStepSeconds(final int keyframeIndex)
+    {
+        return keyframeCarriedStepSeconds[keyframeIndex];
+    }
+
+    /**
+     * Returns how many physics steps the stroke ran.
+     *
+     * @return step count, or {@link #UNKNOWN_END_STEP} if the end was not recorded
+     */
+    public int getEndStepCount()
+    {
+        return endStepCount;
+    }
+
+    /**
+     * Returns the ball x-position after the stroke's last step.
+     *
+     * @return end x-position in pixels
+     */
+    public double getEndXPixels()
+    {
+        return endXPixels;
+    }
+
+    /**
+     * Returns the ball y-position after the stroke's last step.
+     *
+     * @return end y-position in pixels
+     */
+    public double getEndYPixels()
+    {
+        return endYPixels;
+    }
+}
@@ -351,13 +351,38 @@ public final class Score
      * @throws IOException if reading from the file fails
      */
     public static List<Score> readScoresFromFile(final String scoreFileName) throws IOException
+    {
+        final PersistenceEvent persistenceEvent;
+        persistenceEvent = new PersistenceEvent();
+        persistenceEvent.begin();
+
+        List<Score> scores;
+        scores = null;
+
+        try
+        {
+            scores = parseScoresFile(Paths.get(scoreFileName));
+            return scores;
+        }
+        finally
+        {
+            // Committed on failure too, so a read that threw still shows up with its duration.
+            if (persistenceEvent.shouldCommit())
+            {
+                persistenceEvent.operation   = PersistenceEvent.READ_SCORES;
+                persistenceEvent.path        = scoreFileName;
+                persistenceEvent.recordCount = scores == null ? ZERO_INT : scores.size();
+                persistenceEvent.succeeded   = scores != null;
+                persistenceEvent.commit();
+            }
+        }
+    }
+
+    private static List<Score> parseScoresFile(final Path path) throws IOException
     {
         final List<Score> scores;
         scores = new ArrayList<>();
 
-        final Path path;
-        path = Paths.get(scoreFileName);
-
         if (Files.notExists(path))
         {
             return scores;
@@ -0,0 +1,178 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Flat-ground prediction for one club, power, angle and lie: the club's
+ * expected range, the launch velocity that range maps to, and where and when
+ * the ball would come back down on level ground.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ShotEstimate
+{
+    private final ClubType    clubType;
+    private final double      powerPercentage;
+    private final double      launchAngleDegrees;
+    private final TerrainType terrainType;
+
+    private final double rangePixels;
+    private final double launchVelocityXPixelsPerSecond;
+    private final double launchVelocityYPixelsPerSecond;
+    private final double apexHeightPixels;
+    private final double landingOffsetXPixels;
+    private final double flightTimeSeconds;
+    private final boolean playable;
+
+    /**
+     * Constructs a ShotEstimate.
+     *
+     * @param clubType                       club used for the shot
+     * @param powerPercentage                power percentage used for the shot
+     * @param launchAngleDegrees             aim angle in degrees
+     * @param terrainType                    terrain the ball is played from
+     * @param rangePixels                    club's expected range in pixels
+     * @param launchVelocityXPixelsPerSecond horizontal launch velocity in pixels per second
+     * @param launchVelocityYPixelsPerSecond vertical launch velocity in pixels per second, negative is up
+     * @param apexHeightPixels               peak height above the launch point in pixels
+     * @param landingOffsetXPixels           horizontal distance to the flat-ground landing in pixels
+     * @param flightTimeSeconds              time from launch to the flat-ground landing in seconds
+     * @param playable                       whether the launch speed is high enough to hit the ball
+     */
+    public ShotEstimate(final ClubType clubType,
+                        final double powerPercentage,
+                        final double launchAngleDegrees,
+                        final TerrainType terrainType,
+                        final double rangePixels,
+                        final double launchVelocityXPixelsPerSecond,
+                        final double launchVelocityYPixelsPerSecond,
+                        final double apexHeightPixels,
+                        final double landingOffsetXPixels,
+                        final double flightTimeSeconds,
+                        final boolean playable)
+    {
+        this.clubType                       = clubType;
+        this.powerPercentage                = powerPercentage;
+        this.launchAngleDegrees             = launchAngleDegrees;
+        this.terrainType                    = terrainType;
+        this.rangePixels                    = rangePixels;
+        this.launchVelocityXPixelsPerSecond = launchVelocityXPixelsPerSecond;
+        this.launchVelocityYPixelsPerSecond = launchVelocityYPixelsPerSecond;
+        this.apexHeightPixels               = apexHeightPixels;
+        this.landingOffsetXPixels           = landingOffsetXPixels;
+        this.flightTimeSeconds              = flightTimeSeconds;
+        this.playable                       = playable;
+    }
+
+    /**
+     * Returns the club used for the shot.
+     *
+     * @return club type
+     */
+    public ClubType getClubType()
+    {
+        return clubType;
+    }
+
+    /**
+     * Returns the power percentage the estimate was computed for.
+     *
+     * @return power percentage
+     */
+    public double getPowerPercentage()
+    {
+        return powerPercentage;
+    }
+
+    /**
+     * Returns the aim angle the estimate was computed for.
+     *
+     * @return launch angle in degrees
+     */
+    public double getLaunchAngleDegrees()
+    {
+        return launchAngleDegrees;
+    }
+
+    /**
+     * Returns the terrain the ball is played from.
+     *
+     * @return terrain type
+     */
+    public TerrainType getTerrainType()
+    {
+        return terrainType;
+    }
+
+    /**
+     * Returns the club's expected range for this power and lie.
+     *
+     * @return range in pixels
+     */
+    public double getRangePixels()
+    {
+        return rangePixels;
+    }
+
+    /**
+     * Returns the horizontal launch velocity.
+     *
+     * @return velocity in pixels per second
+     */
+    public double getLaunchVelocityXPixelsPerSecond()
+    {
+        return launchVelocityXPixelsPerSecond;
+    }
+
+    /**
+     * Returns the vertical launch velocity; negative values point up.
+     *
+     * @return velocity in pixels per second
+     */
+    public double getLaunchVelocityYPixelsPerSecond()
+    {
+        return launchVelocityYPixelsPerSecond;
+    }
+
+    /**
+     * Returns the peak height of the flight above the launch point.
+     *
+     * @return apex height in pixels
+     */
+    public double getApexHeightPixels()
+    {
+        return apexHeightPixels;
+    }
+
+    /**
+     * Returns the horizontal distance from the launch point to where the ball
+     * comes back down on level ground.
+     *
+     * @return landing offset in pixels
+     */
+    public double getLandingOffsetXPixels()
+    {
+        return landingOffsetXPixels;
+    }
+
+    /**
+     * Returns the time from launch until the ball lands on level ground.
+     *
+     * @return flight time in seconds
+     */
+    public double getFlightTimeSeconds()
+    {
+        return flightTimeSeconds;
+    }
+
+    /**
+     * Returns whether the launch speed is high enough for the shot to be played.
+     *
+     * @return {@code true} if the ball can be launched
+     */
+    public boolean isPlayable()
+    {
+        return playable;
+    }
+}
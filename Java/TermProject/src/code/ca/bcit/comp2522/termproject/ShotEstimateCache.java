@@ -0,0 +1,240 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded, least-recently-used cache of {@link ShotEstimate}s.
+ * <p>
+ * Entries are keyed by club, terrain, power and launch angle. Power and angle
+ * are rounded to a tenth of a percent and a tenth of a degree, and the
+ * estimate is computed at the rounded values, so every request that falls in
+ * the same bucket sees exactly the same numbers. Par calculation, course
+ * generation and headless shot sweeps ask for the same few shots over and
+ * over, and those repeats become map lookups.
+ * <p>
+ * Safe to share across threads. Hit, miss and eviction counts are kept for
+ * tuning the capacity; the bookkeeping is the {@link BoundedLruCache} the
+ * engine's caches share.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ShotEstimateCache
+{
+    /**
+     * Capacity used when none is given; comfortably holds every club and lie
+     * for a full power and angle sweep at whole-number steps.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final double POWER_STEPS_PER_PERCENT = 10.0;
+    private static final double ANGLE_STEPS_PER_DEGREE  = 10.0;
+
+    private static final int  CLUB_KEY_SHIFT    = 56;
+    private static final int  TERRAIN_KEY_SHIFT = 48;
+    private static final int  POWER_KEY_SHIFT   = 24;
+    private static final long STEP_KEY_MASK     = 0xFF_FFFFL;
+
+    private final Map<ClubType, GolfClub>             golfClubsByType;
+    private final BoundedLruCache<Long, ShotEstimate> entries;
+
+    /**
+     * Constructs a ShotEstimateCache with the default capacity.
+     *
+     * @param golfClubsByType mapping of club types to clubs
+     */
+    public ShotEstimateCache(final Map<ClubType, GolfClub> golfClubsByType)
+    {
+        this(golfClubsByType, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a ShotEstimateCache.
+     *
+     * @param golfClubsByType mapping of club types to clubs
+     * @param capacity        maximum number of estimates kept before the least recently used is dropped
+     */
+    public ShotEstimateCache(final Map<ClubType, GolfClub> golfClubsByType,
+                             final int capacity)
+    {
+        Objects.requireNonNull(golfClubsByType, "golfClubsByType must not be null");
+
+        this.golfClubsByType = golfClubsByType;
+        this.entries         = new BoundedLruCache<>(capacity);
+    }
+
+    /**
+     * Returns the estimate for a shot, computing and caching it on a miss.
+     *
+     * @param clubType           club used for the shot
+     * @param powerPercentage    power percentage; rounded to a tenth of a percent
+     * @param launchAngleDegrees aim angle in degrees; rounded to a tenth of a degree
+     * @param terrainType        terrain the ball is played from
+     * @return the estimate, or {@code null} if no club of that type is available
+     */
+    public ShotEstimate lookup(final ClubType clubType,
+                               final double powerPercentage,
+                               final double launchAngleDegrees,
+                               final TerrainType terrainType)
+    {
+        final long powerSteps;
+        final long angleSteps;
+        final Long key;
+        final ShotEstimate cachedEstimate;
+        final ShotEstimate computedEstimate;
+
+        powerSteps = Math.round(powerPercentage * POWER_STEPS_PER_PERCENT);
+        angleSteps = Math.round(launchAngleDegrees * ANGLE_STEPS_PER_DEGREE);
+        key        = createKey(clubType, terrainType, powerSteps, angleSteps);
+
+        cachedEstimate = entries.get(key);
+
+        if (cachedEstimate != null)
+        {
+            return cachedEstimate;
+        }
+
+        computedEstimate = computeEstimate(clubType,
+                                           powerSteps / POWER_STEPS_PER_PERCENT,
+                                           angleSteps / ANGLE_STEPS_PER_DEGREE,
+                                           terrainType);
+
+        if (computedEstimate == null)
+        {
+            return null;
+        }
+
+        // Two threads may race on the same miss; both compute the same value.
+        entries.put(key, computedEstimate);
+
+        return computedEstimate;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return hit count
+     */
+    public long getHitCount()
+    {
+        return entries.getHitCount();
+    }
+
+    /**
+     * Returns the number of lookups that had to compute an estimate.
+     *
+     * @return miss count
+     */
+    public long getMissCount()
+    {
+        return entries.getMissCount();
+    }
+
+    /**
+     * Returns the number of estimates dropped to stay within capacity.
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount()
+    {
+        return entries.getEvictionCount();
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache.
+     *
+     * @return hit rate in {@code [0, 1]}, or 0 before any lookup
+     */
+    public double getHitRate()
+    {
+        return entries.getHitRate();
+    }
+
+    /**
+     * Returns the number of cached estimates.
+     *
+     * @return current entry count
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of cached estimates.
+     *
+     * @return capacity
+     */
+    public int getCapacity()
+    {
+        return entries.getCapacity();
+    }
+
+    /**
+     * Drops every cached estimate. Metrics are kept.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    private ShotEstimate computeEstimate(final ClubType clubType,
+                                         final double powerPercentage,
+                                         final double launchAngleDegrees,
+                                         final TerrainType terrainType)
+    {
+        final GolfClub golfClub;
+
+        golfClub = golfClubsByType.get(clubType);
+
+        if (golfClub == null)
+        {
+            return null;
+        }
+
+        final double rangePixels;
+        final double launchSpeedPixelsPerSecond;
+        final double launchAngleRadians;
+        final double launchVelocityXPixelsPerSecond;
+        final double launchVelocityYPixelsPerSecond;
+        final double flightTimeSeconds;
+        final boolean playable;
+
+        rangePixels = golfClub.computeRangePixels(powerPercentage,
+                                                  ProjectilePhysics.computeTerrainDistanceMultiplier(terrainType));
+
+        launchSpeedPixelsPerSecond = ProjectilePhysics.computeLaunchSpeed(clubType, rangePixels, launchAngleDegrees);
+        playable                   = ProjectilePhysics.isLaunchSpeedPlayable(launchSpeedPixelsPerSecond);
+
+        launchAngleRadians             = Math.toRadians(launchAngleDegrees);
+        launchVelocityXPixelsPerSecond = launchSpeedPixelsPerSecond * Math.cos(launchAngleRadians);
+        launchVelocityYPixelsPerSecond = ProjectilePhysics.computeLaunchVelocityY(clubType,
+                                                                                  launchSpeedPixelsPerSecond,
+                                                                                  launchAngleDegrees);
+        flightTimeSeconds = ProjectilePhysics.computeFlatGroundFlightTimeSeconds(launchVelocityYPixelsPerSecond);
+
+        return new ShotEstimate(clubType,
+                                powerPercentage,
+                                launchAngleDegrees,
+                                terrainType,
+                                rangePixels,
+                                launchVelocityXPixelsPerSecond,
+                                launchVelocityYPixelsPerSecond,
+                                ProjectilePhysics.computeApexHeightPixels(launchVelocityYPixelsPerSecond),
+                                launchVelocityXPixelsPerSecond * flightTimeSeconds,
+                                flightTimeSeconds,
+                                playable);
+    }
+
+    private static long createKey(final ClubType clubType,
+                                  final TerrainType terrainType,
+                                  final long powerSteps,
+                                  final long angleSteps)
+    {
+        return ((long) clubType.ordinal() << CLUB_KEY_SHIFT)
+               | ((long) terrainType.ordinal() << TERRAIN_KEY_SHIFT)
+               | ((powerSteps & STEP_KEY_MASK) << POWER_KEY_SHIFT)
+               | (angleSteps & STEP_KEY_MASK);
+    }
+}
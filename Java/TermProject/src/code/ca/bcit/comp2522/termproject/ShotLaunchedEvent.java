@@ -0,0 +1,51 @@
+package ca.bcit.comp2522.termproject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a shot that left the tee or lie.
+ * <p>
+ * Like every game event, it is off by default and switched on by the
+ * {@code golf.jfc} recording settings, for example with
+ * {@code -XX:StartFlightRecording:settings=default,settings=golf.jfc}.
+ * While off, emitting it costs one flag check. Fields are set directly,
+ * as Flight Recorder reads them reflectively.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+@Name("ca.bcit.comp2522.termproject.ShotLaunched")
+@Label("Shot Launched")
+@Category({"Golf", "Gameplay"})
+@Description("A shot was struck.")
+@StackTrace(false)
+@Enabled(false)
+final class ShotLaunchedEvent extends Event
+{
+    @Label("Hole")
+    int holeNumber;
+
+    @Label("Stroke")
+    int strokeNumber;
+
+    @Label("Club")
+    String clubType;
+
+    @Label("Power (%)")
+    double powerPercentage;
+
+    @Label("Launch Angle (degrees)")
+    double launchAngleDegrees;
+
+    @Label("Start X (pixels)")
+    double startXPixels;
+
+    @Label("Start Y (pixels)")
+    double startYPixels;
+}
@@ -0,0 +1,179 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Describes the result of one headless shot simulation: the inputs used,
+ * where the ball first touched the ground, where it came to rest, and how
+ * the shot ended.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ShotOutcome
+{
+    private final ClubType        clubType;
+    private final double          powerPercentage;
+    private final double          launchAngleDegrees;
+    private final ShotOutcomeType outcomeType;
+
+    private final double      landingXPixels;
+    private final TerrainType landingTerrainType;
+
+    private final double      finalXPixels;
+    private final double      finalYPixels;
+    private final TerrainType finalTerrainType;
+
+    private final int    airObstacleHitCount;
+    private final double flightTimeSeconds;
+
+    /**
+     * Constructs a ShotOutcome.
+     *
+     * @param clubType            club used for the shot
+     * @param powerPercentage     power percentage used for the shot
+     * @param launchAngleDegrees  aim angle in degrees
+     * @param outcomeType         how the shot ended
+     * @param landingXPixels      x-position of the first ground contact in pixels
+     * @param landingTerrainType  terrain at the first ground contact, or {@code null} if the ball never landed
+     * @param finalXPixels        x-position where the simulation ended in pixels
+     * @param finalYPixels        y-position where the simulation ended in pixels
+     * @param finalTerrainType    terrain under the ball when the simulation ended
+     * @param airObstacleHitCount number of air obstacle collisions during the shot
+     * @param flightTimeSeconds   simulated time from launch to the end of the shot
+     */
+    public ShotOutcome(final ClubType clubType,
+                       final double powerPercentage,
+                       final double launchAngleDegrees,
+                       final ShotOutcomeType outcomeType,
+                       final double landingXPixels,
+                       final TerrainType landingTerrainType,
+                       final double finalXPixels,
+                       final double finalYPixels,
+                       final TerrainType finalTerrainType,
+                       final int airObstacleHitCount,
+                       final double flightTimeSeconds)
+    {
+        this.clubType            = clubType;
+        this.powerPercentage     = powerPercentage;
+        this.launchAngleDegrees  = launchAngleDegrees;
+        this.outcomeType         = outcomeType;
+        this.landingXPixels      = landingXPixels;
+        this.landingTerrainType  = landingTerrainType;
+        this.finalXPixels        = finalXPixels;
+        this.finalYPixels        = finalYPixels;
+        this.finalTerrainType    = finalTerrainType;
+        this.airObstacleHitCount = airObstacleHitCount;
+        this.flightTimeSeconds   = flightTimeSeconds;
+    }
+
+    /**
+     * Returns the club used for the shot.
+     *
+     * @return club type
+     */
+    public ClubType getClubType()
+    {
+        return clubType;
+    }
+
+    /**
+     * Returns the power percentage used for the shot.
+     *
+     * @return power percentage
+     */
+    public double getPowerPercentage()
+    {
+        return powerPercentage;
+    }
+
+    /**
+     * Returns the aim angle used for the shot.
+     *
+     * @return launch angle in degrees
+     */
+    public double getLaunchAngleDegrees()
+    {
+        return launchAngleDegrees;
+    }
+
+    /**
+     * Returns how the shot ended.
+     *
+     * @return outcome type
+     */
+    public ShotOutcomeType getOutcomeType()
+    {
+        return outcomeType;
+    }
+
+    /**
+     * Returns the x-position where the ball first touched the ground.
+     *
+     * @return landing x-position in pixels
+     */
+    public double getLandingXPixels()
+    {
+        return landingXPixels;
+    }
+
+    /**
+     * Returns the terrain where the ball first touched the ground.
+     *
+     * @return landing terrain type, or {@code null} if the ball never landed
+     */
+    public TerrainType getLandingTerrainType()
+    {
+        return landingTerrainType;
+    }
+
+    /**
+     * Returns the x-position where the simulation ended.
+     *
+     * @return final x-position in pixels
+     */
+    public double getFinalXPixels()
+    {
+        return finalXPixels;
+    }
+
+    /**
+     * Returns the y-position where the simulation ended.
+     *
+     * @return final y-position in pixels
+     */
+    public double getFinalYPixels()
+    {
+        return finalYPixels;
+    }
+
+    /**
+     * Returns the terrain under the ball when the simulation ended.
+     *
+     * @return final terrain type
+     */
+    public TerrainType getFinalTerrainType()
+    {
+        return finalTerrainType;
+    }
+
+    /**
+     * Returns how many times the ball hit an air obstacle.
+     *
+     * @return air obstacle hit count
+     */
+    public int getAirObstacleHitCount()
+    {
+        return airObstacleHitCount;
+    }
+
+    /**
+     * Returns the simulated time from launch to the end of the shot.
+     *
+     * @return flight time in seconds
+     */
+    public double getFlightTimeSeconds()
+    {
+        return flightTimeSeconds;
+    }
+}
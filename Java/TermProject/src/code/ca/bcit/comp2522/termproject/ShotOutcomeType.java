@@ -0,0 +1,17 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Enumerates how a simulated shot ended.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public enum ShotOutcomeType
+{
+    STOPPED,
+    HOLED,
+    WATER,
+    OUT_OF_BOUNDS,
+    NOT_PLAYABLE,
+    TIMED_OUT
+}
@@ -0,0 +1,15 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Enumerates why a requested shot was not struck.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public enum ShotRejectionReason
+{
+    NO_POWER,
+    NO_CLUB,
+    PUTTER_POWER_TOO_LOW,
+    INVALID_AIM
+}
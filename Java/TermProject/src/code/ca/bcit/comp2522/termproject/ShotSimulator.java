@@ -0,0 +1,437 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Runs golf shots against a {@link GolfCourse} without any UI, using the same
+ * launch rules and {@link ProjectilePhysics} steps as the interactive game.
+ * <p>
+ * Single shots are simulated on the calling thread. Grid sweeps over power and
+ * angle fan out across all cores with a parallel stream; each shot uses its own
+ * {@link GolfBall}, and courses and clubs are never mutated, so shots are
+ * independent and the results come back in grid order.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class ShotSimulator
+{
+    private static final double STEP_SECONDS = ProjectilePhysics.SIMULATION_STEP_SECONDS;
+
+    private static final double MAXIMUM_SHOT_DURATION_SECONDS = 30.0;
+
+    private static final int MAXIMUM_STEPS_PER_SHOT =
+        (int) Math.ceil(MAXIMUM_SHOT_DURATION_SECONDS * ProjectilePhysics.SIMULATION_STEPS_PER_SECOND);
+
+    private static final double TEE_BALL_OFFSET_RATIO_FROM_TILE_START = 0.25;
+
+    private static final double NO_DISTANCE_MULTIPLIER = 0.0;
+    private static final double NO_FLIGHT_TIME_SECONDS = 0.0;
+    private static final int    NO_OBSTACLE_HITS       = 0;
+
+    private final ShotEstimateCache shotEstimateCache;
+    private final double            ballRadiusPixels;
+
+    /**
+     * Constructs a ShotSimulator with its own shot estimate cache.
+     *
+     * @param golfClubsByType  mapping of club types to clubs
+     * @param ballRadiusPixels radius of the simulated ball in pixels
+     */
+    public ShotSimulator(final Map<ClubType, GolfClub> golfClubsByType,
+                         final double ballRadiusPixels)
+    {
+        this(new ShotEstimateCache(golfClubsByType), ballRadiusPixels);
+    }
+
+    /**
+     * Constructs a ShotSimulator that shares a shot estimate cache.
+     *
+     * @param shotEstimateCache cache providing launch velocities for each club
+     * @param ballRadiusPixels  radius of the simulated ball in pixels
+     */
+    public ShotSimulator(final ShotEstimateCache shotEstimateCache,
+                         final double ballRadiusPixels)
+    {
+        Objects.requireNonNull(shotEstimateCache, "shotEstimateCache must not be null");
+
+        this.shotEstimateCache = shotEstimateCache;
+        this.ballRadiusPixels  = ballRadiusPixels;
+    }
+
+    /**
+     * Returns the cache this simulator reads launch velocities from.
+     *
+     * @return shot estimate cache
+     */
+    public ShotEstimateCache getShotEstimateCache()
+    {
+        return shotEstimateCache;
+    }
+
+    /**
+     * Returns the x-position where a hole's tee shot is played from.
+     * Matches the tee placement used by the interactive game.
+     *
+     * @param golfCourse course to inspect
+     * @return tee x-position in pixels
+     */
+    public static double computeTeeBallXPixels(final GolfCourse golfCourse)
+    {
+        final TerrainTile teeTerrainTile;
+
+        teeTerrainTile = findTeeTile(golfCourse);
+
+        return teeTerrainTile.getStartXPixels()
+               + (teeTerrainTile.getEndXPixels() - teeTerrainTile.getStartXPixels())
+                 * TEE_BALL_OFFSET_RATIO_FROM_TILE_START;
+    }
+
+    /**
+     * Returns the ball center y-position for a ball resting on the tee.
+     *
+     * @param golfCourse course to inspect
+     * @return tee y-position in pixels
+     */
+    public double computeTeeBallYPixels(final GolfCourse golfCourse)
+    {
+        return findTeeTile(golfCourse).getGroundCenterYPixels() - ballRadiusPixels;
+    }
+
+    /**
+     * Simulates one shot played from the tee.
+     *
+     * @param golfCourse         course to play on
+     * @param clubType           club to use
+     * @param powerPercentage    power percentage in {@code [0, 100]}
+     * @param launchAngleDegrees aim angle in degrees
+     * @return the simulated outcome
+     */
+    public ShotOutcome simulateShotFromTee(final GolfCourse golfCourse,
+                                           final ClubType clubType,
+                                           final double powerPercentage,
+                                           final double launchAngleDegrees)
+    {
+        return simulateShot(golfCourse,
+                            clubType,
+                            computeTeeBallXPixels(golfCourse),
+                            computeTeeBallYPixels(golfCourse),
+                            powerPercentage,
+                            launchAngleDegrees);
+    }
+
+    /**
+     * Simulates one shot from the given resting position until the ball stops,
+     * is holed, goes into water, leaves the course, or the time limit runs out.
+     * The launch comes from the shot estimate cache, so power and angle are
+     * resolved to its tenth-of-a-percent and tenth-of-a-degree grid.
+     *
+     * @param golfCourse         course to play on
+     * @param clubType           club to use
+     * @param startXPixels       ball center x-position in pixels
+     * @param startYPixels       ball center y-position in pixels
+     * @param powerPercentage    power percentage in {@code [0, 100]}
+     * @param launchAngleDegrees aim angle in degrees
+     * @return the simulated outcome
+     */
+    public ShotOutcome simulateShot(final GolfCourse golfCourse,
+                                    final ClubType clubType,
+                                    final double startXPixels,
+                                    final double startYPixels,
+                                    final double powerPercentage,
+                                    final double launchAngleDegrees)
+    {
+        final GolfBall golfBall;
+        final TerrainType startTerrainType;
+        final ShotEstimate shotEstimate;
+
+        golfBall         = new GolfBall(startXPixels, startYPixels, ballRadiusPixels);
+        startTerrainType = golfCourse.getCourseData().getTerrainType(golfCourse.findTileIndexAtXOrLast(startXPixels));
+
+        shotEstimate = shotEstimateCache.lookup(clubType,
+                                                powerPercentage,
+                                                launchAngleDegrees,
+                                                startTerrainType);
+
+        if (shotEstimate == null)
+        {
+            throw new IllegalArgumentException("No club configured for " + clubType);
+        }
+
+        if (ProjectilePhysics.computeTerrainDistanceMultiplier(startTerrainType) == NO_DISTANCE_MULTIPLIER
+            || !shotEstimate.isPlayable())
+        {
+            return notPlayable(clubType, powerPercentage, launchAngleDegrees, golfBall, startTerrainType);
+        }
+
+        golfBall.launch(shotEstimate.getLaunchVelocityXPixelsPerSecond(),
+                        shotEstimate.getLaunchVelocityYPixelsPerSecond());
+
+        return runUntilRest(golfCourse, clubType, powerPercentage, launchAngleDegrees, golfBall);
+    }
+
+    /**
+     * Reports whether a shot leaves the course before its flight first touches
+     * the ground, a tile wall or an air obstacle. The flight is solved in
+     * closed form with {@link ProjectilePhysics#solveFirstImpact}, so nothing
+     * is stepped; a search can use it to skip shots that are plainly out of
+     * bounds. The solver follows the continuous path, so a shot that only just
+     * clears the last tile may be judged differently by {@link #simulateShot}.
+     *
+     * @param golfCourse         course to play on
+     * @param clubType           club to use
+     * @param startXPixels       ball center x-position in pixels
+     * @param startYPixels       ball center y-position in pixels
+     * @param powerPercentage    power percentage in {@code [0, 100]}
+     * @param launchAngleDegrees aim angle in degrees
+     * @return {@code true} if the ball leaves the course in flight
+     */
+    public boolean leavesCourseInFlight(final GolfCourse golfCourse,
+                                        final ClubType clubType,
+                                        final double startXPixels,
+                                        final double startYPixels,
+                                        final double powerPercentage,
+                                        final double launchAngleDegrees)
+    {
+        final GolfBall golfBall;
+        final TerrainType startTerrainType;
+        final ShotEstimate shotEstimate;
+
+        golfBall         = new GolfBall(startXPixels, startYPixels, ballRadiusPixels);
+        startTerrainType = golfCourse.getCourseData().getTerrainType(golfCourse.findTileIndexAtXOrLast(startXPixels));
+
+        shotEstimate = shotEstimateCache.lookup(clubType,
+                                                powerPercentage,
+                                                launchAngleDegrees,
+                                                startTerrainType);
+
+        if (shotEstimate == null)
+        {
+            throw new IllegalArgumentException("No club configured for " + clubType);
+        }
+
+        if (ProjectilePhysics.computeTerrainDistanceMultiplier(startTerrainType) == NO_DISTANCE_MULTIPLIER
+            || !shotEstimate.isPlayable())
+        {
+            return false;
+        }
+
+        golfBall.launch(shotEstimate.getLaunchVelocityXPixelsPerSecond(),
+                        shotEstimate.getLaunchVelocityYPixelsPerSecond());
+
+        return ProjectilePhysics.solveFirstImpact(golfCourse, golfBall, true).getImpactType()
+               == TrajectoryImpactType.LEFT_COURSE;
+    }
+
+    /**
+     * Simulates every combination of the given powers and angles from one
+     * position, in parallel across all available cores.
+     * Results are ordered power-major: index {@code p * angles.length + a}.
+     *
+     * @param golfCourse          course to play on
+     * @param clubType            club to use
+     * @param startXPixels        ball center x-position in pixels
+     * @param startYPixels        ball center y-position in pixels
+     * @param powerPercentages    power percentages to try
+     * @param launchAnglesDegrees aim angles to try, in degrees
+     * @return outcomes for every power/angle pair
+     */
+    public List<ShotOutcome> sweep(final GolfCourse golfCourse,
+                                   final ClubType clubType,
+                                   final double startXPixels,
+                                   final double startYPixels,
+                                   final double[] powerPercentages,
+                                   final double[] launchAnglesDegrees)
+    {
+        final int angleCount;
+        final int shotCount;
+
+        angleCount = launchAnglesDegrees.length;
+        shotCount  = powerPercentages.length * angleCount;
+
+        return IntStream.range(0, shotCount)
+                        .parallel()
+                        .mapToObj(shotIndex -> simulateShot(golfCourse,
+                                                            clubType,
+                                                            startXPixels,
+                                                            startYPixels,
+                                                            powerPercentages[shotIndex / angleCount],
+                                                            launchAnglesDegrees[shotIndex % angleCount]))
+                        .toList();
+    }
+
+    /**
+     * Simulates every power/angle combination from the tee of a course.
+     *
+     * @param golfCourse          course to play on
+     * @param clubType            club to use
+     * @param powerPercentages    power percentages to try
+     * @param launchAnglesDegrees aim angles to try, in degrees
+     * @return outcomes for every power/angle pair, power-major
+     */
+    public List<ShotOutcome> sweepFromTee(final GolfCourse golfCourse,
+                                          final ClubType clubType,
+                                          final double[] powerPercentages,
+                                          final double[] launchAnglesDegrees)
+    {
+        return sweep(golfCourse,
+                     clubType,
+                     computeTeeBallXPixels(golfCourse),
+                     computeTeeBallYPixels(golfCourse),
+                     powerPercentages,
+                     launchAnglesDegrees);
+    }
+
+    private ShotOutcome runUntilRest(final GolfCourse golfCourse,
+                                     final ClubType clubType,
+                                     final double powerPercentage,
+                                     final double launchAngleDegrees,
+                                     final GolfBall golfBall)
+    {
+        final CourseData courseData;
+        final double firstTileStartXPixels;
+        final double lastTileEndXPixels;
+
+        double      landingXPixels;
+        TerrainType landingTerrainType;
+        int         airObstacleHitCount;
+
+        courseData            = golfCourse.getCourseData();
+        firstTileStartXPixels = golfCourse.getStartXPixels();
+        lastTileEndXPixels    = golfCourse.getEndXPixels();
+
+        landingXPixels      = golfBall.getPositionXPixels();
+        landingTerrainType  = null;
+        airObstacleHitCount = NO_OBSTACLE_HITS;
+
+        for (int stepIndex = 1; stepIndex <= MAXIMUM_STEPS_PER_SHOT; stepIndex++)
+        {
+            final int         contacts;
+            final boolean     stillMoving;
+            final double      ballXPixels;
+            final int         tileIndexAfterUpdate;
+            final TerrainType terrainTypeAfterUpdate;
+
+            contacts    = ProjectilePhysics.updateBallWithSweptCollisions(golfBall, golfCourse, STEP_SECONDS);
+            stillMoving = golfBall.isMoving();
+
+            // Read from the columns; building a TerrainTile here would allocate every step.
+            ballXPixels            = golfBall.getPositionXPixels();
+            tileIndexAfterUpdate   = golfCourse.findTileIndexAtXOrLast(ballXPixels);
+            terrainTypeAfterUpdate = courseData.getTerrainType(tileIndexAfterUpdate);
+
+            if (landingTerrainType == null
+                && (contacts & ProjectilePhysics.CONTACT_TERRAIN) != ProjectilePhysics.NO_CONTACT)
+            {
+                landingXPixels     = ballXPixels;
+                landingTerrainType = terrainTypeAfterUpdate;
+            }
+
+            if ((contacts & ProjectilePhysics.CONTACT_AIR_OBSTACLE) != ProjectilePhysics.NO_CONTACT)
+            {
+                airObstacleHitCount++;
+            }
+
+            final ShotOutcomeType outcomeType;
+
+            if (isInWater(golfBall, terrainTypeAfterUpdate, courseData.getGroundCenterYPixels(tileIndexAfterUpdate)))
+            {
+                outcomeType = ShotOutcomeType.WATER;
+            }
+            else if (ballXPixels > lastTileEndXPixels || ballXPixels < firstTileStartXPixels)
+            {
+                outcomeType = ShotOutcomeType.OUT_OF_BOUNDS;
+            }
+            else if (!stillMoving)
+            {
+                outcomeType = classifyRestingTerrain(terrainTypeAfterUpdate);
+            }
+            else
+            {
+                continue;
+            }
+
+            return new ShotOutcome(clubType,
+                                   powerPercentage,
+                                   launchAngleDegrees,
+                                   outcomeType,
+                                   landingXPixels,
+                                   landingTerrainType,
+                                   ballXPixels,
+                                   golfBall.getPositionYPixels(),
+                                   terrainTypeAfterUpdate,
+                                   airObstacleHitCount,
+                                   stepIndex * STEP_SECONDS);
+        }
+
+        return new ShotOutcome(clubType,
+                               powerPercentage,
+                               launchAngleDegrees,
+                               ShotOutcomeType.TIMED_OUT,
+                               landingXPixels,
+                               landingTerrainType,
+                               golfBall.getPositionXPixels(),
+                               golfBall.getPositionYPixels(),
+                               courseData.getTerrainType(golfCourse.findTileIndexAtXOrLast(golfBall.getPositionXPixels())),
+                               airObstacleHitCount,
+                               MAXIMUM_STEPS_PER_SHOT * STEP_SECONDS);
+    }
+
+    private static boolean isInWater(final GolfBall golfBall,
+                                     final TerrainType terrainType,
+                                     final double groundCenterYPixels)
+    {
+        if (terrainType != TerrainType.WATER)
+        {
+            return false;
+        }
+
+        return golfBall.getPositionYPixels() + golfBall.getRadiusPixels() >= groundCenterYPixels;
+    }
+
+    private static ShotOutcomeType classifyRestingTerrain(final TerrainType terrainType)
+    {
+        return switch (terrainType)
+        {
+            case HOLE, GREEN -> ShotOutcomeType.HOLED;
+            case WATER -> ShotOutcomeType.WATER;
+            default -> ShotOutcomeType.STOPPED;
+        };
+    }
+
+    private static ShotOutcome notPlayable(final ClubType clubType,
+                                           final double powerPercentage,
+                                           final double launchAngleDegrees,
+                                           final GolfBall golfBall,
+                                           final TerrainType startTerrainType)
+    {
+        return new ShotOutcome(clubType,
+                               powerPercentage,
+                               launchAngleDegrees,
+                               ShotOutcomeType.NOT_PLAYABLE,
+                               golfBall.getPositionXPixels(),
+                               null,
+                               golfBall.getPositionXPixels(),
+                               golfBall.getPositionYPixels(),
+                               startTerrainType,
+                               NO_OBSTACLE_HITS,
+                               NO_FLIGHT_TIME_SECONDS);
+    }
+
+    private static TerrainTile findTeeTile(final GolfCourse golfCourse)
+    {
+        final TerrainTile fairwayTile;
+
+        fairwayTile = TerrainTileUtils.findFirstTileOfType(golfCourse.getTerrainTiles(), TerrainType.FAIRWAY);
+
+        if (fairwayTile == null)
+        {
+            return golfCourse.getStartTile();
+        }
+
+        return fairwayTile;
+    }
+}
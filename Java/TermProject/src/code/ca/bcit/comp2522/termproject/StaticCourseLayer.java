@@ -0,0 +1,337 @@
+package ca.bcit.comp2522.termproject;
+
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+
+import java.util.Arrays;
+
+/**
+ * The parts of a hole that never change while it is played (sky, terrain,
+ * air obstacles and the flag), rendered once into images.
+ * <p>
+ * A hole can be much wider than the view, and a single image that wide may
+ * exceed the graphics card's texture limit. The layer is therefore cut into
+ * vertical strips of at most {@value #STRIP_WIDTH_PIXELS} pixels. Strips are
+ * painted the first time the viewport reaches them and kept for the rest of
+ * the hole. Each frame then copies only the one or two strips under the
+ * viewport, instead of repainting every tile and obstacle. Painting a strip
+ * visits only the tiles and obstacles inside it, found by binary search over
+ * the tiles and through the course's {@link AirObstacleIndex}, so the cost
+ * of both depends on what is visible, not on the length of the hole.
+ * <p>
+ * Strips are captured at the window's output scale, so on a HiDPI screen
+ * each logical pixel is backed by as many device pixels as the screen has,
+ * and they are placed on whole device pixels so the copy is never resampled.
+ * If the window moves to a screen with a different scale, the strips are
+ * painted again. The layer has to be built and drawn on the JavaFX
+ * application thread.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class StaticCourseLayer
+{
+    private static final double STRIP_WIDTH_PIXELS = 1024.0;
+
+    private static final double FLAG_HEIGHT_PIXELS                  = 40.0;
+    private static final double FLAG_TRIANGLE_OFFSET_X_PIXELS       = 18.0;
+    private static final double FLAG_TRIANGLE_OFFSET_Y_SMALL_PIXELS = 8.0;
+    private static final double FLAG_TRIANGLE_OFFSET_Y_LARGE_PIXELS = 16.0;
+    private static final double FLAG_POLE_X_MULTIPLIER              = 0.5;
+
+    private static final int    POLYGON_FILL      = 3;
+    private static final double ORIGIN            = 0.0;
+    private static final int    FIRST_STRIP_INDEX = 0;
+    private static final int    NEXT_STRIP_OFFSET = 1;
+
+    private static final double DEFAULT_OUTPUT_SCALE = 1.0;
+
+    private final GolfCourse      golfCourse;
+    private final double          heightPixels;
+    private final double          startXPixels;
+    private final WritableImage[] strips;
+    private final Canvas          stripCanvas;
+
+    private double stripOutputScaleX;
+    private double stripOutputScaleY;
+
+    /**
+     * Constructs the static layer of a hole. Strips are painted as they
+     * first come into view.
+     *
+     * @param golfCourse   hole to render
+     * @param heightPixels height of the view the layer is drawn into
+     */
+    public StaticCourseLayer(final GolfCourse golfCourse,
+                             final double heightPixels)
+    {
+        final double endXPixels;
+
+        this.golfCourse   = golfCourse;
+        this.heightPixels = heightPixels;
+
+        // Strips start at the course, not the world origin, so an endless course far from it stays small.
+        startXPixels = golfCourse.getStartXPixels();
+        endXPixels   = golfCourse.getEndXPixels();
+        strips       = new WritableImage[(int) Math.ceil((endXPixels - startXPixels) / STRIP_WIDTH_PIXELS)];
+
+        // One off-screen canvas is repainted and captured for every strip.
+        stripCanvas = new Canvas(STRIP_WIDTH_PIXELS, heightPixels);
+
+        stripOutputScaleX = DEFAULT_OUTPUT_SCALE;
+        stripOutputScaleY = DEFAULT_OUTPUT_SCALE;
+    }
+
+    /**
+     * Returns the hole this layer was rendered from.
+     *
+     * @return rendered hole
+     */
+    public GolfCourse getCourse()
+    {
+        return golfCourse;
+    }
+
+    /**
+     * Draws the part of the layer under a viewport. Anything outside the
+     * hole is filled with sky.
+     *
+     * @param graphicsContext     target to draw into
+     * @param cameraOffsetXPixels world x-position of the viewport's left edge
+     * @param viewWidthPixels     width of the viewport
+     */
+    public void draw(final GraphicsContext graphicsContext,
+                     final double cameraOffsetXPixels,
+                     final double viewWidthPixels)
+    {
+        final double layerEndXPixels;
+        final double viewEndXPixels;
+        final double outputScaleX;
+        final double outputScaleY;
+        final int firstStripIndex;
+        final int lastStripIndex;
+
+        layerEndXPixels = startXPixels + strips.length * STRIP_WIDTH_PIXELS;
+        viewEndXPixels  = cameraOffsetXPixels + viewWidthPixels;
+        outputScaleX    = findOutputScaleX(graphicsContext);
+        outputScaleY    = findOutputScaleY(graphicsContext);
+
+        // Strips captured for another screen would be blurry or oversized here.
+        if (outputScaleX != stripOutputScaleX || outputScaleY != stripOutputScaleY)
+        {
+            Arrays.fill(strips, null);
+            stripOutputScaleX = outputScaleX;
+            stripOutputScaleY = outputScaleY;
+        }
+
+        if (cameraOffsetXPixels < startXPixels || viewEndXPixels > layerEndXPixels)
+        {
+            graphicsContext.setFill(Color.SKYBLUE);
+            graphicsContext.fillRect(ORIGIN, ORIGIN, viewWidthPixels, heightPixels);
+        }
+
+        firstStripIndex = Math.max(FIRST_STRIP_INDEX,
+                                   (int) Math.floor((cameraOffsetXPixels - startXPixels) / STRIP_WIDTH_PIXELS));
+        lastStripIndex  = Math.min(strips.length - NEXT_STRIP_OFFSET,
+                                   (int) Math.floor((viewEndXPixels - startXPixels) / STRIP_WIDTH_PIXELS));
+
+        for (int stripIndex = firstStripIndex; stripIndex <= lastStripIndex; stripIndex++)
+        {
+            final double stripStartXPixels;
+            final double drawXPixels;
+
+            stripStartXPixels = startXPixels + stripIndex * STRIP_WIDTH_PIXELS;
+
+            if (strips[stripIndex] == null)
+            {
+                final SnapshotParameters snapshotParameters;
+
+                paintStrip(stripCanvas.getGraphicsContext2D(), stripStartXPixels);
+
+                snapshotParameters = new SnapshotParameters();
+                snapshotParameters.setTransform(Transform.scale(outputScaleX, outputScaleY));
+
+                strips[stripIndex] = stripCanvas.snapshot(snapshotParameters, null);
+            }
+
+            // The camera moves in fractions of a pixel; snap so the strip is copied, not resampled.
+            drawXPixels = Math.round((stripStartXPixels - cameraOffsetXPixels) * outputScaleX) / outputScaleX;
+
+            graphicsContext.drawImage(strips[stripIndex], drawXPixels, ORIGIN, STRIP_WIDTH_PIXELS, heightPixels);
+        }
+    }
+
+    // Device pixels per logical pixel of the window showing the target canvas.
+    private static double findOutputScaleX(final GraphicsContext graphicsContext)
+    {
+        final Scene scene;
+
+        scene = graphicsContext.getCanvas().getScene();
+
+        if (scene == null || scene.getWindow() == null)
+        {
+            return DEFAULT_OUTPUT_SCALE;
+        }
+
+        return scene.getWindow().getOutputScaleX();
+    }
+
+    private static double findOutputScaleY(final GraphicsContext graphicsContext)
+    {
+        final Scene scene;
+
+        scene = graphicsContext.getCanvas().getScene();
+
+        if (scene == null || scene.getWindow() == null)
+        {
+            return DEFAULT_OUTPUT_SCALE;
+        }
+
+        return scene.getWindow().getOutputScaleY();
+    }
+
+    private void paintStrip(final GraphicsContext stripGraphicsContext,
+                            final double stripStartXPixels)
+    {
+        final double stripEndXPixels;
+        final int firstTileIndex;
+        final int lastTileIndex;
+        final CourseData courseData;
+
+        stripEndXPixels = stripStartXPixels + STRIP_WIDTH_PIXELS;
+
+        stripGraphicsContext.setFill(Color.SKYBLUE);
+        stripGraphicsContext.fillRect(ORIGIN, ORIGIN, STRIP_WIDTH_PIXELS, heightPixels);
+
+        // The flag can hang past the right edge of its tile, so include tiles just left of the strip.
+        firstTileIndex = golfCourse.findFirstTileIndexEndingAfter(stripStartXPixels - FLAG_TRIANGLE_OFFSET_X_PIXELS);
+        lastTileIndex  = golfCourse.findLastTileIndexStartingBefore(stripEndXPixels);
+        courseData     = golfCourse.getCourseData();
+
+        for (int tileIndex = firstTileIndex; tileIndex <= lastTileIndex; tileIndex++)
+        {
+            drawTerrainTile(stripGraphicsContext, courseData, tileIndex, stripStartXPixels, heightPixels);
+        }
+
+        golfCourse.getAirObstacleIndex()
+                  .forEachOverlapping(stripStartXPixels,
+                                      stripEndXPixels,
+                                      airObstacle -> drawAirObstacle(stripGraphicsContext,
+                                                                     airObstacle,
+                                                                     stripStartXPixels));
+    }
+
+    private static void drawAirObstacle(final GraphicsContext graphicsContext,
+                                        final AirObstacle airObstacle,
+                                        final double stripStartXPixels)
+    {
+        final double screenLeftXPixels;
+        final double screenRightXPixels;
+
+        final double obstacleWidthPixels;
+        final double obstacleHeightPixels;
+
+        screenLeftXPixels  = airObstacle.getLeftXPixels() - stripStartXPixels;
+        screenRightXPixels = airObstacle.getRightXPixels() - stripStartXPixels;
+
+        obstacleWidthPixels  = screenRightXPixels - screenLeftXPixels;
+        obstacleHeightPixels = airObstacle.getBottomYPixels() - airObstacle.getTopYPixels();
+
+        graphicsContext.setFill(Color.DARKGRAY);
+        graphicsContext.fillRect(
+            screenLeftXPixels,
+            airObstacle.getTopYPixels(),
+            obstacleWidthPixels,
+            obstacleHeightPixels
+                                );
+
+        graphicsContext.setStroke(Color.BLACK);
+        graphicsContext.strokeRect(
+            screenLeftXPixels,
+            airObstacle.getTopYPixels(),
+            obstacleWidthPixels,
+            obstacleHeightPixels
+                                  );
+    }
+
+    private static void drawTerrainTile(final GraphicsContext graphicsContext,
+                                        final CourseData courseData,
+                                        final int tileIndex,
+                                        final double stripStartXPixels,
+                                        final double heightPixels)
+    {
+        final double screenStartXPixels;
+        final double screenEndXPixels;
+        final double tileWidthOnScreenPixels;
+
+        final double groundCenterYPixels;
+        final TerrainType terrainType;
+
+        screenStartXPixels      = courseData.getTileStartXPixels(tileIndex) - stripStartXPixels;
+        screenEndXPixels        = courseData.getTileEndXPixels(tileIndex) - stripStartXPixels;
+        tileWidthOnScreenPixels = screenEndXPixels - screenStartXPixels;
+        terrainType             = courseData.getTerrainType(tileIndex);
+
+        switch (terrainType)
+        {
+            case FAIRWAY -> graphicsContext.setFill(Color.GREEN);
+            case ROUGH -> graphicsContext.setFill(Color.DARKGREEN);
+            case SAND -> graphicsContext.setFill(Color.KHAKI);
+            case WATER -> graphicsContext.setFill(Color.DEEPSKYBLUE);
+            case HOLE, GREEN -> graphicsContext.setFill(Color.LAWNGREEN);
+            default -> graphicsContext.setFill(Color.GRAY);
+        }
+
+        groundCenterYPixels = courseData.getGroundCenterYPixels(tileIndex);
+
+        graphicsContext.fillRect(
+            screenStartXPixels,
+            groundCenterYPixels,
+            tileWidthOnScreenPixels,
+            heightPixels - groundCenterYPixels
+                                );
+
+        if (terrainType == TerrainType.HOLE)
+        {
+            drawFlag(graphicsContext, screenStartXPixels, tileWidthOnScreenPixels, groundCenterYPixels);
+        }
+    }
+
+    private static void drawFlag(final GraphicsContext graphicsContext,
+                                 final double screenStartXPixels,
+                                 final double tileWidthOnScreenPixels,
+                                 final double groundCenterYPixels)
+    {
+        final double flagPoleXPixels;
+        final double flagTopYPixels;
+
+        flagPoleXPixels = screenStartXPixels + tileWidthOnScreenPixels * FLAG_POLE_X_MULTIPLIER;
+        flagTopYPixels  = groundCenterYPixels - FLAG_HEIGHT_PIXELS;
+
+        graphicsContext.setStroke(Color.BLACK);
+        graphicsContext.strokeLine(flagPoleXPixels,
+                                   groundCenterYPixels,
+                                   flagPoleXPixels,
+                                   flagTopYPixels);
+
+        graphicsContext.setFill(Color.RED);
+        graphicsContext.fillPolygon(
+            new double[]{
+                flagPoleXPixels,
+                flagPoleXPixels + FLAG_TRIANGLE_OFFSET_X_PIXELS,
+                flagPoleXPixels
+            },
+            new double[]{
+                flagTopYPixels,
+                flagTopYPixels + FLAG_TRIANGLE_OFFSET_Y_SMALL_PIXELS,
+                flagTopYPixels + FLAG_TRIANGLE_OFFSET_Y_LARGE_PIXELS
+            },
+            POLYGON_FILL
+                                   );
+    }
+}
@@ -0,0 +1,100 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A fixed number of tiles of an endless course, with the air obstacles above
+ * them and the generator state the next chunk continues from.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class TerrainChunk
+{
+    private final long              chunkIndex;
+    private final CourseData        courseData;
+    private final List<AirObstacle> airObstacles;
+    private final double            endHeightOffsetPixels;
+    private final TerrainType       lastTerrainType;
+
+    /**
+     * Constructs a TerrainChunk.
+     *
+     * @param chunkIndex            zero-based position of the chunk along the course
+     * @param courseData            terrain of the chunk, in world coordinates
+     * @param airObstacles          air obstacles above the chunk
+     * @param endHeightOffsetPixels ground offset from the base height at the last tile
+     * @param lastTerrainType       terrain type of the last tile
+     */
+    public TerrainChunk(final long chunkIndex,
+                        final CourseData courseData,
+                        final List<AirObstacle> airObstacles,
+                        final double endHeightOffsetPixels,
+                        final TerrainType lastTerrainType)
+    {
+        Objects.requireNonNull(courseData, "courseData must not be null");
+        Objects.requireNonNull(airObstacles, "airObstacles must not be null");
+        Objects.requireNonNull(lastTerrainType, "lastTerrainType must not be null");
+
+        this.chunkIndex            = chunkIndex;
+        this.courseData            = courseData;
+        this.airObstacles          = List.copyOf(airObstacles);
+        this.endHeightOffsetPixels = endHeightOffsetPixels;
+        this.lastTerrainType       = lastTerrainType;
+    }
+
+    /**
+     * Returns the position of the chunk along the course.
+     *
+     * @return zero-based chunk index
+     */
+    public long getChunkIndex()
+    {
+        return chunkIndex;
+    }
+
+    /**
+     * Returns the terrain of the chunk.
+     *
+     * @return course data in world coordinates
+     */
+    public CourseData getCourseData()
+    {
+        return courseData;
+    }
+
+    /**
+     * Returns the air obstacles above the chunk.
+     *
+     * @return unmodifiable list of air obstacles
+     */
+    public List<AirObstacle> getAirObstacles()
+    {
+        return airObstacles;
+    }
+
+    /**
+     * Returns the ground offset from the base height at the last tile; the
+     * next chunk's ground carries on from it.
+     *
+     * @return height offset in pixels
+     */
+    public double getEndHeightOffsetPixels()
+    {
+        return endHeightOffsetPixels;
+    }
+
+    /**
+     * Returns the terrain type of the last tile; the next chunk may carry
+     * its run on.
+     *
+     * @return terrain type
+     */
+    public TerrainType getLastTerrainType()
+    {
+        return lastTerrainType;
+    }
+}
@@ -0,0 +1,135 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Describes the first contact along an analytically solved flight path:
+ * when and where it happens, what was hit, and the ball's velocity at that moment.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class TrajectoryImpact
+{
+    private final TrajectoryImpactType impactType;
+
+    private final double timeSeconds;
+    private final double positionXPixels;
+    private final double positionYPixels;
+    private final double velocityXPixelsPerSecond;
+    private final double velocityYPixelsPerSecond;
+
+    private final TerrainTile terrainTile;
+    private final AirObstacle airObstacle;
+
+    /**
+     * Constructs a TrajectoryImpact.
+     *
+     * @param impactType               what the ball ran into
+     * @param timeSeconds              time from launch to the contact in seconds
+     * @param positionXPixels          ball center x-position at contact in pixels
+     * @param positionYPixels          ball center y-position at contact in pixels
+     * @param velocityXPixelsPerSecond horizontal velocity at contact in px/s
+     * @param velocityYPixelsPerSecond vertical velocity at contact in px/s
+     * @param terrainTile              tile that was hit, or {@code null} if none
+     * @param airObstacle              obstacle that was hit, or {@code null} if none
+     */
+    public TrajectoryImpact(final TrajectoryImpactType impactType,
+                            final double timeSeconds,
+                            final double positionXPixels,
+                            final double positionYPixels,
+                            final double velocityXPixelsPerSecond,
+                            final double velocityYPixelsPerSecond,
+                            final TerrainTile terrainTile,
+                            final AirObstacle airObstacle)
+    {
+        this.impactType               = impactType;
+        this.timeSeconds              = timeSeconds;
+        this.positionXPixels          = positionXPixels;
+        this.positionYPixels          = positionYPixels;
+        this.velocityXPixelsPerSecond = velocityXPixelsPerSecond;
+        this.velocityYPixelsPerSecond = velocityYPixelsPerSecond;
+        this.terrainTile              = terrainTile;
+        this.airObstacle              = airObstacle;
+    }
+
+    /**
+     * Returns what the ball ran into.
+     *
+     * @return impact type
+     */
+    public TrajectoryImpactType getImpactType()
+    {
+        return impactType;
+    }
+
+    /**
+     * Returns the time from launch to the contact.
+     *
+     * @return time in seconds
+     */
+    public double getTimeSeconds()
+    {
+        return timeSeconds;
+    }
+
+    /**
+     * Returns the ball center x-position at contact.
+     *
+     * @return x-position in pixels
+     */
+    public double getPositionXPixels()
+    {
+        return positionXPixels;
+    }
+
+    /**
+     * Returns the ball center y-position at contact.
+     *
+     * @return y-position in pixels
+     */
+    public double getPositionYPixels()
+    {
+        return positionYPixels;
+    }
+
+    /**
+     * Returns the horizontal velocity at contact.
+     *
+     * @return horizontal velocity in px/s
+     */
+    public double getVelocityXPixelsPerSecond()
+    {
+        return velocityXPixelsPerSecond;
+    }
+
+    /**
+     * Returns the vertical velocity at contact.
+     *
+     * @return vertical velocity in px/s
+     */
+    public double getVelocityYPixelsPerSecond()
+    {
+        return velocityYPixelsPerSecond;
+    }
+
+    /**
+     * Returns the tile that was hit.
+     *
+     * @return terrain tile, or {@code null} for obstacle hits and exits
+     */
+    public TerrainTile getTerrainTile()
+    {
+        return terrainTile;
+    }
+
+    /**
+     * Returns the air obstacle that was hit.
+     *
+     * @return air obstacle, or {@code null} unless the impact type is {@link TrajectoryImpactType#AIR_OBSTACLE}
+     */
+    public AirObstacle getAirObstacle()
+    {
+        return airObstacle;
+    }
+}
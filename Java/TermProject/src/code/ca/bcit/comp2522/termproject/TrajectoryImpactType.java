@@ -0,0 +1,15 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Enumerates what a ball's flight path runs into first.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public enum TrajectoryImpactType
+{
+    GROUND,
+    TILE_WALL,
+    AIR_OBSTACLE,
+    LEFT_COURSE
+}
@@ -0,0 +1,88 @@
+package ca.bcit.comp2522.termproject;
+
+/**
+ * Predicted path of a shot, sampled as a sequence of dots in world pixels.
+ * The path follows the same swept physics as a real shot, so it includes
+ * bounces, rolls and air obstacle deflections.
+ *
+ * <p>This class is immutable: once created, its values cannot change.</p>
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class TrajectoryPreview
+{
+    private static final int FIRST_DOT_INDEX = 0;
+
+    private final double[] dotXPixels;
+    private final double[] dotYPixels;
+    private final int      dotCount;
+    private final long     clearGeneration;
+
+    /**
+     * Constructs a TrajectoryPreview. The arrays are used as is, not copied,
+     * and must not be changed afterwards.
+     *
+     * @param dotXPixels      x-positions of the dots in world pixels
+     * @param dotYPixels      y-positions of the dots in world pixels
+     * @param dotCount        number of dots in use at the front of the arrays
+     * @param clearGeneration previewer clear count at the time of the request
+     */
+    TrajectoryPreview(final double[] dotXPixels,
+                      final double[] dotYPixels,
+                      final int dotCount,
+                      final long clearGeneration)
+    {
+        this.dotXPixels      = dotXPixels;
+        this.dotYPixels      = dotYPixels;
+        this.dotCount        = dotCount;
+        this.clearGeneration = clearGeneration;
+    }
+
+    /**
+     * Returns the number of dots on the path.
+     *
+     * @return dot count
+     */
+    public int getDotCount()
+    {
+        return dotCount;
+    }
+
+    /**
+     * Returns the x-position of a dot.
+     *
+     * @param dotIndex index in {@code [0, getDotCount())}
+     * @return x-position in world pixels
+     */
+    public double getDotXPixels(final int dotIndex)
+    {
+        checkDotIndex(dotIndex);
+        return dotXPixels[dotIndex];
+    }
+
+    /**
+     * Returns the y-position of a dot.
+     *
+     * @param dotIndex index in {@code [0, getDotCount())}
+     * @return y-position in world pixels
+     */
+    public double getDotYPixels(final int dotIndex)
+    {
+        checkDotIndex(dotIndex);
+        return dotYPixels[dotIndex];
+    }
+
+    long getClearGeneration()
+    {
+        return clearGeneration;
+    }
+
+    private void checkDotIndex(final int dotIndex)
+    {
+        if (dotIndex < FIRST_DOT_INDEX || dotIndex >= dotCount)
+        {
+            throw new IndexOutOfBoundsException("dotIndex out of range: " + dotIndex);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package ca.bcit.comp2522.termproject;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Computes predicted shot paths on a background thread so aiming never
+ * stalls the render loop.
+ * <p>
+ * Requests are coalesced: only the newest pending request is kept, so a
+ * burst of mouse moves costs at most one simulation in flight plus one
+ * waiting. A simulation that is overtaken by a newer request stops early and
+ * is never published. The render loop reads the latest finished preview with
+ * {@link #getLatestPreview()}, which never blocks. A render loop that sleeps
+ * while idle can pass a callback to be told when a new preview is ready.
+ * <p>
+ * {@link #clear()} hides the current preview and discards any in flight,
+ * for when the ball is struck or the hole changes.
+ *
+ * @author Taylor
+ * @version 1.0
+ */
+public final class TrajectoryPreviewer
+{
+    private static final double STEP_SECONDS = ProjectilePhysics.SIMULATION_STEP_SECONDS;
+
+    private static final int MAXIMUM_PREVIEW_STEPS    = 1200;
+    private static final int STEPS_PER_DOT            = 6;
+    private static final int CANCELLATION_CHECK_STEPS = 32;
+    private static final int START_AND_END_DOTS       = 2;
+    private static final int MAXIMUM_DOTS             = MAXIMUM_PREVIEW_STEPS / STEPS_PER_DOT + START_AND_END_DOTS;
+    private static final int NO_DOTS                  = 0;
+    private static final int FIRST_STEP               = 1;
+    private static final int STEP_REMAINDER_ZERO      = 0;
+
+    private static final double NO_DISTANCE_MULTIPLIER = 0.0;
+
+    private static final String PREVIEW_THREAD_NAME = "trajectory-preview";
+
+    private static final Runnable NO_CALLBACK = () -> { };
+
+    private final double                          ballRadiusPixels;
+    private final ExecutorService                 previewExecutor;
+    private final AtomicReference<PreviewRequest> pendingRequest;
+    private final AtomicLong                      latestRequestSequence;
+    private final AtomicLong                      clearGeneration;
+    private final Runnable                        previewPublishedCallback;
+
+    private volatile TrajectoryPreview latestPreview;
+
+    /**
+     * Constructs a TrajectoryPreviewer with its own daemon worker thread.
+     *
+     * @param ballRadiusPixels radius of the ball being previewed, in pixels
+     */
+    public TrajectoryPreviewer(final double ballRadiusPixels)
+    {
+        this(ballRadiusPixels, NO_CALLBACK);
+    }
+
+    /**
+     * Constructs a TrajectoryPreviewer with its own daemon worker thread that
+     * runs a callback each time a new preview becomes the latest one. The
+     * callback runs on the worker thread and should only hand off work.
+     *
+     * @param ballRadiusPixels         radius of the ball being previewed, in pixels
+     * @param previewPublishedCallback run after each preview is published
+     */
+    public TrajectoryPreviewer(final double ballRadiusPixels,
+                               final Runnable previewPublishedCallback)
+    {
+        Objects.requireNonNull(previewPublishedCallback, "previewPublishedCallback must not be null");
+
+        this.ballRadiusPixels         = ballRadiusPixels;
+        this.previewPublishedCallback = previewPublishedCallback;
+
+        previewExecutor = Executors.newSingleThreadExecutor(runnable ->
+                                                            {
+                                                                final Thread previewThread;
+
+                                                                previewThread = new Thread(runnable, PREVIEW_THREAD_NAME);
+                                                                previewThread.setDaemon(true);
+
+                                                                return previewThread;
+                                                            });
+
+        pendingRequest        = new AtomicReference<>();
+        latestRequestSequence = new AtomicLong();
+        clearGeneration       = new AtomicLong();
+        latestPreview         = null;
+    }
+
+    /**
+     * Asks for the path of a shot. Returns at once; any older request that
+     * has not finished is superseded.
+     *
+     * @param golfCourse         course the ball is on
+     * @param golfClub           club to strike with
+     * @param clubType           type of that club
+     * @param ballXPixels        ball center x-position in pixels
+     * @param ballYPixels        ball center y-position in pixels
+     * @param powerPercentage    power percentage in {@code [0, 100]}
+     * @param launchAngleDegrees aim angle in degrees
+     */
+    public void requestPreview(final GolfCourse golfCourse,
+                               final GolfClub golfClub,
+                               final ClubType clubType,
+                               final double ballXPixels,
+                               final double ballYPixels,
+                               final double powerPercentage,
+                               final double launchAngleDegrees)
+    {
+        Objects.requireNonNull(golfCourse, "golfCourse must not be null");
+        Objects.requireNonNull(golfClub, "golfClub must not be null");
+        Objects.requireNonNull(clubType, "clubType must not be null");
+
+        final PreviewRequest newRequest;
+        final PreviewRequest supersededRequest;
+
+        newRequest = new PreviewRequest(golfCourse,
+                                        golfClub,
+                                        clubType,
+                                        ballXPixels,
+                                        ballYPixels,
+                                        powerPercentage,
+                                        launchAngleDegrees,
+                                        latestRequestSequence.incrementAndGet(),
+                                        clearGeneration.get());
+
+        supersededRequest = pendingRequest.getAndSet(newRequest);
+
+        // A request already waiting means a drain is already queued to pick up the newest one.
+        if (supersededRequest == null && !previewExecutor.isShutdown())
+        {
+            previewExecutor.execute(this::drainPendingRequest);
+        }
+    }
+
+    /**
+     * Returns the newest finished preview, or {@code null} if there is none
+     * since the last {@link #clear()}.
+     *
+     * @return latest preview, or {@code null}
+     */
+    public TrajectoryPreview getLatestPreview()
+    {
+        final TrajectoryPreview preview;
+
+        preview = latestPreview;
+
+        if (preview == null || preview.getClearGeneration() != clearGeneration.get())
+        {
+            return null;
+        }
+
+        return preview;
+    }
+
+    /**
+     * Hides the current preview and cancels any request still being computed.
+     */
+    public void clear()
+    {
+        clearGeneration.incrementAndGet();
+        latestRequestSequence.incrementAndGet();
+        pendingRequest.set(null);
+        latestPreview = null;
+    }
+
+    /**
+     * Stops the worker thread. Later requests are ignored.
+     */
+    public void shutdown()
+    {
+        previewExecutor.shutdownNow();
+    }
+
+    private void drainPendingRequest()
+    {
+        final PreviewRequest request;
+        final TrajectoryPreview preview;
+
+        request = pendingRequest.getAndSet(null);
+
+        if (request == null)
+        {
+            return;
+        }
+
+        preview = simulatePreview(request);
+
+        if (preview != null && request.sequence == latestRequestSequence.get())
+        {
+            latestPreview = preview;
+            previewPublishedCallback.run();
+        }
+    }
+
+    // Returns null if a newer request arrived while simulating.
+    private TrajectoryPreview simulatePreview(final PreviewRequest request)
+    {
+        final double[] dotXPixels;
+        final double[] dotYPixels;
+        final GolfBall golfBall;
+        final double   terrainDistanceMultiplier;
+        final double   firstTileStartXPixels;
+        final double   lastTileEndXPixels;
+
+        int dotCount;
+
+        dotXPixels = new double[MAXIMUM_DOTS];
+        dotYPixels = new double[MAXIMUM_DOTS];
+        golfBall   = new GolfBall(request.ballXPixels, request.ballYPixels, ballRadiusPixels);
+        dotCount   = NO_DOTS;
+
+        terrainDistanceMultiplier = ProjectilePhysics.computeTerrainDistanceMultiplier(
+            request.golfCourse.getCourseData().getTerrainType(request.golfCourse.findTileIndexAtXOrLast(request.ballXPixels)));
+
+        if (terrainDistanceMultiplier == NO_DISTANCE_MULTIPLIER
+            || !ProjectilePhysics.launchBall(golfBall,
+                                             request.clubType,
+                                             request.golfClub.computeRangePixels(request.powerPercentage,
+                                                                                 terrainDistanceMultiplier),
+                                             request.launchAngleDegrees))
+        {
+            return new TrajectoryPreview(dotXPixels, dotYPixels, NO_DOTS, request.clearGeneration);
+        }
+
+        firstTileStartXPixels = request.golfCourse.getStartXPixels();
+        lastTileEndXPixels    = request.golfCourse.getEndXPixels();
+
+        dotXPixels[dotCount] = golfBall.getPositionXPixels();
+        dotYPixels[dotCount] = golfBall.getPositionYPixels();
+        dotCount++;
+
+        for (int stepIndex = FIRST_STEP; stepIndex <= MAXIMUM_PREVIEW_STEPS; stepIndex++)
+        {
+            final double  ballXPixels;
+            final boolean finished;
+
+            if (stepIndex % CANCELLATION_CHECK_STEPS == STEP_REMAINDER_ZERO
+                && request.sequence != latestRequestSequence.get())
+            {
+                return null;
+            }
+
+            ProjectilePhysics.updateBallWithSweptCollisions(golfBall, request.golfCourse, STEP_SECONDS);
+
+            ballXPixels = golfBall.getPositionXPixels();
+            finished    = !golfBall.isMoving()
+                          || ballXPixels < firstTileStartXPixels
+                          || ballXPixels > lastTileEndXPixels
+                          || isInWater(golfBall, request.golfCourse, ballXPixels);
+
+            if (finished || stepIndex % STEPS_PER_DOT == STEP_REMAINDER_ZERO)
+            {
+                dotXPixels[dotCount] = ballXPixels;
+                dotYPixels[dotCount] = golfBall.getPositionYPixels();
+                dotCount++;
+            }
+
+            if (finished)
+            {
+                break;
+            }
+        }
+
+        return new TrajectoryPreview(dotXPixels, dotYPixels, dotCount, request.clearGeneration);
+    }
+
+    // Reads the tile's columns by index; building a TerrainTile here would allocate every step.
+    private static boolean isInWater(final GolfBall golfBall,
+                                     final GolfCourse golfCourse,
+                                     final double ballXPixels)
+    {
+        final CourseData courseData;
+        final int tileIndex;
+
+        courseData = golfCourse.getCourseData();
+        tileIndex  = golfCourse.findTileIndexAtXOrLast(ballXPixels);
+
+        if (courseData.getTerrainType(tileIndex) != TerrainType.WATER)
+        {
+            return false;
+        }
+
+        return golfBall.getPositionYPixels() + golfBall.getRadiusPixels() >= courseData.getGroundCenterYPixels(tileIndex);
+    }
+
+    private static final class PreviewRequest
+    {
+        private final GolfCourse golfCourse;
+        private final GolfClub   golfClub;
+        private final ClubType   clubType;
+        private final double     ballXPixels;
+        private final double     ballYPixels;
+        private final double     powerPercentage;
+        private final double     launchAngleDegrees;
+        private final long       sequence;
+        private final long       clearGeneration;
+
+        private PreviewRequest(final GolfCourse golfCourse,
+                               final GolfClub golfClub,
+                               final ClubType clubType,
+                               final double ballXPixels,
+                               final double ballYPixels,
+                               final double powerPercentage,
+                               final double launchAngleDegrees,
+                               final long sequence,
+                               final long clearGeneration)
+        {
+            this.golfCourse         = golfCourse;
+            this.golfClub           = golfClub;
+            this.clubType           = clubType;
+            this.ballXPixels        = ballXPixels;
+            this.ballYPixels        = ballYPixels;
+            this.powerPercentage    = powerPercentage;
+            this.launchAngleDegrees = launchAngleDegrees;
+            this.sequence           = sequence;
+            this.clearGeneration    = clearGeneration;
+        }
+    }
+}
@@ -34,13 +34,15 @@ public final class WedgeGolfClub extends AbstractGolfClub
     /**
      * Adjusts the computed raw shot distance by applying the wedge's distance multiplier.
      *
-     * @param rawDistancePixels the original computed distance in pixels
-     * @param shotContext       context describing power and terrain multipliers (unused)
+     * @param rawDistancePixels         the original computed distance in pixels
+     * @param powerPercentage           power percentage selected by the player (unused)
+     * @param terrainDistanceMultiplier multiplier that adjusts distance based on terrain (unused)
      * @return adjusted distance in pixels after applying the wedge multiplier
      */
     @Override
     protected double adjustDistanceForClub(final double rawDistancePixels,
-                                           final ShotContext shotContext)
+                                           final double powerPercentage,
+                                           final double terrainDistanceMultiplier)
     {
         final double adjustedDistancePixels;
         adjustedDistancePixels = rawDistancePixels * WEDGE_DISTANCE_MULTIPLIER;
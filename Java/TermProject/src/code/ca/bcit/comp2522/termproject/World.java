@@ -35,8 +35,9 @@ public final class World
     private static final char FIRST_COUNTRY_FILE_LETTER = 'a';
     private static final char LAST_COUNTRY_FILE_LETTER  = 'z';
 
-    private static final String COUNTRY_FILE_EXTENSION   = ".txt";
-    private static final String COUNTRY_FILE_PATH_PREFIX = "/";
+    private static final String COUNTRY_FILE_EXTENSION    = ".txt";
+    private static final String COUNTRY_FILE_PATH_PREFIX  = "/";
+    private static final String COUNTRY_FILES_DESCRIPTION = "classpath:/a.txt-z.txt";
 
     private static final String COUNTRY_LINE_SEPARATOR   = ":";
     private static final int    COUNTRY_LINE_SPLIT_LIMIT = 2;
@@ -56,8 +57,22 @@ public final class World
      */
     public World()
     {
+        final PersistenceEvent persistenceEvent;
+
+        persistenceEvent = new PersistenceEvent();
+        persistenceEvent.begin();
+
         countries = new HashMap<>();
         generateWorld();
+
+        if (persistenceEvent.shouldCommit())
+        {
+            persistenceEvent.operation   = PersistenceEvent.LOAD_WORLD;
+            persistenceEvent.path        = COUNTRY_FILES_DESCRIPTION;
+            persistenceEvent.recordCount = countries.size();
+            persistenceEvent.succeeded   = !countries.isEmpty();
+            persistenceEvent.commit();
+        }
     }
 
     /**
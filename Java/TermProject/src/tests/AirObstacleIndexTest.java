@@ -0,0 +1,183 @@
+import ca.bcit.comp2522.termproject.AirObstacle;
+import ca.bcit.comp2522.termproject.AirObstacleIndex;
+import ca.bcit.comp2522.termproject.GolfBall;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AirObstacleIndexTest
+{
+    private static final double BALL_RADIUS  = 6.0;
+    private static final double BUCKET_WIDTH = 40.0;
+    private static final double COURSE_WIDTH = 2000.0;
+    private static final int    OBSTACLES    = 80;
+    private static final int    PROBES       = 5_000;
+
+    @Test
+    void testFirstTouchingMatchesLinearScan()
+    {
+        SplittableRandom random = new SplittableRandom(11L);
+        List<AirObstacle> obstacles = randomObstacles(random);
+        AirObstacleIndex index = new AirObstacleIndex(obstacles, BUCKET_WIDTH);
+        int touching = 0;
+
+        for (int probe = 0; probe < PROBES; probe++)
+        {
+            double x = random.nextDouble(-50.0, COURSE_WIDTH + 50.0);
+            double y = random.nextDouble(0.0, 300.0);
+            AirObstacle expected = null;
+
+            for (AirObstacle obstacle : obstacles)
+            {
+                if (ProjectilePhysics.isTouchingAirObstacle(x, y, BALL_RADIUS, obstacle))
+                {
+                    expected = obstacle;
+                    break;
+                }
+            }
+
+            assertSame(expected, index.findFirstTouching(x, y, BALL_RADIUS), "x = " + x + ", y = " + y);
+
+            if (expected != null)
+            {
+                touching++;
+            }
+        }
+
+        assertTrue(touching > PROBES / 20, "Too few touching probes: " + touching);
+    }
+
+    @Test
+    void testCollisionResponsesMatchListOverload()
+    {
+        SplittableRandom random = new SplittableRandom(13L);
+        List<AirObstacle> obstacles = randomObstacles(random);
+        AirObstacleIndex index = new AirObstacleIndex(obstacles, BUCKET_WIDTH);
+
+        for (int probe = 0; probe < PROBES; probe++)
+        {
+            double x = random.nextDouble(0.0, COURSE_WIDTH);
+            double y = random.nextDouble(0.0, 300.0);
+            double vx = random.nextDouble(-400.0, 400.0);
+            double vy = random.nextDouble(-400.0, 400.0);
+
+            GolfBall listBall = new GolfBall(x, y, BALL_RADIUS);
+            GolfBall indexBall = new GolfBall(x, y, BALL_RADIUS);
+            listBall.launch(vx, vy);
+            indexBall.launch(vx, vy);
+
+            assertEquals(ProjectilePhysics.handleAirObstacleCollisions(listBall, obstacles),
+                         ProjectilePhysics.handleAirObstacleCollisions(indexBall, index));
+            assertEquals(listBall.getVelocityXPixelsPerSecond(), indexBall.getVelocityXPixelsPerSecond(), 0.0);
+            assertEquals(listBall.getVelocityYPixelsPerSecond(), indexBall.getVelocityYPixelsPerSecond(), 0.0);
+        }
+    }
+
+    @Test
+    void testForEachOverlappingVisitsEachMatchOnce()
+    {
+        SplittableRandom random = new SplittableRandom(17L);
+        List<AirObstacle> obstacles = randomObstacles(random);
+        AirObstacleIndex index = new AirObstacleIndex(obstacles, BUCKET_WIDTH);
+
+        for (int probe = 0; probe < 500; probe++)
+        {
+            double min = random.nextDouble(-100.0, COURSE_WIDTH);
+            double max = min + random.nextDouble(0.0, 600.0);
+            List<AirObstacle> expected = new ArrayList<>();
+            List<AirObstacle> visited = new ArrayList<>();
+
+            for (AirObstacle obstacle : obstacles)
+            {
+                if (obstacle.getRightXPixels() >= min && obstacle.getLeftXPixels() <= max)
+                {
+                    expected.add(obstacle);
+                }
+            }
+
+            index.forEachOverlapping(min, max, visited::add);
+
+            assertEquals(expected.size(), visited.size(), "range " + min + " to " + max);
+            assertTrue(visited.containsAll(expected));
+        }
+    }
+
+    @Test
+    void testFirstSweptContactMatchesLinearScan()
+    {
+        SplittableRandom random = new SplittableRandom(19L);
+        List<AirObstacle> obstacles = randomObstacles(random);
+        AirObstacleIndex index = new AirObstacleIndex(obstacles, BUCKET_WIDTH);
+        int contacts = 0;
+
+        for (int probe = 0; probe < PROBES; probe++)
+        {
+            double x = random.nextDouble(0.0, COURSE_WIDTH);
+            double y = random.nextDouble(0.0, 300.0);
+            double dx = random.nextDouble(-120.0, 120.0);
+            double dy = random.nextDouble(-120.0, 120.0);
+            AirObstacle expected = null;
+            double firstFraction = Double.POSITIVE_INFINITY;
+
+            // Strictly smaller only, so ties keep the earlier obstacle as the index promises
+            for (AirObstacle obstacle : obstacles)
+            {
+                double fraction = ProjectilePhysics.computeSweptAirObstacleContactFraction(x, y, dx, dy, BALL_RADIUS, obstacle);
+
+                if (fraction < firstFraction)
+                {
+                    expected = obstacle;
+                    firstFraction = fraction;
+                }
+            }
+
+            assertSame(expected, index.findFirstSweptContact(x, y, dx, dy, BALL_RADIUS));
+
+            if (expected != null)
+            {
+                contacts++;
+            }
+        }
+
+        assertTrue(contacts > PROBES / 20, "Too few swept contacts: " + contacts);
+    }
+
+    @Test
+    void testEmptyIndexFindsNothing()
+    {
+        AirObstacleIndex index = new AirObstacleIndex(List.of(), BUCKET_WIDTH);
+        List<AirObstacle> visited = new ArrayList<>();
+
+        index.forEachOverlapping(-1000.0, 1000.0, visited::add);
+
+        assertEquals(0, index.size());
+        assertNull(index.findFirstTouching(0.0, 0.0, BALL_RADIUS));
+        assertNull(index.findFirstSweptContact(0.0, 0.0, 100.0, 100.0, BALL_RADIUS));
+        assertTrue(visited.isEmpty());
+    }
+
+    // Overlapping obstacles of mixed widths, some spanning many buckets
+    private static List<AirObstacle> randomObstacles(final SplittableRandom random)
+    {
+        List<AirObstacle> obstacles = new ArrayList<>();
+
+        for (int i = 0; i < OBSTACLES; i++)
+        {
+            double left = random.nextDouble(0.0, COURSE_WIDTH);
+            double width = i % 10 == 0 ? random.nextDouble(100.0, 300.0) : random.nextDouble(4.0, 50.0);
+            double top = random.nextDouble(0.0, 260.0);
+
+            obstacles.add(new AirObstacle(left, left + width, top, top + random.nextDouble(5.0, 40.0)));
+        }
+
+        return obstacles;
+    }
+}
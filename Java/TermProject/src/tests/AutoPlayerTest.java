@@ -0,0 +1,107 @@
+import ca.bcit.comp2522.termproject.AutoPlayer;
+import ca.bcit.comp2522.termproject.ClubType;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.ShotOutcome;
+import ca.bcit.comp2522.termproject.ShotOutcomeType;
+import ca.bcit.comp2522.termproject.ShotSimulator;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutoPlayerTest
+{
+    private static final double GROUND_Y    = TestCourses.GROUND_Y;
+    private static final double BALL_RADIUS = 6.0;
+    private static final double TEE_X       = 10.0;
+    private static final double TEE_Y       = GROUND_Y - BALL_RADIUS;
+
+    // Two putter lines plus sixteen angles for each of the other two clubs, twenty powers each
+    private static final int FULL_SEARCH_SHOTS = (2 + 2 * 16) * 20;
+
+    // Long enough that a search never runs out of time on these small courses
+    private static final long GENEROUS_BUDGET_MILLIS = 60_000L;
+
+    private final ShotSimulator simulator = new ShotSimulator(DefaultGolfClubs.create(), BALL_RADIUS);
+
+    @Test
+    void testLinesStopOnceShotsLeaveTheCourse()
+    {
+        // Six tiles: most lines go out of bounds after a few powers
+        GolfCourse course = TestCourses.flatCourse(6, 4);
+        AutoPlayer bot = new AutoPlayer(simulator, GENEROUS_BUDGET_MILLIS);
+
+        ShotOutcome chosen = bot.chooseShot(course, TEE_X, TEE_Y);
+
+        assertNotEquals(ShotOutcomeType.OUT_OF_BOUNDS, chosen.getOutcomeType());
+        assertTrue(bot.getSimulatedShotCount() < FULL_SEARCH_SHOTS / 2,
+                   "Pruning should skip most of the grid: " + bot.getSimulatedShotCount());
+    }
+
+    @Test
+    void testSearchStopsOnceAShotHolesOut()
+    {
+        // The cup is within a short pitch, or out of reach of every club
+        GolfCourse nearCup = TestCourses.flatCourse(200, 6);
+        GolfCourse farCup = TestCourses.flatCourse(200, 190);
+        AutoPlayer nearBot = new AutoPlayer(simulator, GENEROUS_BUDGET_MILLIS);
+        AutoPlayer farBot = new AutoPlayer(simulator, GENEROUS_BUDGET_MILLIS);
+
+        ShotOutcome holed = nearBot.chooseShot(nearCup, TEE_X, TEE_Y);
+        ShotOutcome notHoled = farBot.chooseShot(farCup, TEE_X, TEE_Y);
+
+        assertEquals(ShotOutcomeType.HOLED, holed.getOutcomeType());
+        assertNotEquals(ShotOutcomeType.HOLED, notHoled.getOutcomeType());
+        assertTrue(nearBot.getSimulatedShotCount() < farBot.getSimulatedShotCount(),
+                   "Holing out should end the search early: " + nearBot.getSimulatedShotCount()
+                   + " vs " + farBot.getSimulatedShotCount());
+    }
+
+    @Test
+    void testFallbackShotWhenBudgetRunsOutFirst() throws InterruptedException
+    {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        GolfCourse course = TestCourses.flatCourse(60, 50);
+        AutoPlayer bot = new AutoPlayer(simulator, pool, 1L);
+
+        try
+        {
+            // Hold the only worker well past the budget, so the search starts after its deadline
+            pool.execute(() ->
+                         {
+                             workerBusy.countDown();
+                             sleepQuietly(100L);
+                         });
+            workerBusy.await();
+
+            ShotOutcome chosen = bot.chooseShot(course, TEE_X, TEE_Y);
+
+            assertEquals(1L, bot.getSimulatedShotCount());
+            assertEquals(ClubType.WEDGE, chosen.getClubType());
+            assertEquals(50.0, chosen.getPowerPercentage(), 0.0);
+            assertEquals(45.0, chosen.getLaunchAngleDegrees(), 0.0);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleepQuietly(final long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
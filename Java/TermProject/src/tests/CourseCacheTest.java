@@ -0,0 +1,127 @@
+import ca.bcit.comp2522.termproject.CourseCache;
+import ca.bcit.comp2522.termproject.CourseGenerator;
+import ca.bcit.comp2522.termproject.GeneratedHole;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.ReplayHeader;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CourseCacheTest
+{
+    private static final long   SEED       = 2522L;
+    private static final int    TILES      = 30;
+    private static final double TILE_WIDTH = 40.0;
+    private static final double GROUND_Y   = 300.0;
+    private static final double MAX_HEIGHT = 120.0;
+
+    @Test
+    void testSameSeedIsServedFromCache()
+    {
+        CourseCache cache = new CourseCache(course -> course.getTerrainTiles().size());
+
+        GeneratedHole first = cache.getOrGenerate(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+        GeneratedHole second = cache.getOrGenerate(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(TILES, first.getHeuristicPar());
+    }
+
+    @Test
+    void testDifferentSettingsMiss()
+    {
+        CourseCache cache = new CourseCache(course -> 0);
+
+        GeneratedHole first = cache.getOrGenerate(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+        GeneratedHole taller = cache.getOrGenerate(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT + 1.0);
+        GeneratedHole otherSeed = cache.getOrGenerate(SEED + 1, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+        assertNotSame(first, taller);
+        assertNotSame(first, otherSeed);
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted()
+    {
+        CourseCache cache = new CourseCache(course -> 0, 2);
+
+        GeneratedHole hole0 = cache.getOrGenerate(0L, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+        cache.getOrGenerate(1L, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+        // Touch seed 0 so seed 1 is the eldest when seed 2 arrives
+        cache.getOrGenerate(0L, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+        cache.getOrGenerate(2L, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(hole0, cache.getOrGenerate(0L, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT));
+
+        long missesBefore = cache.getMissCount();
+        cache.getOrGenerate(1L, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+        assertEquals(missesBefore + 1, cache.getMissCount());
+    }
+
+    @Test
+    void testHoleSeedReproducesRoundHole()
+    {
+        CourseCache cache = new CourseCache(course -> 0);
+        long[] holeSeeds = CourseGenerator.deriveHoleSeeds(SEED, 4);
+        List<GolfCourse> round = CourseGenerator.generateRound(SEED, 4, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+        // Hole 3 alone, without generating the holes before it
+        GolfCourse hole3 = cache.getOrGenerate(holeSeeds[3], TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT).getGolfCourse();
+
+        assertEquals(round.get(3).getTerrainTiles().size(), hole3.getTerrainTiles().size());
+        assertEquals(round.get(3).getAirObstacles().size(), hole3.getAirObstacles().size());
+
+        for (int tile = 0; tile < TILES; tile++)
+        {
+            assertEquals(round.get(3).getTerrainTiles().get(tile).getTerrainType(),
+                         hole3.getTerrainTiles().get(tile).getTerrainType());
+            assertEquals(round.get(3).getTerrainTiles().get(tile).getGroundCenterYPixels(),
+                         hole3.getTerrainTiles().get(tile).getGroundCenterYPixels());
+        }
+    }
+
+    @Test
+    void testReplayHeaderLoadsHolesThroughCache()
+    {
+        CourseCache cache = new CourseCache(course -> 0);
+        ReplayHeader header = new ReplayHeader(SEED, 4, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT, 6.0, 1.0 / 120.0, 10);
+        List<GolfCourse> round = CourseGenerator.generateRound(SEED, 4, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+        List<GolfCourse> first = header.generateCourses(cache);
+        List<GolfCourse> second = header.generateCourses(cache);
+
+        assertEquals(4, cache.getMissCount());
+        assertEquals(4, cache.getHitCount());
+
+        for (int hole = 0; hole < 4; hole++)
+        {
+            assertSame(first.get(hole), second.get(hole));
+            assertEquals(round.get(hole).getAirObstacles().size(), first.get(hole).getAirObstacles().size());
+
+            for (int tile = 0; tile < TILES; tile++)
+            {
+                assertEquals(round.get(hole).getTerrainTiles().get(tile).getGroundCenterYPixels(),
+                             first.get(hole).getTerrainTiles().get(tile).getGroundCenterYPixels());
+            }
+        }
+    }
+
+    @Test
+    void testRejectsNonPositiveCapacity()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new CourseCache(course -> 0, 0));
+    }
+}
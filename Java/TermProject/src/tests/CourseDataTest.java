@@ -0,0 +1,90 @@
+import ca.bcit.comp2522.termproject.CourseData;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import ca.bcit.comp2522.termproject.TerrainType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CourseDataTest
+{
+    private static final TerrainType[] PATTERN = {
+        TerrainType.FAIRWAY, TerrainType.ROUGH, TerrainType.SAND, TerrainType.WATER, TerrainType.GREEN, TerrainType.HOLE
+    };
+
+    @Test
+    void testEvenlySpacedTilesReadBackUnchanged()
+    {
+        List<TerrainTile> tiles = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++)
+        {
+            tiles.add(new TerrainTile(i * 40.0, (i + 1) * 40.0, 300.0 + i * 0.5, PATTERN[i % PATTERN.length]));
+        }
+
+        CourseData data = CourseData.fromTiles(tiles);
+
+        assertEquals(40.0, data.getUniformTileWidthPixels());
+        assertSameTiles(tiles, data);
+    }
+
+    @Test
+    void testUnevenTilesKeepTheirRanges()
+    {
+        List<TerrainTile> tiles = List.of(new TerrainTile(0.0, 30.0, 300.0, TerrainType.FAIRWAY),
+                                          new TerrainTile(30.0, 100.0, 310.0, TerrainType.SAND),
+                                          new TerrainTile(120.0, 150.0, 290.0, TerrainType.HOLE));
+
+        CourseData data = CourseData.fromTiles(tiles);
+
+        assertEquals(0.0, data.getUniformTileWidthPixels());
+        assertSameTiles(tiles, data);
+    }
+
+    @Test
+    void testCourseLookupsUsePackedTiles()
+    {
+        List<TerrainTile> tiles = List.of(new TerrainTile(0.0, 30.0, 300.0, TerrainType.FAIRWAY),
+                                          new TerrainTile(30.0, 100.0, 310.0, TerrainType.SAND),
+                                          new TerrainTile(120.0, 150.0, 290.0, TerrainType.HOLE));
+
+        GolfCourse course = new GolfCourse(tiles, List.of(), 3);
+
+        assertEquals(0.0, course.getStartXPixels());
+        assertEquals(150.0, course.getEndXPixels());
+        assertEquals(TerrainType.SAND, course.getTileAtX(99.9).getTerrainType());
+        assertEquals(-1, course.findTileIndexAtX(110.0));
+        assertEquals(2, course.findTileIndexAtX(120.0));
+        assertEquals(120.0, course.getHoleTile().getStartXPixels());
+        assertEquals(1, course.countTerrainTilesByType(TerrainType.HOLE));
+    }
+
+    @Test
+    void testTileListIsReadOnly()
+    {
+        CourseData data = CourseData.fromTiles(List.of(new TerrainTile(0.0, 40.0, 300.0, TerrainType.FAIRWAY)));
+
+        assertThrows(UnsupportedOperationException.class,
+                     () -> data.asTileList().add(new TerrainTile(40.0, 80.0, 300.0, TerrainType.HOLE)));
+        assertThrows(IndexOutOfBoundsException.class, () -> data.getTileStartXPixels(1));
+    }
+
+    private static void assertSameTiles(List<TerrainTile> expected, CourseData data)
+    {
+        assertEquals(expected.size(), data.getTileCount());
+
+        for (int i = 0; i < expected.size(); i++)
+        {
+            TerrainTile tile = data.asTileList().get(i);
+
+            assertEquals(expected.get(i).getStartXPixels(), tile.getStartXPixels());
+            assertEquals(expected.get(i).getEndXPixels(), tile.getEndXPixels());
+            assertEquals(expected.get(i).getGroundCenterYPixels(), data.getGroundCenterYPixels(i));
+            assertEquals(expected.get(i).getTerrainType(), data.getTerrainType(i));
+        }
+    }
+}
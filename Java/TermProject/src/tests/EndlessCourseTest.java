@@ -0,0 +1,154 @@
+import ca.bcit.comp2522.termproject.CourseData;
+import ca.bcit.comp2522.termproject.CourseGenerator;
+import ca.bcit.comp2522.termproject.EndlessCourse;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.TerrainChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EndlessCourseTest
+{
+    private static final long   SEED       = 2522L;
+    private static final int    TILES      = 32;
+    private static final double TILE_WIDTH = 40.0;
+    private static final double GROUND_Y   = 300.0;
+    private static final double MAX_HEIGHT = 120.0;
+    private static final int    BEHIND     = 1;
+    private static final int    AHEAD      = 2;
+
+    @Test
+    void testChunksContinueFromThePreviousChunk()
+    {
+        TerrainChunk previous = CourseGenerator.generateChunk(1L, null, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+        for (long seed = 2; seed < 20; seed++)
+        {
+            TerrainChunk next = CourseGenerator.generateChunk(seed, previous, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+            CourseData before = previous.getCourseData();
+            CourseData after = next.getCourseData();
+
+            assertEquals(previous.getChunkIndex() + 1, next.getChunkIndex());
+            assertEquals(before.getTileEndXPixels(TILES - 1), after.getTileStartXPixels(0));
+
+            // One random-walk step at most, the same as between any two tiles
+            assertTrue(Math.abs(after.getGroundCenterYPixels(0) - before.getGroundCenterYPixels(TILES - 1)) <= 5.0);
+
+            previous = next;
+        }
+    }
+
+    @Test
+    void testJoinedWindowMatchesChunksGeneratedOneAtATime()
+    {
+        EndlessCourse endless = new EndlessCourse(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT, BEHIND, AHEAD);
+
+        for (int chunk = 0; chunk <= 6; chunk++)
+        {
+            endless.advanceTo(chunk * endless.getChunkWidthPixels() + 1.0);
+        }
+
+        CourseData window = endless.getCourse().getCourseData();
+        long firstChunk = endless.getFirstResidentChunkIndex();
+        int residentChunks = endless.getResidentChunkCount();
+
+        // The same seed sequence the course draws from, one chunk after another
+        SplittableRandom seeds = new SplittableRandom(SEED);
+        List<CourseData> chunks = new ArrayList<>();
+        TerrainChunk previous = null;
+
+        for (long chunk = 0; chunk < firstChunk + residentChunks; chunk++)
+        {
+            previous = CourseGenerator.generateChunk(seeds.nextLong(), previous, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+            chunks.add(previous.getCourseData());
+        }
+
+        assertEquals(residentChunks * TILES, window.getTileCount());
+
+        for (int tile = 0; tile < window.getTileCount(); tile++)
+        {
+            CourseData chunk = chunks.get((int) firstChunk + tile / TILES);
+            int chunkTile = tile % TILES;
+
+            assertEquals(chunk.getTileStartXPixels(chunkTile), window.getTileStartXPixels(tile), 1e-9);
+            assertEquals(chunk.getTileEndXPixels(chunkTile), window.getTileEndXPixels(tile), 1e-9);
+            assertEquals(chunk.getGroundCenterYPixels(chunkTile), window.getGroundCenterYPixels(tile));
+            assertEquals(chunk.getTerrainType(chunkTile), window.getTerrainType(tile));
+        }
+    }
+
+    @Test
+    void testWindowStaysBoundedAsPlayMovesOn()
+    {
+        EndlessCourse endless = new EndlessCourse(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT, BEHIND, AHEAD);
+        double chunkWidth = endless.getChunkWidthPixels();
+
+        for (int chunk = 0; chunk < 200; chunk++)
+        {
+            double focus = chunk * chunkWidth + chunkWidth / 2;
+            endless.advanceTo(focus);
+            GolfCourse course = endless.getCourse();
+
+            assertTrue(endless.getResidentChunkCount() <= BEHIND + 1 + AHEAD);
+            assertTrue(course.getTileCount() <= (BEHIND + 1 + AHEAD) * TILES);
+            assertTrue(course.getStartXPixels() <= focus);
+            assertTrue(course.getEndXPixels() >= focus + chunkWidth);
+        }
+
+        assertEquals(198, endless.getFirstResidentChunkIndex());
+    }
+
+    @Test
+    void testSameSeedGivesSameTerrain()
+    {
+        EndlessCourse first = new EndlessCourse(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT, BEHIND, AHEAD);
+        EndlessCourse second = new EndlessCourse(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT, BEHIND, AHEAD);
+        double focus = 10.5 * first.getChunkWidthPixels();
+
+        // Stepped one chunk at a time on one course, in a single jump on the other
+        for (int chunk = 0; chunk <= 10; chunk++)
+        {
+            first.advanceTo(chunk * first.getChunkWidthPixels());
+        }
+
+        for (int call = 0; call < 20; call++)
+        {
+            first.advanceTo(focus);
+            second.advanceTo(focus);
+        }
+
+        CourseData a = first.getCourse().getCourseData();
+        CourseData b = second.getCourse().getCourseData();
+        int tile = b.getTileCount() - 1;
+
+        assertEquals(first.getFirstResidentChunkIndex(), second.getFirstResidentChunkIndex());
+        assertEquals(a.getTileStartXPixels(tile), b.getTileStartXPixels(tile));
+        assertEquals(a.getGroundCenterYPixels(tile), b.getGroundCenterYPixels(tile));
+        assertEquals(a.getTerrainType(tile), b.getTerrainType(tile));
+    }
+
+    @Test
+    void testCourseIsReusedWhileTheWindowStandsStill() throws Exception
+    {
+        EndlessCourse endless = new EndlessCourse(SEED, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT, BEHIND, AHEAD);
+
+        // Let prefetched chunks join the window
+        for (int attempt = 0; attempt < 100 && endless.getResidentChunkCount() < 1 + AHEAD; attempt++)
+        {
+            Thread.sleep(10);
+            endless.advanceTo(10.0);
+        }
+
+        GolfCourse course = endless.getCourse();
+
+        assertFalse(endless.advanceTo(20.0));
+        assertSame(course, endless.getCourse());
+    }
+}
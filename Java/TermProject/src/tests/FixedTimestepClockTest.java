@@ -0,0 +1,67 @@
+import ca.bcit.comp2522.termproject.FixedTimestepClock;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FixedTimestepClockTest
+{
+    private static final long ONE_SECOND_NANOSECONDS = 1_000_000_000L;
+
+    @Test
+    void testSameStepCountAtDifferentFrameRates()
+    {
+        // One simulated second should produce the same number of steps at 30, 60 and 240 Hz
+        assertEquals(120, countStepsForOneSecond(30));
+        assertEquals(120, countStepsForOneSecond(60));
+        assertEquals(120, countStepsForOneSecond(240));
+    }
+
+    @Test
+    void testStepIsTheSimulationStep()
+    {
+        FixedTimestepClock clock = new FixedTimestepClock(ProjectilePhysics.SIMULATION_STEPS_PER_SECOND, 8);
+
+        // The game must integrate with the very double the preview, simulator and bot use
+        assertEquals(ProjectilePhysics.SIMULATION_STEP_SECONDS, clock.getStepSeconds(), 0.0);
+    }
+
+    @Test
+    void testHitchIsCappedAtMaximumSteps()
+    {
+        FixedTimestepClock clock = new FixedTimestepClock(120, 8);
+
+        // A half-second hitch owes 60 steps but only 8 may run
+        assertEquals(8, clock.advance(ONE_SECOND_NANOSECONDS / 2));
+
+        // The excess is dropped rather than carried into the next frame
+        assertTrue(clock.advance(0L) <= 1, "Dropped steps should not be replayed later.");
+    }
+
+    @Test
+    void testInterpolationAlphaStaysWithinOneStep()
+    {
+        FixedTimestepClock clock = new FixedTimestepClock(100, 4);
+
+        // 15 ms at 100 Hz is one full step plus half a step left over
+        assertEquals(1, clock.advance(15_000_000L));
+        assertEquals(0.5, clock.getInterpolationAlpha(), 1e-9);
+    }
+
+    private static int countStepsForOneSecond(final int framesPerSecond)
+    {
+        FixedTimestepClock clock = new FixedTimestepClock(120, 8);
+        int totalSteps = 0;
+        long previousFrameTime = 0L;
+
+        for (int frame = 1; frame <= framesPerSecond; frame++)
+        {
+            long frameTime = frame * ONE_SECOND_NANOSECONDS / framesPerSecond;
+            totalSteps += clock.advance(frameTime - previousFrameTime);
+            previousFrameTime = frameTime;
+        }
+
+        return totalSteps;
+    }
+}
@@ -0,0 +1,124 @@
+import ca.bcit.comp2522.termproject.CourseGenerator;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfRoundEngine;
+import ca.bcit.comp2522.termproject.GolfRoundListener;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEventsTest
+{
+    private static final String EVENT_PREFIX = "ca.bcit.comp2522.termproject.";
+    private static final double GROUND_Y     = 300.0;
+    private static final double STEP_SECONDS = ProjectilePhysics.SIMULATION_STEP_SECONDS;
+    private static final int    MAX_STEPS    = 60 * ProjectilePhysics.SIMULATION_STEPS_PER_SECOND;
+
+    @Test
+    void testGolfSettingsRecordShotsStopsAndGeneration() throws Exception
+    {
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording(loadGolfConfiguration()))
+        {
+            recording.start();
+            playOneShot();
+            CourseGenerator.generateSingleHole(new Random(7L), 30, 40.0, GROUND_Y, 120.0);
+            recording.stop();
+
+            events = dumpAndRead(recording);
+        }
+
+        RecordedEvent shot = findFirst(events, "ShotLaunched");
+        assertNotNull(shot, "Expected a ShotLaunched event.");
+        assertEquals(1, shot.getInt("holeNumber"));
+        assertEquals(1, shot.getInt("strokeNumber"));
+        assertEquals("DRIVER", shot.getString("clubType"));
+        assertEquals(80.0, shot.getDouble("powerPercentage"), 1e-9);
+
+        assertNotNull(findFirst(events, "BallStopped"), "Expected a BallStopped event.");
+
+        // The round's first hole, plus the one generated directly; later holes are generated in the background
+        assertTrue(events.stream().filter(event -> isGolfEvent(event, "CourseGeneration")).count() >= 2);
+        assertEquals(30, findFirst(events, "CourseGeneration").getInt("tileCount"));
+    }
+
+    @Test
+    void testEventsAreOffWithoutGolfSettings() throws Exception
+    {
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording())
+        {
+            recording.start();
+            playOneShot();
+            recording.stop();
+
+            events = dumpAndRead(recording);
+        }
+
+        assertFalse(events.stream().anyMatch(event -> event.getEventType().getName().startsWith(EVENT_PREFIX)));
+    }
+
+    private static void playOneShot()
+    {
+        GolfRoundEngine engine = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, new GolfRoundListener() { });
+
+        engine.startRound(2522L);
+        assertTrue(engine.shoot(engine.getSelectedClubType(), 80.0, 40.0));
+
+        for (int step = 0; step < MAX_STEPS && engine.getGolfBall().isMoving(); step++)
+        {
+            engine.tick(STEP_SECONDS);
+        }
+    }
+
+    private static Configuration loadGolfConfiguration() throws Exception
+    {
+        try (Reader reader = new InputStreamReader(GameEventsTest.class.getResourceAsStream("/golf.jfc"),
+                                                   StandardCharsets.UTF_8))
+        {
+            return Configuration.create(reader);
+        }
+    }
+
+    private static List<RecordedEvent> dumpAndRead(final Recording recording) throws Exception
+    {
+        Path dumpFile = Files.createTempFile("golf-events", ".jfr");
+
+        try
+        {
+            recording.dump(dumpFile);
+            return RecordingFile.readAllEvents(dumpFile);
+        }
+        finally
+        {
+            Files.deleteIfExists(dumpFile);
+        }
+    }
+
+    private static RecordedEvent findFirst(final List<RecordedEvent> events, final String simpleName)
+    {
+        return events.stream().filter(event -> isGolfEvent(event, simpleName)).findFirst().orElse(null);
+    }
+
+    private static boolean isGolfEvent(final RecordedEvent event, final String simpleName)
+    {
+        return event.getEventType().getName().equals(EVENT_PREFIX + simpleName);
+    }
+}
@@ -0,0 +1,86 @@
+import ca.bcit.comp2522.termproject.AirObstacle;
+import ca.bcit.comp2522.termproject.GolfBall;
+import ca.bcit.comp2522.termproject.GolfBallBatch;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import ca.bcit.comp2522.termproject.TerrainType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GolfBallBatchTest
+{
+    private static final double BALL_RADIUS = 6.0;
+    private static final double STEP        = 1.0 / 120.0;
+
+    @Test
+    void testBatchStepMatchesScalarPhysics()
+    {
+        // Every batched ball should follow exactly the same path as a GolfBall
+        GolfCourse course = buildMixedCourse();
+        Random random = new Random(42);
+
+        int ballCount = 500;
+        GolfBallBatch batch = new GolfBallBatch(16, BALL_RADIUS);
+        List<GolfBall> balls = new ArrayList<>();
+
+        for (int i = 0; i < ballCount; i++)
+        {
+            double x = random.nextDouble() * 200.0;
+            double vx = random.nextDouble() * 600.0 - 100.0;
+            double vy = -random.nextDouble() * 500.0;
+
+            int index = batch.addBall(x, 294.0);
+            batch.launch(index, vx, vy);
+
+            GolfBall ball = new GolfBall(x, 294.0, BALL_RADIUS);
+            ball.launch(vx, vy);
+            balls.add(ball);
+        }
+
+        for (int step = 0; step < 2000; step++)
+        {
+            int moving = batch.step(course, STEP);
+            int expectedMoving = 0;
+
+            for (GolfBall ball : balls)
+            {
+                TerrainTile tile = course.getTileAtX(ball.getPositionXPixels());
+                double ground = tile.getGroundCenterYPixels() - BALL_RADIUS;
+
+                if (ProjectilePhysics.updateBallWithTerrain(ball, tile, ground, STEP))
+                {
+                    expectedMoving++;
+                }
+            }
+
+            assertEquals(expectedMoving, moving, "Moving count differs at step " + step);
+        }
+
+        for (int i = 0; i < ballCount; i++)
+        {
+            assertEquals(balls.get(i).getPositionXPixels(), batch.getPositionXPixels(i), 0.0);
+            assertEquals(balls.get(i).getPositionYPixels(), batch.getPositionYPixels(i), 0.0);
+            assertEquals(balls.get(i).isMoving(), batch.isMoving(i));
+        }
+    }
+
+    private static GolfCourse buildMixedCourse()
+    {
+        TerrainType[] pattern = {TerrainType.FAIRWAY, TerrainType.ROUGH, TerrainType.SAND, TerrainType.GREEN};
+        List<TerrainTile> tiles = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++)
+        {
+            double ground = 300.0 + (i % 7) * 4.0;
+            tiles.add(new TerrainTile(i * 40.0, (i + 1) * 40.0, ground, pattern[i % pattern.length]));
+        }
+
+        return new GolfCourse(tiles, new ArrayList<AirObstacle>(), 4);
+    }
+}
@@ -0,0 +1,169 @@
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import ca.bcit.comp2522.termproject.TerrainType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GolfCourseTest
+{
+    private static final double TILE_WIDTH = 40.0;
+    private static final double GROUND_Y   = 300.0;
+    private static final int    TILES      = 30;
+
+    @Test
+    void testUniformLookupFindsContainingTile()
+    {
+        GolfCourse course = buildUniformCourse(100.0);
+
+        assertEquals(0, course.findTileIndexAtX(100.0));
+        assertEquals(0, course.findTileIndexAtX(139.999));
+        assertEquals(1, course.findTileIndexAtX(140.0));
+        assertEquals(TILES - 1, course.findTileIndexAtX(100.0 + TILES * TILE_WIDTH - 0.001));
+
+        for (double x = 100.0; x < 100.0 + TILES * TILE_WIDTH; x += 3.7)
+        {
+            assertEquals(linearSearch(course, x), course.findTileIndexAtX(x), "x = " + x);
+        }
+    }
+
+    @Test
+    void testUnevenLookupMatchesLinearScan()
+    {
+        // Widths vary and one gap has no tile, so the arithmetic path cannot be used
+        List<TerrainTile> tiles = buildUnevenTiles();
+        double x = tiles.get(TILES - 1).getEndXPixels();
+
+        GolfCourse course = new GolfCourse(tiles, List.of(), 4);
+
+        assertEquals(0.0, course.getCourseData().getUniformTileWidthPixels());
+        assertEquals(-1, course.findTileIndexAtX(tiles.get(9).getEndXPixels() + 1.0));
+
+        for (double probe = -10.0; probe < x + 10.0; probe += 1.3)
+        {
+            assertEquals(linearSearch(course, probe), course.findTileIndexAtX(probe), "x = " + probe);
+        }
+    }
+
+    @Test
+    void testVisibleTileRangeMatchesLinearScan()
+    {
+        List<TerrainTile> tiles = buildUnevenTiles();
+        GolfCourse course = new GolfCourse(tiles, List.of(), 4);
+        double end = tiles.get(TILES - 1).getEndXPixels();
+
+        for (double probe = -10.0; probe < end + 10.0; probe += 1.3)
+        {
+            assertEquals(firstEndingAfter(course, probe), course.findFirstTileIndexEndingAfter(probe), "x = " + probe);
+            assertEquals(lastStartingBefore(course, probe), course.findLastTileIndexStartingBefore(probe), "x = " + probe);
+        }
+
+        // Exact tile edges are where a strict and a non-strict comparison would differ
+        for (TerrainTile tile : tiles)
+        {
+            for (double edge : new double[]{tile.getStartXPixels(), tile.getEndXPixels()})
+            {
+                assertEquals(firstEndingAfter(course, edge), course.findFirstTileIndexEndingAfter(edge), "edge " + edge);
+                assertEquals(lastStartingBefore(course, edge), course.findLastTileIndexStartingBefore(edge), "edge " + edge);
+            }
+        }
+
+        assertEquals(TILES, course.findFirstTileIndexEndingAfter(end));
+        assertEquals(-1, course.findLastTileIndexStartingBefore(tiles.get(0).getStartXPixels()));
+    }
+
+    @Test
+    void testOutOfRangeLookups()
+    {
+        GolfCourse course = buildUniformCourse(100.0);
+        double end = course.getEndXPixels();
+
+        assertEquals(-1, course.findTileIndexAtX(99.999));
+        assertEquals(-1, course.findTileIndexAtX(end));
+        assertEquals(-1, course.findTileIndexAtX(end + 500.0));
+        assertEquals(-1, course.findTileIndexAtX(Double.NaN));
+
+        // The "or last" variant mirrors getTileAtX, which falls back to the last tile
+        assertEquals(TILES - 1, course.findTileIndexAtXOrLast(end + 500.0));
+        assertEquals(TILES - 1, course.findTileIndexAtXOrLast(-500.0));
+        assertEquals(course.getLastTile().getStartXPixels(), course.getTileAtX(-500.0).getStartXPixels());
+        assertEquals(5, course.findTileIndexAtXOrLast(100.0 + 5.5 * TILE_WIDTH));
+    }
+
+    private static List<TerrainTile> buildUnevenTiles()
+    {
+        List<TerrainTile> tiles = new ArrayList<>();
+        double x = 0.0;
+
+        for (int i = 0; i < TILES; i++)
+        {
+            double width = 20.0 + (i * 7) % 30;
+
+            if (i == 10)
+            {
+                x += 15.0;
+            }
+
+            tiles.add(new TerrainTile(x, x + width, GROUND_Y, TerrainType.FAIRWAY));
+            x += width;
+        }
+
+        return tiles;
+    }
+
+    private static GolfCourse buildUniformCourse(final double startX)
+    {
+        List<TerrainTile> tiles = new ArrayList<>();
+
+        for (int i = 0; i < TILES; i++)
+        {
+            tiles.add(new TerrainTile(startX + i * TILE_WIDTH, startX + (i + 1) * TILE_WIDTH, GROUND_Y, TerrainType.FAIRWAY));
+        }
+
+        return new GolfCourse(tiles, List.of(), 4);
+    }
+
+    private static int linearSearch(final GolfCourse course, final double x)
+    {
+        for (int i = 0; i < course.getTileCount(); i++)
+        {
+            TerrainTile tile = course.getTerrainTiles().get(i);
+
+            if (x >= tile.getStartXPixels() && x < tile.getEndXPixels())
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int firstEndingAfter(final GolfCourse course, final double x)
+    {
+        for (int i = 0; i < course.getTileCount(); i++)
+        {
+            if (course.getTerrainTiles().get(i).getEndXPixels() > x)
+            {
+                return i;
+            }
+        }
+
+        return course.getTileCount();
+    }
+
+    private static int lastStartingBefore(final GolfCourse course, final double x)
+    {
+        for (int i = course.getTileCount() - 1; i >= 0; i--)
+        {
+            if (course.getTerrainTiles().get(i).getStartXPixels() < x)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
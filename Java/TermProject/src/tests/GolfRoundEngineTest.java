@@ -0,0 +1,236 @@
+import ca.bcit.comp2522.termproject.ClubType;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfBall;
+import ca.bcit.comp2522.termproject.GolfClub;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.GolfRoundEngine;
+import ca.bcit.comp2522.termproject.GolfRoundListener;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import ca.bcit.comp2522.termproject.ShotRejectionReason;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GolfRoundEngineTest
+{
+    private static final double GROUND_Y     = 300.0;
+    private static final double STEP_SECONDS = ProjectilePhysics.SIMULATION_STEP_SECONDS;
+    private static final int    MAX_STEPS    = 60 * ProjectilePhysics.SIMULATION_STEPS_PER_SECOND;
+    private static final long   SEED         = 2522L;
+    private static final double CAMERA_LAG   = 320.0;
+
+    @Test
+    void testStartRoundPlacesBallOnFirstTee()
+    {
+        RecordingListener listener = new RecordingListener();
+        GolfRoundEngine engine = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, listener);
+
+        engine.startRound(SEED);
+
+        assertEquals(List.of(0), listener.holesStarted);
+        assertEquals(0, engine.getCurrentHoleIndex());
+        assertEquals(0, engine.getStrokesThisHole());
+        assertFalse(engine.getGolfBall().isMoving());
+    }
+
+    @Test
+    void testChargedShotIsStruckAndEndsOnce()
+    {
+        RecordingListener listener = new RecordingListener();
+        GolfRoundEngine engine = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, listener);
+
+        engine.startRound(SEED);
+        engine.setAimAngleDegrees(40.0);
+
+        assertTrue(engine.startCharging());
+
+        // One second of charging at 70 percent per second
+        for (int step = 0; step < ProjectilePhysics.SIMULATION_STEPS_PER_SECOND; step++)
+        {
+            engine.tick(STEP_SECONDS);
+        }
+
+        assertEquals(70.0, engine.getPowerPercentage(), 1e-6);
+        assertTrue(engine.releaseCharge());
+        assertEquals(1, engine.getStrokesThisHole());
+        assertEquals(1, listener.shotsTaken);
+
+        runUntilStopped(engine);
+
+        assertTrue(listener.stepsSimulated > 0);
+        assertEquals(1, listener.strokesEnded);
+    }
+
+    @Test
+    void testShotWithoutPowerIsRejected()
+    {
+        RecordingListener listener = new RecordingListener();
+        GolfRoundEngine engine = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, listener);
+
+        engine.startRound(SEED);
+
+        assertFalse(engine.shoot(ClubType.DRIVER, 0.0, 45.0));
+        assertEquals(List.of(ShotRejectionReason.NO_POWER), listener.rejections);
+        assertEquals(0, engine.getStrokesThisHole());
+    }
+
+    @Test
+    void testAimIsClampedToPlayableRange()
+    {
+        GolfRoundEngine engine = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, new GolfRoundListener() {});
+
+        engine.startRound(SEED);
+
+        GolfBall ball = engine.getGolfBall();
+
+        // Straight below and to the right points under the horizon
+        engine.aimAt(ball.getPositionXPixels() + 100.0, ball.getPositionYPixels() + 100.0);
+        assertEquals(5.0, engine.getAimAngleDegrees(), 0.0);
+
+        // Almost flat to the left is steeper than the backward limit
+        engine.aimAt(ball.getPositionXPixels() - 100.0, ball.getPositionYPixels() - 1.0);
+        assertEquals(175.0, engine.getAimAngleDegrees(), 0.0);
+
+        engine.aimAt(ball.getPositionXPixels() + 100.0, ball.getPositionYPixels() - 100.0);
+        assertEquals(45.0, engine.getAimAngleDegrees(), 1e-9);
+    }
+
+    @Test
+    void testSameSeedAndInputsPlayOutIdentically()
+    {
+        GolfRoundEngine first = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, new GolfRoundListener() {});
+        GolfRoundEngine second = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, new GolfRoundListener() {});
+
+        first.startRound(SEED);
+        second.startRound(SEED);
+
+        for (int stroke = 0; stroke < 12; stroke++)
+        {
+            ClubType club = stroke % 3 == 2 ? ClubType.PUTTER : ClubType.WEDGE;
+
+            first.shoot(club, 65.0, 40.0);
+            second.shoot(club, 65.0, 40.0);
+
+            runUntilStopped(first);
+            runUntilStopped(second);
+
+            assertEquals(first.getCurrentHoleIndex(), second.getCurrentHoleIndex());
+            assertEquals(first.getTotalStrokesUpToCurrentHole(), second.getTotalStrokesUpToCurrentHole());
+            assertEquals(first.getGolfBall().getPositionXPixels(), second.getGolfBall().getPositionXPixels(), 0.0);
+            assertEquals(first.getGolfBall().getPositionYPixels(), second.getGolfBall().getPositionYPixels(), 0.0);
+        }
+    }
+
+    @Test
+    void testEndlessRunFollowsTheBallWithABoundedCourse()
+    {
+        RecordingListener listener = new RecordingListener();
+        GolfRoundEngine engine = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, listener);
+        double holeWidth = GolfRoundEngine.NUMBER_OF_TILES_PER_HOLE * GolfRoundEngine.TILE_WIDTH_PIXELS;
+        int courseSwaps = 0;
+
+        engine.startEndlessRun(SEED);
+
+        assertTrue(engine.isEndless());
+        assertEquals(List.of(0), listener.holesStarted);
+
+        for (int stroke = 0; stroke < 40; stroke++)
+        {
+            // Power and angle vary so a hill that stops one shot does not stop them all
+            engine.shoot(ClubType.DRIVER, 60.0 + stroke % 5 * 10.0, 30.0 + stroke % 3 * 10.0);
+
+            // Advanced every step with a camera trailing the ball; the game view does it every frame
+            for (int step = 0; step < MAX_STEPS && engine.getGolfBall().isMoving(); step++)
+            {
+                engine.tick(STEP_SECONDS);
+
+                GolfCourse before = engine.getCurrentCourse();
+
+                if (engine.advanceEndlessCourse(engine.getGolfBall().getPositionXPixels() - CAMERA_LAG))
+                {
+                    assertNotSame(before, engine.getCurrentCourse());
+                    courseSwaps++;
+                }
+            }
+
+            GolfCourse course = engine.getCurrentCourse();
+
+            // One chunk behind, the one under the camera and two ahead, never more
+            assertTrue(course.getEndXPixels() - course.getStartXPixels() <= 4 * holeWidth + 1e-6);
+            assertTrue(engine.getGolfBall().getPositionXPixels() >= course.getStartXPixels());
+            assertTrue(engine.getGolfBall().getPositionXPixels() <= course.getEndXPixels());
+        }
+
+        // The ball went well past where a hole would end, and no hole was ever completed
+        assertTrue(engine.getCurrentCourse().getStartXPixels() > holeWidth);
+        assertTrue(courseSwaps > 0);
+        assertEquals(List.of(0), listener.holesStarted);
+        assertEquals(40, engine.getStrokesThisHole());
+
+        engine.startRound(SEED);
+
+        assertFalse(engine.isEndless());
+        assertFalse(engine.advanceEndlessCourse(1e9));
+    }
+
+    private static void runUntilStopped(final GolfRoundEngine engine)
+    {
+        for (int step = 0; step < MAX_STEPS && engine.getGolfBall().isMoving(); step++)
+        {
+            engine.tick(STEP_SECONDS);
+        }
+
+        assertFalse(engine.getGolfBall().isMoving(), "Ball should come to rest.");
+    }
+
+    private static final class RecordingListener implements GolfRoundListener
+    {
+        private final List<Integer>             holesStarted = new ArrayList<>();
+        private final List<ShotRejectionReason> rejections   = new ArrayList<>();
+        private int                             shotsTaken;
+        private int                             stepsSimulated;
+        private int                             strokesEnded;
+
+        @Override
+        public void holeStarted(final int holeIndex)
+        {
+            holesStarted.add(holeIndex);
+        }
+
+        @Override
+        public void shotRejected(final ShotRejectionReason reason)
+        {
+            rejections.add(reason);
+        }
+
+        @Override
+        public void shotTaken(final int holeIndex,
+                              final GolfClub golfClub,
+                              final ClubType clubType,
+                              final double powerPercentage,
+                              final double launchAngleDegrees,
+                              final double startXPixels,
+                              final double startYPixels)
+        {
+            shotsTaken++;
+        }
+
+        @Override
+        public void stepSimulated(final GolfBall golfBall, final int contacts)
+        {
+            stepsSimulated++;
+        }
+
+        @Override
+        public void strokeEnded()
+        {
+            strokesEnded++;
+        }
+    }
+}
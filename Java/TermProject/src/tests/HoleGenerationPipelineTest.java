@@ -0,0 +1,147 @@
+import ca.bcit.comp2522.termproject.CourseCache;
+import ca.bcit.comp2522.termproject.CourseGenerator;
+import ca.bcit.comp2522.termproject.GeneratedHole;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.HoleGenerationPipeline;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoleGenerationPipelineTest
+{
+    private static final long   SEED       = 2522L;
+    private static final int    HOLES      = 6;
+    private static final int    TILES      = 30;
+    private static final double TILE_WIDTH = 40.0;
+    private static final double GROUND_Y   = 300.0;
+    private static final double MAX_HEIGHT = 120.0;
+
+    @Test
+    void testHolesMatchUpFrontGeneration()
+    {
+        List<GolfCourse> expected = CourseGenerator.generateRound(SEED, HOLES, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+        HoleGenerationPipeline pipeline = createPipeline(1);
+
+        for (int hole = 0; hole < HOLES; hole++)
+        {
+            GeneratedHole generated = pipeline.awaitHole(hole);
+
+            assertSameLayout(expected.get(hole), generated.getGolfCourse());
+            assertEquals(expected.get(hole).getTerrainTiles().size(), generated.getHeuristicPar());
+            assertEquals(pipeline.getHoleSeed(hole), generated.getHoleSeed());
+        }
+    }
+
+    @Test
+    void testParallelRoundMatchesHoleByHoleGeneration()
+    {
+        List<GolfCourse> round = CourseGenerator.generateRound(SEED, HOLES, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+        long[] holeSeeds = CourseGenerator.deriveHoleSeeds(SEED, HOLES);
+
+        assertEquals(HOLES, round.size());
+
+        for (int hole = 0; hole < HOLES; hole++)
+        {
+            GolfCourse single = CourseGenerator.generateSingleHole(holeSeeds[hole], TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+            assertSameLayout(single, round.get(hole));
+        }
+    }
+
+    @Test
+    void testTournamentRoundsMatchSingleRounds()
+    {
+        long[] roundSeeds = {SEED, SEED + 1, -SEED};
+        List<List<GolfCourse>> rounds = CourseGenerator.generateRounds(roundSeeds, HOLES, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+        assertEquals(roundSeeds.length, rounds.size());
+
+        for (int round = 0; round < roundSeeds.length; round++)
+        {
+            List<GolfCourse> expected = CourseGenerator.generateRound(roundSeeds[round], HOLES, TILES, TILE_WIDTH, GROUND_Y, MAX_HEIGHT);
+
+            assertEquals(HOLES, rounds.get(round).size());
+
+            for (int hole = 0; hole < HOLES; hole++)
+            {
+                assertSameLayout(expected.get(hole), rounds.get(round).get(hole));
+            }
+        }
+    }
+
+    @Test
+    void testFirstHoleIsReadyImmediately()
+    {
+        HoleGenerationPipeline pipeline = createPipeline(2);
+
+        assertTrue(pipeline.getHoleAsync(0).isDone());
+        assertEquals(HOLES, pipeline.getHoleCount());
+    }
+
+    @Test
+    void testGeneratorStaysWithinLookAhead() throws Exception
+    {
+        HoleGenerationPipeline pipeline = createPipeline(2);
+
+        // Holes 1 and 2 may be generated before play moves on, hole 3 may not
+        pipeline.getHoleAsync(2).get(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        assertFalse(pipeline.getHoleAsync(3).isDone());
+
+        // Starting hole 1 lets the generator reach hole 3
+        pipeline.awaitHole(1);
+        pipeline.getHoleAsync(3).get(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        assertFalse(pipeline.getHoleAsync(4).isDone());
+    }
+
+    @Test
+    void testCancelFailsHolesNotYetGenerated()
+    {
+        HoleGenerationPipeline pipeline = createPipeline(1);
+        CompletableFuture<GeneratedHole> lastHole = pipeline.getHoleAsync(HOLES - 1);
+
+        pipeline.cancel();
+
+        assertTrue(lastHole.isCompletedExceptionally());
+        assertThrows(CancellationException.class, () -> pipeline.awaitHole(HOLES - 1));
+        assertFalse(pipeline.getHoleAsync(0).isCompletedExceptionally());
+    }
+
+    // The par function here just counts tiles, so the test can check it was applied.
+    private static HoleGenerationPipeline createPipeline(int lookAhead)
+    {
+        return new HoleGenerationPipeline(SEED,
+                                          HOLES,
+                                          TILES,
+                                          TILE_WIDTH,
+                                          GROUND_Y,
+                                          MAX_HEIGHT,
+                                          new CourseCache(course -> course.getTerrainTiles().size()),
+                                          lookAhead);
+    }
+
+    private static void assertSameLayout(GolfCourse expected, GolfCourse actual)
+    {
+        assertEquals(expected.getTerrainTiles().size(), actual.getTerrainTiles().size());
+        assertEquals(expected.getAirObstacles().size(), actual.getAirObstacles().size());
+
+        for (int tile = 0; tile < expected.getTerrainTiles().size(); tile++)
+        {
+            TerrainTile expectedTile = expected.getTerrainTiles().get(tile);
+            TerrainTile actualTile = actual.getTerrainTiles().get(tile);
+
+            assertEquals(expectedTile.getTerrainType(), actualTile.getTerrainType());
+            assertEquals(expectedTile.getGroundCenterYPixels(), actualTile.getGroundCenterYPixels());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import ca.bcit.comp2522.termproject.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest
+{
+    @Test
+    void testSmallValuesAreExact()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long value = 1; value <= 100; value++)
+        {
+            histogram.record(value);
+        }
+
+        assertEquals(50, histogram.getValueAtPercentile(50.0));
+        assertEquals(99, histogram.getValueAtPercentile(99.0));
+        assertEquals(100, histogram.getValueAtPercentile(100.0));
+        assertEquals(50.5, histogram.getMeanNanoseconds(), 1e-9);
+    }
+
+    @Test
+    void testLargeValuesStayWithinBucketPrecision()
+    {
+        // Every value should be reported no lower than itself and at most 1/64 above
+        for (long value = 128; value < 50_000_000_000L; value = value * 3 / 2 + 7)
+        {
+            LatencyHistogram histogram = new LatencyHistogram();
+
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE / 2);
+
+            long reported = histogram.getValueAtPercentile(50.0);
+
+            assertTrue(reported >= value, "Reported " + reported + " for " + value);
+            assertTrue(reported <= value + value / 64, "Reported " + reported + " for " + value);
+        }
+    }
+
+    @Test
+    void testMaximumIsExactAndCapsPercentiles()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(16_666_667L);
+
+        // The bucket's top is above the only value, but the exact maximum wins
+        assertEquals(16_666_667L, histogram.getValueAtPercentile(99.9));
+        assertEquals(16_666_667L, histogram.getMaximumNanoseconds());
+    }
+
+    @Test
+    void testValuesBeyondTrackableRangeKeepTheirMaximum()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(LatencyHistogram.MAXIMUM_TRACKABLE_NANOSECONDS * 4);
+        histogram.record(-5L);
+
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50.0));
+        assertEquals(LatencyHistogram.MAXIMUM_TRACKABLE_NANOSECONDS * 4, histogram.getMaximumNanoseconds());
+    }
+
+    @Test
+    void testAddAndReset()
+    {
+        LatencyHistogram first  = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+
+        first.record(10L);
+        second.record(20L);
+        second.record(30L);
+
+        first.add(second);
+
+        assertEquals(3, first.getTotalCount());
+        assertEquals(30L, first.getMaximumNanoseconds());
+        assertEquals(20L, first.getValueAtPercentile(50.0));
+
+        first.reset();
+
+        assertEquals(0, first.getTotalCount());
+        assertEquals(0, first.getValueAtPercentile(99.0));
+        assertEquals(0.0, first.getMeanNanoseconds());
+    }
+}
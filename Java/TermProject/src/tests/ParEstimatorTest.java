@@ -0,0 +1,138 @@
+import ca.bcit.comp2522.termproject.AutoPlayer;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.ParEstimate;
+import ca.bcit.comp2522.termproject.ParEstimator;
+import ca.bcit.comp2522.termproject.ShotSimulator;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import ca.bcit.comp2522.termproject.TerrainType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParEstimatorTest
+{
+    private static final double BALL_RADIUS = 6.0;
+    private static final int    HOLE_TILE   = 35;
+
+    @Test
+    void testCancelledBeforeStartPlaysNoRounds()
+    {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        AutoPlayer bot = new AutoPlayer(new ShotSimulator(DefaultGolfClubs.create(), BALL_RADIUS), pool, 20L);
+        ParEstimator estimator = new ParEstimator(bot, pool, 2_000L);
+
+        try
+        {
+            assertThrows(CancellationException.class, () -> estimator.estimate(buildFlatCourse(), 1L, () -> true));
+            assertEquals(0L, bot.getSimulatedShotCount());
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCancellingMidwayStopsSampling()
+    {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        AutoPlayer bot = new AutoPlayer(new ShotSimulator(DefaultGolfClubs.create(), BALL_RADIUS), pool, 20L);
+        ParEstimator estimator = new ParEstimator(bot, pool, 60_000L);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        try
+        {
+            // Cancel as soon as the first batch has taken a shot; the estimate must not run to its budget
+            CompletableFuture<ParEstimate> future = estimator.estimateAsync(buildFlatCourse(), 1L, cancelled::get);
+
+            while (bot.getSimulatedShotCount() == 0L && !future.isDone())
+            {
+                Thread.onSpinWait();
+            }
+            cancelled.set(true);
+
+            CompletionException failure = assertThrows(CompletionException.class, future::join);
+            assertTrue(failure.getCause() instanceof CancellationException);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFlatHoleConvergesBeforeRoundLimit()
+    {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        AutoPlayer bot = new AutoPlayer(new ShotSimulator(DefaultGolfClubs.create(), BALL_RADIUS), pool, 20L);
+        ParEstimator estimator = new ParEstimator(bot, pool, 60_000L);
+
+        try
+        {
+            ParEstimate estimate = estimator.estimate(buildFlatCourse(), 1L);
+
+            // The confidence interval, not the 256-round cap or the time budget, ends sampling
+            assertTrue(estimate.isConverged());
+            assertTrue(estimate.getRoundCount() < 256, "Ran to the round cap: " + estimate.getRoundCount());
+            assertTrue(estimate.getConfidenceHalfWidthStrokes() <= 0.25);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWaterAroundTheGreenRaisesMeanStrokes()
+    {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        AutoPlayer bot = new AutoPlayer(new ShotSimulator(DefaultGolfClubs.create(), BALL_RADIUS), pool, 20L);
+        ParEstimator estimator = new ParEstimator(bot, pool, 5_000L);
+
+        try
+        {
+            ParEstimate flat = estimator.estimate(buildFlatCourse(), 1L);
+            ParEstimate water = estimator.estimate(buildWaterCourse(), 1L);
+
+            // Same length, but missed approaches now cost a penalty stroke
+            assertTrue(water.getMeanStrokes() > flat.getMeanStrokes() + 1.0,
+                       "flat " + flat.getMeanStrokes() + ", water " + water.getMeanStrokes());
+            assertTrue(water.getPar() > flat.getPar());
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    private static GolfCourse buildFlatCourse()
+    {
+        return TestCourses.flatCourse(40, HOLE_TILE);
+    }
+
+    // The flat hole with water on the three tiles before the cup and every tile after it
+    private static GolfCourse buildWaterCourse()
+    {
+        List<TerrainTile> tiles = TestCourses.flatTiles(40, HOLE_TILE);
+
+        for (int i = HOLE_TILE - 3; i < tiles.size(); i++)
+        {
+            if (i != HOLE_TILE)
+            {
+                tiles.set(i, TestCourses.tile(i, TerrainType.WATER));
+            }
+        }
+
+        return new GolfCourse(tiles, List.of(), TestCourses.PAR);
+    }
+}
@@ -0,0 +1,89 @@
+import ca.bcit.comp2522.termproject.RenderScheduler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RenderSchedulerTest
+{
+    private int     starts;
+    private int     stops;
+    private boolean animating;
+
+    private RenderScheduler createScheduler()
+    {
+        return new RenderScheduler(() -> starts++, () -> stops++, () -> animating);
+    }
+
+    @Test
+    void testLoopStaysStoppedUntilRequested()
+    {
+        RenderScheduler scheduler = createScheduler();
+
+        assertFalse(scheduler.isRunning());
+        assertFalse(scheduler.frameRendered());
+        assertEquals(0, starts);
+        assertEquals(0, stops);
+    }
+
+    @Test
+    void testBurstOfRequestsCostsOneFrame()
+    {
+        RenderScheduler scheduler = createScheduler();
+
+        // Many mouse moves between two pulses start the loop once
+        for (int request = 0; request < 10; request++)
+        {
+            scheduler.requestRender();
+        }
+
+        assertEquals(1, starts);
+        assertTrue(scheduler.isRunning());
+
+        // The next frame shows them all and the loop goes idle
+        assertTrue(scheduler.frameRendered());
+        assertEquals(1, stops);
+        assertFalse(scheduler.isRunning());
+    }
+
+    @Test
+    void testLoopRunsWhileAnimatingThenGoesIdle()
+    {
+        RenderScheduler scheduler = createScheduler();
+
+        animating = true;
+        scheduler.requestRender();
+
+        for (int frame = 0; frame < 5; frame++)
+        {
+            assertFalse(scheduler.frameRendered());
+        }
+
+        animating = false;
+
+        assertTrue(scheduler.frameRendered());
+        assertEquals(1, starts);
+        assertEquals(1, stops);
+
+        // A later request wakes it again
+        scheduler.requestRender();
+        assertEquals(2, starts);
+    }
+
+    @Test
+    void testStopIsIdempotent()
+    {
+        RenderScheduler scheduler = createScheduler();
+
+        scheduler.stop();
+        assertEquals(0, stops);
+
+        scheduler.requestRender();
+        scheduler.stop();
+        scheduler.stop();
+
+        assertEquals(1, stops);
+        assertFalse(scheduler.isRunning());
+    }
+}
@@ -0,0 +1,272 @@
+import ca.bcit.comp2522.termproject.ClubType;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfBall;
+import ca.bcit.comp2522.termproject.GolfClub;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.GolfRoundEngine;
+import ca.bcit.comp2522.termproject.GolfRoundListener;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import ca.bcit.comp2522.termproject.Replay;
+import ca.bcit.comp2522.termproject.ReplayHeader;
+import ca.bcit.comp2522.termproject.ReplayPlayer;
+import ca.bcit.comp2522.termproject.ReplayRecorder;
+import ca.bcit.comp2522.termproject.ReplayStroke;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayRoundTripTest
+{
+    private static final double GROUND_Y     = 300.0;
+    private static final double STEP_SECONDS = ProjectilePhysics.SIMULATION_STEP_SECONDS;
+    private static final int    KEYFRAMES    = 10;
+    private static final int    STROKES      = 12;
+    private static final long   SEED         = 2522L;
+
+    // Ten steps a second: the ball bounces several times in one step, so some steps run out of sweep contacts
+    private static final double COARSE_STEP_SECONDS = 0.1;
+
+    @Test
+    void testRecordedRoundReplaysWithoutDivergence() throws IOException
+    {
+        Path replayPath = Files.createTempFile("round", ".replay");
+
+        try
+        {
+            recordRound(replayPath);
+
+            Replay replay = Replay.read(replayPath);
+            ReplayPlayer player = new ReplayPlayer(replay, DefaultGolfClubs.create());
+
+            assertEquals(STROKES, replay.getStrokeCount());
+            assertEquals(ReplayPlayer.NO_DIVERGENCE, player.findFirstDivergentStroke(0.0));
+        }
+        finally
+        {
+            Files.deleteIfExists(replayPath);
+        }
+    }
+
+    @Test
+    void testSeekingToEndMatchesRecordedEnd() throws IOException
+    {
+        Path replayPath = Files.createTempFile("round", ".replay");
+
+        try
+        {
+            recordRound(replayPath);
+
+            Replay replay = Replay.read(replayPath);
+            ReplayPlayer player = new ReplayPlayer(replay, DefaultGolfClubs.create());
+
+            for (int stroke = 0; stroke < replay.getStrokeCount(); stroke++)
+            {
+                GolfBall ball = player.seek(stroke, replay.getStroke(stroke).getEndStepCount());
+
+                assertEquals(replay.getStroke(stroke).getEndXPixels(), ball.getPositionXPixels(), 0.0);
+                assertEquals(replay.getStroke(stroke).getEndYPixels(), ball.getPositionYPixels(), 0.0);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(replayPath);
+        }
+    }
+
+    @Test
+    void testReplayReusesHolesFromEngineCache() throws IOException
+    {
+        Path replayPath = Files.createTempFile("round", ".replay");
+
+        try
+        {
+            GolfRoundEngine engine = recordRound(replayPath);
+            Replay replay = Replay.read(replayPath);
+            long hitsBefore = engine.getCourseCache().getHitCount();
+
+            ReplayPlayer player = new ReplayPlayer(replay, DefaultGolfClubs.create(), engine.getCourseCache());
+
+            // The hole being played was generated by the engine; the replay gets the same instance back
+            assertSame(engine.getCurrentCourse(), player.getCourse(engine.getCurrentHoleIndex()));
+            assertTrue(engine.getCourseCache().getHitCount() > hitsBefore);
+            assertEquals(ReplayPlayer.NO_DIVERGENCE, player.findFirstDivergentStroke(0.0));
+        }
+        finally
+        {
+            Files.deleteIfExists(replayPath);
+        }
+    }
+
+    @Test
+    void testSeekFromKeyframeAfterContactLimitedStep() throws IOException
+    {
+        Path densePath = Files.createTempFile("dense", ".replay");
+        Path sparsePath = Files.createTempFile("sparse", ".replay");
+
+        try
+        {
+            // A keyframe after every step is the recorded truth to seek against
+            recordRound(densePath, COARSE_STEP_SECONDS, 1);
+            Replay dense = Replay.read(densePath);
+            int[] limited = findContactLimitedStep(dense, new ReplayPlayer(dense, DefaultGolfClubs.create()));
+            int stroke = limited[0];
+            int step = limited[1];
+
+            // Keyframes every `step` steps put one right after the contact-limited step
+            recordRound(sparsePath, COARSE_STEP_SECONDS, step);
+            Replay sparse = Replay.read(sparsePath);
+            ReplayPlayer player = new ReplayPlayer(sparse, DefaultGolfClubs.create());
+
+            assertEquals(step, sparse.getStroke(stroke).getKeyframeStep(0));
+
+            GolfBall ball = player.seek(stroke, step + 1);
+            int next = dense.getStroke(stroke).findKeyframeAtOrBefore(step + 1);
+
+            assertEquals(dense.getStroke(stroke).getKeyframeXPixels(next), ball.getPositionXPixels(), 0.0);
+            assertEquals(dense.getStroke(stroke).getKeyframeYPixels(next), ball.getPositionYPixels(), 0.0);
+        }
+        finally
+        {
+            Files.deleteIfExists(densePath);
+            Files.deleteIfExists(sparsePath);
+        }
+    }
+
+    @Test
+    void testDifferentClubsAreReportedAsDivergent() throws IOException
+    {
+        Path replayPath = Files.createTempFile("round", ".replay");
+
+        try
+        {
+            recordRound(replayPath);
+
+            // Swapping the wedge and driver changes every wedge stroke's range
+            Map<ClubType, GolfClub> clubs = new EnumMap<>(DefaultGolfClubs.create());
+            GolfClub wedge = clubs.get(ClubType.WEDGE);
+            clubs.put(ClubType.WEDGE, clubs.get(ClubType.DRIVER));
+            clubs.put(ClubType.DRIVER, wedge);
+
+            ReplayPlayer player = new ReplayPlayer(Replay.read(replayPath), clubs);
+
+            assertEquals(0, player.findFirstDivergentStroke(0.0));
+        }
+        finally
+        {
+            Files.deleteIfExists(replayPath);
+        }
+    }
+
+    // Finds a step after which a ball restarted from the keyframe alone, with no carried time, goes astray
+    private static int[] findContactLimitedStep(final Replay dense, final ReplayPlayer player)
+    {
+        for (int stroke = 0; stroke < dense.getStrokeCount(); stroke++)
+        {
+            ReplayStroke recorded = dense.getStroke(stroke);
+            GolfCourse course = player.getCourse(recorded.getHoleIndex());
+
+            for (int k = 0; k + 1 < recorded.getKeyframeCount(); k++)
+            {
+                GolfBall restarted = new GolfBall(recorded.getKeyframeXPixels(k), recorded.getKeyframeYPixels(k),
+                                                  GolfRoundEngine.BALL_RADIUS_PIXELS);
+                restarted.launch(recorded.getKeyframeVelocityXPixelsPerSecond(k),
+                                 recorded.getKeyframeVelocityYPixelsPerSecond(k));
+                ProjectilePhysics.updateBallWithSweptCollisions(restarted, course, COARSE_STEP_SECONDS);
+
+                if (restarted.getPositionXPixels() != recorded.getKeyframeXPixels(k + 1)
+                    || restarted.getPositionYPixels() != recorded.getKeyframeYPixels(k + 1))
+                {
+                    return new int[] {stroke, recorded.getKeyframeStep(k)};
+                }
+            }
+        }
+
+        throw new AssertionError("No step hit the sweep contact limit; the test needs a coarser step");
+    }
+
+    private static GolfRoundEngine recordRound(final Path replayPath) throws IOException
+    {
+        return recordRound(replayPath, STEP_SECONDS, KEYFRAMES);
+    }
+
+    // Plays the engine determinism test's strokes with a recorder wired up as the game does
+    private static GolfRoundEngine recordRound(final Path replayPath,
+                                               final double stepSeconds,
+                                               final int keyframeIntervalSteps) throws IOException
+    {
+        int maxSteps = (int) Math.ceil(60.0 / stepSeconds);
+
+        RecorderListener listener = new RecorderListener();
+        GolfRoundEngine engine = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, listener);
+        engine.startRound(SEED);
+
+        ReplayHeader header = new ReplayHeader(engine.getRoundSeed(),
+                                               GolfRoundEngine.NUMBER_OF_HOLES_PER_ROUND,
+                                               GolfRoundEngine.NUMBER_OF_TILES_PER_HOLE,
+                                               GolfRoundEngine.TILE_WIDTH_PIXELS,
+                                               engine.getBaseGroundCenterYPixels(),
+                                               engine.getMaximumHeightOffsetPixels(),
+                                               GolfRoundEngine.BALL_RADIUS_PIXELS,
+                                               stepSeconds,
+                                               keyframeIntervalSteps);
+
+        try (ReplayRecorder recorder = ReplayRecorder.open(replayPath, header))
+        {
+            listener.recorder = recorder;
+
+            for (int stroke = 0; stroke < STROKES; stroke++)
+            {
+                ClubType club = stroke % 3 == 2 ? ClubType.PUTTER : ClubType.WEDGE;
+
+                engine.shoot(club, 65.0, 40.0);
+
+                for (int step = 0; step < maxSteps && engine.getGolfBall().isMoving(); step++)
+                {
+                    engine.tick(stepSeconds);
+                }
+
+                assertFalse(engine.getGolfBall().isMoving(), "Ball should come to rest.");
+            }
+        }
+
+        return engine;
+    }
+
+    private static final class RecorderListener implements GolfRoundListener
+    {
+        private ReplayRecorder recorder;
+
+        @Override
+        public void shotTaken(final int holeIndex,
+                              final GolfClub golfClub,
+                              final ClubType clubType,
+                              final double powerPercentage,
+                              final double launchAngleDegrees,
+                              final double startXPixels,
+                              final double startYPixels)
+        {
+            recorder.recordStroke(holeIndex, clubType, powerPercentage, launchAngleDegrees, startXPixels, startYPixels);
+        }
+
+        @Override
+        public void stepSimulated(final GolfBall golfBall, final int contacts)
+        {
+            recorder.recordStep(golfBall);
+        }
+
+        @Override
+        public void strokeEnded()
+        {
+            recorder.recordStrokeEnd();
+        }
+    }
+}
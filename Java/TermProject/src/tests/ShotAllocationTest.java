@@ -0,0 +1,202 @@
+import ca.bcit.comp2522.termproject.AirObstacle;
+import ca.bcit.comp2522.termproject.ClubType;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfBall;
+import ca.bcit.comp2522.termproject.GolfClub;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.GolfRoundEngine;
+import ca.bcit.comp2522.termproject.GolfRoundListener;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import ca.bcit.comp2522.termproject.ShotOutcome;
+import ca.bcit.comp2522.termproject.ShotSimulator;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import ca.bcit.comp2522.termproject.TerrainType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShotAllocationTest
+{
+    private static final double TILE_WIDTH  = 40.0;
+    private static final double GROUND_Y    = 300.0;
+    private static final double BALL_RADIUS = 6.0;
+    private static final double TEE_X       = 60.0;
+    private static final double STEP        = ProjectilePhysics.SIMULATION_STEP_SECONDS;
+
+    private static final long   SEED        = 2522L;
+
+    private static final int WARMUP_SHOTS   = 20_000;
+    private static final int MEASURED_SHOTS = 2_000;
+    private static final int MAXIMUM_STEPS  = 3_000;
+
+    // A simulated shot builds its ball and its outcome; the steps in between must add nothing
+    private static final double SIMULATED_SHOT_BYTES_ALLOWANCE = 1024.0;
+
+    @Test
+    void testShotPathDoesNotAllocate()
+    {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot measure thread allocation.");
+
+        GolfCourse course = buildCourseWithObstacle();
+        Map<ClubType, GolfClub> clubs = DefaultGolfClubs.create();
+        GolfBall ball = new GolfBall(TEE_X, GROUND_Y - BALL_RADIUS, BALL_RADIUS);
+
+        // Warm up so the measured loop runs compiled code, as it does in a long bot session
+        double checksum = playShots(course, clubs, ball, WARMUP_SHOTS);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        checksum += playShots(course, clubs, ball, MEASURED_SHOTS);
+        long after = threads.getCurrentThreadAllocatedBytes();
+
+        double bytesPerShot = (double) (after - before) / MEASURED_SHOTS;
+
+        assertTrue(checksum > 0.0, "Shots should move the ball.");
+        assertTrue(bytesPerShot < 1.0, "Shot path allocated " + bytesPerShot + " bytes per shot.");
+    }
+
+    @Test
+    void testEngineTickDoesNotAllocateWhileBallMoves()
+    {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot measure thread allocation.");
+
+        GolfRoundEngine engine = new GolfRoundEngine(DefaultGolfClubs.create(), GROUND_Y, new GolfRoundListener() {});
+        engine.startRound(SEED);
+
+        playEngineShots(engine, threads, WARMUP_SHOTS / 10);
+        long[] measured = playEngineShots(engine, threads, MEASURED_SHOTS);
+
+        double bytesPerTick = (double) measured[0] / measured[1];
+
+        assertTrue(measured[1] > MEASURED_SHOTS, "Shots should take more than one tick.");
+        assertTrue(bytesPerTick < 1.0, "GolfRoundEngine.tick allocated " + bytesPerTick + " bytes per tick.");
+    }
+
+    @Test
+    void testShotSimulatorStepsDoNotAllocate()
+    {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot measure thread allocation.");
+
+        GolfCourse course = buildCourseWithObstacle();
+        ShotSimulator simulator = new ShotSimulator(DefaultGolfClubs.create(), BALL_RADIUS);
+
+        simulateShots(simulator, course, WARMUP_SHOTS / 10);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        double flightSeconds = simulateShots(simulator, course, MEASURED_SHOTS);
+        long after = threads.getCurrentThreadAllocatedBytes();
+
+        double bytesPerShot = (double) (after - before) / MEASURED_SHOTS;
+        double stepsPerShot = flightSeconds / STEP / MEASURED_SHOTS;
+
+        // At dozens of bytes a step, a few hundred steps would blow far past the allowance
+        assertTrue(stepsPerShot > 100.0, "Shots should run for many steps.");
+        assertTrue(bytesPerShot < SIMULATED_SHOT_BYTES_ALLOWANCE,
+                   "ShotSimulator allocated " + bytesPerShot + " bytes per shot of " + stepsPerShot + " steps.");
+    }
+
+    // Returns {bytes allocated, ticks} over the ticks that left the ball moving; the stroke-ending tick
+    // scores the hole and is not part of the per-step path
+    private static long[] playEngineShots(final GolfRoundEngine engine,
+                                          final com.sun.management.ThreadMXBean threads,
+                                          final int shotCount)
+    {
+        long bytes = 0L;
+        long ticks = 0L;
+
+        for (int shot = 0; shot < shotCount; shot++)
+        {
+            ClubType clubType = shot % 3 == 2 ? ClubType.PUTTER : ClubType.WEDGE;
+            double angle = clubType == ClubType.PUTTER ? 5.0 : 20.0 + shot % 50;
+
+            engine.shoot(clubType, 30.0 + shot % 60, angle);
+
+            for (int step = 0; step < MAXIMUM_STEPS && engine.getGolfBall().isMoving(); step++)
+            {
+                long before = threads.getCurrentThreadAllocatedBytes();
+                engine.tick(STEP);
+                long after = threads.getCurrentThreadAllocatedBytes();
+
+                if (engine.getGolfBall().isMoving())
+                {
+                    bytes += after - before;
+                    ticks++;
+                }
+            }
+        }
+
+        return new long[] {bytes, ticks};
+    }
+
+    private static double simulateShots(final ShotSimulator simulator,
+                                        final GolfCourse course,
+                                        final int shotCount)
+    {
+        double flightSeconds = 0.0;
+
+        for (int shot = 0; shot < shotCount; shot++)
+        {
+            ShotOutcome outcome = simulator.simulateShotFromTee(course, ClubType.WEDGE, 30.0 + shot % 70, 15.0 + shot % 60);
+            flightSeconds += outcome.getFlightTimeSeconds();
+        }
+
+        return flightSeconds;
+    }
+
+    // Club range, launch and every physics step until rest, with no value objects in between
+    private static double playShots(final GolfCourse course,
+                                    final Map<ClubType, GolfClub> clubs,
+                                    final GolfBall ball,
+                                    final int shotCount)
+    {
+        ClubType[] clubTypes = ClubType.values();
+        double distanceSum = 0.0;
+
+        for (int shot = 0; shot < shotCount; shot++)
+        {
+            ClubType clubType = clubTypes[shot % clubTypes.length];
+            double power = 40.0 + shot % 60;
+            double angle = clubType == ClubType.PUTTER ? 5.0 : 20.0 + shot % 50;
+            double range = clubs.get(clubType).computeRangePixels(power, 1.0);
+
+            ball.stop();
+            ball.moveTo(TEE_X, GROUND_Y - BALL_RADIUS);
+            ProjectilePhysics.launchBall(ball, clubType, range, angle);
+
+            for (int step = 0; step < MAXIMUM_STEPS && ball.isMoving(); step++)
+            {
+                ProjectilePhysics.updateBallWithSweptCollisions(ball, course, STEP);
+            }
+
+            distanceSum += ball.getPositionXPixels() - TEE_X;
+        }
+
+        return distanceSum;
+    }
+
+    private static GolfCourse buildCourseWithObstacle()
+    {
+        List<TerrainTile> tiles = new ArrayList<>();
+        List<AirObstacle> obstacles = new ArrayList<>();
+
+        for (int i = 0; i < 80; i++)
+        {
+            TerrainType type = i == 75 ? TerrainType.HOLE : i % 9 == 4 ? TerrainType.ROUGH : TerrainType.FAIRWAY;
+            tiles.add(new TerrainTile(i * TILE_WIDTH, (i + 1) * TILE_WIDTH, GROUND_Y, type));
+        }
+
+        obstacles.add(new AirObstacle(300.0, 340.0, 180.0, 200.0));
+
+        return new GolfCourse(tiles, obstacles, 4);
+    }
+}
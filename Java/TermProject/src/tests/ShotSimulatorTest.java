@@ -0,0 +1,67 @@
+import ca.bcit.comp2522.termproject.ClubType;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.ShotOutcome;
+import ca.bcit.comp2522.termproject.ShotOutcomeType;
+import ca.bcit.comp2522.termproject.ShotSimulator;
+import ca.bcit.comp2522.termproject.TerrainType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShotSimulatorTest
+{
+    private static final double BALL_RADIUS = 6.0;
+
+    private final ShotSimulator simulator = new ShotSimulator(DefaultGolfClubs.create(), BALL_RADIUS);
+
+    @Test
+    void testDriverShotLandsDownTheFairway()
+    {
+        // A full driver at 45 degrees on flat fairway should carry most of its 400 pixel range
+        GolfCourse course = TestCourses.flatCourse(60, 55);
+        ShotOutcome outcome = simulator.simulateShotFromTee(course, ClubType.DRIVER, 100.0, 45.0);
+
+        assertEquals(ShotOutcomeType.STOPPED, outcome.getOutcomeType());
+        assertEquals(TerrainType.FAIRWAY, outcome.getLandingTerrainType());
+        assertTrue(outcome.getLandingXPixels() > 300.0, "Driver should carry past 300 pixels.");
+        assertTrue(outcome.getFinalXPixels() >= outcome.getLandingXPixels(), "Ball should roll forward.");
+    }
+
+    @Test
+    void testShotOffTheEndIsOutOfBounds()
+    {
+        // A five tile course is far shorter than a full driver
+        GolfCourse course = TestCourses.flatCourse(5, 4);
+        ShotOutcome outcome = simulator.simulateShotFromTee(course, ClubType.DRIVER, 100.0, 45.0);
+
+        assertEquals(ShotOutcomeType.OUT_OF_BOUNDS, outcome.getOutcomeType());
+    }
+
+    @Test
+    void testParallelSweepMatchesSequentialShots()
+    {
+        GolfCourse course = TestCourses.flatCourse(60, 55);
+        double[] powers = {25.0, 50.0, 75.0, 100.0};
+        double[] angles = {15.0, 30.0, 45.0, 60.0, 120.0};
+
+        List<ShotOutcome> sweep = simulator.sweepFromTee(course, ClubType.WEDGE, powers, angles);
+
+        assertEquals(powers.length * angles.length, sweep.size());
+
+        for (int p = 0; p < powers.length; p++)
+        {
+            for (int a = 0; a < angles.length; a++)
+            {
+                ShotOutcome expected = simulator.simulateShotFromTee(course, ClubType.WEDGE, powers[p], angles[a]);
+                ShotOutcome actual = sweep.get(p * angles.length + a);
+
+                assertEquals(expected.getOutcomeType(), actual.getOutcomeType());
+                assertEquals(expected.getFinalXPixels(), actual.getFinalXPixels(), 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+import ca.bcit.comp2522.termproject.AirObstacle;
+import ca.bcit.comp2522.termproject.GolfBall;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import ca.bcit.comp2522.termproject.TerrainType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SweptCollisionTest
+{
+    private static final double TILE_WIDTH  = 40.0;
+    private static final double GROUND_Y    = 300.0;
+    private static final double BALL_RADIUS = 6.0;
+    private static final int    TILES       = 30;
+    private static final double STEP_X      = 400.0;
+
+    // Ten steps a second: a fast ball crosses several tiles in one step
+    private static final double COARSE_STEP = 0.1;
+    private static final int    MAX_STEPS   = 2_000;
+
+    @Test
+    void testFastBallDoesNotTunnelThroughThinObstacle()
+    {
+        // Two pixels wide, while the ball moves 300 pixels a step
+        AirObstacle post = new AirObstacle(STEP_X, STEP_X + 2.0, 150.0, 280.0);
+        GolfCourse course = buildCourse(GROUND_Y, List.of(post));
+        GolfBall ball = new GolfBall(200.0, 240.0, BALL_RADIUS);
+
+        ball.launch(3000.0, 0.0);
+
+        int contacts = ProjectilePhysics.updateBallWithSweptCollisions(ball, course, COARSE_STEP);
+
+        assertNotEquals(ProjectilePhysics.NO_CONTACT, contacts & ProjectilePhysics.CONTACT_AIR_OBSTACLE);
+        assertTrue(ball.getVelocityXPixelsPerSecond() < 0.0, "Ball should bounce back off the post.");
+
+        // It flies back off the start of the course; check every step on the way
+        for (int i = 0; i < 20 && ball.isMoving(); i++)
+        {
+            assertTrue(ball.getPositionXPixels() < STEP_X, "Ball passed through the post: x = " + ball.getPositionXPixels());
+            ProjectilePhysics.updateBallWithSweptCollisions(ball, course, COARSE_STEP);
+        }
+
+        assertTrue(ball.getPositionXPixels() < STEP_X, "Ball passed through the post: x = " + ball.getPositionXPixels());
+    }
+
+    @Test
+    void testRollingBallBouncesOffTallStepAtCoarseStep()
+    {
+        // The raised tiles are 20 pixels up, well over the ball radius
+        GolfCourse course = buildCourse(GROUND_Y - 20.0, List.of());
+        GolfBall ball = rollingBall(350.0, 600.0);
+
+        ProjectilePhysics.updateBallWithSweptCollisions(ball, course, COARSE_STEP);
+
+        assertTrue(ball.getPositionXPixels() < STEP_X, "Rolling ball climbed the wall: x = " + ball.getPositionXPixels());
+        assertTrue(ball.getVelocityXPixelsPerSecond() < 0.0, "Rolling ball should bounce back off the wall.");
+
+        runUntilStopped(ball, course, COARSE_STEP);
+
+        assertTrue(ball.getPositionXPixels() < STEP_X);
+        assertEquals(GROUND_Y - BALL_RADIUS, ball.getPositionYPixels(), 1e-9);
+    }
+
+    @Test
+    void testRollingBallClimbsSmallStepAtCoarseStep()
+    {
+        // Four pixels is less than the ball radius, so it is a step, not a wall
+        double raisedY = GROUND_Y - 4.0;
+        GolfCourse course = buildCourse(raisedY, List.of());
+        GolfBall ball = rollingBall(350.0, 600.0);
+
+        runUntilStopped(ball, course, COARSE_STEP);
+
+        assertTrue(ball.getPositionXPixels() > STEP_X, "Ball should roll up onto the step.");
+        assertEquals(raisedY - BALL_RADIUS, ball.getPositionYPixels(), 1e-9);
+    }
+
+    @Test
+    void testCoarseAndFineStepsAgreeOnWalls()
+    {
+        GolfCourse course = buildCourse(GROUND_Y - 20.0, List.of());
+        GolfBall coarse = rollingBall(350.0, 600.0);
+        GolfBall fine = rollingBall(350.0, 600.0);
+
+        runUntilStopped(coarse, course, COARSE_STEP);
+        runUntilStopped(fine, course, ProjectilePhysics.SIMULATION_STEP_SECONDS);
+
+        // Both bounce back off the same wall; friction scales with time, so they stop close together
+        assertTrue(coarse.getPositionXPixels() < STEP_X);
+        assertTrue(fine.getPositionXPixels() < STEP_X);
+        assertEquals(fine.getPositionXPixels(), coarse.getPositionXPixels(), TILE_WIDTH);
+    }
+
+    @Test
+    void testTimeAfterLandingIsSpentRolling()
+    {
+        GolfCourse course = buildCourse(GROUND_Y, List.of());
+        double restingY = GROUND_Y - BALL_RADIUS;
+
+        // Falls 2.52 pixels: halfway through a coarse step at 504 px/s^2, landing too slowly to bounce
+        GolfBall ball = new GolfBall(100.0, restingY - 2.52, BALL_RADIUS);
+        ball.launch(100.0, 0.0);
+
+        int contacts = ProjectilePhysics.updateBallWithSweptCollisions(ball, course, COARSE_STEP);
+
+        assertNotEquals(ProjectilePhysics.NO_CONTACT, contacts & ProjectilePhysics.CONTACT_TERRAIN);
+        assertEquals(restingY, ball.getPositionYPixels(), 1e-9);
+        assertEquals(0.0, ball.getVelocityYPixelsPerSecond(), 0.0);
+
+        // Landing alone would leave it at 105; the other half of the step rolls it on
+        assertTrue(ball.getPositionXPixels() > 108.0, "Ball stopped at the landing point: x = " + ball.getPositionXPixels());
+        assertTrue(ball.getPositionXPixels() <= 110.0);
+    }
+
+    private static GolfBall rollingBall(final double x, final double speed)
+    {
+        GolfBall ball = new GolfBall(x, GROUND_Y - BALL_RADIUS, BALL_RADIUS);
+        ball.launch(speed, 0.0);
+        return ball;
+    }
+
+    private static void runUntilStopped(final GolfBall ball, final GolfCourse course, final double step)
+    {
+        for (int i = 0; i < MAX_STEPS && ball.isMoving(); i++)
+        {
+            ProjectilePhysics.updateBallWithSweptCollisions(ball, course, step);
+        }
+
+        assertFalse(ball.isMoving(), "Ball should come to rest.");
+    }
+
+    // Flat ground up to STEP_X, then ground at raisedY
+    private static GolfCourse buildCourse(final double raisedY, final List<AirObstacle> obstacles)
+    {
+        List<TerrainTile> tiles = new ArrayList<>();
+
+        for (int i = 0; i < TILES; i++)
+        {
+            double start = i * TILE_WIDTH;
+            tiles.add(new TerrainTile(start, start + TILE_WIDTH, start < STEP_X ? GROUND_Y : raisedY, TerrainType.FAIRWAY));
+        }
+
+        return new GolfCourse(tiles, obstacles, 4);
+    }
+}
@@ -0,0 +1,50 @@
+import ca.bcit.comp2522.termproject.AirObstacle;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.TerrainTile;
+import ca.bcit.comp2522.termproject.TerrainType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Flat test courses shared by the simulation, bot and physics tests
+final class TestCourses
+{
+    static final double TILE_WIDTH = 40.0;
+    static final double GROUND_Y   = 300.0;
+    static final int    PAR        = 4;
+
+    // Hole index for a course with no cup, all fairway
+    static final int NO_HOLE = -1;
+
+    private TestCourses()
+    {
+    }
+
+    static GolfCourse flatCourse(final int tileCount, final int holeTileIndex)
+    {
+        return flatCourse(tileCount, holeTileIndex, List.of());
+    }
+
+    static GolfCourse flatCourse(final int tileCount, final int holeTileIndex, final List<AirObstacle> obstacles)
+    {
+        return new GolfCourse(flatTiles(tileCount, holeTileIndex), obstacles, PAR);
+    }
+
+    // Fairway tiles at GROUND_Y with the cup on holeTileIndex; the list may be changed with tile()
+    static List<TerrainTile> flatTiles(final int tileCount, final int holeTileIndex)
+    {
+        List<TerrainTile> tiles = new ArrayList<>();
+
+        for (int i = 0; i < tileCount; i++)
+        {
+            tiles.add(tile(i, i == holeTileIndex ? TerrainType.HOLE : TerrainType.FAIRWAY));
+        }
+
+        return tiles;
+    }
+
+    static TerrainTile tile(final int index, final TerrainType type)
+    {
+        return new TerrainTile(index * TILE_WIDTH, (index + 1) * TILE_WIDTH, GROUND_Y, type);
+    }
+}
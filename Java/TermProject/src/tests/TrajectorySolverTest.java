@@ -0,0 +1,191 @@
+import ca.bcit.comp2522.termproject.AirObstacle;
+import ca.bcit.comp2522.termproject.ClubType;
+import ca.bcit.comp2522.termproject.DefaultGolfClubs;
+import ca.bcit.comp2522.termproject.GolfBall;
+import ca.bcit.comp2522.termproject.GolfCourse;
+import ca.bcit.comp2522.termproject.ProjectilePhysics;
+import ca.bcit.comp2522.termproject.ShotOutcomeType;
+import ca.bcit.comp2522.termproject.ShotSimulator;
+import ca.bcit.comp2522.termproject.TrajectoryImpact;
+import ca.bcit.comp2522.termproject.TrajectoryImpactType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrajectorySolverTest
+{
+    private static final double GROUND_Y    = TestCourses.GROUND_Y;
+    private static final double BALL_RADIUS = 6.0;
+    private static final double STEP        = ProjectilePhysics.SIMULATION_STEP_SECONDS;
+    private static final int    MAX_STEPS   = 10_000;
+
+    // The stepped path drifts from the exact parabola by a few pixels over a long flight
+    private static final double POSITION_TOLERANCE = 8.0;
+    private static final double TIME_TOLERANCE     = 3 * STEP;
+
+    @Test
+    void testGroundImpactMatchesSteppedFlight()
+    {
+        GolfCourse course = TestCourses.flatCourse(80, TestCourses.NO_HOLE);
+        double[][] launches = {{300.0, -300.0}, {150.0, -500.0}, {500.0, -150.0}, {-250.0, -350.0}};
+
+        for (double[] launch : launches)
+        {
+            GolfBall solved = launchedBall(1600.0, launch);
+            GolfBall stepped = launchedBall(1600.0, launch);
+
+            TrajectoryImpact impact = ProjectilePhysics.solveFirstImpact(course, solved, true);
+            double steppedTime = stepUntil(stepped, course, ProjectilePhysics.CONTACT_TERRAIN);
+
+            assertEquals(TrajectoryImpactType.GROUND, impact.getImpactType());
+            assertEquals(stepped.getPositionXPixels(), impact.getPositionXPixels(), POSITION_TOLERANCE);
+            assertEquals(steppedTime, impact.getTimeSeconds(), TIME_TOLERANCE);
+        }
+    }
+
+    @Test
+    void testObstacleImpactMatchesSteppedFlight()
+    {
+        AirObstacle wall = new AirObstacle(1800.0, 1820.0, 100.0, 280.0);
+        GolfCourse course = TestCourses.flatCourse(80, TestCourses.NO_HOLE, List.of(wall));
+        double[] launch = {400.0, -200.0};
+
+        GolfBall solved = launchedBall(1600.0, launch);
+        GolfBall stepped = launchedBall(1600.0, launch);
+
+        TrajectoryImpact impact = ProjectilePhysics.solveFirstImpact(course, solved, true);
+        double steppedTime = stepUntil(stepped, course, ProjectilePhysics.CONTACT_AIR_OBSTACLE);
+
+        assertEquals(TrajectoryImpactType.AIR_OBSTACLE, impact.getImpactType());
+        assertSame(wall, impact.getAirObstacle());
+        assertEquals(steppedTime, impact.getTimeSeconds(), TIME_TOLERANCE);
+
+        // Without obstacles the same flight carries on to the ground beyond the wall
+        TrajectoryImpact groundOnly = ProjectilePhysics.solveFirstImpact(course, solved, false);
+        assertEquals(TrajectoryImpactType.GROUND, groundOnly.getImpactType());
+        assertTrue(groundOnly.getPositionXPixels() > wall.getRightXPixels());
+    }
+
+    @Test
+    void testIndexedObstacleSearchMatchesLinearScan()
+    {
+        SplittableRandom random = new SplittableRandom(7L);
+        List<AirObstacle> obstacles = new ArrayList<>();
+
+        for (int i = 0; i < 60; i++)
+        {
+            double left = random.nextDouble(0.0, 3000.0);
+            double top = random.nextDouble(0.0, 260.0);
+            obstacles.add(new AirObstacle(left, left + random.nextDouble(5.0, 60.0), top, top + random.nextDouble(5.0, 30.0)));
+        }
+
+        GolfCourse course = TestCourses.flatCourse(80, TestCourses.NO_HOLE, obstacles);
+        int obstacleHits = 0;
+
+        for (int shot = 0; shot < 200; shot++)
+        {
+            double[] launch = {random.nextDouble(-500.0, 500.0), random.nextDouble(-600.0, -50.0)};
+            GolfBall ball = launchedBall(random.nextDouble(100.0, 3000.0), launch);
+
+            TrajectoryImpact impact = ProjectilePhysics.solveFirstImpact(course, ball, true);
+            TrajectoryImpact ground = ProjectilePhysics.solveFirstImpact(course, ball, false);
+
+            double firstTime = ground.getTimeSeconds();
+            for (AirObstacle obstacle : obstacles)
+            {
+                firstTime = Math.min(firstTime, ProjectilePhysics.computeAirObstacleImpactTime(ball, obstacle));
+            }
+
+            assertEquals(firstTime, impact.getTimeSeconds(), 0.0);
+            assertEquals(firstTime < ground.getTimeSeconds(), impact.getImpactType() == TrajectoryImpactType.AIR_OBSTACLE);
+
+            if (impact.getImpactType() == TrajectoryImpactType.AIR_OBSTACLE)
+            {
+                obstacleHits++;
+            }
+        }
+
+        assertTrue(obstacleHits > 20, "Too few obstacle hits to exercise the index: " + obstacleHits);
+    }
+
+    @Test
+    void testLeftCourseMatchesSteppedOutOfBounds()
+    {
+        GolfCourse course = TestCourses.flatCourse(20, TestCourses.NO_HOLE);
+        double[] launch = {500.0, -300.0};
+
+        GolfBall solved = launchedBall(600.0, launch);
+        GolfBall stepped = launchedBall(600.0, launch);
+
+        TrajectoryImpact impact = ProjectilePhysics.solveFirstImpact(course, solved, true);
+        double steppedTime = stepUntilOffCourse(stepped, course);
+
+        assertEquals(TrajectoryImpactType.LEFT_COURSE, impact.getImpactType());
+        assertEquals(course.getEndXPixels(), impact.getPositionXPixels(), 1e-9);
+        assertEquals(steppedTime, impact.getTimeSeconds(), TIME_TOLERANCE);
+    }
+
+    @Test
+    void testLeavesCourseInFlightAgreesWithSimulation()
+    {
+        ShotSimulator simulator = new ShotSimulator(DefaultGolfClubs.create(), BALL_RADIUS);
+        GolfCourse shortCourse = TestCourses.flatCourse(5, TestCourses.NO_HOLE);
+        GolfCourse longCourse = TestCourses.flatCourse(60, TestCourses.NO_HOLE);
+
+        assertTrue(simulator.leavesCourseInFlight(shortCourse, ClubType.DRIVER, 10.0, GROUND_Y - BALL_RADIUS, 100.0, 45.0));
+        assertEquals(ShotOutcomeType.OUT_OF_BOUNDS,
+                     simulator.simulateShot(shortCourse, ClubType.DRIVER, 10.0, GROUND_Y - BALL_RADIUS, 100.0, 45.0)
+                              .getOutcomeType());
+
+        assertFalse(simulator.leavesCourseInFlight(longCourse, ClubType.DRIVER, 10.0, GROUND_Y - BALL_RADIUS, 100.0, 45.0));
+        assertNotEquals(ShotOutcomeType.OUT_OF_BOUNDS,
+                        simulator.simulateShot(longCourse, ClubType.DRIVER, 10.0, GROUND_Y - BALL_RADIUS, 100.0, 45.0)
+                                 .getOutcomeType());
+    }
+
+    private static GolfBall launchedBall(final double x, final double[] launch)
+    {
+        GolfBall ball = new GolfBall(x, GROUND_Y - BALL_RADIUS, BALL_RADIUS);
+        ball.launch(launch[0], launch[1]);
+        return ball;
+    }
+
+    // Steps the flight until the given contact flag is reported; returns the elapsed time
+    private static double stepUntil(final GolfBall ball, final GolfCourse course, final int contactFlag)
+    {
+        for (int i = 1; i <= MAX_STEPS; i++)
+        {
+            int contacts = ProjectilePhysics.updateBallWithSweptCollisions(ball, course, STEP);
+
+            if ((contacts & contactFlag) != ProjectilePhysics.NO_CONTACT)
+            {
+                return i * STEP;
+            }
+        }
+
+        throw new AssertionError("No contact within " + MAX_STEPS + " steps");
+    }
+
+    private static double stepUntilOffCourse(final GolfBall ball, final GolfCourse course)
+    {
+        for (int i = 1; i <= MAX_STEPS; i++)
+        {
+            ProjectilePhysics.updateBallWithSweptCollisions(ball, course, STEP);
+
+            if (ball.getPositionXPixels() > course.getEndXPixels())
+            {
+                return i * STEP;
+            }
+        }
+
+        throw new AssertionError("Ball never left the course");
+    }
+}